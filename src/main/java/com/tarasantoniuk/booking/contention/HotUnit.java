@@ -0,0 +1,14 @@
+package com.tarasantoniuk.booking.contention;
+
+/**
+ * A unit with its (decayed) lock-wait statistics, as listed by the {@code hotunits} endpoint.
+ *
+ * @param lockWaitMs  total time booking attempts waited for the unit lock
+ * @param errorMs     upper bound of the overestimation in {@code lockWaitMs}
+ * @param acquisitions lock acquisitions counted while the unit was tracked
+ * @param maxWaitMs   longest single wait
+ * @param share       fraction of all recorded lock-wait time spent on this unit
+ */
+public record HotUnit(Long unitId, double lockWaitMs, double errorMs, long acquisitions, double maxWaitMs,
+                      double share) {
+}
@@ -0,0 +1,27 @@
+package com.tarasantoniuk.booking.contention;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/hotunits}: units ranked by recent lock-wait time of booking attempts.
+ */
+@Component
+@Endpoint(id = "hotunits")
+@RequiredArgsConstructor
+public class HotUnitsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final UnitContentionTracker unitContentionTracker;
+
+    @ReadOperation
+    public List<HotUnit> hotUnits(@Nullable Integer limit) {
+        return unitContentionTracker.hotUnits(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+}
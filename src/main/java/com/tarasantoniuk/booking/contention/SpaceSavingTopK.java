@@ -0,0 +1,102 @@
+package com.tarasantoniuk.booking.contention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted Space-Saving sketch: tracks the heaviest keys of an unbounded key space in a fixed
+ * number of counters.
+ * <p>
+ * A key that is not tracked replaces the lightest counter and inherits its weight as error, so a
+ * tracked weight overestimates the true weight by at most its {@link Entry#error()}. Every key whose
+ * true weight exceeds {@code totalWeight / capacity} is guaranteed to be tracked.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+class SpaceSavingTopK<K> {
+
+    private final int capacity;
+    private final Map<K, Counter> counters;
+    private long totalWeight;
+
+    SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void add(K key, long weight, long maxSample) {
+        totalWeight += weight;
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(0, 0);
+            } else {
+                Counter lightest = evictLightest();
+                counter = new Counter(lightest.weight, lightest.weight);
+            }
+            counters.put(key, counter);
+        }
+        counter.weight += weight;
+        counter.hits++;
+        counter.max = Math.max(counter.max, maxSample);
+    }
+
+    /**
+     * Multiplies all weights by {@code factor}, so old contention fades out.
+     */
+    void decay(double factor) {
+        totalWeight = (long) (totalWeight * factor);
+        counters.values().forEach(counter -> {
+            counter.weight = (long) (counter.weight * factor);
+            counter.error = (long) (counter.error * factor);
+            counter.hits = (long) Math.ceil(counter.hits * factor);
+            counter.max = (long) (counter.max * factor);
+        });
+        counters.values().removeIf(counter -> counter.weight == 0);
+    }
+
+    List<Entry<K>> top(int limit) {
+        List<Entry<K>> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) ->
+                entries.add(new Entry<>(key, counter.weight, counter.error, counter.hits, counter.max)));
+        entries.sort(Comparator.comparingLong(Entry<K>::weight).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    long totalWeight() {
+        return totalWeight;
+    }
+
+    private Counter evictLightest() {
+        Map.Entry<K, Counter> lightest = null;
+        for (Map.Entry<K, Counter> entry : counters.entrySet()) {
+            if (lightest == null || entry.getValue().weight < lightest.getValue().weight) {
+                lightest = entry;
+            }
+        }
+        counters.remove(lightest.getKey());
+        return lightest.getValue();
+    }
+
+    private static final class Counter {
+
+        private long weight;
+        private long error;
+        private long hits;
+        private long max;
+
+        private Counter(long weight, long error) {
+            this.weight = weight;
+            this.error = error;
+        }
+    }
+
+    record Entry<K>(K key, long weight, long error, long hits, long max) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.tarasantoniuk.booking.contention;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long booking attempts wait for the unit row lock and keeps the most contended
+ * units in a {@link SpaceSavingTopK} sketch weighted by wait time.
+ * <p>
+ * Waits decay with the configured half-life, so the ranking reflects current contention rather
+ * than all-time totals. Metrics: {@code booking.unit.lock.wait} (all units) and
+ * {@code booking.unit.lock.hot.wait} (decayed wait per currently hot unit, tagged by unit).
+ */
+@Component
+@Slf4j
+public class UnitContentionTracker {
+
+    static final long DECAY_INTERVAL_MS = 60_000;
+
+    private final SpaceSavingTopK<Long> sketch;
+    private final int topN;
+    private final double decayFactor;
+    private final Timer lockWait;
+    private final MultiGauge hotUnitWait;
+
+    public UnitContentionTracker(MeterRegistry meterRegistry,
+                                 @Value("${app.booking.contention.capacity:200}") int capacity,
+                                 @Value("${app.booking.contention.top-n:10}") int topN,
+                                 @Value("${app.booking.contention.half-life:10m}") Duration halfLife) {
+        this.sketch = new SpaceSavingTopK<>(capacity);
+        this.topN = topN;
+        this.decayFactor = Math.pow(0.5, (double) DECAY_INTERVAL_MS / halfLife.toMillis());
+        this.lockWait = Timer.builder("booking.unit.lock.wait")
+                .description("Time booking creation waited for the unit row lock")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hotUnitWait = MultiGauge.builder("booking.unit.lock.hot.wait")
+                .description("Decayed lock-wait time of the most contended units")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void recordLockWait(Long unitId, long waitNanos) {
+        lockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        synchronized (sketch) {
+            sketch.add(unitId, waitNanos, waitNanos);
+        }
+    }
+
+    public List<HotUnit> hotUnits(int limit) {
+        List<SpaceSavingTopK.Entry<Long>> top;
+        long total;
+        synchronized (sketch) {
+            top = sketch.top(limit);
+            total = sketch.totalWeight();
+        }
+        return top.stream()
+                .map(entry -> new HotUnit(entry.key(), toMillis(entry.weight()), toMillis(entry.error()),
+                        entry.hits(), toMillis(entry.max()),
+                        total == 0 ? 0 : Math.round(entry.weight() * 1000.0 / total) / 1000.0))
+                .toList();
+    }
+
+    /**
+     * Ages recorded waits and publishes the current top units as gauges.
+     */
+    @Scheduled(fixedDelay = DECAY_INTERVAL_MS, initialDelay = DECAY_INTERVAL_MS)
+    public void decayAndPublish() {
+        synchronized (sketch) {
+            sketch.decay(decayFactor);
+        }
+        List<HotUnit> hot = hotUnits(topN);
+        hotUnitWait.register(hot.stream()
+                .map(unit -> MultiGauge.Row.of(Tags.of("unit", unit.unitId().toString()), unit.lockWaitMs()))
+                .toList(), true);
+        if (!hot.isEmpty()) {
+            log.debug("Most contended unit: unitId={}, lockWaitMs={}, share={}",
+                    hot.get(0).unitId(), hot.get(0).lockWaitMs(), hot.get(0).share());
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
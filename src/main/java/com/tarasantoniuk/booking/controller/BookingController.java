@@ -2,7 +2,13 @@ package com.tarasantoniuk.booking.controller;
 
 import com.tarasantoniuk.booking.dto.BookingResponseDto;
 import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
+import com.tarasantoniuk.booking.dto.ReservationHoldDto;
 import com.tarasantoniuk.booking.service.BookingService;
+import com.tarasantoniuk.booking.service.ReservationHoldService;
+import com.tarasantoniuk.common.idempotency.IdempotencyService;
+import com.tarasantoniuk.common.version.ConditionalGet;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,6 +25,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/bookings")
@@ -29,27 +38,121 @@ public class BookingController {
     private static final int MAX_PAGE_SIZE = 100;
 
     private final BookingService bookingService;
+    private final ReservationHoldService reservationHoldService;
+    private final IdempotencyService idempotencyService;
+    private final EntityVersionService entityVersionService;
 
     @PostMapping
     @Operation(
             summary = "Create a new booking",
             description = "Creates a new booking with automatic 15-minute payment window. " +
                     "Booking status will be PENDING until payment is processed. " +
-                    "If payment is not received within 15 minutes, booking will be automatically cancelled."
+                    "If payment is not received within 15 minutes, booking will be automatically cancelled. " +
+                    "Send an Idempotency-Key header to make retries safe."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Booking created successfully",
                     content = @Content(schema = @Schema(implementation = BookingResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data or dates"),
             @ApiResponse(responseCode = "404", description = "Unit or user not found"),
-            @ApiResponse(responseCode = "409", description = "Unit not available for selected dates (already booked)"),
+            @ApiResponse(responseCode = "409", description = "Unit not available for selected dates (already booked) " +
+                    "or request with the same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<BookingResponseDto>> createBooking(
+            @Valid @RequestBody CreateBookingRequestDto request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute("booking-create", idempotencyKey, request, BookingResponseDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(request)));
+    }
+
+    @PostMapping("/holds")
+    @Operation(
+            summary = "Hold a unit for payment",
+            description = "Holds the unit for the selected dates for 15 minutes without creating a booking. " +
+                    "Paying the hold creates a CONFIRMED booking; an unpaid hold simply lapses. " +
+                    "Send an Idempotency-Key header to make retries safe."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Hold placed successfully",
+                    content = @Content(schema = @Schema(implementation = ReservationHoldDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or dates"),
+            @ApiResponse(responseCode = "404", description = "Unit or user not found"),
+            @ApiResponse(responseCode = "409", description = "Unit already booked or held for selected dates " +
+                    "or request with the same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<ReservationHoldDto>> placeHold(
+            @Valid @RequestBody CreateBookingRequestDto request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute("booking-hold", idempotencyKey, request, ReservationHoldDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(reservationHoldService.placeHold(request)));
+    }
+
+    @GetMapping("/holds/{holdId}")
+    @Operation(summary = "Get hold by ID", description = "Retrieves a live reservation hold")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hold found",
+                    content = @Content(schema = @Schema(implementation = ReservationHoldDto.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found or expired"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<BookingResponseDto> createBooking(
-            @Valid @RequestBody CreateBookingRequestDto request
+    public ResponseEntity<ReservationHoldDto> getHold(
+            @Parameter(description = "Hold ID", example = "1-3f2b8c0e9a4d4e51b7c6d2a1f0e9b8c7")
+            @PathVariable String holdId
     ) {
-        BookingResponseDto response = bookingService.createBooking(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.ok(reservationHoldService.getHold(holdId));
+    }
+
+    @PostMapping("/holds/{holdId}/payment")
+    @Operation(
+            summary = "Pay for a hold",
+            description = "Pays the held amount and creates the booking as CONFIRMED. " +
+                    "Only the user who placed the hold can pay for it. " +
+                    "Send an Idempotency-Key header to make retries safe."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Payment completed and booking confirmed",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Hold belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Hold not found or expired"),
+            @ApiResponse(responseCode = "409", description = "Dates were booked outside the hold " +
+                    "or request with the same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<PaymentResponseDto>> payHold(
+            @Parameter(description = "Hold ID", example = "1-3f2b8c0e9a4d4e51b7c6d2a1f0e9b8c7")
+            @PathVariable String holdId,
+            @Parameter(description = "ID of the user paying", example = "1")
+            @RequestParam Long userId,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute("booking-hold-payment", idempotencyKey, holdId + ":" + userId,
+                PaymentResponseDto.class,
+                () -> ResponseEntity.ok(reservationHoldService.payHold(holdId, userId)));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release a hold", description = "Releases the held dates. Only the user who placed the hold can release it.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Hold released"),
+            @ApiResponse(responseCode = "400", description = "Hold belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Hold not found or expired"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Void> cancelHold(
+            @Parameter(description = "Hold ID", example = "1-3f2b8c0e9a4d4e51b7c6d2a1f0e9b8c7")
+            @PathVariable String holdId,
+            @Parameter(description = "ID of the user releasing the hold", example = "1")
+            @RequestParam Long userId
+    ) {
+        reservationHoldService.cancelHold(holdId, userId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}")
@@ -60,15 +163,17 @@ public class BookingController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Booking found",
                     content = @Content(schema = @Schema(implementation = BookingResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Booking not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Booking not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<BookingResponseDto> getBookingById(
             @Parameter(description = "Booking ID", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        BookingResponseDto response = bookingService.getBookingById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalGet.respond(webRequest, entityVersionService.bookingETag(id),
+                () -> bookingService.getBookingById(id));
     }
 
     @GetMapping("/user/{userId}")
@@ -78,6 +183,7 @@ public class BookingController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Page of bookings retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Bookings not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
@@ -91,7 +197,8 @@ public class BookingController {
             @Parameter(description = "Field to sort by", example = "id")
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction", example = "asc", schema = @Schema(allowableValues = {"asc", "desc"}))
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest webRequest
     ) {
         int safeSize = Math.min(size, MAX_PAGE_SIZE);
         Sort sort = sortDir.equalsIgnoreCase("desc")
@@ -99,8 +206,9 @@ public class BookingController {
                 : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, safeSize, sort);
 
-        Page<BookingResponseDto> bookings = bookingService.getUserBookings(userId, pageable);
-        return ResponseEntity.ok(bookings);
+        // Booking events carry no user ID, so user lists follow the global availability epoch
+        return ConditionalGet.respond(webRequest, entityVersionService.availabilityETag(),
+                () -> bookingService.getUserBookings(userId, pageable));
     }
 
     @PatchMapping("/{id}/cancel")
@@ -0,0 +1,28 @@
+package com.tarasantoniuk.booking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Row returned by the {@code create_booking} database function.
+ * IDs and cost are set only when the outcome is {@link #CREATED}.
+ */
+public interface BookingCreationResult {
+
+    String CREATED = "CREATED";
+    String UNIT_NOT_FOUND = "UNIT_NOT_FOUND";
+    String USER_NOT_FOUND = "USER_NOT_FOUND";
+    String UNAVAILABLE = "UNAVAILABLE";
+
+    String getOutcome();
+
+    Long getBookingId();
+
+    Long getPaymentId();
+
+    BigDecimal getTotalCost();
+
+    /**
+     * Time spent waiting for the unit row lock, in microseconds.
+     */
+    Long getLockWaitMicros();
+}
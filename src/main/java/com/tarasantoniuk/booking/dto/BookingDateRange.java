@@ -0,0 +1,15 @@
+package com.tarasantoniuk.booking.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a booking's unit and occupied dates (both inclusive).
+ * Used where only the occupied range matters, without loading Booking entities.
+ */
+public record BookingDateRange(
+        Long bookingId,
+        Long unitId,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,46 @@
+package com.tarasantoniuk.booking.dto;
+
+import com.tarasantoniuk.booking.hold.ReservationHold;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unit and dates held for a user until payment")
+public class ReservationHoldDto {
+
+    @Schema(description = "Hold identifier, used to pay or release the hold", example = "1-3f2b8c0e9a4d4e51b7c6d2a1f0e9b8c7")
+    private String holdId;
+
+    @Schema(description = "ID of the held accommodation unit", example = "1")
+    private Long unitId;
+
+    @Schema(description = "ID of the user holding the unit", example = "1")
+    private Long userId;
+
+    @Schema(description = "Start date", example = "2026-02-01")
+    private LocalDate startDate;
+
+    @Schema(description = "End date", example = "2026-02-05")
+    private LocalDate endDate;
+
+    @Schema(description = "Total cost to pay (base cost * nights + 15% markup)", example = "460.00")
+    private BigDecimal totalCost;
+
+    @Schema(description = "When the hold lapses unless paid", example = "2026-01-25T10:45:00Z")
+    private Instant expiresAt;
+
+    public static ReservationHoldDto from(ReservationHold hold) {
+        return new ReservationHoldDto(hold.holdId(), hold.unitId(), hold.userId(), hold.startDate(),
+                hold.endDate(), hold.totalCost(), hold.expiresAt());
+    }
+}
@@ -1,32 +1,70 @@
 package com.tarasantoniuk.booking.event;
 
+import com.tarasantoniuk.booking.entity.Booking;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Domain event published when a booking state changes.
  * Listened to by BookingEventListener for cross-cutting concerns
  * (audit events, cache invalidation, payment creation).
+ * <p>
+ * Carries the unit and date range so listeners can invalidate only the data
+ * affected by the booking, without loading it again. {@code paymentCreated} is set when the
+ * payment was written together with the booking, so no listener needs to create it.
  */
 public record BookingEvent(
         Type type,
         Long bookingId,
-        BigDecimal totalCost
+        Long unitId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalCost,
+        boolean paymentCreated
 ) {
     public enum Type {
         CREATED,
         CONFIRMED,
-        CANCELLED
+        CANCELLED,
+        // Created already CONFIRMED from a paid reservation hold, with its payment
+        RESERVED
+    }
+
+    public static BookingEvent created(Booking booking, BigDecimal totalCost) {
+        return of(Type.CREATED, booking, totalCost);
+    }
+
+    /**
+     * A booking created by the {@code create_booking} database function, which also inserted its payment.
+     */
+    public static BookingEvent createdWithPayment(Long bookingId, Long unitId, LocalDate startDate,
+                                                  LocalDate endDate, BigDecimal totalCost) {
+        return new BookingEvent(Type.CREATED, bookingId, unitId, startDate, endDate, totalCost, true);
+    }
+
+    public static BookingEvent confirmed(Booking booking) {
+        return of(Type.CONFIRMED, booking, null);
     }
 
-    public static BookingEvent created(Long bookingId, BigDecimal totalCost) {
-        return new BookingEvent(Type.CREATED, bookingId, totalCost);
+    public static BookingEvent reserved(Booking booking, BigDecimal totalCost) {
+        return new BookingEvent(Type.RESERVED, booking.getId(), booking.getUnit().getId(),
+                booking.getStartDate(), booking.getEndDate(), totalCost, true);
     }
 
-    public static BookingEvent confirmed(Long bookingId) {
-        return new BookingEvent(Type.CONFIRMED, bookingId, null);
+    public static BookingEvent cancelled(Booking booking) {
+        return of(Type.CANCELLED, booking, null);
     }
 
-    public static BookingEvent cancelled(Long bookingId) {
-        return new BookingEvent(Type.CANCELLED, bookingId, null);
+    private static BookingEvent of(Type type, Booking booking, BigDecimal totalCost) {
+        return new BookingEvent(
+                type,
+                booking.getId(),
+                booking.getUnit().getId(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                totalCost,
+                false
+        );
     }
 }
@@ -1,9 +1,14 @@
 package com.tarasantoniuk.booking.event;
 
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.common.version.EntityVersionService;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
 import com.tarasantoniuk.payment.service.PaymentService;
+import com.tarasantoniuk.statistic.service.AvailabilityBitmapService;
+import com.tarasantoniuk.statistic.service.OccupancyRollupService;
 import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import com.tarasantoniuk.unit.service.UnitSearchCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -11,9 +16,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Handles cross-cutting concerns triggered by booking state changes:
- * audit event creation, cache invalidation, and payment creation.
+ * audit event creation, cache and ETag version invalidation, and payment creation.
  * Decouples BookingService from EventService, UnitStatisticsService, and PaymentService.
  * <p>
  * Payment creation runs synchronously (same transaction) to guarantee consistency.
@@ -27,6 +37,10 @@ public class BookingEventListener {
     private final EventService eventService;
     private final UnitStatisticsService unitStatisticsService;
     private final PaymentService paymentService;
+    private final UnitSearchCacheService unitSearchCacheService;
+    private final AvailabilityBitmapService availabilityBitmapService;
+    private final OccupancyRollupService occupancyRollupService;
+    private final EntityVersionService entityVersionService;
 
     /**
      * Critical operations that must succeed with the booking transaction.
@@ -36,7 +50,7 @@ public class BookingEventListener {
     public void handleBookingEvent(BookingEvent event) {
         log.debug("Handling booking event: type={}, bookingId={}", event.type(), event.bookingId());
 
-        if (event.type() == BookingEvent.Type.CREATED) {
+        if (event.type() == BookingEvent.Type.CREATED && !event.paymentCreated()) {
             paymentService.createPaymentForBooking(event.bookingId(), event.totalCost());
         }
     }
@@ -51,10 +65,61 @@ public class BookingEventListener {
 
         switch (event.type()) {
             case CREATED -> eventService.createEvent(EventType.BOOKING_CREATED, event.bookingId());
-            case CONFIRMED -> eventService.createEvent(EventType.BOOKING_CONFIRMED, event.bookingId());
+            case CONFIRMED, RESERVED -> eventService.createEvent(EventType.BOOKING_CONFIRMED, event.bookingId());
             case CANCELLED -> eventService.createEvent(EventType.BOOKING_CANCELLED, event.bookingId());
         }
 
         unitStatisticsService.invalidateAvailableUnitsCache();
+        entityVersionService.bookingsChanged(List.of(event.bookingId()));
+        entityVersionService.availabilityChanged();
+
+        // Confirmation re-sets already occupied bits, healing any earlier missed update
+        availabilityBitmapService.markOccupied(event.unitId(), event.startDate(), event.endDate(),
+                event.type() != BookingEvent.Type.CANCELLED);
+
+        // Confirmation does not change which dates are occupied
+        if (event.type() != BookingEvent.Type.CONFIRMED) {
+            unitSearchCacheService.invalidateDates(event.startDate(), event.endDate());
+        }
+
+        if (event.type() == BookingEvent.Type.CREATED || event.type() == BookingEvent.Type.RESERVED) {
+            updateOccupancyRollup(() -> occupancyRollupService.bookingsActivated(List.of(event.bookingId())));
+        } else if (event.type() == BookingEvent.Type.CANCELLED) {
+            updateOccupancyRollup(() -> occupancyRollupService.bookingsDeactivated(List.of(event.bookingId())));
+        }
+    }
+
+    /**
+     * Frees expired bookings' days in the availability bitmaps and occupancy rollup,
+     * invalidates cached searches for the affected months and bumps the ETag versions.
+     * Months are deduplicated so each epoch is bumped once per expiration run.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBookingsExpiredAfterCommit(BookingsExpiredEvent event) {
+        log.debug("Post-commit handling: {} expired bookings", event.bookings().size());
+
+        Set<YearMonth> months = new HashSet<>();
+        event.bookings().forEach(booking -> {
+            months.addAll(UnitSearchCacheService.monthsBetween(booking.startDate(), booking.endDate()));
+            availabilityBitmapService.markOccupied(booking.unitId(), booking.startDate(), booking.endDate(), false);
+        });
+        unitSearchCacheService.invalidateMonths(months);
+
+        List<Long> bookingIds = event.bookings().stream().map(BookingDateRange::bookingId).toList();
+        entityVersionService.bookingsChanged(bookingIds);
+        entityVersionService.availabilityChanged();
+        updateOccupancyRollup(() -> occupancyRollupService.bookingsDeactivated(bookingIds));
+    }
+
+    /**
+     * Rollup drift is repairable by a rebuild, so a failed update must not
+     * break the remaining post-commit handling.
+     */
+    private void updateOccupancyRollup(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.error("Failed to update occupancy rollup, rebuild the affected range", e);
+        }
     }
 }
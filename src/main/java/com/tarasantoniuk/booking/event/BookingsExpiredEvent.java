@@ -0,0 +1,14 @@
+package com.tarasantoniuk.booking.event;
+
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+
+import java.util.List;
+
+/**
+ * Domain event published by the expiration scheduler after a bulk cancellation
+ * of expired PENDING bookings. Carries the freed unit/date ranges.
+ */
+public record BookingsExpiredEvent(
+        List<BookingDateRange> bookings
+) {
+}
@@ -0,0 +1,19 @@
+package com.tarasantoniuk.booking.hold;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A unit and date range held for a user until payment or expiry. Lives only in Redis.
+ */
+public record ReservationHold(
+        String holdId,
+        Long unitId,
+        Long userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalCost,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,221 @@
+package com.tarasantoniuk.booking.hold;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis storage of reservation holds.
+ * <p>
+ * All holds of a unit live in one hash, {@code booking:holds:{unitId}}: field = hold ID, value =
+ * {@code startDate|endDate|userId|totalCost|expiresAtMillis}. Placing a hold runs a Lua script that
+ * drops expired holds, rejects the range if it overlaps a live one (same inclusive overlap as
+ * {@code BookingRepository.findConflictingBookings}) and stores it, so two concurrent attempts for
+ * the same dates cannot both succeed. Expiry uses the Redis clock, so node clocks do not matter.
+ * The hash itself expires with its latest hold. Hold IDs start with the unit ID, which locates the hash.
+ * <p>
+ * Searches need the held units of a date range across all units, so live holds are also indexed in
+ * the sorted set {@code booking:holds:index} (member {@code holdId|startDate|endDate}, score = expiry).
+ * The index is written after the script, outside its atomic step, and only narrows search results;
+ * the unit hashes stay the source of truth. Expired members are pruned as the index is read.
+ */
+@Component
+public class ReservationHoldStore {
+
+    static final String KEY_PREFIX = "booking:holds:";
+    static final String INDEX_KEY = "booking:holds:index";
+
+    // Redis time in milliseconds
+    private static final String NOW = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            """;
+
+    private static final String PARSE = """
+            local function parse(value)
+                local startDate, endDate, userId, cost, expiresAt = string.match(value, '^([^|]*)|([^|]*)|([^|]*)|([^|]*)|([^|]*)$')
+                return startDate, endDate, userId, cost, tonumber(expiresAt)
+            end
+            """;
+
+    /**
+     * KEYS[1] unit hash; ARGV hold ID, start, end, user ID, total cost, TTL ms.
+     * Returns the expiry in ms, or 0 if the range overlaps a live hold.
+     */
+    private static final RedisScript<Long> PLACE = new DefaultRedisScript<>(NOW + PARSE + """
+            local latest = now + tonumber(ARGV[6])
+            local holds = redis.call('HGETALL', KEYS[1])
+            for i = 1, #holds, 2 do
+                local startDate, endDate, _, _, expiresAt = parse(holds[i + 1])
+                if expiresAt <= now then
+                    redis.call('HDEL', KEYS[1], holds[i])
+                elseif startDate <= ARGV[3] and endDate >= ARGV[2] then
+                    return 0
+                elseif expiresAt > latest then
+                    latest = expiresAt
+                end
+            end
+            local expiresAt = now + tonumber(ARGV[6])
+            redis.call('HSET', KEYS[1], ARGV[1], table.concat({ARGV[2], ARGV[3], ARGV[4], ARGV[5], expiresAt}, '|'))
+            redis.call('PEXPIREAT', KEYS[1], latest)
+            return expiresAt
+            """, Long.class);
+
+    /**
+     * KEYS[1] unit hash; ARGV hold ID, minimum remaining TTL ms.
+     * Returns the live hold, extended to live at least the given time, or nothing.
+     */
+    private static final RedisScript<String> CLAIM = new DefaultRedisScript<>(NOW + PARSE + """
+            local value = redis.call('HGET', KEYS[1], ARGV[1])
+            if not value then
+                return false
+            end
+            local startDate, endDate, userId, cost, expiresAt = parse(value)
+            if expiresAt <= now then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                return false
+            end
+            local extended = now + tonumber(ARGV[2])
+            if extended > expiresAt then
+                value = table.concat({startDate, endDate, userId, cost, extended}, '|')
+                redis.call('HSET', KEYS[1], ARGV[1], value)
+                if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[2]) then
+                    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                end
+            end
+            return value
+            """, String.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public ReservationHoldStore(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * Places a hold unless the range overlaps a live hold of the unit.
+     */
+    public Optional<ReservationHold> place(Long unitId, Long userId, LocalDate startDate, LocalDate endDate,
+                                           BigDecimal totalCost, Duration ttl) {
+        String holdId = unitId + "-" + UUID.randomUUID().toString().replace("-", "");
+        Long expiresAt = stringRedisTemplate.execute(PLACE, List.of(key(unitId)), holdId,
+                startDate.toString(), endDate.toString(), userId.toString(), totalCost.toPlainString(),
+                Long.toString(ttl.toMillis()));
+        if (expiresAt == null || expiresAt == 0) {
+            return Optional.empty();
+        }
+        ReservationHold hold = new ReservationHold(holdId, unitId, userId, startDate, endDate, totalCost,
+                Instant.ofEpochMilli(expiresAt));
+        index(hold);
+        return Optional.of(hold);
+    }
+
+    public Optional<ReservationHold> find(String holdId) {
+        Long unitId = unitIdOf(holdId);
+        if (unitId == null) {
+            return Optional.empty();
+        }
+        Object value = stringRedisTemplate.opsForHash().get(key(unitId), holdId);
+        return Optional.ofNullable(value)
+                .map(v -> parse(holdId, unitId, (String) v))
+                .filter(hold -> hold.expiresAt().isAfter(Instant.now()));
+    }
+
+    /**
+     * Returns the live hold and makes sure it outlives the given time, so it cannot expire
+     * while being turned into a booking.
+     */
+    public Optional<ReservationHold> claim(String holdId, Duration minRemaining) {
+        Long unitId = unitIdOf(holdId);
+        if (unitId == null) {
+            return Optional.empty();
+        }
+        String value = stringRedisTemplate.execute(CLAIM, List.of(key(unitId)), holdId,
+                Long.toString(minRemaining.toMillis()));
+        Optional<ReservationHold> hold = Optional.ofNullable(value).map(v -> parse(holdId, unitId, v));
+        hold.ifPresent(this::index);
+        return hold;
+    }
+
+    public void release(ReservationHold hold) {
+        stringRedisTemplate.opsForHash().delete(key(hold.unitId()), hold.holdId());
+        stringRedisTemplate.opsForZSet().remove(INDEX_KEY, indexMember(hold));
+    }
+
+    /**
+     * IDs of units with a live hold overlapping the range (both ends inclusive).
+     */
+    public Set<Long> heldUnitIds(LocalDate startDate, LocalDate endDate) {
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> members = stringRedisTemplate.opsForZSet().rangeByScore(INDEX_KEY, now, Double.POSITIVE_INFINITY);
+        if (members == null || members.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> unitIds = new HashSet<>();
+        for (String member : members) {
+            String[] fields = member.split("\\|", -1);
+            Long unitId = unitIdOf(fields[0]);
+            if (unitId != null && !LocalDate.parse(fields[1]).isAfter(endDate)
+                    && !LocalDate.parse(fields[2]).isBefore(startDate)) {
+                unitIds.add(unitId);
+            }
+        }
+        return unitIds;
+    }
+
+    /**
+     * Whether a live hold of the unit overlaps the range.
+     */
+    public boolean hasOverlappingHold(Long unitId, LocalDate startDate, LocalDate endDate) {
+        Map<Object, Object> holds = stringRedisTemplate.opsForHash().entries(key(unitId));
+        Instant now = Instant.now();
+        return holds.entrySet().stream()
+                .map(entry -> parse((String) entry.getKey(), unitId, (String) entry.getValue()))
+                .anyMatch(hold -> hold.expiresAt().isAfter(now)
+                        && !hold.startDate().isAfter(endDate) && !hold.endDate().isBefore(startDate));
+    }
+
+    private void index(ReservationHold hold) {
+        stringRedisTemplate.opsForZSet().add(INDEX_KEY, indexMember(hold), hold.expiresAt().toEpochMilli());
+    }
+
+    private static String indexMember(ReservationHold hold) {
+        return hold.holdId() + "|" + hold.startDate() + "|" + hold.endDate();
+    }
+
+    static String key(Long unitId) {
+        // Hash tag keeps a unit's holds in one cluster slot
+        return KEY_PREFIX + "{" + unitId + "}";
+    }
+
+    private static Long unitIdOf(String holdId) {
+        int separator = holdId.indexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return Long.valueOf(holdId.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ReservationHold parse(String holdId, Long unitId, String value) {
+        String[] fields = value.split("\\|", -1);
+        return new ReservationHold(holdId, unitId, Long.valueOf(fields[2]), LocalDate.parse(fields[0]),
+                LocalDate.parse(fields[1]), new BigDecimal(fields[3]), Instant.ofEpochMilli(Long.parseLong(fields[4])));
+    }
+}
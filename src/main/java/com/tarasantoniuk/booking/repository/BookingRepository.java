@@ -1,5 +1,7 @@
 package com.tarasantoniuk.booking.repository;
 
+import com.tarasantoniuk.booking.dto.BookingCreationResult;
+import com.tarasantoniuk.booking.dto.BookingDateRange;
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
 import jakarta.persistence.LockModeType;
@@ -11,9 +13,12 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,29 +68,58 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByStatusAndExpiresAtBefore(BookingStatus status, LocalDateTime expiresAt);
 
     /**
-     * Find IDs of expired pending bookings.
-     * Used by scheduler to create audit events before bulk cancellation.
+     * Cancel the expired pending bookings of one expiration partition ({@code unit_id mod partitions})
+     * in a single UPDATE and return their IDs. Rows cancelled concurrently by another transaction
+     * are not returned, so each expiration is reported exactly once.
+     */
+    @Query(value = """
+                WITH cancelled AS (
+                    UPDATE bookings
+                    SET status = 'CANCELLED'
+                    WHERE status = 'PENDING'
+                    AND expires_at < :now
+                    AND MOD(COALESCE(unit_id, 0), :partitions) = :partition
+                    RETURNING id
+                )
+                SELECT id FROM cancelled
+            """, nativeQuery = true)
+    List<Long> cancelExpiredInPartition(
+            @Param("now") LocalDateTime now,
+            @Param("partitions") int partitions,
+            @Param("partition") int partition
+    );
+
+    /**
+     * Try to take the transaction-scoped advisory lock of an expiration partition.
+     * Released on commit or rollback.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, :partition)", nativeQuery = true)
+    boolean tryLockExpirationPartition(@Param("lockClass") int lockClass, @Param("partition") int partition);
+
+    /**
+     * Find unit and date range of the given bookings (no entity loading).
+     * Used after bulk cancellation to invalidate caches for the freed dates.
      */
     @Query("""
-                SELECT b.id FROM Booking b
-                WHERE b.status = 'PENDING'
-                AND b.expiresAt < :now
+                SELECT new com.tarasantoniuk.booking.dto.BookingDateRange(b.id, b.unit.id, b.startDate, b.endDate)
+                FROM Booking b
+                WHERE b.id IN :ids
             """)
-    List<Long> findExpiredPendingBookingIds(@Param("now") LocalDateTime now);
+    List<BookingDateRange> findDateRangesByIds(@Param("ids") List<Long> ids);
 
     /**
-     * Bulk cancel all expired pending bookings in a single UPDATE query.
+     * Bulk confirm pending bookings in a single UPDATE query (payment settlement).
      *
-     * @return number of cancelled bookings
+     * @return number of confirmed bookings
      */
     @Modifying(clearAutomatically = true)
     @Query("""
                 UPDATE Booking b
-                SET b.status = 'CANCELLED'
-                WHERE b.status = 'PENDING'
-                AND b.expiresAt < :now
+                SET b.status = 'CONFIRMED', b.expiresAt = NULL
+                WHERE b.id IN :ids
+                AND b.status = 'PENDING'
             """)
-    int bulkCancelExpiredBookings(@Param("now") LocalDateTime now);
+    int bulkConfirmBookings(@Param("ids") Collection<Long> ids);
 
     /**
      * Find conflicting bookings for a unit in a date range
@@ -104,4 +138,59 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
+
+    /**
+     * Lock the unit, check the user and overlaps, and insert a PENDING booking with its PENDING
+     * payment in a single round-trip (function from 11-add-create-booking-function.sql).
+     * A SELECT that writes, so it must not run in the repository's default read-only transaction.
+     */
+    @Transactional
+    @Query(value = """
+                SELECT outcome AS "outcome", new_booking_id AS "bookingId", new_payment_id AS "paymentId",
+                       total_cost AS "totalCost", lock_wait_micros AS "lockWaitMicros"
+                FROM create_booking(:unitId, :userId, :startDate, :endDate, :createdAt, :expiresAt, :markup)
+            """, nativeQuery = true)
+    BookingCreationResult createBookingWithPayment(
+            @Param("unitId") Long unitId,
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("markup") BigDecimal markup
+    );
+
+    /**
+     * Find unit and date range of active (PENDING/CONFIRMED) bookings of the given units
+     * overlapping the window. Served by idx_bookings_unit_status_dates in a single query.
+     */
+    @Query("""
+                SELECT new com.tarasantoniuk.booking.dto.BookingDateRange(b.id, b.unit.id, b.startDate, b.endDate)
+                FROM Booking b
+                WHERE b.unit.id IN :unitIds
+                AND b.status IN ('PENDING', 'CONFIRMED')
+                AND b.startDate <= :to
+                AND b.endDate >= :from
+            """)
+    List<BookingDateRange> findActiveDateRangesForUnits(
+            @Param("unitIds") Collection<Long> unitIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Find unit and date range of all active (PENDING/CONFIRMED) bookings overlapping the window.
+     * Used to rebuild and verify precomputed availability views.
+     */
+    @Query("""
+                SELECT new com.tarasantoniuk.booking.dto.BookingDateRange(b.id, b.unit.id, b.startDate, b.endDate)
+                FROM Booking b
+                WHERE b.status IN ('PENDING', 'CONFIRMED')
+                AND b.startDate <= :to
+                AND b.endDate >= :from
+            """)
+    List<BookingDateRange> findActiveDateRanges(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
 }
\ No newline at end of file
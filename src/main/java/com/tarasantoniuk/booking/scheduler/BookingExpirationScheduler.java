@@ -1,14 +1,20 @@
 package com.tarasantoniuk.booking.scheduler;
 
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.event.BookingsExpiredEvent;
 import com.tarasantoniuk.booking.repository.BookingRepository;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
 import com.tarasantoniuk.statistic.service.UnitStatisticsService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,46 +22,118 @@ import java.util.List;
 import static com.tarasantoniuk.booking.config.BookingTimeConstants.SCHEDULER_FIXED_DELAY_MS;
 import static com.tarasantoniuk.booking.config.BookingTimeConstants.SCHEDULER_INITIAL_DELAY_MS;
 
+/**
+ * Cancels expired pending bookings, sharing the work with the other nodes.
+ * <p>
+ * Each run sweeps the partitions this node owns (see {@link ExpirationPartitionCoordinator}),
+ * one transaction per partition: take the partition's advisory lock (skip it if another node
+ * holds it), cancel its expired bookings with one UPDATE returning their IDs, then write the
+ * {@code BOOKING_EXPIRED} events for exactly those IDs.
+ * Metrics: {@code booking.expiration.sweep} and {@code booking.expiration.partition.sweeps{result}}.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class BookingExpirationScheduler {
 
+    // First key of the two-key advisory lock, the partition is the second
+    static final int EXPIRATION_LOCK_CLASS = 0x45585052;
+
     private final BookingRepository bookingRepository;
     private final EventService eventService;
     private final UnitStatisticsService unitStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExpirationPartitionCoordinator partitionCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer sweepTimer;
+    private final Counter sweptPartitions;
+    private final Counter lockedPartitions;
+    private final Counter failedPartitions;
 
+    public BookingExpirationScheduler(BookingRepository bookingRepository,
+                                      EventService eventService,
+                                      UnitStatisticsService unitStatisticsService,
+                                      ApplicationEventPublisher eventPublisher,
+                                      ExpirationPartitionCoordinator partitionCoordinator,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.eventService = eventService;
+        this.unitStatisticsService = unitStatisticsService;
+        this.eventPublisher = eventPublisher;
+        this.partitionCoordinator = partitionCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepTimer = Timer.builder("booking.expiration.sweep")
+                .description("Duration of an expiration sweep over the partitions owned by this node")
+                .register(meterRegistry);
+        this.sweptPartitions = partitionSweeps(meterRegistry, "swept");
+        this.lockedPartitions = partitionSweeps(meterRegistry, "locked");
+        this.failedPartitions = partitionSweeps(meterRegistry, "failed");
+    }
 
     /**
-     * Runs every minute to cancel expired bookings.
-     * Uses bulk UPDATE for optimal performance (single SQL query).
+     * Runs every minute to cancel expired bookings of the partitions owned by this node.
+     * A failed partition is rolled back alone and retried on the next run.
      */
     @Scheduled(fixedDelay = SCHEDULER_FIXED_DELAY_MS, initialDelay = SCHEDULER_INITIAL_DELAY_MS)
-    @Transactional
     public void cancelExpiredBookings() {
-        try {
+        sweepTimer.record(() -> {
             LocalDateTime now = LocalDateTime.now();
+            int cancelledCount = 0;
+            for (int partition : partitionCoordinator.claimPartitions()) {
+                try {
+                    Integer cancelled = sweepPartition(partition, now);
+                    if (cancelled == null) {
+                        lockedPartitions.increment();
+                        log.debug("Expiration partition {} is being swept by another node, skipping", partition);
+                        continue;
+                    }
+                    sweptPartitions.increment();
+                    cancelledCount += cancelled;
+                } catch (Exception e) {
+                    failedPartitions.increment();
+                    log.error("Failed to cancel expired bookings: partition={}", partition, e);
+                }
+            }
 
-            // 1. Get IDs of expired bookings (for audit events)
-            List<Long> expiredBookingIds = bookingRepository.findExpiredPendingBookingIds(now);
+            if (cancelledCount > 0) {
+                unitStatisticsService.invalidateAvailableUnitsCache();
+                log.info("Successfully cancelled {} expired bookings", cancelledCount);
+            }
+        });
+    }
 
-            if (expiredBookingIds.isEmpty()) {
-                return;
+    /**
+     * @return number of cancelled bookings, or null if another node holds the partition lock
+     */
+    private Integer sweepPartition(int partition, LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            if (!bookingRepository.tryLockExpirationPartition(EXPIRATION_LOCK_CLASS, partition)) {
+                return null;
             }
 
-            log.info("Found {} expired bookings to cancel", expiredBookingIds.size());
+            // 1. Bulk cancel - single UPDATE returning the IDs it changed
+            List<Long> expiredBookingIds = bookingRepository.cancelExpiredInPartition(
+                    now, partitionCoordinator.getPartitions(), partition);
+            if (expiredBookingIds.isEmpty()) {
+                return 0;
+            }
 
-            // 2. Bulk cancel - single UPDATE query
-            int cancelledCount = bookingRepository.bulkCancelExpiredBookings(now);
+            // 2. Freed unit/date ranges (for search cache invalidation after commit)
+            List<BookingDateRange> expiredRanges = bookingRepository.findDateRangesByIds(expiredBookingIds);
 
-            // 3. Create audit events in batch
+            // 3. Audit events in batch
             eventService.createEventsInBatch(EventType.BOOKING_EXPIRED, expiredBookingIds);
 
-            unitStatisticsService.invalidateAvailableUnitsCache();
+            eventPublisher.publishEvent(new BookingsExpiredEvent(expiredRanges));
+            log.debug("Cancelled {} expired bookings: partition={}", expiredBookingIds.size(), partition);
+            return expiredBookingIds.size();
+        });
+    }
 
-            log.info("Successfully cancelled {} expired bookings", cancelledCount);
-        } catch (Exception e) {
-            log.error("Failed to cancel expired bookings", e);
-        }
+    private static Counter partitionSweeps(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.expiration.partition.sweeps")
+                .description("Expiration partition sweeps by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.tarasantoniuk.booking.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the expiration sweep across the live nodes of the cluster.
+ * <p>
+ * Bookings are partitioned by {@code unit_id mod partitions}. Every node heartbeats into the
+ * {@code expiration:members} sorted set (score = last heartbeat) before each sweep; members
+ * silent for longer than the member TTL are dropped. With the live members sorted by id,
+ * node {@code i} of {@code n} owns the partitions {@code p} with {@code p mod n == i}.
+ * <p>
+ * During a rebalance two nodes may briefly both own a partition, and without Redis every node
+ * owns all of them; the per-partition advisory lock taken by the sweep keeps those runs from
+ * overlapping. Metrics: {@code booking.expiration.partitions.owned},
+ * {@code booking.expiration.nodes} and {@code booking.expiration.rebalances}.
+ */
+@Component
+@Slf4j
+public class ExpirationPartitionCoordinator {
+
+    static final String MEMBERS_KEY = "expiration:members";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int partitions;
+    private final Duration memberTtl;
+    private final String nodeId;
+    private final Counter rebalances;
+
+    private volatile List<Integer> ownedPartitions = List.of();
+    private volatile int liveNodes;
+
+    public ExpirationPartitionCoordinator(StringRedisTemplate stringRedisTemplate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.booking.expiration.partitions:16}") int partitions,
+                                          @Value("${app.booking.expiration.member-ttl:3m}") Duration memberTtl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.partitions = partitions;
+        this.memberTtl = memberTtl;
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.rebalances = Counter.builder("booking.expiration.rebalances")
+                .description("Changes of the expiration partitions owned by this node")
+                .register(meterRegistry);
+        Gauge.builder("booking.expiration.partitions.owned", this, c -> c.ownedPartitions.size())
+                .description("Expiration partitions currently owned by this node")
+                .register(meterRegistry);
+        Gauge.builder("booking.expiration.nodes", this, c -> c.liveNodes)
+                .description("Live nodes sharing the expiration sweep")
+                .register(meterRegistry);
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Heartbeats and returns the partitions this node sweeps now.
+     * If membership cannot be read, all partitions.
+     */
+    public List<Integer> claimPartitions() {
+        List<Integer> owned;
+        try {
+            long now = System.currentTimeMillis();
+            stringRedisTemplate.opsForZSet().add(MEMBERS_KEY, nodeId, now);
+            stringRedisTemplate.opsForZSet().removeRangeByScore(MEMBERS_KEY, 0, now - memberTtl.toMillis());
+            Set<String> members = stringRedisTemplate.opsForZSet().range(MEMBERS_KEY, 0, -1);
+            List<String> live = members != null ? new ArrayList<>(members) : new ArrayList<>();
+            if (!live.contains(nodeId)) {
+                live.add(nodeId);
+            }
+            live.sort(null);
+            liveNodes = live.size();
+            owned = assign(partitions, live.size(), live.indexOf(nodeId));
+        } catch (Exception e) {
+            log.warn("Expiration membership unavailable, sweeping all partitions", e);
+            liveNodes = 1;
+            owned = assign(partitions, 1, 0);
+        }
+
+        if (!owned.equals(ownedPartitions)) {
+            rebalances.increment();
+            log.info("Expiration partitions rebalanced: node={}, nodes={}, owned={}", nodeId, liveNodes, owned);
+            ownedPartitions = owned;
+        }
+        return owned;
+    }
+
+    /**
+     * Leaves the cluster on shutdown, so the others take over at their next sweep
+     * instead of after the member TTL.
+     */
+    @PreDestroy
+    public void leave() {
+        try {
+            stringRedisTemplate.opsForZSet().remove(MEMBERS_KEY, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to leave expiration membership: node={}", nodeId, e);
+        }
+    }
+
+    static List<Integer> assign(int partitions, int nodes, int index) {
+        return IntStream.range(0, partitions)
+                .filter(partition -> partition % nodes == index)
+                .boxed()
+                .toList();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
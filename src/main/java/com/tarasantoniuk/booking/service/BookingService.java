@@ -1,19 +1,24 @@
 package com.tarasantoniuk.booking.service;
 
+import com.tarasantoniuk.booking.contention.UnitContentionTracker;
+import com.tarasantoniuk.booking.dto.BookingCreationResult;
 import com.tarasantoniuk.booking.dto.BookingResponseDto;
 import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
 import com.tarasantoniuk.booking.event.BookingEvent;
 import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
+import com.tarasantoniuk.booking.hold.ReservationHold;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
 import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.coalescing.Coalesced;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
 import com.tarasantoniuk.unit.entity.Unit;
 import com.tarasantoniuk.unit.repository.UnitRepository;
 import com.tarasantoniuk.user.entity.User;
 import com.tarasantoniuk.user.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,33 +26,72 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
 import static com.tarasantoniuk.booking.config.BookingTimeConstants.BOOKING_EXPIRATION_MINUTES;
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
 
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class BookingService {
 
+    /**
+     * How {@link #createBooking} writes: {@code JPA} loads and saves entities (payment created by
+     * the booking event listener), {@code PROCEDURE} calls the {@code create_booking} database
+     * function, which does the same in one round-trip.
+     */
+    public enum CreateMode {
+        JPA,
+        PROCEDURE
+    }
+
     private final BookingRepository bookingRepository;
     private final UnitRepository unitRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
-
+    private final UnitContentionTracker unitContentionTracker;
+    private final ReservationHoldStore reservationHoldStore;
+    private final CreateMode createMode;
+
+    public BookingService(BookingRepository bookingRepository,
+                          UnitRepository unitRepository,
+                          UserRepository userRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          UnitContentionTracker unitContentionTracker,
+                          ReservationHoldStore reservationHoldStore,
+                          @Value("${app.booking.create-mode:jpa}") CreateMode createMode) {
+        this.bookingRepository = bookingRepository;
+        this.unitRepository = unitRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.unitContentionTracker = unitContentionTracker;
+        this.reservationHoldStore = reservationHoldStore;
+        this.createMode = createMode;
+    }
 
     @Transactional
     public BookingResponseDto createBooking(CreateBookingRequestDto request) {
         log.info("Creating booking for unitId={}, userId={}, dates={} to {}",
                 request.getUnitId(), request.getUserId(), request.getStartDate(), request.getEndDate());
 
+        if (createMode == CreateMode.PROCEDURE) {
+            return createBookingInDatabase(request);
+        }
+
         // 1. Acquire pessimistic lock on unit to prevent race conditions
         // This ensures only one transaction can create a booking for this unit at a time
-        Unit unit = unitRepository.findByIdWithLock(request.getUnitId())
-                .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + request.getUnitId()));
+        Unit unit = lockUnit(request.getUnitId());
+
+        // Holds are checked under the lock: a hold placed after this check is checked against
+        // the database under the same lock, so it sees this booking once it commits
+        if (isHeld(request.getUnitId(), request.getStartDate(), request.getEndDate())) {
+            throw new UnitNotAvailableException("Unit is held for selected dates by another booking attempt");
+        }
 
         // 2. Validate user exists
         User user = userRepository.findById(request.getUserId())
@@ -78,7 +122,7 @@ public class BookingService {
         BigDecimal totalCost = calculateTotalCost(unit, request.getStartDate(), request.getEndDate());
 
         // 6. Publish event (triggers payment creation, audit event, cache invalidation)
-        eventPublisher.publishEvent(BookingEvent.created(saved.getId(), totalCost));
+        eventPublisher.publishEvent(BookingEvent.created(saved, totalCost));
 
         log.info("Booking created successfully: bookingId={}, unitId={}, userId={}",
                 saved.getId(), unit.getId(), user.getId());
@@ -86,6 +130,97 @@ public class BookingService {
         return BookingResponseDto.from(saved, totalCost);
     }
 
+    /**
+     * Procedure mode of {@link #createBooking}: the checks that need no lock run first, then the
+     * database function locks the unit and inserts the booking and its payment in one call.
+     * Holds are checked afterwards, while the transaction still holds the unit lock; a held
+     * range rolls the insert back.
+     */
+    private BookingResponseDto createBookingInDatabase(CreateBookingRequestDto request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must be on or after start date");
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        LocalDateTime expiresAt = createdAt.plusMinutes(BOOKING_EXPIRATION_MINUTES);
+        BookingCreationResult result = bookingRepository.createBookingWithPayment(request.getUnitId(),
+                request.getUserId(), request.getStartDate(), request.getEndDate(), createdAt, expiresAt,
+                MARKUP_MULTIPLIER);
+        if (result.getLockWaitMicros() != null) {
+            unitContentionTracker.recordLockWait(request.getUnitId(),
+                    TimeUnit.MICROSECONDS.toNanos(result.getLockWaitMicros()));
+        }
+
+        switch (result.getOutcome()) {
+            case BookingCreationResult.CREATED -> {
+                // Handled like a JPA-created booking after commit; only the payment already exists
+            }
+            case BookingCreationResult.UNIT_NOT_FOUND ->
+                    throw new ResourceNotFoundException("Unit not found with id: " + request.getUnitId());
+            case BookingCreationResult.USER_NOT_FOUND ->
+                    throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+            case BookingCreationResult.UNAVAILABLE ->
+                    throw new UnitNotAvailableException("Unit is not available for selected dates");
+            default -> throw new IllegalStateException("Unexpected create_booking outcome: " + result.getOutcome());
+        }
+        if (isHeld(request.getUnitId(), request.getStartDate(), request.getEndDate())) {
+            throw new UnitNotAvailableException("Unit is held for selected dates by another booking attempt");
+        }
+
+        eventPublisher.publishEvent(BookingEvent.createdWithPayment(result.getBookingId(), request.getUnitId(),
+                request.getStartDate(), request.getEndDate(), result.getTotalCost()));
+
+        log.info("Booking created successfully: bookingId={}, paymentId={}, unitId={}, userId={}",
+                result.getBookingId(), result.getPaymentId(), request.getUnitId(), request.getUserId());
+
+        return new BookingResponseDto(result.getBookingId(), request.getUnitId(), request.getUserId(),
+                request.getStartDate(), request.getEndDate(), BookingStatus.PENDING, createdAt, expiresAt,
+                result.getTotalCost());
+    }
+
+    /**
+     * Persists a paid reservation hold as a CONFIRMED booking. Runs in the payment transaction;
+     * the unit lock and conflict check guard against bookings made outside the hold tier.
+     */
+    @Transactional
+    public Booking createConfirmedBooking(ReservationHold hold) {
+        Unit unit = lockUnit(hold.unitId());
+        User user = userRepository.findById(hold.userId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + hold.userId()));
+
+        if (!isUnitAvailable(hold.unitId(), hold.startDate(), hold.endDate())) {
+            throw new UnitNotAvailableException("Unit is not available for selected dates");
+        }
+
+        Booking booking = new Booking();
+        booking.setUnit(unit);
+        booking.setUser(user);
+        booking.setStartDate(hold.startDate());
+        booking.setEndDate(hold.endDate());
+        booking.setStatus(BookingStatus.CONFIRMED);
+
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.reserved(saved, hold.totalCost()));
+
+        log.info("Booking created from hold: bookingId={}, holdId={}, unitId={}, userId={}",
+                saved.getId(), hold.holdId(), unit.getId(), user.getId());
+        return saved;
+    }
+
+    /**
+     * Locks the unit row, recording how long the attempt waited behind other bookings of the same unit.
+     */
+    private Unit lockUnit(Long unitId) {
+        long start = System.nanoTime();
+        try {
+            return unitRepository.findByIdWithLock(unitId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + unitId));
+        } finally {
+            unitContentionTracker.recordLockWait(unitId, System.nanoTime() - start);
+        }
+    }
+
+    @Coalesced
     public BookingResponseDto getBookingById(Long id) {
         Booking booking = bookingRepository.findByIdWithUnit(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
@@ -131,7 +266,7 @@ public class BookingService {
         }
         bookingRepository.save(booking);
 
-        eventPublisher.publishEvent(BookingEvent.cancelled(bookingId));
+        eventPublisher.publishEvent(BookingEvent.cancelled(booking));
 
         log.info("Booking cancelled successfully: bookingId={}", bookingId);
     }
@@ -144,16 +279,29 @@ public class BookingService {
         booking.confirm();
         bookingRepository.save(booking);
 
-        eventPublisher.publishEvent(BookingEvent.confirmed(bookingId));
+        eventPublisher.publishEvent(BookingEvent.confirmed(booking));
 
         log.info("Booking confirmed: bookingId={}", bookingId);
     }
 
-    private boolean isUnitAvailable(Long unitId, java.time.LocalDate startDate, java.time.LocalDate endDate) {
+    /**
+     * Whether a reservation hold covers any of the dates. Without Redis no holds can be placed
+     * or checked, so bookings proceed on the database check alone.
+     */
+    private boolean isHeld(Long unitId, LocalDate startDate, LocalDate endDate) {
+        try {
+            return reservationHoldStore.hasOverlappingHold(unitId, startDate, endDate);
+        } catch (Exception e) {
+            log.warn("Failed to check reservation holds, booking on the database check alone: unitId={}", unitId, e);
+            return false;
+        }
+    }
+
+    private boolean isUnitAvailable(Long unitId, LocalDate startDate, LocalDate endDate) {
         return bookingRepository.findConflictingBookings(unitId, startDate, endDate).isEmpty();
     }
 
-    private BigDecimal calculateTotalCost(Unit unit, java.time.LocalDate startDate, java.time.LocalDate endDate) {
+    static BigDecimal calculateTotalCost(Unit unit, LocalDate startDate, LocalDate endDate) {
         long days = Math.max(ChronoUnit.DAYS.between(startDate, endDate), 1);
         return unit.calculateCostForDays(days);
     }
@@ -0,0 +1,185 @@
+package com.tarasantoniuk.booking.service;
+
+import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
+import com.tarasantoniuk.booking.dto.ReservationHoldDto;
+import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
+import com.tarasantoniuk.booking.hold.ReservationHold;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.service.PaymentService;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.unit.service.UnitSearchCacheService;
+import com.tarasantoniuk.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Booking through reservation holds: the dates are held in Redis while the user pays, and only
+ * a paid hold is written to the database, as a CONFIRMED booking with a COMPLETED payment.
+ * Abandoned attempts expire in Redis without a single database write.
+ * <p>
+ * Holds and legacy PENDING bookings exclude each other through the unit row lock: a hold is placed
+ * in Redis first and then checked against the database under the lock (and released on conflict),
+ * while creating a PENDING booking checks holds under the same lock. Whichever takes the lock second
+ * sees the other. Paying re-checks the database under the lock, and a failed payment releases the hold.
+ * <p>
+ * Unit search excludes held units, so placing and cancelling a hold changes availability: both
+ * bump the availability ETag, and placing one also invalidates cached searches for its dates.
+ */
+@Service
+@Slf4j
+public class ReservationHoldService {
+
+    // A claimed hold outlives the payment transaction, so no other attempt can take its dates meanwhile
+    static final Duration CLAIM_MARGIN = Duration.ofMinutes(1);
+
+    private final ReservationHoldStore reservationHoldStore;
+    private final UnitRepository unitRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentService paymentService;
+    private final UnitSearchCacheService unitSearchCacheService;
+    private final EntityVersionService entityVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public ReservationHoldService(ReservationHoldStore reservationHoldStore,
+                                  UnitRepository unitRepository,
+                                  UserRepository userRepository,
+                                  BookingRepository bookingRepository,
+                                  PaymentService paymentService,
+                                  UnitSearchCacheService unitSearchCacheService,
+                                  EntityVersionService entityVersionService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.booking.hold.ttl:15m}") Duration ttl) {
+        this.reservationHoldStore = reservationHoldStore;
+        this.unitRepository = unitRepository;
+        this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.paymentService = paymentService;
+        this.unitSearchCacheService = unitSearchCacheService;
+        this.entityVersionService = entityVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+    }
+
+    public ReservationHoldDto placeHold(CreateBookingRequestDto request) {
+        log.info("Placing hold for unitId={}, userId={}, dates={} to {}",
+                request.getUnitId(), request.getUserId(), request.getStartDate(), request.getEndDate());
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must be on or after start date");
+        }
+        Unit unit = unitRepository.findById(request.getUnitId())
+                .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + request.getUnitId()));
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+        }
+
+        BigDecimal totalCost = BookingService.calculateTotalCost(unit, request.getStartDate(), request.getEndDate());
+        ReservationHold hold = reservationHoldStore.place(unit.getId(), request.getUserId(),
+                        request.getStartDate(), request.getEndDate(), totalCost, ttl)
+                .orElseThrow(() -> new UnitNotAvailableException(
+                        "Unit is held for selected dates by another booking attempt"));
+
+        // The hold is visible before the check, so a booking taking the lock after it sees the hold
+        boolean available;
+        try {
+            available = Boolean.TRUE.equals(transactionTemplate.execute(status -> isAvailableUnderLock(hold)));
+        } catch (RuntimeException e) {
+            release(hold);
+            throw e;
+        }
+        if (!available) {
+            release(hold);
+            throw new UnitNotAvailableException("Unit is not available for selected dates");
+        }
+        unitSearchCacheService.invalidateDates(hold.startDate(), hold.endDate());
+        entityVersionService.availabilityChanged();
+
+        log.info("Hold placed: holdId={}, expiresAt={}", hold.holdId(), hold.expiresAt());
+        return ReservationHoldDto.from(hold);
+    }
+
+    public ReservationHoldDto getHold(String holdId) {
+        return reservationHoldStore.find(holdId)
+                .map(ReservationHoldDto::from)
+                .orElseThrow(() -> holdNotFound(holdId));
+    }
+
+    /**
+     * Pays the hold and turns it into a CONFIRMED booking. The hold is released once the booking
+     * is committed, or as soon as the payment fails.
+     */
+    public PaymentResponseDto payHold(String holdId, Long userId) {
+        log.info("Paying hold: holdId={}, userId={}", holdId, userId);
+
+        ReservationHold hold = reservationHoldStore.claim(holdId, CLAIM_MARGIN)
+                .orElseThrow(() -> holdNotFound(holdId));
+        if (!hold.userId().equals(userId)) {
+            log.warn("Unauthorized hold payment attempt: holdId={}, requestUserId={}, ownerUserId={}",
+                    holdId, userId, hold.userId());
+            throw new IllegalArgumentException("You can only pay for your own holds");
+        }
+
+        PaymentResponseDto payment;
+        try {
+            payment = paymentService.payForHold(hold);
+        } catch (RuntimeException e) {
+            // Nothing was written, so the dates go back to other attempts
+            release(hold);
+            entityVersionService.availabilityChanged();
+            throw e;
+        }
+        release(hold);
+        return payment;
+    }
+
+    public void cancelHold(String holdId, Long userId) {
+        log.info("Cancelling hold: holdId={}, userId={}", holdId, userId);
+
+        ReservationHold hold = reservationHoldStore.find(holdId)
+                .orElseThrow(() -> holdNotFound(holdId));
+        if (!hold.userId().equals(userId)) {
+            log.warn("Unauthorized hold cancel attempt: holdId={}, requestUserId={}, ownerUserId={}",
+                    holdId, userId, hold.userId());
+            throw new IllegalArgumentException("You can only cancel your own holds");
+        }
+        reservationHoldStore.release(hold);
+        entityVersionService.availabilityChanged();
+    }
+
+    /**
+     * Checks the hold's dates against the database under the unit lock, the lock PENDING bookings take.
+     */
+    private boolean isAvailableUnderLock(ReservationHold hold) {
+        unitRepository.findByIdWithLock(hold.unitId())
+                .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + hold.unitId()));
+        return bookingRepository.findConflictingBookings(hold.unitId(), hold.startDate(), hold.endDate()).isEmpty();
+    }
+
+    /**
+     * Releases the hold; if that fails, it only blocks its dates until it expires.
+     */
+    private void release(ReservationHold hold) {
+        try {
+            reservationHoldStore.release(hold);
+        } catch (Exception e) {
+            log.warn("Failed to release hold, it expires at {}: holdId={}", hold.expiresAt(), hold.holdId(), e);
+        }
+    }
+
+    private static ResourceNotFoundException holdNotFound(String holdId) {
+        return new ResourceNotFoundException("Hold not found or expired: " + holdId);
+    }
+}
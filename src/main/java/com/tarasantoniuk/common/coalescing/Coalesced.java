@@ -0,0 +1,22 @@
+package com.tarasantoniuk.common.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent calls with equal arguments share one in-flight execution.
+ * <p>
+ * Followers receive the same result instance as the leader (or its exception), so the method must
+ * be free of side effects and its result must not be mutated by callers. Calls inside a read-write
+ * transaction, or from a request pinned to the primary after a write, are never coalesced.
+ *
+ * @see RequestCoalescer
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
@@ -0,0 +1,64 @@
+package com.tarasantoniuk.common.coalescing;
+
+import com.tarasantoniuk.common.datasource.PrimaryPinning;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Routes calls to {@link Coalesced} methods through the {@link RequestCoalescer}, keyed by the
+ * method and its arguments.
+ */
+public class CoalescingInterceptor implements MethodInterceptor {
+
+    private final Supplier<RequestCoalescer> requestCoalescerSupplier;
+    private final Map<Method, String> operationNames = new ConcurrentHashMap<>();
+    private volatile RequestCoalescer requestCoalescer;
+
+    /**
+     * @param requestCoalescer resolved on first use, as advisors are created before regular beans
+     */
+    public CoalescingInterceptor(Supplier<RequestCoalescer> requestCoalescer) {
+        this.requestCoalescerSupplier = requestCoalescer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!coalescable()) {
+            return invocation.proceed();
+        }
+        Method method = invocation.getMethod();
+        String operation = operationNames.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+        Object key = SimpleKeyGenerator.generateKey(invocation.getArguments());
+        return coalescer().execute(operation, new MethodKey(method, key), invocation::proceed);
+    }
+
+    private RequestCoalescer coalescer() {
+        RequestCoalescer coalescer = requestCoalescer;
+        if (coalescer == null) {
+            coalescer = requestCoalescerSupplier.get();
+            requestCoalescer = coalescer;
+        }
+        return coalescer;
+    }
+
+    /**
+     * A caller that has written data must see it, so it cannot join a computation that may have
+     * started before its write.
+     */
+    private static boolean coalescable() {
+        boolean inWriteTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return !inWriteTransaction && !PrimaryPinning.isPinned();
+    }
+
+    private record MethodKey(Method method, Object arguments) {
+    }
+}
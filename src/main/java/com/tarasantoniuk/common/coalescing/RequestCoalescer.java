@@ -0,0 +1,98 @@
+package com.tarasantoniuk.common.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shares one in-flight computation between concurrent callers with the same key ("single flight").
+ * <p>
+ * The first caller for a key (the leader) runs the computation on its own thread; callers that
+ * arrive before it finishes (followers) wait for and return its result. Nothing is cached: once the
+ * leader finishes the key is released and the next call computes again.
+ * <p>
+ * Metric: {@code coalescing.calls} tagged by operation and {@code role} (leader/follower); the
+ * coalescing ratio of an operation is followers / (leaders + followers).
+ */
+@Slf4j
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param operation name of the operation, used for metrics
+     * @param key       identity of the call within the operation (e.g. its arguments)
+     */
+    public Object execute(String operation, Object key, Computation computation) throws Throwable {
+        OperationKey operationKey = new OperationKey(operation, key);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(operationKey, leader);
+        Counter[] operationCounters = countersFor(operation);
+
+        if (existing != null) {
+            operationCounters[1].increment();
+            return await(existing);
+        }
+
+        operationCounters[0].increment();
+        try {
+            Object result = computation.compute();
+            leader.complete(result);
+            return result;
+        } catch (Throwable e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(operationKey, leader);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced request", e);
+        }
+    }
+
+    private Counter[] countersFor(String operation) {
+        return counters.computeIfAbsent(operation, name -> new Counter[]{
+                counter(name, "leader"),
+                counter(name, "follower")
+        });
+    }
+
+    private Counter counter(String operation, String role) {
+        return Counter.builder("coalescing.calls")
+                .description("Calls to coalesced read operations by role")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Computation {
+        Object compute() throws Throwable;
+    }
+
+    private record OperationKey(String operation, Object key) {
+    }
+}
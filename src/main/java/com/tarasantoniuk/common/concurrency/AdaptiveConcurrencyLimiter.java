@@ -0,0 +1,104 @@
+package com.tarasantoniuk.common.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) concurrency limit.
+ * <p>
+ * Every completed request is a sample: a request slower than the latency target
+ * (or failed with a server error) shrinks the limit by {@value #BACKOFF_RATIO};
+ * a fast request while the limit is at least half used grows it by one.
+ * The limit shrinks at most once per latency target: a burst of slow requests all
+ * reflect the same overload, and shrinking on each of them would collapse the limit
+ * to its minimum before the first backoff could take effect.
+ * Under overload the limit converges to the concurrency the backend can serve
+ * within the target, and excess requests are rejected instead of queueing
+ * behind row locks and the connection pool.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+    private static final double PRESSURE_RATIO = 0.8;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget) {
+        this(initialLimit, minLimit, maxLimit, latencyTarget, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget,
+                               LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limit = initialLimit;
+        this.nanoClock = nanoClock;
+        this.lastBackoffNanos = nanoClock.getAsLong() - latencyTargetNanos;
+    }
+
+    /**
+     * @return true if the request may proceed; the caller must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and adjusts the limit from the request outcome.
+     *
+     * @param latencyNanos request duration
+     * @param dropped      true if the request failed in a way that indicates overload
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        adjust(latencyNanos, dropped, inFlightBefore);
+    }
+
+    /**
+     * True when in-flight requests are close to the limit;
+     * lower-priority groups shed load while this holds.
+     */
+    public boolean isUnderPressure() {
+        return inFlight.get() >= getLimit() * PRESSURE_RATIO;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adjust(long latencyNanos, boolean dropped, int inFlightBefore) {
+        if (dropped || latencyNanos > latencyTargetNanos) {
+            long now = nanoClock.getAsLong();
+            if (now - lastBackoffNanos >= latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastBackoffNanos = now;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.tarasantoniuk.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds excess booking-write and search requests with 503 + Retry-After
+ * before they reach controllers, row locks and the connection pool.
+ * <p>
+ * Each {@link EndpointGroup} has its own {@link AdaptiveConcurrencyLimiter}. Search
+ * is additionally rejected while booking writes are under pressure, so booking
+ * writes keep their share of the database under overload.
+ * <p>
+ * Metrics (tag {@code group}): {@code http.server.concurrency.limit},
+ * {@code http.server.concurrency.inflight} and {@code http.server.concurrency.rejected}.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<EndpointGroup, AdaptiveConcurrencyLimiter> limiters;
+    private final Map<EndpointGroup, Counter> rejections = new EnumMap<>(EndpointGroup.class);
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(Map<EndpointGroup, AdaptiveConcurrencyLimiter> limiters,
+                                  MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.limiters = new EnumMap<>(limiters);
+        this.objectMapper = objectMapper;
+
+        this.limiters.forEach((group, limiter) -> {
+            Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently in flight")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("http.server.concurrency.rejected")
+                    .description("Requests rejected by the concurrency limit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        EndpointGroup group = EndpointGroup.of(request);
+        AdaptiveConcurrencyLimiter limiter = group != null ? limiters.get(group) : null;
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (shouldShed(group) || !limiter.tryAcquire()) {
+            reject(group, request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private boolean shouldShed(EndpointGroup group) {
+        AdaptiveConcurrencyLimiter bookingWrites = limiters.get(EndpointGroup.BOOKING_WRITE);
+        return group == EndpointGroup.SEARCH && bookingWrites != null && bookingWrites.isUnderPressure();
+    }
+
+    private void reject(EndpointGroup group, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejections.get(group).increment();
+        log.debug("Rejected {} {}: concurrency limit reached for group {}",
+                request.getMethod(), request.getRequestURI(), group.tag());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is overloaded, please retry later",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
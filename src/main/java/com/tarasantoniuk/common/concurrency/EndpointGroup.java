@@ -0,0 +1,41 @@
+package com.tarasantoniuk.common.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint groups with their own concurrency limit.
+ * Booking writes have priority: search is shed first when booking writes are under pressure.
+ */
+public enum EndpointGroup {
+
+    BOOKING_WRITE("booking-write"),
+    SEARCH("search");
+
+    private final String tag;
+
+    EndpointGroup(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * @return the group of the request, or null if it is not limited
+     */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+
+        if ("POST".equals(method)
+                && (path.startsWith("/api/v1/bookings") || path.startsWith("/api/v1/payments"))) {
+            return BOOKING_WRITE;
+        }
+        if ("GET".equals(method)
+                && (path.equals("/api/v1/units/search") || path.equals("/api/v1/units/calendar"))) {
+            return SEARCH;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tarasantoniuk.common.config;
+
+/**
+ * Names of the Spring caches backed by the Redis cache manager.
+ * Each name has its own TTL configured in {@link RedisConfig}.
+ */
+public final class CacheNames {
+
+    private CacheNames() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Unit details by unit ID.
+     */
+    public static final String UNITS = "units";
+
+    /**
+     * User details by user ID.
+     */
+    public static final String USERS = "users";
+
+    /**
+     * User details by username.
+     */
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+}
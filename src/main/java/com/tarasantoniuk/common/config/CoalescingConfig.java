@@ -0,0 +1,43 @@
+package com.tarasantoniuk.common.config;
+
+import com.tarasantoniuk.common.coalescing.Coalesced;
+import com.tarasantoniuk.common.coalescing.CoalescingInterceptor;
+import com.tarasantoniuk.common.coalescing.RequestCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies request coalescing to {@link Coalesced} methods.
+ * <p>
+ * The advisor runs before the cache and transaction interceptors, so followers skip the cache
+ * lookup and never check out a database connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+    @Bean
+    public RequestCoalescer requestCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer(meterRegistry);
+    }
+
+    // Infrastructure role, so the auto-proxy creator used for @Cacheable/@Transactional picks it up
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor coalescingAdvisor(ObjectProvider<RequestCoalescer> requestCoalescer) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Coalesced.class),
+                new CoalescingInterceptor(requestCoalescer::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return advisor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.tarasantoniuk.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.concurrency.AdaptiveConcurrencyLimiter;
+import com.tarasantoniuk.common.concurrency.ConcurrencyLimitFilter;
+import com.tarasantoniuk.common.concurrency.EndpointGroup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Registers the adaptive concurrency limit filter for booking writes and search.
+ * <p>
+ * Limits start at the initial value and adapt between min and max based on
+ * request latency against the per-group target.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${app.concurrency-limit.booking-write.initial:20}") int bookingInitial,
+            @Value("${app.concurrency-limit.booking-write.min:2}") int bookingMin,
+            @Value("${app.concurrency-limit.booking-write.max:50}") int bookingMax,
+            @Value("${app.concurrency-limit.booking-write.latency-target:500ms}") Duration bookingLatencyTarget,
+            @Value("${app.concurrency-limit.search.initial:50}") int searchInitial,
+            @Value("${app.concurrency-limit.search.min:5}") int searchMin,
+            @Value("${app.concurrency-limit.search.max:200}") int searchMax,
+            @Value("${app.concurrency-limit.search.latency-target:300ms}") Duration searchLatencyTarget) {
+
+        Map<EndpointGroup, AdaptiveConcurrencyLimiter> limiters = Map.of(
+                EndpointGroup.BOOKING_WRITE, new AdaptiveConcurrencyLimiter(
+                        bookingInitial, bookingMin, bookingMax, bookingLatencyTarget),
+                EndpointGroup.SEARCH, new AdaptiveConcurrencyLimiter(
+                        searchInitial, searchMin, searchMax, searchLatencyTarget)
+        );
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiters, meterRegistry, objectMapper));
+        registration.addUrlPatterns("/api/v1/*");
+        // Shed before any other request processing
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
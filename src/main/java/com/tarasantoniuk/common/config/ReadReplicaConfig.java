@@ -0,0 +1,95 @@
+package com.tarasantoniuk.common.config;
+
+import com.tarasantoniuk.common.datasource.PrimaryPinningFilter;
+import com.tarasantoniuk.common.datasource.ReplicaDataSource;
+import com.tarasantoniuk.common.datasource.ReplicaHealthChecker;
+import com.tarasantoniuk.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas.
+ * <p>
+ * The primary pool is built from {@code spring.datasource}; each URL in
+ * {@code app.datasource.replicas.urls} gets its own read-only pool with the same credentials
+ * unless replica credentials are set. Disabled by default: without it, all traffic uses the
+ * auto-configured primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:}") String username,
+            @Value("${app.datasource.replicas.password:}") String password,
+            @Value("${app.datasource.replicas.pool-size:10}") int poolSize) {
+
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(urls.get(i).trim());
+            pool.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            pool.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // Do not fail startup when a replica is down; the health check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaDataSource(pool.getPoolName(), pool));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaHealthChecker replicaHealthChecker(
+            ReplicaRoutingDataSource routingDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.health-check-interval:5s}") Duration interval,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag) {
+        return new ReplicaHealthChecker(routingDataSource.getReplicas(), interval, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimaryPinningFilter> primaryPinningFilter(
+            @Value("${app.datasource.replicas.pin-window:5s}") Duration pinWindow) {
+        FilterRegistrationBean<PrimaryPinningFilter> registration =
+                new FilterRegistrationBean<>(new PrimaryPinningFilter(pinWindow));
+        registration.addUrlPatterns("/api/v1/*");
+        // Right after load shedding, before any transaction starts
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -2,6 +2,8 @@ package com.tarasantoniuk.common.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.user.dto.UserResponseDto;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,10 +12,12 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
@@ -21,6 +25,13 @@ public class RedisConfig {
 
     private static final Duration CACHE_TTL = Duration.ofHours(1);
 
+    /**
+     * Units have no update operation, so entries only go stale if the row is changed outside the API.
+     */
+    private static final Duration UNITS_CACHE_TTL = Duration.ofHours(6);
+
+    private static final Duration USERS_CACHE_TTL = Duration.ofMinutes(30);
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -39,6 +50,16 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Cache manager for {@code @Cacheable} read paths.
+     * <p>
+     * Named caches get their own TTL and a typed serializer, so cached DTOs are read back as DTOs
+     * rather than as maps. Statistics are enabled so that Actuator publishes per-cache
+     * {@code cache.gets} (hit/miss), {@code cache.puts} and {@code cache.evictions} metrics,
+     * from which the hit ratio of each cache is derived.
+     * Puts and evictions are transaction-aware: they are applied only after the surrounding
+     * transaction commits, so a rolled-back create never leaves an entry behind.
+     */
     @Bean
     public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
@@ -55,9 +76,26 @@ public class RedisConfig {
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(Map.of(
+                        CacheNames.UNITS, typedCacheConfig(config, UnitResponseDto.class, UNITS_CACHE_TTL),
+                        CacheNames.USERS, typedCacheConfig(config, UserResponseDto.class, USERS_CACHE_TTL),
+                        CacheNames.USERS_BY_USERNAME, typedCacheConfig(config, UserResponseDto.class, USERS_CACHE_TTL)
+                ))
+                .enableStatistics()
+                .transactionAware()
                 .build();
     }
 
+    private <T> RedisCacheConfiguration typedCacheConfig(RedisCacheConfiguration defaults, Class<T> type, Duration ttl) {
+        return defaults
+                .entryTtl(ttl)
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(
+                                new Jackson2JsonRedisSerializer<>(createRedisObjectMapper(), type)
+                        )
+                );
+    }
+
     private ObjectMapper createRedisObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
@@ -0,0 +1,72 @@
+package com.tarasantoniuk.common.config;
+
+import com.tarasantoniuk.common.sql.RowCountingResultSetProxyLogicFactory;
+import com.tarasantoniuk.common.sql.SqlStatementListener;
+import com.tarasantoniuk.common.sql.SqlStatsEndpoint;
+import com.tarasantoniuk.common.sql.StatementStatsRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application {@code dataSource} in a JDBC proxy that records per-statement latency,
+ * row counts and batch sizes by SQL fingerprint, logs slow queries, and exposes the top
+ * statements at {@code /actuator/sqlstats}.
+ * <p>
+ * Only the {@code dataSource} bean is wrapped, so with read replicas enabled the statistics
+ * cover both primary and replica traffic without counting anything twice.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public StatementStatsRegistry statementStatsRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql.instrumentation.max-statements:500}") int maxStatements) {
+        return new StatementStatsRegistry(meterRegistry, maxStatements);
+    }
+
+    @Bean
+    public SqlStatementListener sqlStatementListener(
+            StatementStatsRegistry statementStatsRegistry,
+            @Value("${app.sql.instrumentation.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${app.sql.instrumentation.parameter-sample-rate:0.1}") double parameterSampleRate) {
+        return new SqlStatementListener(statementStatsRegistry, slowQueryThreshold, parameterSampleRate);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(StatementStatsRegistry statementStatsRegistry) {
+        return new SqlStatsEndpoint(statementStatsRegistry);
+    }
+
+    // Static, so the post-processor is registered without initializing this configuration early
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationDataSourcePostProcessor(
+            ObjectProvider<SqlStatementListener> sqlStatementListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(sqlStatementListener.getObject())
+                        .proxyResultSet(new RowCountingResultSetProxyLogicFactory())
+                        .build();
+            }
+        };
+    }
+}
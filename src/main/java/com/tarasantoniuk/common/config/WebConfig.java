@@ -36,6 +36,7 @@ public class WebConfig {
                 "Accept",
                 "Authorization",
                 "X-Requested-With",
+                "If-None-Match",
                 "Access-Control-Request-Method",
                 "Access-Control-Request-Headers"
         ));
@@ -51,7 +52,8 @@ public class WebConfig {
 
         config.setExposedHeaders(Arrays.asList(
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                "ETag"
         ));
 
         config.setMaxAge(3600L);
@@ -0,0 +1,26 @@
+package com.tarasantoniuk.common.datasource;
+
+/**
+ * Thread-bound flag that forces connections to the primary, so a request sees its own
+ * writes even when its reads run in read-only transactions.
+ */
+public final class PrimaryPinning {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPinning() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+}
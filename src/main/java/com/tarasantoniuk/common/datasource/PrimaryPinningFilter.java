@@ -0,0 +1,76 @@
+package com.tarasantoniuk.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins requests to the primary database so clients read their own writes.
+ * <p>
+ * Write requests (any method other than GET, HEAD, OPTIONS) run pinned and set a cookie
+ * holding the end of the pin window; requests carrying an unexpired cookie are pinned too,
+ * so a {@code GET} right after {@code POST /bookings} does not read from a lagging replica.
+ * The cookie only ever moves reads to the primary, and its expiry is capped at the configured window.
+ */
+public class PrimaryPinningFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-pin";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration pinWindow;
+
+    public PrimaryPinningFilter(Duration pinWindow) {
+        this.pinWindow = pinWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the chain runs, while the response is not committed
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + pinWindow.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(pinWindow.toSeconds(), 1));
+            response.addCookie(cookie);
+        }
+
+        if (write || hasActivePin(request, now)) {
+            PrimaryPinning.pin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryPinning.clear();
+        }
+    }
+
+    private boolean hasActivePin(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long pinnedUntil = Long.parseLong(cookie.getValue());
+                    return pinnedUntil > now && pinnedUntil <= now + pinWindow.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
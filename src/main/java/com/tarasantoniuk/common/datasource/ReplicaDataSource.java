@@ -0,0 +1,23 @@
+package com.tarasantoniuk.common.datasource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica pool with its health state, maintained by {@link ReplicaHealthChecker}.
+ * Replicas start unhealthy and receive reads only after the first successful check.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReplicaDataSource {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+}
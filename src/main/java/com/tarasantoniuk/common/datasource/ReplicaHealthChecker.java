@@ -0,0 +1,84 @@
+package com.tarasantoniuk.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks that each replica accepts connections and is not lagging behind the primary.
+ * <p>
+ * A replica is healthy when it has replayed all WAL it received, or its last replayed
+ * transaction is at most {@code maxLag} old. The first condition keeps replicas of an idle
+ * primary healthy, where the replay timestamp stops moving.
+ * Metric: {@code datasource.replica.healthy} (1 or 0, tag {@code replica}).
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+    static final String LAG_QUERY = """
+            SELECT pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() AS caught_up,
+                   COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) AS lag_seconds
+            """;
+
+    private final List<ReplicaDataSource> replicas;
+    private final Duration interval;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaHealthChecker(List<ReplicaDataSource> replicas, Duration interval, Duration maxLag,
+                                MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.interval = interval;
+        this.maxLag = maxLag;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-health-"));
+
+        this.replicas.forEach(replica -> Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                .description("Whether the replica receives read-only transactions")
+                .tag("replica", replica.getName())
+                .register(meterRegistry));
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    void checkAll() {
+        replicas.forEach(replica -> {
+            boolean healthy = check(replica);
+            if (healthy != replica.isHealthy()) {
+                log.warn("Replica {} is now {}", replica.getName(), healthy ? "healthy" : "unhealthy");
+            }
+            replica.setHealthy(healthy);
+        });
+    }
+
+    private boolean check(ReplicaDataSource replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            if (!resultSet.next()) {
+                return false;
+            }
+            boolean caughtUp = resultSet.getBoolean("caught_up");
+            double lagSeconds = resultSet.getDouble("lag_seconds");
+            return caughtUp || lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (Exception e) {
+            log.debug("Replica {} health check failed", replica.getName(), e);
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.tarasantoniuk.common.exception;
 
 import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
+import com.tarasantoniuk.common.idempotency.IdempotentRequestInProgressException;
+import com.tarasantoniuk.payment.gateway.InvalidGatewayCallbackException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -44,6 +46,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    /**
+     * Handle IdempotentRequestInProgressException - duplicate of a request that has not completed
+     * Returns 409 Conflict
+     */
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotentRequestInProgress(
+            IdempotentRequestInProgressException ex,
+            HttpServletRequest request) {
+
+        log.warn("Idempotent request conflict: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handle InvalidGatewayCallbackException - payment callback without the gateway's shared secret
+     * Returns 401 Unauthorized
+     */
+    @ExceptionHandler(InvalidGatewayCallbackException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidGatewayCallback(
+            InvalidGatewayCallbackException ex,
+            HttpServletRequest request) {
+
+        log.warn("Rejected payment callback from {}: {}", request.getRemoteAddr(), ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Unauthorized",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
     /**
      * Handle ResourceNotFoundException - when a requested resource does not exist
      * Returns 404 Not Found
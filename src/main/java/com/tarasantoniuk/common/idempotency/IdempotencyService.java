@@ -0,0 +1,286 @@
+package com.tarasantoniuk.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes a write request at most once per {@code Idempotency-Key} and replays its response to retries.
+ * <p>
+ * The first request claims the key with {@code SET NX} and stores the successful response for 24 hours.
+ * The in-progress marker has a short TTL, so a crashed node cannot block the key for long, and is
+ * refreshed while the action runs, so a slow request never loses its key to a duplicate. Duplicates
+ * that arrive while the first request is still running wait for its stored response without holding
+ * a request thread: the returned future is completed by a short Redis poll, and fails with 409 if the
+ * response does not appear within 10 seconds. Failed executions release the key, so the client can
+ * retry them.
+ * <p>
+ * Each key is bound to a fingerprint of the request body; reusing a key for a different body is rejected.
+ * If Redis is unavailable the request runs without idempotency protection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final Duration IN_PROGRESS_TTL = Duration.ofSeconds(30);
+    private static final Duration HEARTBEAT_INTERVAL = IN_PROGRESS_TTL.dividedBy(3);
+    private static final Duration RESPONSE_TTL = Duration.ofHours(24);
+    private static final Duration DUPLICATE_WAIT = Duration.ofSeconds(10);
+    private static final Duration DUPLICATE_POLL_INTERVAL = Duration.ofMillis(100);
+
+    // Extends the marker only while it is still ours, so a stored response or another owner's marker is left alone
+    private static final RedisScript<Long> REFRESH = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService heartbeat =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("idempotency-heartbeat-"));
+    private final ScheduledExecutorService duplicatePoller =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("idempotency-wait-"));
+
+    /**
+     * Runs {@code action} once for the scope and key, or returns the response stored by an earlier run.
+     * The action runs on the calling thread; only a duplicate of a running request gets a future that
+     * completes later.
+     *
+     * @param scope          operation name, so the same key can be used for different endpoints
+     * @param idempotencyKey client-supplied key; {@code null} runs the action without protection
+     * @param request        request body the key is bound to
+     * @param responseType   response body type, used to read stored responses
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> execute(String scope, String idempotencyKey, Object request,
+                                                            Class<T> responseType,
+                                                            Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return CompletableFuture.completedFuture(action.get());
+        }
+        validateKey(idempotencyKey);
+
+        String redisKey = KEY_PREFIX + scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        StoredResponse marker = StoredResponse.inProgress(fingerprint, UUID.randomUUID().toString());
+
+        String markerJson = write(marker);
+
+        Boolean claimed;
+        try {
+            claimed = stringRedisTemplate.opsForValue().setIfAbsent(redisKey, markerJson, IN_PROGRESS_TTL);
+        } catch (Exception e) {
+            log.warn("Idempotency store unavailable, executing without protection: key={}", redisKey, e);
+            return CompletableFuture.completedFuture(action.get());
+        }
+
+        if (Boolean.TRUE.equals(claimed)) {
+            return CompletableFuture.completedFuture(executeAndStore(redisKey, marker, markerJson, action));
+        }
+        return awaitStoredResponse(redisKey, fingerprint, responseType);
+    }
+
+    private <T> ResponseEntity<T> executeAndStore(String redisKey, StoredResponse marker, String markerJson,
+                                                  Supplier<ResponseEntity<T>> action) {
+        ScheduledFuture<?> refresh = heartbeat.scheduleAtFixedRate(() -> refresh(redisKey, markerJson),
+                HEARTBEAT_INTERVAL.toMillis(), HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(redisKey, marker);
+            throw e;
+        } finally {
+            refresh.cancel(false);
+        }
+
+        try {
+            StoredResponse completed = StoredResponse.completed(marker.fingerprint(),
+                    response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody()));
+            stringRedisTemplate.opsForValue().set(redisKey, write(completed), RESPONSE_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to store idempotent response: key={}", redisKey, e);
+        }
+        return response;
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> awaitStoredResponse(String redisKey, String fingerprint,
+                                                                         Class<T> responseType) {
+        ResponseEntity<T> replay = storedResponse(redisKey, fingerprint, responseType);
+        if (replay != null) {
+            return CompletableFuture.completedFuture(replay);
+        }
+        CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+        schedulePoll(redisKey, fingerprint, responseType, System.nanoTime() + DUPLICATE_WAIT.toNanos(), result);
+        return result;
+    }
+
+    private <T> void schedulePoll(String redisKey, String fingerprint, Class<T> responseType, long deadline,
+                                  CompletableFuture<ResponseEntity<T>> result) {
+        try {
+            duplicatePoller.schedule(() -> poll(redisKey, fingerprint, responseType, deadline, result),
+                    DUPLICATE_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(inProgress());
+        }
+    }
+
+    private <T> void poll(String redisKey, String fingerprint, Class<T> responseType, long deadline,
+                          CompletableFuture<ResponseEntity<T>> result) {
+        try {
+            ResponseEntity<T> replay = storedResponse(redisKey, fingerprint, responseType);
+            if (replay != null) {
+                result.complete(replay);
+            } else if (System.nanoTime() - deadline >= 0) {
+                result.completeExceptionally(inProgress());
+            } else {
+                schedulePoll(redisKey, fingerprint, responseType, deadline, result);
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stored response of the first execution, or {@code null} while it is still running.
+     */
+    private <T> ResponseEntity<T> storedResponse(String redisKey, String fingerprint, Class<T> responseType) {
+        StoredResponse stored = read(redisKey);
+        if (stored == null) {
+            // The first execution failed and released the key, or its node died and the marker expired
+            throw new IdempotentRequestInProgressException(
+                    "Previous request with this Idempotency-Key did not complete, retry the request");
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        if (!stored.isCompleted()) {
+            return null;
+        }
+        log.debug("Replaying stored response: key={}", redisKey);
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(readBody(stored.body(), responseType));
+    }
+
+    private static IdempotentRequestInProgressException inProgress() {
+        return new IdempotentRequestInProgressException(
+                "Request with this Idempotency-Key is still being processed, retry later");
+    }
+
+    private void refresh(String redisKey, String markerJson) {
+        try {
+            stringRedisTemplate.execute(REFRESH, List.of(redisKey), markerJson,
+                    String.valueOf(IN_PROGRESS_TTL.toMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to refresh idempotency marker: key={}", redisKey, e);
+        }
+    }
+
+    private void release(String redisKey, StoredResponse marker) {
+        try {
+            StoredResponse current = read(redisKey);
+            if (current != null && Objects.equals(current.token(), marker.token())) {
+                stringRedisTemplate.delete(redisKey);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key: key={}", redisKey, e);
+        }
+    }
+
+    private StoredResponse read(String redisKey) {
+        String json = stringRedisTemplate.opsForValue().get(redisKey);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted idempotency record: " + redisKey, e);
+        }
+    }
+
+    private <T> T readBody(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+
+    private String write(StoredResponse stored) {
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be non-blank and at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        duplicatePoller.shutdownNow();
+    }
+
+    /**
+     * Redis record for a key: in progress (token identifies the owner) or completed with the response.
+     */
+    record StoredResponse(String fingerprint, String token, Integer status, String body) {
+
+        static StoredResponse inProgress(String fingerprint, String token) {
+            return new StoredResponse(fingerprint, token, null, null);
+        }
+
+        static StoredResponse completed(String fingerprint, int status, String body) {
+            return new StoredResponse(fingerprint, null, status, body);
+        }
+
+        boolean isCompleted() {
+            return status != null;
+        }
+    }
+}
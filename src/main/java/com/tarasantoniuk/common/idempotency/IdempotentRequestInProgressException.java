@@ -0,0 +1,12 @@
+package com.tarasantoniuk.common.idempotency;
+
+/**
+ * Thrown when a duplicate request cannot get the response of the original request
+ * with the same Idempotency-Key (failed, or still running after the wait).
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tarasantoniuk.common.json;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Media types of the binary API encodings (CBOR, Smile) and the JSON-or-binary
+ * decision for handlers that write pre-serialized JSON.
+ */
+public final class BinaryMediaTypes {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> BINARY = List.of(MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private BinaryMediaTypes() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Whether JSON is the client's preferred format among the supported ones: the first
+     * Accept entry with the highest quality that matches JSON or a binary format decides,
+     * wildcards counting as JSON. A missing or unparsable header means JSON.
+     */
+    public static boolean prefersJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+
+        MediaType preferred = null;
+        for (MediaType mediaType : mediaTypes) {
+            boolean supported = mediaType.getQualityValue() > 0
+                    && (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) || isBinary(mediaType));
+            if (supported && (preferred == null || mediaType.getQualityValue() > preferred.getQualityValue())) {
+                preferred = mediaType;
+            }
+        }
+        return preferred == null || !isBinary(preferred) || preferred.isWildcardSubtype();
+    }
+
+    private static boolean isBinary(MediaType mediaType) {
+        return BINARY.stream().anyMatch(binary -> binary.isCompatibleWith(mediaType));
+    }
+}
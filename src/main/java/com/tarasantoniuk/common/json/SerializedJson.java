@@ -0,0 +1,62 @@
+package com.tarasantoniuk.common.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once to UTF-8 JSON, ready to be written as is.
+ * <p>
+ * The gzip variant is compressed on first request and kept alongside, so repeated
+ * reads cost neither Jackson nor Deflater CPU. Bodies below the size threshold,
+ * or that do not shrink, are never compressed.
+ */
+public final class SerializedJson {
+
+    private static final byte[] NOT_COMPRESSIBLE = new byte[0];
+
+    private final byte[] json;
+    // Benign race: concurrent first requests may both compress, the results are equal
+    private volatile byte[] gzip;
+
+    private SerializedJson(byte[] json, int gzipMinBytes) {
+        this.json = json;
+        this.gzip = json.length < gzipMinBytes ? NOT_COMPRESSIBLE : null;
+    }
+
+    public static SerializedJson of(byte[] json, int gzipMinBytes) {
+        return new SerializedJson(json, gzipMinBytes);
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * @return the gzip variant, or empty if the body is not worth compressing
+     */
+    public Optional<byte[]> gzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            compressed = compress(json);
+            if (compressed.length >= json.length) {
+                compressed = NOT_COMPRESSIBLE;
+            }
+            gzip = compressed;
+        }
+        return compressed == NOT_COMPRESSIBLE ? Optional.empty() : Optional.of(compressed);
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 32);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
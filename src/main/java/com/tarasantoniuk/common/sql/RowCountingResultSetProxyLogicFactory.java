@@ -0,0 +1,53 @@
+package com.tarasantoniuk.common.sql;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+
+/**
+ * Counts the rows read from each query's result set and records them for the statement that
+ * produced it when the result set is closed.
+ */
+public class RowCountingResultSetProxyLogicFactory implements ResultSetProxyLogicFactory {
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        // Called while the statement executes, between beforeQuery and afterQuery
+        StatementStats stats = SqlStatementListener.currentStatement();
+        if (stats == null) {
+            return new SimpleResultSetProxyLogic(resultSet, connectionInfo, proxyConfig);
+        }
+        return new RowCountingResultSetProxyLogic(resultSet, connectionInfo, proxyConfig, stats);
+    }
+
+    private static final class RowCountingResultSetProxyLogic extends SimpleResultSetProxyLogic {
+
+        private final StatementStats stats;
+        private long rows;
+        private boolean recorded;
+
+        private RowCountingResultSetProxyLogic(ResultSet resultSet, ConnectionInfo connectionInfo,
+                                               ProxyConfig proxyConfig, StatementStats stats) {
+            super(resultSet, connectionInfo, proxyConfig);
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = super.invoke(proxy, method, args);
+            String name = method.getName();
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if ("close".equals(name) && !recorded) {
+                recorded = true;
+                stats.recordRows(rows);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.tarasantoniuk.common.sql;
+
+import java.time.Instant;
+
+/**
+ * Last slow execution of a statement; {@code parameters} is {@code null} when the bind
+ * parameters of that execution were not sampled.
+ */
+public record SlowQuerySample(Instant at, double durationMs, String sql, String parameters) {
+}
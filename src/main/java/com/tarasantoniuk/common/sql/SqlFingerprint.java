@@ -0,0 +1,55 @@
+package com.tarasantoniuk.common.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL to a fingerprint shared by all executions of the same statement shape:
+ * literals become {@code ?}, {@code IN} lists and multi-row {@code VALUES} collapse to one
+ * element, comments and whitespace runs are removed.
+ */
+public final class SqlFingerprint {
+
+    private static final int MAX_CACHED = 2_000;
+
+    // One pass, so comment markers inside literals and quotes inside comments are not misread
+    private static final Pattern LITERAL_OR_COMMENT = Pattern.compile("'(?:[^']|'')*'|/\\*.*?\\*/|--[^\\n]*",
+            Pattern.DOTALL);
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile(
+            "(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Hibernate reuses the same SQL strings, so most lookups are cache hits
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = normalize(sql);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        String normalized = LITERAL_OR_COMMENT.matcher(sql)
+                .replaceAll(match -> match.group().startsWith("'") ? "?" : " ");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("$1");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
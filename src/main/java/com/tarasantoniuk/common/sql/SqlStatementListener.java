@@ -0,0 +1,151 @@
+package com.tarasantoniuk.common.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Records every JDBC execution against its SQL fingerprint: latency, rows affected, batch size,
+ * and logs executions slower than the threshold. Bind parameters of slow queries are logged
+ * only for a sample of executions, and truncated, since they may contain personal data.
+ * <p>
+ * Rows returned by queries are counted by {@link RowCountingResultSetProxyLogicFactory}; the
+ * statement being executed is exposed to it through {@link #currentStatement()}.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "sqlStats.startNanos";
+    private static final String STATS = "sqlStats.statement";
+    private static final String PREVIOUS = "sqlStats.previous";
+    private static final int MAX_PARAMETER_LENGTH = 64;
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private final StatementStatsRegistry registry;
+    private final long slowThresholdNanos;
+    private final double parameterSampleRate;
+
+    public SqlStatementListener(StatementStatsRegistry registry, Duration slowThreshold, double parameterSampleRate) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.parameterSampleRate = parameterSampleRate;
+    }
+
+    static StatementStats currentStatement() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StatementStats stats = registry.statsFor(fingerprint(queryInfoList));
+        execInfo.addCustomValue(STATS, stats);
+        execInfo.addCustomValue(PREVIOUS, CURRENT.get());
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        CURRENT.set(stats);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StatementStats previous = execInfo.getCustomValue(PREVIOUS, StatementStats.class);
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            // Nested proxies: restore the outer execution
+            CURRENT.set(previous);
+        }
+        StatementStats stats = execInfo.getCustomValue(STATS, StatementStats.class);
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats == null || start == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        stats.recordExecution(elapsedNanos, execInfo.isSuccess(), execInfo.isBatch() ? execInfo.getBatchSize() : 0);
+        long affected = affectedRows(execInfo.getResult());
+        if (affected >= 0) {
+            stats.recordRows(affected);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            logSlowQuery(stats, elapsedNanos, queryInfoList);
+        }
+    }
+
+    private void logSlowQuery(StatementStats stats, long elapsedNanos, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String parameters = ThreadLocalRandom.current().nextDouble() < parameterSampleRate
+                ? parameters(queryInfoList)
+                : null;
+        double durationMs = elapsedNanos / 1_000_000.0;
+        stats.recordSlow(new SlowQuerySample(Instant.now(), durationMs, sql, parameters));
+        if (parameters != null) {
+            log.warn("Slow query: durationMs={}, sql={}, parameters={}", Math.round(durationMs), sql, parameters);
+        } else {
+            log.warn("Slow query: durationMs={}, sql={}", Math.round(durationMs), sql);
+        }
+    }
+
+    private static String fingerprint(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return SqlFingerprint.of(queryInfoList.get(0).getQuery());
+        }
+        // Statement.addBatch with different SQL strings
+        return queryInfoList.stream()
+                .map(queryInfo -> SqlFingerprint.of(queryInfo.getQuery()))
+                .distinct()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Bind parameters of the first parameter set (first row of a batch), in index order.
+     */
+    private static String parameters(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.get(0).getParametersList().isEmpty()) {
+            return "[]";
+        }
+        List<ParameterSetOperation> operations = queryInfoList.get(0).getParametersList().get(0);
+        return operations.stream()
+                .filter(operation -> operation.getArgs() != null && operation.getArgs().length > 0)
+                .sorted(Comparator.comparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+                .map(operation -> operation.getArgs().length > 1 ? truncate(operation.getArgs()[1]) : "null")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String truncate(Object value) {
+        String text = String.valueOf(value);
+        return text.length() <= MAX_PARAMETER_LENGTH ? text : text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        if (result instanceof long[] counts) {
+            long sum = 0;
+            for (long count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return -1;
+    }
+}
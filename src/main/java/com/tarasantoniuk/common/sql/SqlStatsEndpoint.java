@@ -0,0 +1,32 @@
+package com.tarasantoniuk.common.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlstats}: SQL statements ranked by total execution time.
+ * {@code DELETE} resets the statistics, e.g. before a load test.
+ */
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final StatementStatsRegistry registry;
+
+    @ReadOperation
+    public List<StatementStatsSnapshot> topStatements(@Nullable Integer limit) {
+        return registry.top(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
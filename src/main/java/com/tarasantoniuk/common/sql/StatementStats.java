@@ -0,0 +1,118 @@
+package com.tarasantoniuk.common.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of one SQL fingerprint. The latency histogram is a Micrometer timer
+ * ({@code db.statement.duration}) tagged with the fingerprint id, so it is also visible under
+ * {@code /actuator/metrics}.
+ */
+class StatementStats {
+
+    private final String id;
+    private final String fingerprint;
+    private final Timer duration;
+    private final DistributionSummary rowsSummary;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder batchExecutions = new LongAdder();
+    private final LongAdder batchedStatements = new LongAdder();
+    private volatile SlowQuerySample slowSample;
+
+    StatementStats(String fingerprint, MeterRegistry meterRegistry) {
+        this.fingerprint = fingerprint;
+        this.id = idOf(fingerprint);
+        this.duration = Timer.builder("db.statement.duration")
+                .description("Execution time per normalized SQL statement")
+                .tag("statement", id)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        this.rowsSummary = DistributionSummary.builder("db.statement.rows")
+                .description("Rows returned or affected per execution of a normalized SQL statement")
+                .tag("statement", id)
+                .register(meterRegistry);
+    }
+
+    void recordExecution(long elapsedNanos, boolean success, int batchSize) {
+        executions.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            errors.increment();
+        }
+        if (batchSize > 0) {
+            batchExecutions.increment();
+            batchedStatements.add(batchSize);
+        }
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+        rowsSummary.record(count);
+    }
+
+    void recordSlow(SlowQuerySample sample) {
+        slowSample = sample;
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    StatementStatsSnapshot snapshot() {
+        long count = executions.sum();
+        long total = totalNanos.sum();
+        ValueAtPercentile[] percentiles = duration.takeSnapshot().percentileValues();
+        return new StatementStatsSnapshot(
+                id,
+                fingerprint,
+                count,
+                errors.sum(),
+                toMillis(total),
+                count == 0 ? 0 : toMillis(total / count),
+                percentileMillis(percentiles, 0.5),
+                percentileMillis(percentiles, 0.95),
+                percentileMillis(percentiles, 0.99),
+                toMillis(maxNanos.get()),
+                rows.sum(),
+                batchExecutions.sum(),
+                batchExecutions.sum() == 0 ? 0 : (double) batchedStatements.sum() / batchExecutions.sum(),
+                slowSample);
+    }
+
+    private static double percentileMillis(ValueAtPercentile[] percentiles, double percentile) {
+        for (ValueAtPercentile value : percentiles) {
+            if (value.percentile() == percentile) {
+                return Math.round(value.value(TimeUnit.MILLISECONDS) * 1000) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    static String idOf(String fingerprint) {
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.tarasantoniuk.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistics per SQL fingerprint. The number of tracked fingerprints is capped so ad-hoc
+ * statements cannot grow memory and metric cardinality without bound; statements beyond
+ * the cap are counted under {@link #OTHER}.
+ */
+public class StatementStatsRegistry {
+
+    public static final String OTHER = "<other>";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    public StatementStatsRegistry(MeterRegistry meterRegistry, int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+    }
+
+    StatementStats statsFor(String fingerprint) {
+        StatementStats stats = statements.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < maxStatements ? fingerprint : OTHER;
+        return statements.computeIfAbsent(key, k -> new StatementStats(k, meterRegistry));
+    }
+
+    /**
+     * @return the statements with the highest total execution time, highest first
+     */
+    public List<StatementStatsSnapshot> top(int limit) {
+        return statements.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::totalNanos).reversed())
+                .limit(limit)
+                .map(StatementStats::snapshot)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+        meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("db.statement."))
+                .map(Meter::getId)
+                .forEach(meterRegistry::remove);
+    }
+}
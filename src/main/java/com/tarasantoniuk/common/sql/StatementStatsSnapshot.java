@@ -0,0 +1,23 @@
+package com.tarasantoniuk.common.sql;
+
+/**
+ * Point-in-time statistics of one SQL fingerprint, as listed by the {@code sqlstats} endpoint.
+ * Times are in milliseconds.
+ */
+public record StatementStatsSnapshot(
+        String id,
+        String fingerprint,
+        long executions,
+        long errors,
+        double totalMs,
+        double meanMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs,
+        long rows,
+        long batchExecutions,
+        double meanBatchSize,
+        SlowQuerySample lastSlowSample
+) {
+}
@@ -0,0 +1,95 @@
+package com.tarasantoniuk.common.version;
+
+import com.tarasantoniuk.common.json.BinaryMediaTypes;
+import com.tarasantoniuk.common.json.SerializedJson;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GETs from a version-based ETag.
+ * <p>
+ * The ETag must be resolved before the body: when it matches {@code If-None-Match}
+ * the request gets {@code 304} without loading or serializing anything. The header is
+ * only attached to successful responses, so an error (e.g. 404) never carries an ETag
+ * that could later validate it.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, Optional<String> eTag, Supplier<T> body) {
+        if (eTag.isEmpty()) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(body.get());
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag.get())) {
+            return notModified(eTag.get());
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag.get()).body(body.get());
+    }
+
+    // The same ETag covers every format, so caches must key on Accept
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(eTag).build();
+    }
+
+    /**
+     * Same as {@link #respond}, writing the pre-serialized JSON bytes as is (gzipped when
+     * the client accepts it). Clients preferring a binary format (CBOR, Smile) get the
+     * body through the message converters instead.
+     */
+    public static ResponseEntity<?> respondJson(WebRequest request, Optional<String> eTag,
+                                                Supplier<SerializedJson> json, Supplier<?> body) {
+        if (!BinaryMediaTypes.prefersJson(request)) {
+            return respond(request, eTag, body);
+        }
+        if (eTag.isPresent() && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag.get())) {
+            return notModified(eTag.get());
+        }
+        SerializedJson serialized = json.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        eTag.ifPresent(response::eTag);
+
+        Optional<byte[]> gzip = acceptsGzip(request) ? serialized.gzip() : Optional.empty();
+        if (gzip.isPresent()) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip.get());
+        }
+        return response.body(serialized.json());
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}. A wildcard is not honoured,
+     * since it would answer 304 without checking that the resource exists.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.compare(current, false));
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
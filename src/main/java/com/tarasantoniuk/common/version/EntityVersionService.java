@@ -0,0 +1,147 @@
+package com.tarasantoniuk.common.version;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version tokens in Redis backing weak ETags for the read endpoints.
+ * <p>
+ * There is one version per unit, one per booking and a global availability epoch,
+ * bumped after commit whenever a booking changes or a unit is created. Availability
+ * responses are also relative to the current date (for example the available units
+ * count), so their ETag embeds today's date as well.
+ * <p>
+ * Versions are random tokens rather than counters: a key that expired or was lost
+ * gets a fresh token, so an ETag issued before can never match again.
+ * Controllers read the version before loading the data, so a concurrent change
+ * can only make the ETag older than the body, which costs one extra full response.
+ * <p>
+ * Redis failures are logged and treated as "no ETag", so requests are served in full.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntityVersionService {
+
+    public static final String UNIT_KEY_PREFIX = "version:unit:";
+    public static final String BOOKING_KEY_PREFIX = "version:booking:";
+    public static final String AVAILABILITY_KEY = "version:availability";
+
+    // Refreshed on every change; idle entities simply get a new token after expiry
+    public static final Duration VERSION_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public Optional<String> unitETag(Long unitId) {
+        return version(UNIT_KEY_PREFIX + unitId).map(EntityVersionService::unitETagOf);
+    }
+
+    public Optional<String> bookingETag(Long bookingId) {
+        return version(BOOKING_KEY_PREFIX + bookingId).map(token -> weakETag("booking-" + token));
+    }
+
+    public Optional<String> availabilityETag() {
+        return version(AVAILABILITY_KEY).map(EntityVersionService::availabilityETagOf);
+    }
+
+    public static String unitETagOf(String token) {
+        return weakETag("unit-" + token);
+    }
+
+    public static String availabilityETagOf(String token) {
+        return weakETag("avail-" + token + "-" + LocalDate.now());
+    }
+
+    public void unitChanged(Long unitId) {
+        bump(UNIT_KEY_PREFIX + unitId);
+    }
+
+    public void availabilityChanged() {
+        bump(AVAILABILITY_KEY);
+    }
+
+    /**
+     * Bumps the versions of all given units in one pipeline.
+     */
+    public void unitsChanged(Collection<Long> unitIds) {
+        bumpAll(UNIT_KEY_PREFIX, unitIds);
+    }
+
+    /**
+     * Bumps the versions of all given bookings in one pipeline.
+     */
+    public void bookingsChanged(Collection<Long> bookingIds) {
+        bumpAll(BOOKING_KEY_PREFIX, bookingIds);
+    }
+
+    /**
+     * Current token under the key, creating one if absent (SET NX, so concurrent
+     * readers agree on the same token).
+     */
+    private Optional<String> version(String key) {
+        try {
+            String token = stringRedisTemplate.opsForValue().get(key);
+            if (token != null) {
+                return Optional.of(token);
+            }
+            String fresh = newToken();
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, fresh, VERSION_TTL))) {
+                return Optional.of(fresh);
+            }
+            return Optional.ofNullable(stringRedisTemplate.opsForValue().get(key));
+        } catch (Exception e) {
+            log.warn("Failed to read version, serving without ETag: key={}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    private void bump(String key) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, newToken(), VERSION_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to bump version: key={}", key, e);
+        }
+    }
+
+    private void bumpAll(String keyPrefix, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long id : ids) {
+                    connection.stringCommands().set(bytes(keyPrefix + id), bytes(newToken()),
+                            Expiration.from(VERSION_TTL), RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to bump versions: keyPrefix={}, count={}", keyPrefix, ids.size(), e);
+        }
+    }
+
+    public static String newToken() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String weakETag(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
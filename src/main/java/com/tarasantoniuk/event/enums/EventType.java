@@ -6,5 +6,6 @@ public enum EventType {
     BOOKING_CONFIRMED,
     BOOKING_CANCELLED,
     BOOKING_EXPIRED,
-    PAYMENT_COMPLETED
+    PAYMENT_COMPLETED,
+    PAYMENT_FAILED
 }
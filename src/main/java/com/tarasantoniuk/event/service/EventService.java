@@ -60,7 +60,7 @@ public class EventService {
         return switch (eventType) {
             case UNIT_CREATED -> EntityType.UNIT;
             case BOOKING_CREATED, BOOKING_CONFIRMED, BOOKING_CANCELLED, BOOKING_EXPIRED -> EntityType.BOOKING;
-            case PAYMENT_COMPLETED -> EntityType.PAYMENT;
+            case PAYMENT_COMPLETED, PAYMENT_FAILED -> EntityType.PAYMENT;
         };
     }
 }
\ No newline at end of file
@@ -1,8 +1,15 @@
 package com.tarasantoniuk.payment.controller;
 
+import com.tarasantoniuk.common.idempotency.IdempotencyService;
+import com.tarasantoniuk.payment.dto.PaymentCallbackRequestDto;
 import com.tarasantoniuk.payment.dto.PaymentResponseDto;
 import com.tarasantoniuk.payment.dto.ProcessPaymentRequestDto;
+import com.tarasantoniuk.payment.dto.SettlementReportDto;
+import com.tarasantoniuk.payment.dto.SettlementRequestDto;
+import com.tarasantoniuk.payment.gateway.GatewayCallbackVerifier;
 import com.tarasantoniuk.payment.service.PaymentService;
+import com.tarasantoniuk.payment.service.PaymentSettlementService;
+import com.tarasantoniuk.payment.service.PaymentSubmissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +19,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/payments")
 @RequiredArgsConstructor
@@ -22,12 +33,17 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentSubmissionService paymentSubmissionService;
+    private final PaymentSettlementService paymentSettlementService;
+    private final IdempotencyService idempotencyService;
+    private final GatewayCallbackVerifier gatewayCallbackVerifier;
 
     @PostMapping("/process")
     @Operation(
             summary = "Process payment for a booking",
             description = "Processes payment for a PENDING booking. Payment must be made within 15 minutes " +
-                    "of booking creation. Successful payment changes booking status to CONFIRMED."
+                    "of booking creation. Successful payment changes booking status to CONFIRMED. " +
+                    "Send an Idempotency-Key header to make retries safe."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Payment processed successfully",
@@ -35,15 +51,96 @@ public class PaymentController {
             @ApiResponse(responseCode = "400", description = "Invalid request or booking already paid/cancelled"),
             @ApiResponse(responseCode = "404", description = "Booking not found"),
             @ApiResponse(responseCode = "408", description = "Payment window expired (booking was auto-cancelled)"),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key still in progress"),
             @ApiResponse(responseCode = "500", description = "Internal server error or payment processing failed")
     })
-    public ResponseEntity<PaymentResponseDto> processPayment(
-            @Valid @RequestBody ProcessPaymentRequestDto request
+    public CompletableFuture<ResponseEntity<PaymentResponseDto>> processPayment(
+            @Valid @RequestBody ProcessPaymentRequestDto request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute("payment-process", idempotencyKey, request, PaymentResponseDto.class,
+                () -> ResponseEntity.ok(paymentService.processPayment(request)));
+    }
+
+    @PostMapping("/submit")
+    @Operation(
+            summary = "Submit payment to the payment gateway",
+            description = "Starts asynchronous payment for a PENDING booking and returns at once with status PROCESSING. " +
+                    "The booking is confirmed when the gateway reports the outcome through the callback endpoint. " +
+                    "A FAILED payment can be resubmitted while the booking is pending."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Payment accepted for processing",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Booking not pending, payment already processing or completed, " +
+                    "or gateway busy"),
+            @ApiResponse(responseCode = "404", description = "Booking or payment not found"),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<PaymentResponseDto>> submitPayment(
+            @Valid @RequestBody ProcessPaymentRequestDto request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute("payment-submit", idempotencyKey, request, PaymentResponseDto.class,
+                () -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(paymentSubmissionService.submit(request.getBookingId())));
+    }
+
+    @PostMapping("/callback")
+    @Operation(
+            summary = "Payment gateway callback",
+            description = "Reports the outcome of a submitted payment attempt. A successful payment confirms " +
+                    "the booking. Requires the secret shared with the gateway in the " +
+                    GatewayCallbackVerifier.SECRET_HEADER + " header. Duplicate callbacks and callbacks of " +
+                    "earlier attempts return the current payment state without changes."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Callback applied",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid gateway secret"),
+            @ApiResponse(responseCode = "404", description = "Payment not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PaymentResponseDto> paymentCallback(
+            @Valid @RequestBody PaymentCallbackRequestDto callback,
+            @Parameter(description = "Secret shared with the payment gateway")
+            @RequestHeader(name = GatewayCallbackVerifier.SECRET_HEADER, required = false) String gatewaySecret
     ) {
-        PaymentResponseDto response = paymentService.processPayment(request);
+        gatewayCallbackVerifier.verify(gatewaySecret);
+        PaymentResponseDto response = paymentService.completePayment(callback);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/settlements")
+    @Operation(
+            summary = "Apply a settlement file",
+            description = "Applies gateway results for up to 100000 payments with set-based updates, in batches of " +
+                    "one transaction each. Successful payments complete and confirm their PENDING bookings; " +
+                    "failed ones are marked FAILED. Entries for unknown or already settled payments are skipped. " +
+                    "Returns counts and throughput per batch. The gateway must send the shared secret in the " +
+                    GatewayCallbackVerifier.SECRET_HEADER + " header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Settlement applied",
+                    content = @Content(schema = @Schema(implementation = SettlementReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or too large settlement"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid gateway secret"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<SettlementReportDto> settlePayments(
+            @Valid @RequestBody SettlementRequestDto request,
+            @Parameter(description = "Secret shared with the payment gateway")
+            @RequestHeader(name = GatewayCallbackVerifier.SECRET_HEADER, required = false) String gatewaySecret
+    ) {
+        gatewayCallbackVerifier.verify(gatewaySecret);
+        SettlementReportDto report = paymentSettlementService.settle(request.getEntries());
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/booking/{bookingId}")
     @Operation(
             summary = "Get payment by booking ID",
@@ -62,4 +159,23 @@ public class PaymentController {
         PaymentResponseDto response = paymentService.getPaymentByBookingId(bookingId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/bookings")
+    @Operation(
+            summary = "Get payments for several bookings",
+            description = "Retrieves payments for up to " + PaymentService.MAX_BATCH_LOOKUP + " bookings in one " +
+                    "request. Bookings without a payment are omitted from the result."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Payments retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No or too many booking IDs"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<PaymentResponseDto>> getPaymentsByBookingIds(
+            @Parameter(description = "Comma-separated booking IDs", example = "1,2,3")
+            @RequestParam List<Long> bookingIds
+    ) {
+        List<PaymentResponseDto> response = paymentService.getPaymentsByBookingIds(bookingIds);
+        return ResponseEntity.ok(response);
+    }
 }
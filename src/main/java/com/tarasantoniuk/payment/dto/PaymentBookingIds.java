@@ -0,0 +1,11 @@
+package com.tarasantoniuk.payment.dto;
+
+/**
+ * Payment id with its booking id, as returned by settlement lookups.
+ */
+public interface PaymentBookingIds {
+
+    Long getPaymentId();
+
+    Long getBookingId();
+}
@@ -0,0 +1,36 @@
+package com.tarasantoniuk.payment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Payment outcome reported by the payment gateway")
+public class PaymentCallbackRequestDto {
+
+    @Schema(description = "ID of the submitted payment", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Payment ID is required")
+    private Long paymentId;
+
+    @Schema(description = "Gateway attempt the outcome belongs to, as sent with the charge",
+            example = "5b0f6a1e-2c1d-4f7e-9a53-0d6c1b7e8f21", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Attempt ID is required")
+    private String attemptId;
+
+    @Schema(description = "Gateway reference of the charge", example = "stub-3f1c2a4e")
+    private String gatewayReference;
+
+    @Schema(description = "Whether the charge succeeded", example = "true", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Success flag is required")
+    private Boolean success;
+
+    @Schema(description = "Reason reported by the gateway when the charge failed", example = "Card declined")
+    private String failureReason;
+}
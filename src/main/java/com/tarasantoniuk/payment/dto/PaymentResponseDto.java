@@ -27,7 +27,7 @@ public class PaymentResponseDto {
     @Schema(description = "Payment amount in USD", example = "460.00")
     private BigDecimal amount;
 
-    @Schema(description = "Current payment status", example = "COMPLETED", allowableValues = {"PENDING", "COMPLETED", "FAILED"})
+    @Schema(description = "Current payment status", example = "COMPLETED", allowableValues = {"PENDING", "PROCESSING", "COMPLETED", "FAILED"})
     private PaymentStatus status;
 
     @Schema(description = "Timestamp when payment was processed", example = "2026-01-25T10:35:00")
@@ -0,0 +1,36 @@
+package com.tarasantoniuk.payment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one settlement batch (one transaction)")
+public class SettlementBatchReportDto {
+
+    @Schema(description = "Batch number, starting at 1", example = "1")
+    private int batch;
+
+    @Schema(description = "Entries in the batch", example = "1000")
+    private int entries;
+
+    @Schema(description = "Payments completed and bookings confirmed", example = "990")
+    private int completed;
+
+    @Schema(description = "Payments marked as failed", example = "6")
+    private int failed;
+
+    @Schema(description = "Entries skipped (unknown payment, already settled or booking no longer pending)", example = "4")
+    private int skipped;
+
+    @Schema(description = "Batch duration in milliseconds", example = "85")
+    private long durationMs;
+
+    @Schema(description = "Batch throughput in entries per second", example = "11764.7")
+    private double entriesPerSecond;
+}
@@ -0,0 +1,25 @@
+package com.tarasantoniuk.payment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Gateway result for one payment in a settlement file")
+public class SettlementEntryDto {
+
+    @Schema(description = "ID of the payment", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Payment ID is required")
+    private Long paymentId;
+
+    @Schema(description = "Whether the gateway settled the charge", example = "true",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Success flag is required")
+    private Boolean success;
+}
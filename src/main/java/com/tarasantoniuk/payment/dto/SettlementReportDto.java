@@ -0,0 +1,35 @@
+package com.tarasantoniuk.payment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Settlement outcome with per-batch throughput")
+public class SettlementReportDto {
+
+    @Schema(description = "Entries received", example = "5000")
+    private int totalEntries;
+
+    @Schema(description = "Payments completed and bookings confirmed", example = "4950")
+    private int completed;
+
+    @Schema(description = "Payments marked as failed", example = "30")
+    private int failed;
+
+    @Schema(description = "Entries skipped, including duplicates", example = "20")
+    private int skipped;
+
+    @Schema(description = "Total duration in milliseconds", example = "420")
+    private long durationMs;
+
+    @Schema(description = "Per-batch results")
+    private List<SettlementBatchReportDto> batches;
+}
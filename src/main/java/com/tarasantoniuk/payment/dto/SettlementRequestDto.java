@@ -0,0 +1,27 @@
+package com.tarasantoniuk.payment.dto;
+
+import com.tarasantoniuk.payment.service.PaymentSettlementService;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of gateway results to apply")
+public class SettlementRequestDto {
+
+    @Schema(description = "Gateway results, one per payment", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Settlement entries are required")
+    @Size(max = PaymentSettlementService.MAX_ENTRIES,
+            message = "Settlement cannot exceed " + PaymentSettlementService.MAX_ENTRIES + " entries")
+    private List<@Valid SettlementEntryDto> entries;
+}
@@ -26,7 +26,7 @@ public class Payment {
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "booking_id", nullable = false)
+    @JoinColumn(name = "booking_id", nullable = false, unique = true)
     private Booking booking;
 
     @Column(nullable = false, precision = 10, scale = 2)
@@ -40,6 +40,12 @@ public class Payment {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+
+    @Column(name = "gateway_attempt_id", length = 36)
+    private String gatewayAttemptId;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -2,6 +2,7 @@ package com.tarasantoniuk.payment.enums;
 
 public enum PaymentStatus {
     PENDING,
+    PROCESSING,
     COMPLETED,
     FAILED
 }
\ No newline at end of file
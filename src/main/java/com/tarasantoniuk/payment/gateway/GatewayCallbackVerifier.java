@@ -0,0 +1,36 @@
+package com.tarasantoniuk.payment.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authenticates payment callbacks by the secret shared with the gateway, sent in the
+ * {@value #SECRET_HEADER} header and compared in constant time.
+ * <p>
+ * Without a configured secret every callback is rejected, so the endpoint is never open by
+ * accident. The local stub gateway reports outcomes in-process and does not need one.
+ */
+@Component
+public class GatewayCallbackVerifier {
+
+    public static final String SECRET_HEADER = "X-Gateway-Secret";
+
+    private final byte[] secret;
+
+    public GatewayCallbackVerifier(@Value("${app.payment.gateway.callback-secret:}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @throws InvalidGatewayCallbackException if the secret is missing, wrong or not configured
+     */
+    public void verify(String providedSecret) {
+        if (secret.length == 0 || providedSecret == null
+                || !MessageDigest.isEqual(secret, providedSecret.getBytes(StandardCharsets.UTF_8))) {
+            throw new InvalidGatewayCallbackException("Missing or invalid payment gateway callback secret");
+        }
+    }
+}
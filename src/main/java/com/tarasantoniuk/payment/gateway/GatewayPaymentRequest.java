@@ -0,0 +1,10 @@
+package com.tarasantoniuk.payment.gateway;
+
+import java.math.BigDecimal;
+
+/**
+ * Charge sent to the payment gateway. The payment id and attempt id are echoed back in the callback;
+ * each submission of a payment has its own attempt id.
+ */
+public record GatewayPaymentRequest(Long paymentId, String attemptId, Long bookingId, BigDecimal amount) {
+}
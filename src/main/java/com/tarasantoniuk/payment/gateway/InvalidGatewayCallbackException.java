@@ -0,0 +1,11 @@
+package com.tarasantoniuk.payment.gateway;
+
+/**
+ * Thrown when a payment callback does not carry the gateway's shared secret.
+ */
+public class InvalidGatewayCallbackException extends RuntimeException {
+
+    public InvalidGatewayCallbackException(String message) {
+        super(message);
+    }
+}
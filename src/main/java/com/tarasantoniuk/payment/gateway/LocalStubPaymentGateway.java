@@ -0,0 +1,90 @@
+package com.tarasantoniuk.payment.gateway;
+
+import com.tarasantoniuk.payment.dto.PaymentCallbackRequestDto;
+import com.tarasantoniuk.payment.dto.SettlementEntryDto;
+import com.tarasantoniuk.payment.service.PaymentService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process gateway for local development and tests.
+ * <p>
+ * Accepts every charge immediately and delivers the callback after a configurable delay,
+ * the way a real provider would call the webhook. Charges above {@code max-amount} are declined.
+ * Outcomes whose callback failed are kept until the reconciliation job looks them up once.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway.provider", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalStubPaymentGateway implements PaymentGateway {
+
+    private final PaymentService paymentService;
+    private final Duration callbackDelay;
+    private final BigDecimal maxAmount;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, Boolean> undelivered = new ConcurrentHashMap<>();
+
+    public LocalStubPaymentGateway(PaymentService paymentService,
+                                   @Value("${app.payment.gateway.stub.callback-delay:500ms}") Duration callbackDelay,
+                                   @Value("${app.payment.gateway.stub.max-amount:10000}") BigDecimal maxAmount) {
+        this.paymentService = paymentService;
+        this.callbackDelay = callbackDelay;
+        this.maxAmount = maxAmount;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("payment-stub-"));
+    }
+
+    @Override
+    public String submit(GatewayPaymentRequest request) {
+        String reference = "stub-" + UUID.randomUUID();
+        boolean approved = request.amount().compareTo(maxAmount) <= 0;
+        PaymentCallbackRequestDto callback = new PaymentCallbackRequestDto(
+                request.paymentId(), request.attemptId(), reference, approved,
+                approved ? null : "Amount exceeds limit");
+
+        undelivered.put(request.paymentId(), approved);
+        scheduler.schedule(() -> deliver(callback), callbackDelay.toMillis(), TimeUnit.MILLISECONDS);
+        log.debug("Stub gateway accepted payment: paymentId={}, reference={}", request.paymentId(), reference);
+        return reference;
+    }
+
+    private void deliver(PaymentCallbackRequestDto callback) {
+        try {
+            paymentService.completePayment(callback);
+            undelivered.remove(callback.getPaymentId());
+        } catch (Exception e) {
+            log.error("Stub gateway callback failed: paymentId={}", callback.getPaymentId(), e);
+        }
+    }
+
+    @Override
+    public List<SettlementEntryDto> findOutcomes(Collection<Long> paymentIds) {
+        return paymentIds.stream()
+                .map(id -> {
+                    Boolean approved = undelivered.remove(id);
+                    return approved == null ? null : new SettlementEntryDto(id, approved);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
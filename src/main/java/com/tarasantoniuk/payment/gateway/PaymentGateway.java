@@ -0,0 +1,33 @@
+package com.tarasantoniuk.payment.gateway;
+
+import com.tarasantoniuk.payment.dto.SettlementEntryDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * External payment provider.
+ * <p>
+ * {@link #submit} hands the charge over to the provider and returns its reference once the
+ * provider has accepted it. The outcome is reported later through the payment callback
+ * ({@code POST /api/v1/payments/callback}). Implementations may block; callers run them
+ * off-transaction with a timeout. {@link #findOutcomes} lets the reconciliation job pick up
+ * outcomes whose callback was lost.
+ */
+public interface PaymentGateway {
+
+    /**
+     * @return provider reference of the accepted charge
+     * @throws PaymentGatewayException if the provider rejects the charge or is unavailable
+     */
+    String submit(GatewayPaymentRequest request);
+
+    /**
+     * Final outcomes the provider knows for the given payments. Payments the provider has no
+     * outcome for are left out. Providers without a status lookup return nothing; their results
+     * arrive only through the callback and settlement files.
+     */
+    default List<SettlementEntryDto> findOutcomes(Collection<Long> paymentIds) {
+        return List.of();
+    }
+}
@@ -1,10 +1,15 @@
 package com.tarasantoniuk.payment.repository;
 
+import com.tarasantoniuk.payment.dto.PaymentBookingIds;
 import com.tarasantoniuk.payment.entity.Payment;
-import com.tarasantoniuk.payment.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +18,79 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByBookingId(Long bookingId);
 
-    List<Payment> findByStatus(PaymentStatus status);
-}
\ No newline at end of file
+    List<Payment> findByBookingIdIn(Collection<Long> bookingIds);
+
+    @Query("SELECT p.booking.id FROM Payment p WHERE p.id = :id")
+    Optional<Long> findBookingIdById(@Param("id") Long id);
+
+    /**
+     * IDs of payments submitted to the gateway before the cutoff whose callback never arrived.
+     */
+    @Query("""
+                SELECT p.id FROM Payment p
+                WHERE p.status = 'PROCESSING'
+                AND p.processingStartedAt < :cutoff
+            """)
+    List<Long> findStaleProcessingIds(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Fails the given payments if they are still waiting for the gateway.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+                UPDATE Payment p
+                SET p.status = 'FAILED'
+                WHERE p.id IN :ids
+                AND p.status = 'PROCESSING'
+            """)
+    int failProcessingByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * One keyset page of outstanding (PENDING or PROCESSING) payment IDs after the given ID, in ID order.
+     */
+    @Query(value = """
+                SELECT p.id FROM payments p
+                WHERE p.status IN ('PENDING', 'PROCESSING')
+                AND p.id > :afterId
+                ORDER BY p.id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findOutstandingIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Locks the given payments that can still be completed (payment PENDING or PROCESSING,
+     * booking PENDING) together with their bookings. Rows are locked in booking id order,
+     * the same order for every settlement batch, so concurrent batches cannot deadlock.
+     */
+    @Query(value = """
+                SELECT p.id AS paymentId, p.booking_id AS bookingId
+                FROM payments p
+                JOIN bookings b ON b.id = p.booking_id
+                WHERE p.id IN (:paymentIds)
+                AND p.status IN ('PENDING', 'PROCESSING')
+                AND b.status = 'PENDING'
+                ORDER BY b.id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<PaymentBookingIds> lockCompletable(@Param("paymentIds") Collection<Long> paymentIds);
+
+    /**
+     * Locks the given payments that can still be failed (PENDING or PROCESSING).
+     */
+    @Query(value = """
+                SELECT p.id FROM payments p
+                WHERE p.id IN (:paymentIds)
+                AND p.status IN ('PENDING', 'PROCESSING')
+                ORDER BY p.id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockFailable(@Param("paymentIds") Collection<Long> paymentIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = 'COMPLETED' WHERE p.id IN :ids")
+    int completeByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = 'FAILED' WHERE p.id IN :ids")
+    int failByIds(@Param("ids") Collection<Long> ids);
+}
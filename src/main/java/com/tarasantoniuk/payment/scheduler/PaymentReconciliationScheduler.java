@@ -0,0 +1,44 @@
+package com.tarasantoniuk.payment.scheduler;
+
+import com.tarasantoniuk.payment.service.PaymentSettlementService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.tarasantoniuk.booking.config.BookingTimeConstants.SCHEDULER_INITIAL_DELAY_MS;
+
+/**
+ * Settles outstanding payments whose gateway outcome is known but whose callback never arrived.
+ * Concurrent runs on several nodes are safe: each batch locks and re-checks its payments.
+ */
+@Component
+@Slf4j
+public class PaymentReconciliationScheduler {
+
+    private final PaymentSettlementService paymentSettlementService;
+    private final Counter reconciled;
+
+    public PaymentReconciliationScheduler(PaymentSettlementService paymentSettlementService,
+                                          MeterRegistry meterRegistry) {
+        this.paymentSettlementService = paymentSettlementService;
+        this.reconciled = Counter.builder("payments.reconciled")
+                .description("Payments completed or failed by the reconciliation job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.settlement.reconcile-interval:300000}",
+            initialDelay = SCHEDULER_INITIAL_DELAY_MS)
+    public void reconcilePayments() {
+        try {
+            int settled = paymentSettlementService.reconcileOutstanding();
+            reconciled.increment(settled);
+            if (settled > 0) {
+                log.info("Reconciled {} outstanding payments with the gateway", settled);
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling outstanding payments", e);
+        }
+    }
+}
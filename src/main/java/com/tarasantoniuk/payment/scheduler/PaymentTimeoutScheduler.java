@@ -0,0 +1,47 @@
+package com.tarasantoniuk.payment.scheduler;
+
+import com.tarasantoniuk.payment.service.PaymentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.tarasantoniuk.booking.config.BookingTimeConstants.SCHEDULER_FIXED_DELAY_MS;
+import static com.tarasantoniuk.booking.config.BookingTimeConstants.SCHEDULER_INITIAL_DELAY_MS;
+
+/**
+ * Fails payments submitted to the gateway whose callback did not arrive within the callback timeout.
+ */
+@Component
+@Slf4j
+public class PaymentTimeoutScheduler {
+
+    private final PaymentService paymentService;
+    private final Duration callbackTimeout;
+    private final Counter timeouts;
+
+    public PaymentTimeoutScheduler(PaymentService paymentService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.payment.gateway.callback-timeout:10m}") Duration callbackTimeout) {
+        this.paymentService = paymentService;
+        this.callbackTimeout = callbackTimeout;
+        this.timeouts = Counter.builder("payments.callback.timeouts")
+                .description("Payments failed because the gateway callback did not arrive in time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = SCHEDULER_FIXED_DELAY_MS, initialDelay = SCHEDULER_INITIAL_DELAY_MS)
+    public void failStalePayments() {
+        try {
+            int failed = paymentService.failStaleProcessing(LocalDateTime.now().minus(callbackTimeout));
+            timeouts.increment(failed);
+        } catch (Exception e) {
+            log.error("Error failing stale payments", e);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.tarasantoniuk.payment.service;
 
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
+import com.tarasantoniuk.booking.hold.ReservationHold;
 import com.tarasantoniuk.booking.repository.BookingRepository;
 import com.tarasantoniuk.booking.service.BookingService;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.payment.dto.PaymentCallbackRequestDto;
 import com.tarasantoniuk.payment.dto.PaymentResponseDto;
 import com.tarasantoniuk.payment.dto.ProcessPaymentRequestDto;
 import com.tarasantoniuk.payment.entity.Payment;
@@ -18,12 +20,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
 public class PaymentService {
 
+    public static final int MAX_BATCH_LOOKUP = 500;
+
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
@@ -75,6 +83,10 @@ public class PaymentService {
         Payment payment = paymentRepository.findByBookingId(request.getBookingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found for booking: " + request.getBookingId()));
 
+        if (payment.getStatus() == PaymentStatus.PROCESSING) {
+            throw new IllegalStateException("Payment is already being processed by the payment gateway");
+        }
+
         // 4. Process payment (emulation)
         payment.setStatus(PaymentStatus.COMPLETED);
         paymentRepository.save(payment);
@@ -90,9 +102,185 @@ public class PaymentService {
         return PaymentResponseDto.from(payment);
     }
 
+    /**
+     * Pays a reservation hold: the booking is created CONFIRMED with a COMPLETED payment in one
+     * transaction, so holds that are never paid leave no rows behind.
+     */
+    @Transactional
+    public PaymentResponseDto payForHold(ReservationHold hold) {
+        log.info("Processing payment for holdId={}", hold.holdId());
+
+        Booking booking = bookingService.createConfirmedBooking(hold);
+
+        // Payment emulation, as in processPayment
+        Payment payment = new Payment();
+        payment.setBooking(booking);
+        payment.setAmount(hold.totalCost());
+        payment.setStatus(PaymentStatus.COMPLETED);
+        Payment saved = paymentRepository.save(payment);
+
+        eventService.createEvent(EventType.PAYMENT_COMPLETED, saved.getId());
+
+        log.info("Hold paid: paymentId={}, bookingId={}, holdId={}", saved.getId(), booking.getId(), hold.holdId());
+        return PaymentResponseDto.from(saved);
+    }
+
+    /**
+     * Marks the booking's payment as submitted to the gateway under a new attempt. Runs in a short
+     * transaction; the gateway call itself happens after commit, without holding the booking lock.
+     *
+     * @param attemptId identifies this submission; only callbacks carrying it are applied
+     */
+    @Transactional
+    public PaymentResponseDto startProcessing(Long bookingId, String attemptId) {
+        log.info("Submitting payment for bookingId={}", bookingId);
+
+        Booking booking = bookingRepository.findByIdWithLock(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            log.warn("Payment submit for non-PENDING booking: bookingId={}, status={}", bookingId, booking.getStatus());
+            throw new IllegalArgumentException("Booking is not in PENDING status");
+        }
+
+        Payment payment = paymentRepository.findByBookingId(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found for booking: " + bookingId));
+
+        if (payment.getStatus() == PaymentStatus.PROCESSING) {
+            throw new IllegalStateException("Payment is already being processed by the payment gateway");
+        }
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            throw new IllegalStateException("Payment is already completed");
+        }
+
+        // FAILED payments can be resubmitted while the booking is still pending
+        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setProcessingStartedAt(LocalDateTime.now());
+        payment.setGatewayAttemptId(attemptId);
+        paymentRepository.save(payment);
+
+        return PaymentResponseDto.from(payment);
+    }
+
+    /**
+     * Applies the gateway outcome of the current attempt. Duplicate and late callbacks are ignored,
+     * so the gateway can safely retry delivery. A successful callback that cannot be applied
+     * (earlier attempt, failed payment) means the customer was charged without a booking and is
+     * logged as requiring a refund.
+     */
+    @Transactional
+    public PaymentResponseDto completePayment(PaymentCallbackRequestDto callback) {
+        Long paymentId = callback.getPaymentId();
+        Long bookingId = paymentRepository.findBookingIdById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+
+        // Same lock order as processPayment/startProcessing: booking first, then payment
+        Booking booking = bookingRepository.findByIdWithLock(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+
+        if (!callback.getAttemptId().equals(payment.getGatewayAttemptId())) {
+            if (Boolean.TRUE.equals(callback.getSuccess())) {
+                log.warn("Successful callback for another gateway attempt, refund required: paymentId={}, "
+                                + "attemptId={}, currentAttemptId={}, status={}, reference={}",
+                        paymentId, callback.getAttemptId(), payment.getGatewayAttemptId(), payment.getStatus(),
+                        callback.getGatewayReference());
+            } else {
+                log.info("Ignoring failed callback for another gateway attempt: paymentId={}, attemptId={}",
+                        paymentId, callback.getAttemptId());
+            }
+            return PaymentResponseDto.from(payment);
+        }
+
+        if (payment.getStatus() != PaymentStatus.PROCESSING) {
+            if (Boolean.TRUE.equals(callback.getSuccess()) && payment.getStatus() == PaymentStatus.FAILED) {
+                log.warn("Late successful callback for failed payment, refund required: paymentId={}, reference={}",
+                        paymentId, callback.getGatewayReference());
+            } else {
+                log.info("Ignoring callback for payment in status {}: paymentId={}", payment.getStatus(), paymentId);
+            }
+            return PaymentResponseDto.from(payment);
+        }
+
+        if (!Boolean.TRUE.equals(callback.getSuccess())) {
+            markFailed(payment, callback.getFailureReason());
+            return PaymentResponseDto.from(payment);
+        }
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            log.warn("Payment succeeded for non-PENDING booking, refund required: paymentId={}, bookingId={}, status={}",
+                    paymentId, bookingId, booking.getStatus());
+            markFailed(payment, "Booking is no longer pending");
+            return PaymentResponseDto.from(payment);
+        }
+
+        payment.setStatus(PaymentStatus.COMPLETED);
+        paymentRepository.save(payment);
+        eventService.createEvent(EventType.PAYMENT_COMPLETED, paymentId);
+        bookingService.confirmBooking(bookingId);
+
+        log.info("Payment completed by gateway: paymentId={}, bookingId={}, reference={}",
+                paymentId, bookingId, callback.getGatewayReference());
+        return PaymentResponseDto.from(payment);
+    }
+
+    /**
+     * Fails a payment whose gateway submission did not go through (error or timeout).
+     */
+    @Transactional
+    public void failProcessing(Long paymentId, String reason) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+        if (payment.getStatus() != PaymentStatus.PROCESSING) {
+            return;
+        }
+        markFailed(payment, reason);
+    }
+
+    /**
+     * Fails payments that have been waiting for a gateway callback since before the cutoff.
+     *
+     * @return number of failed payments
+     */
+    @Transactional
+    public int failStaleProcessing(LocalDateTime cutoff) {
+        List<Long> staleIds = paymentRepository.findStaleProcessingIds(cutoff);
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+        int failed = paymentRepository.failProcessingByIds(staleIds);
+        eventService.createEventsInBatch(EventType.PAYMENT_FAILED, staleIds);
+        log.warn("Failed {} payments without gateway callback since {}", failed, cutoff);
+        return failed;
+    }
+
     public PaymentResponseDto getPaymentByBookingId(Long bookingId) {
         Payment payment = paymentRepository.findByBookingId(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found for booking: " + bookingId));
         return PaymentResponseDto.from(payment);
     }
+
+    /**
+     * Payments for many bookings in one query. Bookings without a payment are omitted.
+     */
+    public List<PaymentResponseDto> getPaymentsByBookingIds(List<Long> bookingIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(bookingIds);
+        if (uniqueIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking ID is required");
+        }
+        if (uniqueIds.size() > MAX_BATCH_LOOKUP) {
+            throw new IllegalArgumentException("Cannot look up more than " + MAX_BATCH_LOOKUP + " bookings at once");
+        }
+        return paymentRepository.findByBookingIdIn(uniqueIds).stream()
+                .map(PaymentResponseDto::from)
+                .toList();
+    }
+
+    private void markFailed(Payment payment, String reason) {
+        payment.setStatus(PaymentStatus.FAILED);
+        paymentRepository.save(payment);
+        eventService.createEvent(EventType.PAYMENT_FAILED, payment.getId(), reason);
+        log.warn("Payment failed: paymentId={}, reason={}", payment.getId(), reason);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.tarasantoniuk.payment.service;
+
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.event.enums.EventType;
+import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.payment.dto.PaymentBookingIds;
+import com.tarasantoniuk.payment.dto.SettlementBatchReportDto;
+import com.tarasantoniuk.payment.dto.SettlementEntryDto;
+import com.tarasantoniuk.payment.dto.SettlementReportDto;
+import com.tarasantoniuk.payment.gateway.PaymentGateway;
+import com.tarasantoniuk.payment.repository.PaymentRepository;
+import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a batch of gateway results (settlement file) with set-based updates.
+ * <p>
+ * Entries are split into batches, each applied in its own transaction: lock the
+ * completable payments with their bookings in one query, confirm the bookings and
+ * complete the payments with one UPDATE each, then batch-insert the
+ * {@code PAYMENT_COMPLETED} / {@code BOOKING_CONFIRMED} / {@code PAYMENT_FAILED} events.
+ * A failed batch rolls back only itself.
+ * <p>
+ * {@link #reconcileOutstanding} feeds the outcomes the gateway reports for outstanding
+ * payments through the same batches, for callbacks that never arrived.
+ * <p>
+ * Confirmation does not change which dates are occupied, so besides the available units
+ * counter and the ETag versions no availability caches need invalidation.
+ */
+@Service
+@Slf4j
+public class PaymentSettlementService {
+
+    public static final int MAX_ENTRIES = 100_000;
+
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final EventService eventService;
+    private final UnitStatisticsService unitStatisticsService;
+    private final EntityVersionService entityVersionService;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PaymentSettlementService(PaymentRepository paymentRepository,
+                                    BookingRepository bookingRepository,
+                                    EventService eventService,
+                                    UnitStatisticsService unitStatisticsService,
+                                    EntityVersionService entityVersionService,
+                                    PaymentGateway paymentGateway,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.payment.settlement.batch-size:1000}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.bookingRepository = bookingRepository;
+        this.eventService = eventService;
+        this.unitStatisticsService = unitStatisticsService;
+        this.entityVersionService = entityVersionService;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public SettlementReportDto settle(List<SettlementEntryDto> entries) {
+        if (entries.size() > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Settlement cannot exceed " + MAX_ENTRIES + " entries");
+        }
+        long start = System.nanoTime();
+
+        // First result per payment wins; later duplicates are skipped
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        entries.forEach(entry -> results.putIfAbsent(entry.getPaymentId(), entry.getSuccess()));
+        List<Map.Entry<Long, Boolean>> unique = new ArrayList<>(results.entrySet());
+
+        List<SettlementBatchReportDto> batches = new ArrayList<>();
+        for (int from = 0; from < unique.size(); from += batchSize) {
+            List<Map.Entry<Long, Boolean>> chunk = unique.subList(from, Math.min(from + batchSize, unique.size()));
+            batches.add(settleBatch(batches.size() + 1, chunk));
+        }
+
+        int completed = batches.stream().mapToInt(SettlementBatchReportDto::getCompleted).sum();
+        int failed = batches.stream().mapToInt(SettlementBatchReportDto::getFailed).sum();
+        if (completed > 0) {
+            unitStatisticsService.invalidateAvailableUnitsCache();
+        }
+
+        long durationMs = elapsedMs(start);
+        log.info("Settlement applied: entries={}, completed={}, failed={}, batches={}, durationMs={}",
+                entries.size(), completed, failed, batches.size(), durationMs);
+        return new SettlementReportDto(entries.size(), completed, failed,
+                entries.size() - completed - failed, durationMs, batches);
+    }
+
+    /**
+     * Pages through outstanding (PENDING or PROCESSING) payments by ID and settles the outcomes
+     * the gateway reports for them, one page per settlement batch.
+     *
+     * @return number of payments completed or failed
+     */
+    public int reconcileOutstanding() {
+        int settled = 0;
+        long afterId = 0;
+        List<Long> paymentIds;
+        do {
+            paymentIds = paymentRepository.findOutstandingIdsAfter(afterId, batchSize);
+            if (paymentIds.isEmpty()) {
+                break;
+            }
+            afterId = paymentIds.get(paymentIds.size() - 1);
+
+            List<SettlementEntryDto> outcomes = paymentGateway.findOutcomes(paymentIds);
+            if (!outcomes.isEmpty()) {
+                SettlementReportDto report = settle(outcomes);
+                settled += report.getCompleted() + report.getFailed();
+            }
+        } while (paymentIds.size() == batchSize);
+        return settled;
+    }
+
+    private SettlementBatchReportDto settleBatch(int batchNumber, List<Map.Entry<Long, Boolean>> chunk) {
+        long start = System.nanoTime();
+
+        List<Long> successIds = new ArrayList<>();
+        List<Long> failureIds = new ArrayList<>();
+        chunk.forEach(entry -> (entry.getValue() ? successIds : failureIds).add(entry.getKey()));
+
+        List<Long> confirmedBookingIds = new ArrayList<>();
+        int[] counts = transactionTemplate.execute(status -> {
+            int completed = 0;
+            if (!successIds.isEmpty()) {
+                List<PaymentBookingIds> completable = paymentRepository.lockCompletable(successIds);
+                if (!completable.isEmpty()) {
+                    List<Long> paymentIds = completable.stream().map(PaymentBookingIds::getPaymentId).toList();
+                    List<Long> bookingIds = completable.stream().map(PaymentBookingIds::getBookingId).toList();
+                    bookingRepository.bulkConfirmBookings(bookingIds);
+                    completed = paymentRepository.completeByIds(paymentIds);
+                    eventService.createEventsInBatch(EventType.PAYMENT_COMPLETED, paymentIds);
+                    eventService.createEventsInBatch(EventType.BOOKING_CONFIRMED, bookingIds);
+                    confirmedBookingIds.addAll(bookingIds);
+                }
+            }
+
+            int failed = 0;
+            if (!failureIds.isEmpty()) {
+                List<Long> failable = paymentRepository.lockFailable(failureIds);
+                if (!failable.isEmpty()) {
+                    failed = paymentRepository.failByIds(failable);
+                    eventService.createEventsInBatch(EventType.PAYMENT_FAILED, failable);
+                }
+            }
+            return new int[]{completed, failed};
+        });
+
+        // The batch is committed, so readers may now see the confirmed bookings
+        if (!confirmedBookingIds.isEmpty()) {
+            entityVersionService.bookingsChanged(confirmedBookingIds);
+            entityVersionService.availabilityChanged();
+        }
+
+        long durationMs = elapsedMs(start);
+        double entriesPerSecond = chunk.size() * 1000.0 / Math.max(durationMs, 1);
+        SettlementBatchReportDto report = new SettlementBatchReportDto(batchNumber, chunk.size(), counts[0], counts[1],
+                chunk.size() - counts[0] - counts[1], durationMs, Math.round(entriesPerSecond * 10) / 10.0);
+        log.debug("Settlement batch {}: entries={}, completed={}, failed={}, durationMs={}",
+                batchNumber, chunk.size(), counts[0], counts[1], durationMs);
+        return report;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
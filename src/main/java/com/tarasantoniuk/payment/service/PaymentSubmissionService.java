@@ -0,0 +1,133 @@
+package com.tarasantoniuk.payment.service;
+
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.gateway.GatewayPaymentRequest;
+import com.tarasantoniuk.payment.gateway.PaymentGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous payment flow: marks the payment PROCESSING in a short transaction,
+ * then calls the {@link PaymentGateway} on a bounded pool, outside any transaction and
+ * without the booking lock. The booking is confirmed when the gateway callback arrives
+ * ({@link PaymentService#completePayment}).
+ * <p>
+ * Each submission is a new gateway attempt with its own id, and only the callback of the current
+ * attempt is applied. A gateway call that fails fails the payment, so the client can resubmit while
+ * the booking is still pending. A call that exceeds the submit timeout may still have reached the
+ * gateway, so the payment stays PROCESSING until its callback arrives or the stale-payment sweep
+ * fails it; failing it at once would invite a second charge.
+ * <p>
+ * Metrics: {@code payments.gateway.inflight} (gateway calls in progress) and
+ * {@code payments.gateway.submit} (latency, tag {@code outcome}: accepted, rejected, timeout).
+ */
+@Service
+@Slf4j
+public class PaymentSubmissionService {
+
+    private final PaymentService paymentService;
+    private final PaymentGateway paymentGateway;
+    private final MeterRegistry meterRegistry;
+    private final Duration submitTimeout;
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PaymentSubmissionService(PaymentService paymentService,
+                                    PaymentGateway paymentGateway,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.payment.gateway.submit-timeout:5s}") Duration submitTimeout,
+                                    @Value("${app.payment.gateway.pool-size:8}") int poolSize,
+                                    @Value("${app.payment.gateway.queue-capacity:100}") int queueCapacity) {
+        this.paymentService = paymentService;
+        this.paymentGateway = paymentGateway;
+        this.meterRegistry = meterRegistry;
+        this.submitTimeout = submitTimeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("payment-gateway-"));
+
+        Gauge.builder("payments.gateway.inflight", inFlight, AtomicInteger::get)
+                .description("Payment gateway calls in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submits the booking's payment to the gateway and returns immediately with status PROCESSING.
+     */
+    public PaymentResponseDto submit(Long bookingId) {
+        String attemptId = UUID.randomUUID().toString();
+        PaymentResponseDto payment = paymentService.startProcessing(bookingId, attemptId);
+        GatewayPaymentRequest request = new GatewayPaymentRequest(payment.getId(), attemptId, bookingId,
+                payment.getAmount());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+        try {
+            CompletableFuture.supplyAsync(() -> paymentGateway.submit(request), executor)
+                    .orTimeout(submitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((reference, error) -> onSubmitted(request, reference, error, sample));
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            paymentService.failProcessing(payment.getId(), "Payment gateway queue is full");
+            throw new IllegalStateException("Payment gateway is busy, please retry later");
+        }
+
+        log.info("Payment submitted to gateway: paymentId={}, bookingId={}", payment.getId(), bookingId);
+        return payment;
+    }
+
+    private void onSubmitted(GatewayPaymentRequest request, String reference, Throwable error, Timer.Sample sample) {
+        inFlight.decrementAndGet();
+        String outcome = error == null ? "accepted" : isTimeout(error) ? "timeout" : "rejected";
+        sample.stop(Timer.builder("payments.gateway.submit")
+                .description("Payment gateway submit latency")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+
+        if (error == null) {
+            log.debug("Gateway accepted payment: paymentId={}, reference={}", request.paymentId(), reference);
+            return;
+        }
+
+        if (isTimeout(error)) {
+            log.warn("Gateway submit timed out, awaiting callback or stale-payment sweep: paymentId={}, attemptId={}",
+                    request.paymentId(), request.attemptId());
+            return;
+        }
+
+        log.warn("Gateway submit failed: paymentId={}, outcome={}", request.paymentId(), outcome, error);
+        try {
+            paymentService.failProcessing(request.paymentId(), "Gateway submit " + outcome);
+        } catch (Exception e) {
+            // The stale-payment sweep fails it later
+            log.error("Failed to mark payment as failed: paymentId={}", request.paymentId(), e);
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof TimeoutException;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
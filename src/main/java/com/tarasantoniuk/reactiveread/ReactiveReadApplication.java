@@ -0,0 +1,38 @@
+package com.tarasantoniuk.reactiveread;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Reactive read service: serves {@code GET /api/v1/units/{id}}, {@code /api/v1/units/search}
+ * and the {@code /api/v1/statistics} reads on WebFlux (Netty), R2DBC and reactive Redis,
+ * so concurrent reads are bounded by connections rather than request threads.
+ * <p>
+ * Runs as its own process next to the servlet application (or instead of it for these
+ * paths, behind the same router), against the same Postgres and Redis. Responses use the
+ * same DTOs, filters, Redis keys and ETags as the servlet endpoints. Writes, caches
+ * and bitmap maintenance stay in the servlet application.
+ * <p>
+ * Configuration comes from {@code reactive-read.yml} instead of {@code application.yml}.
+ * Not a {@code @SpringBootApplication}, so tests of the servlet application still find a
+ * single {@code @SpringBootConfiguration} under {@code com.tarasantoniuk}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class)
+})
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .properties("spring.config.name=reactive-read")
+                .run(args);
+    }
+}
@@ -0,0 +1,37 @@
+package com.tarasantoniuk.reactiveread.common;
+
+import com.tarasantoniuk.common.version.ConditionalGet;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Reactive counterpart of {@link ConditionalGet#respond}: the ETag is resolved first and a
+ * matching {@code If-None-Match} gets {@code 304} without subscribing to the body.
+ */
+public final class ReactiveConditionalGet {
+
+    private ReactiveConditionalGet() {
+    }
+
+    public static <T> Mono<ResponseEntity<T>> respond(ServerWebExchange exchange, Mono<Optional<String>> eTag,
+                                                      Supplier<Mono<T>> body) {
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        return eTag.flatMap(tag -> {
+            if (tag.isPresent() && ConditionalGet.matches(ifNoneMatch, tag.get())) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT).eTag(tag.get()).<T>build());
+            }
+            return body.get().map(value -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+                tag.ifPresent(response::eTag);
+                return response.body(value);
+            });
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.tarasantoniuk.reactiveread.common;
+
+import com.tarasantoniuk.common.exception.ErrorResponse;
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exception handler of the reactive read service, producing the same error responses
+ * as the servlet application's GlobalExceptionHandler.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle ResourceNotFoundException - when a requested resource does not exist
+     * Returns 404 Not Found
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(
+            ResourceNotFoundException ex,
+            ServerHttpRequest request) {
+
+        log.warn("Resource not found: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Handle IllegalArgumentException and IllegalStateException - invalid input or state
+     * Returns 400 Bad Request
+     */
+    @ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(
+            RuntimeException ex,
+            ServerHttpRequest request) {
+
+        log.warn("Bad request: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * Handle validation errors from @Valid annotations
+     * Returns 400 Bad Request
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(
+            WebExchangeBindException ex,
+            ServerHttpRequest request) {
+
+        List<String> details = new ArrayList<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            details.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+
+        log.warn("Validation failed: {}", details);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "Invalid request data",
+                request.getPath().value(),
+                details
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * Handle missing or mistyped request parameters
+     * Returns 400 Bad Request
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInput(
+            ServerWebInputException ex,
+            ServerHttpRequest request) {
+
+        log.warn("Invalid input: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getReason(),
+                request.getPath().value()
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * Handle all other unexpected exceptions
+     * Returns 500 Internal Server Error
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex,
+            ServerHttpRequest request) {
+
+        log.error("Unexpected error occurred", ex);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Internal Server Error",
+                "An unexpected error occurred. Please try again later.",
+                request.getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tarasantoniuk.reactiveread.common;
+
+import com.tarasantoniuk.common.version.EntityVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Non-blocking reads of the version tokens maintained by {@link EntityVersionService},
+ * producing the same ETags, so a client can revalidate against either application.
+ * Redis failures mean "no ETag", as in the servlet application.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveVersionService {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public Mono<Optional<String>> unitETag(Long unitId) {
+        return version(EntityVersionService.UNIT_KEY_PREFIX + unitId)
+                .map(token -> token.map(EntityVersionService::unitETagOf));
+    }
+
+    public Mono<Optional<String>> availabilityETag() {
+        return version(EntityVersionService.AVAILABILITY_KEY)
+                .map(token -> token.map(EntityVersionService::availabilityETagOf));
+    }
+
+    /**
+     * Current token under the key, creating one if absent with SET NX, like the servlet application.
+     */
+    private Mono<Optional<String>> version(String key) {
+        String fresh = EntityVersionService.newToken();
+        return redisTemplate.opsForValue().get(key)
+                .switchIfEmpty(Mono.defer(() -> redisTemplate.opsForValue()
+                        .setIfAbsent(key, fresh, EntityVersionService.VERSION_TTL)
+                        .flatMap(created -> created ? Mono.just(fresh) : redisTemplate.opsForValue().get(key))))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("Failed to read version, serving without ETag: key={}", key, e);
+                    return Mono.just(Optional.empty());
+                });
+    }
+}
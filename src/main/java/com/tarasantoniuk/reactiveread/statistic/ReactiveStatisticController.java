@@ -0,0 +1,61 @@
+package com.tarasantoniuk.reactiveread.statistic;
+
+import com.tarasantoniuk.reactiveread.common.ReactiveConditionalGet;
+import com.tarasantoniuk.reactiveread.common.ReactiveVersionService;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
+import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking variants of the read endpoints of the servlet {@code StatisticController},
+ * with the same paths, parameters, responses and ETags. Refresh, rebuild and the
+ * consistency check stay on the servlet application.
+ */
+@RestController
+@RequestMapping("/api/v1/statistics")
+@RequiredArgsConstructor
+public class ReactiveStatisticController {
+
+    private final ReactiveStatisticService reactiveStatisticService;
+    private final ReactiveVersionService reactiveVersionService;
+
+    @GetMapping("/available-units")
+    public Mono<ResponseEntity<AvailableUnitsStatisticDto>> getAvailableUnitsCount(ServerWebExchange exchange) {
+        return ReactiveConditionalGet.respond(exchange, reactiveVersionService.availabilityETag(),
+                reactiveStatisticService::getAvailableUnits);
+    }
+
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<AvailabilityStatisticDto>> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            ServerWebExchange exchange
+    ) {
+        return ReactiveConditionalGet.respond(exchange, reactiveVersionService.availabilityETag(),
+                () -> reactiveStatisticService.getAvailability(from, to != null ? to : from));
+    }
+
+    @GetMapping("/occupancy")
+    public Mono<ResponseEntity<OccupancyTimeSeriesDto>> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) AccommodationType accommodationType,
+            @RequestParam(required = false) Long ownerId,
+            ServerWebExchange exchange
+    ) {
+        return ReactiveConditionalGet.respond(exchange, reactiveVersionService.availabilityETag(),
+                () -> reactiveStatisticService.getOccupancy(from, to, accommodationType, ownerId));
+    }
+}
@@ -0,0 +1,164 @@
+package com.tarasantoniuk.reactiveread.statistic;
+
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
+import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.statistic.service.AvailabilityBitmapService;
+import com.tarasantoniuk.statistic.service.CacheService;
+import com.tarasantoniuk.statistic.service.OccupancyRollupService;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.BitOperation;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking reads of the statistics served by the servlet {@code StatisticService},
+ * from the same Redis keys and tables: the cached available units count, the availability
+ * bitmaps and the daily occupancy rollup. Maintaining them stays with the servlet application.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveStatisticService {
+
+    private static final String COUNT_AVAILABLE_UNITS_SQL = """
+            SELECT COUNT(*) FROM units u
+            WHERE NOT EXISTS (
+                SELECT 1 FROM bookings b
+                WHERE b.unit_id = u.id
+                AND b.status IN ('PENDING', 'CONFIRMED')
+                AND b.start_date <= CURRENT_DATE
+                AND b.end_date >= CURRENT_DATE)
+            """;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Cached count, computed and cached on a miss. Redis failures fall back to the database.
+     */
+    public Mono<AvailableUnitsStatisticDto> getAvailableUnits() {
+        return redisTemplate.opsForValue().get(CacheService.AVAILABLE_UNITS_KEY)
+                .map(Long::valueOf)
+                .onErrorResume(e -> {
+                    log.warn("Redis unavailable for cache read, falling back to database", e);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(this::countAndCacheAvailableUnits))
+                .map(AvailableUnitsStatisticDto::new);
+    }
+
+    /**
+     * Units with no active booking on any day of the range, from the availability bitmaps.
+     */
+    public Mono<AvailabilityStatisticDto> getAvailability(LocalDate from, LocalDate to) {
+        return Mono.fromRunnable(() -> AvailabilityBitmapService.validateRange(from, to))
+                .then(redisTemplate.hasKey(AvailabilityBitmapService.READY_KEY))
+                .flatMap(ready -> {
+                    if (!ready) {
+                        return Mono.error(new IllegalStateException(
+                                "Availability bitmaps are not built yet, run a rebuild first"));
+                    }
+                    return Mono.zip(bitCount(AvailabilityBitmapService.UNITS_KEY), occupiedUnits(from, to))
+                            .map(counts -> new AvailabilityStatisticDto(
+                                    from, to, counts.getT1(), counts.getT1() - counts.getT2()));
+                });
+    }
+
+    /**
+     * Daily booked units per accommodation type from the rollup, zero-filled.
+     */
+    public Mono<OccupancyTimeSeriesDto> getOccupancy(LocalDate from, LocalDate to,
+                                                     AccommodationType accommodationType, Long ownerId) {
+        return Mono.defer(() -> {
+            OccupancyRollupService.validateRange(from, to);
+
+            StringBuilder sql = new StringBuilder("""
+                    SELECT day, accommodation_type, SUM(booked_units) AS booked_units
+                    FROM daily_occupancy
+                    WHERE day BETWEEN :from AND :to""");
+            if (accommodationType != null) {
+                sql.append(" AND accommodation_type = :accommodationType");
+            }
+            if (ownerId != null) {
+                sql.append(" AND owner_id = :ownerId");
+            }
+            sql.append(" GROUP BY day, accommodation_type");
+
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                    .bind("from", from)
+                    .bind("to", to);
+            if (accommodationType != null) {
+                spec = spec.bind("accommodationType", accommodationType.name());
+            }
+            if (ownerId != null) {
+                spec = spec.bind("ownerId", ownerId);
+            }
+
+            return spec.map(row -> new OccupancyPointDto(
+                            row.get("day", LocalDate.class),
+                            AccommodationType.valueOf(row.get("accommodation_type", String.class)),
+                            row.get("booked_units", Long.class)))
+                    .all()
+                    .collectList()
+                    .map(rows -> OccupancyRollupService.toTimeSeries(from, to, accommodationType, ownerId, rows));
+        });
+    }
+
+    private Mono<Long> countAndCacheAvailableUnits() {
+        return databaseClient.sql(COUNT_AVAILABLE_UNITS_SQL)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> redisTemplate.opsForValue()
+                        .set(CacheService.AVAILABLE_UNITS_KEY, String.valueOf(count))
+                        .onErrorResume(e -> {
+                            log.warn("Redis unavailable for cache write, result not cached", e);
+                            return Mono.just(false);
+                        })
+                        .thenReturn(count));
+    }
+
+    // Same as the servlet service: one day is a plain BITCOUNT, a range ORs the days into a temporary key
+    private Mono<Long> occupiedUnits(LocalDate from, LocalDate to) {
+        if (from.equals(to)) {
+            return bitCount(AvailabilityBitmapService.OCCUPIED_KEY_PREFIX + from);
+        }
+        List<ByteBuffer> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            days.add(buffer(AvailabilityBitmapService.OCCUPIED_KEY_PREFIX + date));
+        }
+        ByteBuffer tmpKey = buffer(AvailabilityBitmapService.TMP_KEY_PREFIX + UUID.randomUUID());
+        return Mono.usingWhen(
+                Mono.just(tmpKey),
+                key -> execute(connection -> connection.stringCommands()
+                        .bitOp(days, BitOperation.OR, key.duplicate())
+                        .then(connection.stringCommands().bitCount(key.duplicate()))),
+                key -> execute(connection -> connection.keyCommands().del(key.duplicate())));
+    }
+
+    private Mono<Long> bitCount(String key) {
+        return execute(connection -> connection.stringCommands().bitCount(buffer(key)));
+    }
+
+    private <T> Mono<T> execute(Function<ReactiveRedisConnection, Mono<T>> command) {
+        return redisTemplate.execute(connection -> command.apply(connection)).next();
+    }
+
+    private static ByteBuffer buffer(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
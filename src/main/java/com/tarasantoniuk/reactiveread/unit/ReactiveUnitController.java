@@ -0,0 +1,59 @@
+package com.tarasantoniuk.reactiveread.unit;
+
+import com.tarasantoniuk.reactiveread.common.ReactiveConditionalGet;
+import com.tarasantoniuk.reactiveread.common.ReactiveVersionService;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.service.UnitSpecification;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the unit read endpoints of the servlet {@code UnitController},
+ * with the same paths, parameters, responses and ETags.
+ */
+@RestController
+@RequestMapping("/api/v1/units")
+@RequiredArgsConstructor
+public class ReactiveUnitController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveUnitService reactiveUnitService;
+    private final ReactiveVersionService reactiveVersionService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UnitResponseDto>> getUnitById(@PathVariable Long id, ServerWebExchange exchange) {
+        return ReactiveConditionalGet.respond(exchange, reactiveVersionService.unitETag(id),
+                () -> reactiveUnitService.getUnitById(id));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Page<UnitResponseDto>>> searchUnits(
+            @Valid @ModelAttribute UnitSearchCriteriaDto criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            ServerWebExchange exchange
+    ) {
+        int safeSize = Math.min(size, MAX_PAGE_SIZE);
+        Sort sort = UnitSpecification.resolveSort(criteria, sortBy, sortDir);
+        PageRequest pageable = PageRequest.of(page, safeSize, sort);
+
+        return ReactiveConditionalGet.respond(exchange, reactiveVersionService.availabilityETag(),
+                () -> reactiveUnitService.searchUnits(criteria, pageable));
+    }
+}
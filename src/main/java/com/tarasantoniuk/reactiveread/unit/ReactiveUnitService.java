@@ -0,0 +1,80 @@
+package com.tarasantoniuk.reactiveread.unit;
+
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
+
+/**
+ * Unit reads over R2DBC, returning the DTOs of the servlet {@code UnitService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveUnitService {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UnitResponseDto> getUnitById(Long id) {
+        return databaseClient.sql("SELECT " + UnitSearchQuery.COLUMNS + " FROM units u WHERE u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUnitService::toDto)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Unit not found with id: " + id)));
+    }
+
+    /**
+     * Page of units matching the criteria; content and total count are queried concurrently.
+     */
+    public Mono<Page<UnitResponseDto>> searchUnits(UnitSearchCriteriaDto criteria, Pageable pageable) {
+        UnitSearchQuery query = UnitSearchQuery.of(criteria);
+
+        Mono<List<UnitResponseDto>> content = bind(databaseClient.sql(query.selectSql(pageable)), query)
+                .map(ReactiveUnitService::toDto)
+                .all()
+                .collectList();
+        Mono<Long> total = bind(databaseClient.sql(query.countSql()), query)
+                .map(row -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(content, total)
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, UnitSearchQuery query) {
+        for (Map.Entry<String, Object> binding : query.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    // Same fields and per-night cost as UnitResponseDto.from(Unit)
+    private static UnitResponseDto toDto(Readable row) {
+        BigDecimal baseCost = row.get("base_cost", BigDecimal.class);
+        return new UnitResponseDto(
+                row.get("id", Long.class),
+                row.get("number_of_rooms", Integer.class),
+                AccommodationType.valueOf(row.get("accommodation_type", String.class)),
+                row.get("floor", Integer.class),
+                baseCost,
+                baseCost.multiply(BigDecimal.ONE).multiply(MARKUP_MULTIPLIER),
+                row.get("description", String.class),
+                row.get("owner_id", Long.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
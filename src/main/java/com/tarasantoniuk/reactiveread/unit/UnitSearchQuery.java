@@ -0,0 +1,132 @@
+package com.tarasantoniuk.reactiveread.unit;
+
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.service.UnitSpecification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
+
+/**
+ * SQL for unit searches over R2DBC, with the same filters as {@link UnitSpecification}:
+ * exact rooms/type/floor, cost bounds given with markup and compared with the base cost,
+ * when both dates are set, no PENDING or CONFIRMED booking overlapping the range,
+ * and a full-text match on the description, ranked when the page is unsorted.
+ * Values are always bound as named parameters.
+ */
+final class UnitSearchQuery {
+
+    static final String COLUMNS = "u.id, u.number_of_rooms, u.accommodation_type, u.floor, "
+            + "u.base_cost, u.description, u.owner_id, u.created_at";
+
+    // Sortable DTO properties; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "u.id",
+            "numberOfRooms", "u.number_of_rooms",
+            "accommodationType", "u.accommodation_type",
+            "floor", "u.floor",
+            "baseCost", "u.base_cost",
+            "createdAt", "u.created_at"
+    );
+
+    // Same configuration as the trigger that fills search_vector
+    private static final String TEXT_QUERY = "websearch_to_tsquery('pg_catalog.english', :text)";
+
+    private final String where;
+    private final Map<String, Object> bindings;
+    private final boolean hasText;
+
+    private UnitSearchQuery(String where, Map<String, Object> bindings, boolean hasText) {
+        this.where = where;
+        this.bindings = bindings;
+        this.hasText = hasText;
+    }
+
+    static UnitSearchQuery of(UnitSearchCriteriaDto criteria) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        if (criteria.getNumberOfRooms() != null) {
+            predicates.add("u.number_of_rooms = :numberOfRooms");
+            bindings.put("numberOfRooms", criteria.getNumberOfRooms());
+        }
+        if (criteria.getAccommodationType() != null) {
+            predicates.add("u.accommodation_type = :accommodationType");
+            bindings.put("accommodationType", criteria.getAccommodationType().name());
+        }
+        if (criteria.getFloor() != null) {
+            predicates.add("u.floor = :floor");
+            bindings.put("floor", criteria.getFloor());
+        }
+        if (criteria.getMinCost() != null) {
+            predicates.add("u.base_cost >= :minBaseCost");
+            bindings.put("minBaseCost", toBaseCost(criteria.getMinCost()));
+        }
+        if (criteria.getMaxCost() != null) {
+            predicates.add("u.base_cost <= :maxBaseCost");
+            bindings.put("maxBaseCost", toBaseCost(criteria.getMaxCost()));
+        }
+        if (criteria.getStartDate() != null && criteria.getEndDate() != null) {
+            // Same three overlap cases as UnitSpecification
+            predicates.add("""
+                    NOT EXISTS (
+                        SELECT 1 FROM bookings b
+                        WHERE b.unit_id = u.id
+                        AND b.status IN ('PENDING', 'CONFIRMED')
+                        AND ((b.start_date <= :startDate AND b.end_date >= :startDate)
+                          OR (b.start_date <= :endDate AND b.end_date >= :endDate)
+                          OR (b.start_date >= :startDate AND b.end_date <= :endDate)))""");
+            bindings.put("startDate", criteria.getStartDate());
+            bindings.put("endDate", criteria.getEndDate());
+        }
+        boolean hasText = StringUtils.hasText(criteria.getText());
+        if (hasText) {
+            predicates.add("u.search_vector @@ " + TEXT_QUERY);
+            bindings.put("text", criteria.getText().strip());
+        }
+
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return new UnitSearchQuery(where, bindings, hasText);
+    }
+
+    String selectSql(Pageable pageable) {
+        return "SELECT " + COLUMNS + " FROM units u" + where + orderBy(pageable.getSort())
+                + " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+    }
+
+    String countSql() {
+        return "SELECT COUNT(*) FROM units u" + where;
+    }
+
+    Map<String, Object> bindings() {
+        return bindings;
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return hasText ? " ORDER BY ts_rank(u.search_vector, " + TEXT_QUERY + ") DESC, u.id ASC" : "";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            orders.add(column + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    // Users see prices with markup, the database stores the base cost
+    private static BigDecimal toBaseCost(BigDecimal userCost) {
+        return userCost.divide(MARKUP_MULTIPLIER, 2, RoundingMode.HALF_UP);
+    }
+}
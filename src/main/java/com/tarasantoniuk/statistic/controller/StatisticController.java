@@ -1,19 +1,32 @@
 package com.tarasantoniuk.statistic.controller;
 
+import com.tarasantoniuk.common.version.ConditionalGet;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.statistic.dto.AvailabilityConsistencyReportDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityRebuildResultDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
 import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
 import com.tarasantoniuk.statistic.service.StatisticService;
+import com.tarasantoniuk.unit.enums.AccommodationType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/statistics")
@@ -22,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class StatisticController {
 
     private final StatisticService statisticService;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping("/available-units")
     @Operation(
@@ -32,12 +46,13 @@ public class StatisticController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
                     content = @Content(schema = @Schema(implementation = AvailableUnitsStatisticDto.class))),
+            @ApiResponse(responseCode = "304", description = "Count not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "503", description = "Cache service unavailable"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<AvailableUnitsStatisticDto> getAvailableUnitsCount() {
-        AvailableUnitsStatisticDto stats = statisticService.getAvailableUnits();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<AvailableUnitsStatisticDto> getAvailableUnitsCount(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, entityVersionService.availabilityETag(),
+                statisticService::getAvailableUnits);
     }
 
     @PostMapping("/available-units/refresh")
@@ -54,6 +69,123 @@ public class StatisticController {
     })
     public ResponseEntity<AvailableUnitsStatisticDto> refreshAvailableUnitsCache() {
         AvailableUnitsStatisticDto stats = statisticService.refreshAvailableUnits();
+        entityVersionService.availabilityChanged();
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/availability")
+    @Operation(
+            summary = "Get free units count for a date range",
+            description = "Returns the number of units with no active booking on any day of the range " +
+                    "(both ends inclusive), computed from the shared Redis availability bitmaps. " +
+                    "Omit 'to' for a single day."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Availability retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AvailabilityStatisticDto.class))),
+            @ApiResponse(responseCode = "304", description = "Availability not modified since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or bitmaps not built yet"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<AvailabilityStatisticDto> getAvailability(
+            @Parameter(description = "First day of the range", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (defaults to 'from')", example = "2026-03-07")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, entityVersionService.availabilityETag(),
+                () -> statisticService.getAvailability(from, to != null ? to : from));
+    }
+
+    @PostMapping("/availability/rebuild")
+    @Operation(
+            summary = "Rebuild availability bitmaps",
+            description = "Recomputes the Redis availability bitmaps from the database. " +
+                    "Use this endpoint after Redis data loss or when the consistency check reports differences."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bitmaps rebuilt successfully",
+                    content = @Content(schema = @Schema(implementation = AvailabilityRebuildResultDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<AvailabilityRebuildResultDto> rebuildAvailability() {
+        AvailabilityRebuildResultDto result = statisticService.rebuildAvailability();
+        entityVersionService.availabilityChanged();
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/availability/consistency")
+    @Operation(
+            summary = "Check availability bitmaps consistency",
+            description = "Compares the Redis availability bitmaps for the range with the database " +
+                    "and lists the days that differ."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Consistency report generated",
+                    content = @Content(schema = @Schema(implementation = AvailabilityConsistencyReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<AvailabilityConsistencyReportDto> checkAvailabilityConsistency(
+            @Parameter(description = "First day to check", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day to check", example = "2026-05-29")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        AvailabilityConsistencyReportDto report = statisticService.checkAvailabilityConsistency(from, to);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/occupancy")
+    @Operation(
+            summary = "Get daily occupancy time series",
+            description = "Returns the number of units with an active booking per day and accommodation type " +
+                    "(both ends inclusive), served from the daily occupancy rollup. " +
+                    "Optionally filtered by accommodation type and owner."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Time series retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OccupancyTimeSeriesDto.class))),
+            @ApiResponse(responseCode = "304", description = "Time series not modified since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<OccupancyTimeSeriesDto> getOccupancy(
+            @Parameter(description = "First day of the range", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range", example = "2026-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Accommodation type filter", example = "FLAT")
+            @RequestParam(required = false) AccommodationType accommodationType,
+            @Parameter(description = "Owner filter", example = "1")
+            @RequestParam(required = false) Long ownerId,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, entityVersionService.availabilityETag(),
+                () -> statisticService.getOccupancy(from, to, accommodationType, ownerId));
+    }
+
+    @PostMapping("/occupancy/rebuild")
+    @Operation(
+            summary = "Rebuild daily occupancy rollup",
+            description = "Recomputes the daily occupancy rollup for the range from bookings " +
+                    "and returns the rebuilt time series."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollup rebuilt successfully",
+                    content = @Content(schema = @Schema(implementation = OccupancyTimeSeriesDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<OccupancyTimeSeriesDto> rebuildOccupancy(
+            @Parameter(description = "First day of the range", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range", example = "2026-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        OccupancyTimeSeriesDto series = statisticService.rebuildOccupancy(from, to);
+        entityVersionService.availabilityChanged();
+        return ResponseEntity.ok(series);
+    }
 }
@@ -0,0 +1,33 @@
+package com.tarasantoniuk.statistic.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Comparison of availability bitmaps against the database")
+public class AvailabilityConsistencyReportDto {
+
+    @Schema(description = "First checked day", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last checked day", example = "2026-05-29")
+    private LocalDate to;
+
+    @Schema(description = "Whether the units bitmap matches the units table", example = "true")
+    private boolean unitsConsistent;
+
+    @Schema(description = "Days whose occupancy bitmap differs from active bookings")
+    private List<LocalDate> inconsistentDays;
+
+    @Schema(description = "True when no differences were found", example = "true")
+    private boolean consistent;
+}
@@ -0,0 +1,32 @@
+package com.tarasantoniuk.statistic.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of rebuilding availability bitmaps from the database")
+public class AvailabilityRebuildResultDto {
+
+    @Schema(description = "First rebuilt day", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last rebuilt day", example = "2028-02-29")
+    private LocalDate to;
+
+    @Schema(description = "Number of units registered", example = "120")
+    private int units;
+
+    @Schema(description = "Number of active bookings applied", example = "350")
+    private int bookings;
+
+    @Schema(description = "Number of days with at least one occupied unit", example = "210")
+    private int occupiedDays;
+}
@@ -0,0 +1,29 @@
+package com.tarasantoniuk.statistic.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of units free for a whole date range")
+public class AvailabilityStatisticDto {
+
+    @Schema(description = "First day of the range (inclusive)", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2026-03-07")
+    private LocalDate to;
+
+    @Schema(description = "Total number of units", example = "120")
+    private Long totalUnits;
+
+    @Schema(description = "Number of units with no active booking on any day of the range", example = "42")
+    private Long freeUnits;
+}
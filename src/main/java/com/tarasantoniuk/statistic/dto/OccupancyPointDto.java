@@ -0,0 +1,27 @@
+package com.tarasantoniuk.statistic.dto;
+
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Booked units of one accommodation type on one day")
+public class OccupancyPointDto {
+
+    @Schema(description = "Day", example = "2026-03-01")
+    private LocalDate day;
+
+    @Schema(description = "Accommodation type", example = "FLAT")
+    private AccommodationType accommodationType;
+
+    @Schema(description = "Number of units with an active booking on that day", example = "12")
+    private Long bookedUnits;
+}
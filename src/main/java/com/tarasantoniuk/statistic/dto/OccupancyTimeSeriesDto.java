@@ -0,0 +1,30 @@
+package com.tarasantoniuk.statistic.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Daily occupancy time series per accommodation type")
+public class OccupancyTimeSeriesDto {
+
+    @Schema(description = "First day of the range (inclusive)", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2026-03-31")
+    private LocalDate to;
+
+    @Schema(description = "Owner filter, null for all owners", example = "1")
+    private Long ownerId;
+
+    @Schema(description = "One point per day and accommodation type, days without bookings included as zero")
+    private List<OccupancyPointDto> points;
+}
@@ -0,0 +1,27 @@
+package com.tarasantoniuk.statistic.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Daily rollup of units with an active (PENDING/CONFIRMED) booking,
+ * per accommodation type and owner. Maintained incrementally by OccupancyRollupService.
+ */
+@Entity
+@Table(name = "daily_occupancy")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyOccupancy {
+
+    @EmbeddedId
+    private DailyOccupancyId id;
+
+    @Column(name = "booked_units", nullable = false)
+    private Integer bookedUnits;
+}
@@ -0,0 +1,35 @@
+package com.tarasantoniuk.statistic.entity;
+
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DailyOccupancyId implements Serializable {
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "accommodation_type", nullable = false, length = 50)
+    private AccommodationType accommodationType;
+
+    /**
+     * Owner ID, or 0 for units without an owner
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+}
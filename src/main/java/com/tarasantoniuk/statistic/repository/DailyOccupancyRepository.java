@@ -0,0 +1,80 @@
+package com.tarasantoniuk.statistic.repository;
+
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.entity.DailyOccupancy;
+import com.tarasantoniuk.statistic.entity.DailyOccupancyId;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyOccupancyRepository extends JpaRepository<DailyOccupancy, DailyOccupancyId> {
+
+    /**
+     * Daily booked units per accommodation type, summed over owners (or for one owner).
+     * Null filters match everything.
+     */
+    @Query("""
+                SELECT new com.tarasantoniuk.statistic.dto.OccupancyPointDto(
+                    o.id.day, o.id.accommodationType, SUM(o.bookedUnits))
+                FROM DailyOccupancy o
+                WHERE o.id.day BETWEEN :from AND :to
+                AND (:accommodationType IS NULL OR o.id.accommodationType = :accommodationType)
+                AND (:ownerId IS NULL OR o.id.ownerId = :ownerId)
+                GROUP BY o.id.day, o.id.accommodationType
+                ORDER BY o.id.day, o.id.accommodationType
+            """)
+    List<OccupancyPointDto> findTimeSeries(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("accommodationType") AccommodationType accommodationType,
+            @Param("ownerId") Long ownerId
+    );
+
+    /**
+     * Adds delta to every (day, type, owner) row covered by the given bookings,
+     * creating missing rows. One set-based statement regardless of booking count.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO daily_occupancy (day, accommodation_type, owner_id, booked_units)
+                SELECT CAST(d AS DATE), u.accommodation_type, COALESCE(u.owner_id, 0), :delta * COUNT(*)
+                FROM bookings b
+                JOIN units u ON u.id = b.unit_id
+                CROSS JOIN LATERAL generate_series(b.start_date, b.end_date, INTERVAL '1 day') d
+                WHERE b.id IN (:bookingIds)
+                GROUP BY CAST(d AS DATE), u.accommodation_type, COALESCE(u.owner_id, 0)
+                ON CONFLICT (day, accommodation_type, owner_id)
+                DO UPDATE SET booked_units = daily_occupancy.booked_units + EXCLUDED.booked_units
+            """, nativeQuery = true)
+    int applyBookings(@Param("bookingIds") Collection<Long> bookingIds, @Param("delta") int delta);
+
+    @Modifying
+    @Query("DELETE FROM DailyOccupancy o WHERE o.id.day BETWEEN :from AND :to")
+    int deleteByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recomputes rows of the window from active bookings. Expects the window to be deleted first.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO daily_occupancy (day, accommodation_type, owner_id, booked_units)
+                SELECT CAST(d AS DATE), u.accommodation_type, COALESCE(u.owner_id, 0), COUNT(*)
+                FROM bookings b
+                JOIN units u ON u.id = b.unit_id
+                CROSS JOIN LATERAL generate_series(
+                    GREATEST(b.start_date, :from), LEAST(b.end_date, :to), INTERVAL '1 day') d
+                WHERE b.status IN ('PENDING', 'CONFIRMED')
+                AND b.start_date <= :to
+                AND b.end_date >= :from
+                GROUP BY CAST(d AS DATE), u.accommodation_type, COALESCE(u.owner_id, 0)
+            """, nativeQuery = true)
+    int insertFromBookings(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
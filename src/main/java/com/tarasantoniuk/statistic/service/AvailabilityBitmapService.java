@@ -0,0 +1,346 @@
+package com.tarasantoniuk.statistic.service;
+
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.statistic.dto.AvailabilityConsistencyReportDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityRebuildResultDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.BitOperation;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cluster-wide precomputed availability view stored as Redis bitmaps.
+ * <p>
+ * One bitmap per date ({@code availability:occupied:<date>}) has bit {@code unitId} set when the
+ * unit has an active (PENDING/CONFIRMED) booking covering that date; {@code availability:units}
+ * has a bit per existing unit. Overlap prevention guarantees at most one active booking per unit
+ * and date, so bits can be set and cleared directly from booking state changes.
+ * <p>
+ * "Free units on day D" is {@code BITCOUNT units - BITCOUNT occupied:D}; "free for the whole
+ * range D1..Dn" ORs the daily bitmaps first. Only today and later dates are tracked; daily keys
+ * expire shortly after their date passes.
+ * <p>
+ * Bitmaps are updated after commit and may drift if Redis is unavailable or a rebuild races with
+ * booking changes; {@link #checkConsistency} detects drift and {@link #rebuild} repairs it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityBitmapService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    public static final String OCCUPIED_KEY_PREFIX = "availability:occupied:";
+    public static final String UNITS_KEY = "availability:units";
+    public static final String READY_KEY = "availability:ready";
+    public static final String TMP_KEY_PREFIX = "availability:tmp:";
+
+    private static final int REBUILD_HORIZON_DAYS = 730;
+    private static final int KEY_RETENTION_DAYS = 2;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BookingRepository bookingRepository;
+    private final UnitRepository unitRepository;
+    private final ReservationHoldStore reservationHoldStore;
+
+    /**
+     * Sets or clears the unit's bit for every tracked day of the booking (both ends inclusive).
+     */
+    public void markOccupied(Long unitId, LocalDate startDate, LocalDate endDate, boolean occupied) {
+        LocalDate first = startDate.isBefore(today()) ? today() : startDate;
+        if (first.isAfter(endDate)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (LocalDate date = first; !date.isAfter(endDate); date = date.plusDays(1)) {
+                    byte[] key = occupiedKey(date);
+                    connection.stringCommands().setBit(key, unitId, occupied);
+                    connection.keyCommands().expireAt(key, expiryEpochSecond(date));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to update availability bitmaps: unitId={}, {}..{}", unitId, startDate, endDate, e);
+        }
+    }
+
+    public void registerUnit(Long unitId) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().setBit(bytes(UNITS_KEY), unitId, true));
+        } catch (Exception e) {
+            log.warn("Failed to register unit in availability bitmap: unitId={}", unitId, e);
+        }
+    }
+
+    /**
+     * Registers all given units in one pipeline.
+     */
+    public void registerUnits(Collection<Long> unitIds) {
+        if (unitIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long unitId : unitIds) {
+                    connection.stringCommands().setBit(bytes(UNITS_KEY), unitId, true);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to register units in availability bitmap: count={}", unitIds.size(), e);
+        }
+    }
+
+    /**
+     * Counts units with no active booking and no live reservation hold on any day of the range.
+     *
+     * @throws IllegalStateException if the bitmaps have not been built yet
+     */
+    public AvailabilityStatisticDto countFreeUnits(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(READY_KEY))) {
+            throw new IllegalStateException("Availability bitmaps are not built yet, run a rebuild first");
+        }
+
+        Set<Long> heldUnitIds = heldUnitIds(from, to);
+        return stringRedisTemplate.execute((RedisCallback<AvailabilityStatisticDto>) connection -> {
+            long totalUnits = orZero(connection.stringCommands().bitCount(bytes(UNITS_KEY)));
+            long occupiedUnits;
+            if (from.equals(to)) {
+                occupiedUnits = orZero(connection.stringCommands().bitCount(occupiedKey(from)))
+                        + countHeldFree(connection, heldUnitIds, occupiedKey(from));
+            } else {
+                byte[] tmpKey = bytes(TMP_KEY_PREFIX + UUID.randomUUID());
+                try {
+                    connection.stringCommands().bitOp(BitOperation.OR, tmpKey, occupiedKeys(from, to));
+                    occupiedUnits = orZero(connection.stringCommands().bitCount(tmpKey))
+                            + countHeldFree(connection, heldUnitIds, tmpKey);
+                } finally {
+                    connection.keyCommands().del(tmpKey);
+                }
+            }
+            return new AvailabilityStatisticDto(from, to, totalUnits, totalUnits - occupiedUnits);
+        });
+    }
+
+    /**
+     * Rebuilds the units bitmap and daily bitmaps for today and the rebuild horizon from Postgres.
+     * Days without occupied units are deleted, so stale bits cannot survive a rebuild.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityRebuildResultDto rebuild() {
+        LocalDate from = today();
+        LocalDate to = from.plusDays(REBUILD_HORIZON_DAYS - 1);
+
+        BitSet units = unitBits(unitRepository.findAllIds());
+        List<BookingDateRange> bookings = bookingRepository.findActiveDateRanges(from, to);
+        Map<LocalDate, BitSet> occupied = occupancy(bookings, from, to);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(bytes(UNITS_KEY), toRedisBytes(units));
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                byte[] key = occupiedKey(date);
+                BitSet bits = occupied.get(date);
+                if (bits == null) {
+                    connection.keyCommands().del(key);
+                } else {
+                    connection.stringCommands().set(key, toRedisBytes(bits));
+                    connection.keyCommands().expireAt(key, expiryEpochSecond(date));
+                }
+            }
+            connection.stringCommands().set(bytes(READY_KEY), bytes(from.toString()));
+            return null;
+        });
+
+        log.info("Rebuilt availability bitmaps: units={}, bookings={}, occupiedDays={}",
+                units.cardinality(), bookings.size(), occupied.size());
+        return new AvailabilityRebuildResultDto(from, to, units.cardinality(), bookings.size(), occupied.size());
+    }
+
+    /**
+     * Compares the bitmaps for the range with the units table and active bookings.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityConsistencyReportDto checkConsistency(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        BitSet expectedUnits = unitBits(unitRepository.findAllIds());
+        Map<LocalDate, BitSet> expectedOccupied = occupancy(bookingRepository.findActiveDateRanges(from, to), from, to);
+
+        List<Object> actual = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(bytes(UNITS_KEY));
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                connection.stringCommands().get(occupiedKey(date));
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        boolean unitsConsistent = expectedUnits.equals(fromRedisBytes((byte[]) actual.get(0)));
+        List<LocalDate> inconsistentDays = new ArrayList<>();
+        int index = 1;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1), index++) {
+            BitSet expected = expectedOccupied.getOrDefault(date, new BitSet());
+            if (!expected.equals(fromRedisBytes((byte[]) actual.get(index)))) {
+                inconsistentDays.add(date);
+            }
+        }
+
+        boolean consistent = unitsConsistent && inconsistentDays.isEmpty();
+        if (!consistent) {
+            log.warn("Availability bitmaps inconsistent: unitsConsistent={}, inconsistentDays={}",
+                    unitsConsistent, inconsistentDays.size());
+        }
+        return new AvailabilityConsistencyReportDto(from, to, unitsConsistent, inconsistentDays, consistent);
+    }
+
+    /**
+     * Builds the bitmaps on startup unless another node already did.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(READY_KEY))) {
+                log.info("Availability bitmaps missing, rebuilding on startup...");
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to build availability bitmaps on startup", e);
+        }
+    }
+
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (from.isBefore(today())) {
+            throw new IllegalArgumentException("Availability is tracked from today onwards");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /**
+     * Units under a live reservation hold for the range; holds never touch the bitmaps.
+     */
+    private Set<Long> heldUnitIds(LocalDate from, LocalDate to) {
+        try {
+            return reservationHoldStore.heldUnitIds(from, to);
+        } catch (Exception e) {
+            log.warn("Failed to read reservation holds, counting on bookings alone", e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * Held units that are registered and not already counted as occupied in {@code occupiedKey}.
+     */
+    private static long countHeldFree(RedisConnection connection, Set<Long> heldUnitIds, byte[] occupiedKey) {
+        long count = 0;
+        for (Long unitId : heldUnitIds) {
+            if (Boolean.TRUE.equals(connection.stringCommands().getBit(bytes(UNITS_KEY), unitId))
+                    && !Boolean.TRUE.equals(connection.stringCommands().getBit(occupiedKey, unitId))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Map<LocalDate, BitSet> occupancy(List<BookingDateRange> bookings, LocalDate from, LocalDate to) {
+        Map<LocalDate, BitSet> occupied = new HashMap<>();
+        for (BookingDateRange booking : bookings) {
+            LocalDate first = booking.startDate().isBefore(from) ? from : booking.startDate();
+            LocalDate last = booking.endDate().isAfter(to) ? to : booking.endDate();
+            int bit = Math.toIntExact(booking.unitId());
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                occupied.computeIfAbsent(date, d -> new BitSet()).set(bit);
+            }
+        }
+        return occupied;
+    }
+
+    private static BitSet unitBits(List<Long> unitIds) {
+        BitSet bits = new BitSet();
+        unitIds.forEach(unitId -> bits.set(Math.toIntExact(unitId)));
+        return bits;
+    }
+
+    /**
+     * Redis numbers bits from the most significant bit of the first byte,
+     * BitSet from the least significant one.
+     */
+    static byte[] toRedisBytes(BitSet bits) {
+        byte[] bytes = new byte[(bits.length() + 7) / 8];
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            bytes[i >> 3] |= (byte) (0x80 >>> (i & 7));
+        }
+        return bytes;
+    }
+
+    static BitSet fromRedisBytes(byte[] bytes) {
+        BitSet bits = new BitSet();
+        if (bytes == null) {
+            return bits;
+        }
+        for (int i = 0; i < bytes.length * 8; i++) {
+            if ((bytes[i >> 3] & (0x80 >>> (i & 7))) != 0) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static byte[][] occupiedKeys(LocalDate from, LocalDate to) {
+        byte[][] keys = new byte[(int) ChronoUnit.DAYS.between(from, to) + 1][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = occupiedKey(from.plusDays(i));
+        }
+        return keys;
+    }
+
+    private static byte[] occupiedKey(LocalDate date) {
+        return bytes(OCCUPIED_KEY_PREFIX + date);
+    }
+
+    private static long expiryEpochSecond(LocalDate date) {
+        return date.plusDays(KEY_RETENTION_DAYS).atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now();
+    }
+}
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class CacheService {
 
-    private static final String AVAILABLE_UNITS_KEY = "stats:available_units_count";
+    public static final String AVAILABLE_UNITS_KEY = "stats:available_units_count";
 
     private final RedisTemplate<String, Object> redisTemplate;
 
@@ -0,0 +1,119 @@
+package com.tarasantoniuk.statistic.service;
+
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.statistic.repository.DailyOccupancyRepository;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the daily_occupancy rollup and serves occupancy time series from it,
+ * so statistics over date ranges never scan the bookings table.
+ * <p>
+ * A booking adds one to every day it covers when it becomes active (created) and
+ * subtracts one when it stops being active (cancelled or expired); confirmation
+ * does not change occupancy. Updates run after the booking transaction commits,
+ * in their own transaction, so a missed update is possible; {@link #rebuild}
+ * recomputes a window from bookings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OccupancyRollupService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void bookingsActivated(List<Long> bookingIds) {
+        apply(bookingIds, 1);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void bookingsDeactivated(List<Long> bookingIds) {
+        apply(bookingIds, -1);
+    }
+
+    /**
+     * Recomputes the rollup for the window from active bookings.
+     *
+     * @return number of rows written
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        dailyOccupancyRepository.deleteByDayBetween(from, to);
+        int rows = dailyOccupancyRepository.insertFromBookings(from, to);
+        log.info("Rebuilt occupancy rollup: {}..{}, rows={}", from, to, rows);
+        return rows;
+    }
+
+    /**
+     * Daily booked units per accommodation type, zero-filled for days without bookings.
+     *
+     * @param accommodationType optional type filter
+     * @param ownerId           optional owner filter
+     */
+    public OccupancyTimeSeriesDto getTimeSeries(LocalDate from, LocalDate to,
+                                                AccommodationType accommodationType, Long ownerId) {
+        validateRange(from, to);
+        return toTimeSeries(from, to, accommodationType, ownerId,
+                dailyOccupancyRepository.findTimeSeries(from, to, accommodationType, ownerId));
+    }
+
+    /**
+     * Zero-fills the rollup rows of the window into a time series: one point per day and
+     * accommodation type (or only the filtered type).
+     */
+    public static OccupancyTimeSeriesDto toTimeSeries(LocalDate from, LocalDate to,
+                                                      AccommodationType accommodationType, Long ownerId,
+                                                      List<OccupancyPointDto> rows) {
+        Map<LocalDate, Map<AccommodationType, Long>> booked = new HashMap<>();
+        for (OccupancyPointDto point : rows) {
+            booked.computeIfAbsent(point.getDay(), day -> new HashMap<>())
+                    .put(point.getAccommodationType(), point.getBookedUnits());
+        }
+
+        List<AccommodationType> types = accommodationType != null
+                ? List.of(accommodationType)
+                : List.of(AccommodationType.values());
+        List<OccupancyPointDto> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Map<AccommodationType, Long> byType = booked.getOrDefault(day, Map.of());
+            for (AccommodationType type : types) {
+                points.add(new OccupancyPointDto(day, type, byType.getOrDefault(type, 0L)));
+            }
+        }
+        return new OccupancyTimeSeriesDto(from, to, ownerId, points);
+    }
+
+    private void apply(List<Long> bookingIds, int delta) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        int rows = dailyOccupancyRepository.applyBookings(bookingIds, delta);
+        log.debug("Applied occupancy delta {} for {} bookings, rows={}", delta, bookingIds.size(), rows);
+    }
+
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.tarasantoniuk.statistic.service;
 
+import com.tarasantoniuk.common.coalescing.Coalesced;
+import com.tarasantoniuk.statistic.dto.AvailabilityConsistencyReportDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityRebuildResultDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
 import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+
 @Service
 @RequiredArgsConstructor
 public class StatisticService {
 
     private final UnitStatisticsService unitStatisticsService;
+    private final AvailabilityBitmapService availabilityBitmapService;
+    private final OccupancyRollupService occupancyRollupService;
 
+    @Coalesced
     public AvailableUnitsStatisticDto getAvailableUnits() {
         Long count = unitStatisticsService.getAvailableUnitsCount();
         return new AvailableUnitsStatisticDto(count);
@@ -19,4 +30,26 @@ public class StatisticService {
         Long count = unitStatisticsService.calculateAndCacheAvailableUnits();
         return new AvailableUnitsStatisticDto(count);
     }
+
+    public AvailabilityStatisticDto getAvailability(LocalDate from, LocalDate to) {
+        return availabilityBitmapService.countFreeUnits(from, to);
+    }
+
+    public AvailabilityRebuildResultDto rebuildAvailability() {
+        return availabilityBitmapService.rebuild();
+    }
+
+    public AvailabilityConsistencyReportDto checkAvailabilityConsistency(LocalDate from, LocalDate to) {
+        return availabilityBitmapService.checkConsistency(from, to);
+    }
+
+    public OccupancyTimeSeriesDto getOccupancy(LocalDate from, LocalDate to,
+                                               AccommodationType accommodationType, Long ownerId) {
+        return occupancyRollupService.getTimeSeries(from, to, accommodationType, ownerId);
+    }
+
+    public OccupancyTimeSeriesDto rebuildOccupancy(LocalDate from, LocalDate to) {
+        occupancyRollupService.rebuild(from, to);
+        return occupancyRollupService.getTimeSeries(from, to, null, null);
+    }
 }
@@ -1,9 +1,19 @@
 package com.tarasantoniuk.unit.controller;
 
+import com.tarasantoniuk.common.version.ConditionalGet;
+import com.tarasantoniuk.common.version.EntityVersionService;
 import com.tarasantoniuk.unit.dto.CreateUnitRequestDto;
+import com.tarasantoniuk.unit.dto.UnitCalendarResponseDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogResultDto;
+import com.tarasantoniuk.unit.dto.UnitImportReportDto;
 import com.tarasantoniuk.unit.dto.UnitResponseDto;
 import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.service.UnitCalendarService;
+import com.tarasantoniuk.unit.service.UnitCatalogIndex;
+import com.tarasantoniuk.unit.service.UnitImportService;
+import com.tarasantoniuk.unit.service.UnitJsonCache;
 import com.tarasantoniuk.unit.service.UnitService;
+import com.tarasantoniuk.unit.service.UnitSpecification;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,9 +27,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/units")
@@ -27,9 +48,16 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Units", description = "Accommodation unit management API - create, view and search units")
 public class UnitController {
 
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private static final int MAX_PAGE_SIZE = 100;
 
     private final UnitService unitService;
+    private final UnitCalendarService unitCalendarService;
+    private final EntityVersionService entityVersionService;
+    private final UnitJsonCache unitJsonCache;
+    private final UnitCatalogIndex unitCatalogIndex;
+    private final UnitImportService unitImportService;
 
     @PostMapping
     @Operation(
@@ -50,6 +78,30 @@ public class UnitController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(
+            summary = "Import units in bulk",
+            description = "Streams units from an NDJSON body (one create request per line) or a CSV body with a header " +
+                    "row (numberOfRooms, accommodationType, floor, baseCost, ownerId, optional description). Rows are " +
+                    "validated like single creates and inserted in batches of one transaction each, without reading " +
+                    "the whole body into memory. Invalid rows and rows with unknown owners are skipped and reported by line."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, possibly with rejected rows",
+                    content = @Content(schema = @Schema(implementation = UnitImportReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "CSV header missing required columns"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<UnitImportReportDto> importUnits(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) throws IOException {
+        UnitImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? UnitImportService.Format.NDJSON
+                : UnitImportService.Format.CSV;
+        return ResponseEntity.ok(unitImportService.importUnits(body, format));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get unit by ID",
@@ -58,15 +110,18 @@ public class UnitController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Unit found",
                     content = @Content(schema = @Schema(implementation = UnitResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Unit not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Unit not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<UnitResponseDto> getUnitById(
+    public ResponseEntity<?> getUnitById(
             @Parameter(description = "Unit ID", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        UnitResponseDto response = unitService.getUnitById(id);
-        return ResponseEntity.ok(response);
+        Optional<String> eTag = entityVersionService.unitETag(id);
+        Supplier<UnitResponseDto> unit = () -> unitService.getUnitById(id);
+        return ConditionalGet.respondJson(webRequest, eTag, () -> unitJsonCache.unit(id, eTag, unit), unit);
     }
 
     @GetMapping
@@ -76,10 +131,11 @@ public class UnitController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Page of units retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Units not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid pagination parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<UnitResponseDto>> getAllUnits(
+    public ResponseEntity<?> getAllUnits(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "20")
@@ -87,7 +143,8 @@ public class UnitController {
             @Parameter(description = "Field to sort by (id, baseCost, numberOfRooms, floor)", example = "id")
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction", example = "asc", schema = @Schema(allowableValues = {"asc", "desc"}))
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest webRequest
     ) {
         int safeSize = Math.min(size, MAX_PAGE_SIZE);
         Sort sort = sortDir.equalsIgnoreCase("desc")
@@ -95,8 +152,10 @@ public class UnitController {
                 : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, safeSize, sort);
 
-        Page<UnitResponseDto> units = unitService.getAllUnits(pageable);
-        return ResponseEntity.ok(units);
+        // Listing is the search without criteria, so both share cached pages
+        Supplier<Page<UnitResponseDto>> units = () -> unitService.getAllUnits(pageable);
+        return ConditionalGet.respondJson(webRequest, entityVersionService.availabilityETag(),
+                () -> unitJsonCache.page(new UnitSearchCriteriaDto(), pageable, units), units);
     }
 
     @GetMapping("/search")
@@ -104,31 +163,85 @@ public class UnitController {
             summary = "Search units by criteria",
             description = "Search for accommodation units using various filter criteria. " +
                     "All criteria are optional. When startDate and endDate are provided, " +
-                    "only units available for booking during that period are returned."
+                    "only units available for booking during that period are returned. " +
+                    "With text, only units whose description matches are returned, best matches first."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Results not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid search criteria"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<UnitResponseDto>> searchUnits(
+    public ResponseEntity<?> searchUnits(
             @Valid @ModelAttribute UnitSearchCriteriaDto criteria,
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "20")
             @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Field to sort by", example = "baseCost")
-            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Field to sort by, or relevance for text searches (default: relevance with text, id otherwise)",
+                    example = "baseCost")
+            @RequestParam(required = false) String sortBy,
             @Parameter(description = "Sort direction", example = "asc", schema = @Schema(allowableValues = {"asc", "desc"}))
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest webRequest
     ) {
         int safeSize = Math.min(size, MAX_PAGE_SIZE);
-        Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        Sort sort = UnitSpecification.resolveSort(criteria, sortBy, sortDir);
         Pageable pageable = PageRequest.of(page, safeSize, sort);
 
-        Page<UnitResponseDto> units = unitService.searchUnits(criteria, pageable);
-        return ResponseEntity.ok(units);
+        Supplier<Page<UnitResponseDto>> units = () -> unitService.searchUnits(criteria, pageable);
+        return ConditionalGet.respondJson(webRequest, entityVersionService.availabilityETag(),
+                () -> unitJsonCache.page(criteria, pageable, units), units);
+    }
+
+    @GetMapping("/catalog")
+    @Operation(
+            summary = "Search the in-memory unit catalog with facet counts",
+            description = "Returns the cheapest (or, with sortDir=desc, most expensive) units matching the rooms, " +
+                    "type, floor and cost filters, plus unit counts per type, rooms, floor and price range. " +
+                    "Served from memory; units created on other instances may take up to a minute to appear. " +
+                    "Date and text filters are only supported by /search."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Catalog search result",
+                    content = @Content(schema = @Schema(implementation = UnitCatalogResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid criteria, or the catalog is not loaded yet"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<UnitCatalogResultDto> searchCatalog(
+            @Valid @ModelAttribute UnitSearchCriteriaDto criteria,
+            @Parameter(description = "Sort direction by price", example = "asc", schema = @Schema(allowableValues = {"asc", "desc"}))
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Number of units to return (0-" + UnitCatalogIndex.MAX_LIMIT + ")", example = "20")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(unitCatalogIndex.search(criteria, sortDir.equalsIgnoreCase("desc"), limit));
+    }
+
+    @GetMapping("/calendar")
+    @Operation(
+            summary = "Get availability calendar for several units",
+            description = "Returns a compact per-unit busy day bitmap for the date window (both ends inclusive). " +
+                    "Up to " + UnitCalendarService.MAX_UNITS + " units and " + UnitCalendarService.MAX_DAYS +
+                    " days per request. PENDING and CONFIRMED bookings count as busy."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendar retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UnitCalendarResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Calendar not modified since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid unit IDs or date window"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<UnitCalendarResponseDto> getCalendar(
+            @Parameter(description = "Comma-separated unit IDs", example = "1,2,3")
+            @RequestParam List<Long> unitIds,
+            @Parameter(description = "First day of the window", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the window", example = "2026-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, entityVersionService.availabilityETag(),
+                () -> unitCalendarService.getCalendar(unitIds, from, to));
     }
 }
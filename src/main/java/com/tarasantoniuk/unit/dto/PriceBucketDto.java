@@ -0,0 +1,26 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of units in a per-night price range (price with markup)")
+public class PriceBucketDto {
+
+    @Schema(description = "Lower bound of the range (inclusive)", example = "100.00")
+    private BigDecimal fromCost;
+
+    @Schema(description = "Upper bound of the range (exclusive)", example = "150.00")
+    private BigDecimal toCost;
+
+    @Schema(description = "Matching units in the range", example = "42")
+    private long count;
+}
@@ -0,0 +1,25 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Free/busy day bitmap of a single unit")
+public class UnitCalendarDto {
+
+    @Schema(description = "Unit ID", example = "1")
+    private Long unitId;
+
+    @Schema(description = "Base64-encoded little-endian bitmap: bit i (bit i % 8 of byte i / 8) is set " +
+            "when day 'from + i' is busy. Trailing free days may be omitted.", example = "8AE=")
+    private String busyDays;
+
+    @Schema(description = "Number of busy days in the window", example = "5")
+    private int busyDayCount;
+}
@@ -0,0 +1,30 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Availability calendar of several units over a date window")
+public class UnitCalendarResponseDto {
+
+    @Schema(description = "First day of the window (inclusive)", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the window (inclusive)", example = "2026-03-31")
+    private LocalDate to;
+
+    @Schema(description = "Number of days in the window", example = "31")
+    private int days;
+
+    @Schema(description = "Per-unit busy day bitmaps, in request order")
+    private List<UnitCalendarDto> units;
+}
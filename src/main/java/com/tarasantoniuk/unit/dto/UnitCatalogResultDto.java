@@ -0,0 +1,26 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Catalog search result: cheapest (or most expensive) matching units and facet counts")
+public class UnitCatalogResultDto {
+
+    @Schema(description = "Total number of matching units", example = "155")
+    private long totalMatches;
+
+    @Schema(description = "Top matching units ordered by price, then id")
+    private List<UnitResponseDto> units;
+
+    @Schema(description = "Facet counts for the search")
+    private UnitFacetsDto facets;
+}
@@ -0,0 +1,21 @@
+package com.tarasantoniuk.unit.dto;
+
+import com.tarasantoniuk.unit.enums.AccommodationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a unit, loaded into the in-memory catalog without building Unit entities.
+ */
+public record UnitCatalogRow(
+        Long id,
+        Integer numberOfRooms,
+        AccommodationType accommodationType,
+        Integer floor,
+        BigDecimal baseCost,
+        String description,
+        Long ownerId,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,32 @@
+package com.tarasantoniuk.unit.dto;
+
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Facet counts of a catalog search. Each facet is counted with every filter except its own, " +
+        "so it shows how many units each alternative value would return")
+public class UnitFacetsDto {
+
+    @Schema(description = "Units per accommodation type", example = "{\"FLAT\": 120, \"HOME\": 35}")
+    private Map<AccommodationType, Long> accommodationTypes;
+
+    @Schema(description = "Units per number of rooms", example = "{\"1\": 40, \"2\": 75}")
+    private Map<Integer, Long> numberOfRooms;
+
+    @Schema(description = "Units per floor", example = "{\"0\": 12, \"1\": 30}")
+    private Map<Integer, Long> floors;
+
+    @Schema(description = "Units per price range, ascending; empty ranges are omitted")
+    private List<PriceBucketDto> priceBuckets;
+}
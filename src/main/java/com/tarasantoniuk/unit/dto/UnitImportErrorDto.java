@@ -0,0 +1,21 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row of the import file that was not imported")
+public class UnitImportErrorDto {
+
+    @Schema(description = "Line number in the file, starting at 1 (the CSV header is line 1)", example = "42")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "baseCost: Base cost must be at least 1.00")
+    private String message;
+}
@@ -0,0 +1,35 @@
+package com.tarasantoniuk.unit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk unit import")
+public class UnitImportReportDto {
+
+    @Schema(description = "Data rows read, excluding blank lines and the CSV header", example = "5000")
+    private long totalRows;
+
+    @Schema(description = "Units created", example = "4990")
+    private long imported;
+
+    @Schema(description = "Rows rejected", example = "10")
+    private long failed;
+
+    @Schema(description = "Total duration in milliseconds", example = "850")
+    private long durationMs;
+
+    @Schema(description = "Rejected rows by line number, at most 1000")
+    private List<UnitImportErrorDto> errors;
+
+    @Schema(description = "Whether more rows were rejected than listed in errors", example = "false")
+    private boolean errorsTruncated;
+}
@@ -4,6 +4,7 @@ import com.tarasantoniuk.unit.enums.AccommodationType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -42,4 +43,9 @@ public class UnitSearchCriteriaDto {
 
     @Schema(description = "Filter for units available until this date", example = "2026-02-05")
     private LocalDate endDate;
+
+    @Schema(description = "Full-text search over the description; supports \"quoted phrases\", OR and -excluded words",
+            example = "balcony pet-friendly")
+    @Size(max = 200, message = "Search text must be at most 200 characters")
+    private String text;
 }
@@ -0,0 +1,10 @@
+package com.tarasantoniuk.unit.event;
+
+/**
+ * Domain event published when a unit is created.
+ * Listened to by UnitEventListener for post-commit cache maintenance.
+ */
+public record UnitCreatedEvent(
+        Long unitId
+) {
+}
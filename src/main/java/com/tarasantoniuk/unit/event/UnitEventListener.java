@@ -0,0 +1,56 @@
+package com.tarasantoniuk.unit.event;
+
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.statistic.service.AvailabilityBitmapService;
+import com.tarasantoniuk.unit.service.UnitCatalogIndex;
+import com.tarasantoniuk.unit.service.UnitJsonCache;
+import com.tarasantoniuk.unit.service.UnitSearchCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Maintains unit-derived caches after the creating transaction commits,
+ * so concurrent readers cannot re-cache a view that misses the new unit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnitEventListener {
+
+    private final UnitSearchCacheService unitSearchCacheService;
+    private final AvailabilityBitmapService availabilityBitmapService;
+    private final EntityVersionService entityVersionService;
+    private final UnitJsonCache unitJsonCache;
+    private final UnitCatalogIndex unitCatalogIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUnitCreatedAfterCommit(UnitCreatedEvent event) {
+        log.debug("Post-commit handling: unit created, unitId={}", event.unitId());
+
+        unitSearchCacheService.invalidateCatalog();
+        availabilityBitmapService.registerUnit(event.unitId());
+        // A 404 for this ID must not validate against the new unit
+        entityVersionService.unitChanged(event.unitId());
+        unitJsonCache.invalidateUnit(event.unitId());
+        entityVersionService.availabilityChanged();
+        unitCatalogIndex.addUnit(event.unitId());
+    }
+
+    /**
+     * Same maintenance as for a single unit, with one Redis pipeline and one catalog query per batch.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUnitsImportedAfterCommit(UnitsImportedEvent event) {
+        log.debug("Post-commit handling: units imported, count={}", event.unitIds().size());
+
+        unitSearchCacheService.invalidateCatalog();
+        availabilityBitmapService.registerUnits(event.unitIds());
+        entityVersionService.unitsChanged(event.unitIds());
+        event.unitIds().forEach(unitJsonCache::invalidateUnit);
+        entityVersionService.availabilityChanged();
+        unitCatalogIndex.addUnits(event.unitIds());
+    }
+}
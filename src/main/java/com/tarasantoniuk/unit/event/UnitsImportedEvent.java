@@ -0,0 +1,12 @@
+package com.tarasantoniuk.unit.event;
+
+import java.util.List;
+
+/**
+ * Domain event published when a bulk import batch of units is inserted.
+ * Listened to by UnitEventListener for post-commit cache maintenance.
+ */
+public record UnitsImportedEvent(
+        List<Long> unitIds
+) {
+}
@@ -1,5 +1,6 @@
 package com.tarasantoniuk.unit.repository;
 
+import com.tarasantoniuk.unit.dto.UnitCatalogRow;
 import com.tarasantoniuk.unit.entity.Unit;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +54,53 @@ public interface UnitRepository extends JpaRepository<Unit, Long>, JpaSpecificat
 
     List<Unit> findByOwnerId(Long ownerId);
 
+    /**
+     * Find IDs of all units (no entity loading)
+     */
+    @Query("SELECT u.id FROM Unit u")
+    List<Long> findAllIds();
+
+    /**
+     * Flat rows of all units for the in-memory catalog (no entity loading)
+     */
+    @Query("""
+            SELECT new com.tarasantoniuk.unit.dto.UnitCatalogRow(u.id, u.numberOfRooms, u.accommodationType, u.floor,
+                u.baseCost, u.description, o.id, u.createdAt)
+            FROM Unit u
+            LEFT JOIN u.owner o
+            """)
+    List<UnitCatalogRow> findAllCatalogRows();
+
+    /**
+     * Flat rows of units created at or after the given time
+     */
+    @Query("""
+            SELECT new com.tarasantoniuk.unit.dto.UnitCatalogRow(u.id, u.numberOfRooms, u.accommodationType, u.floor,
+                u.baseCost, u.description, o.id, u.createdAt)
+            FROM Unit u
+            LEFT JOIN u.owner o
+            WHERE u.createdAt >= :since
+            """)
+    List<UnitCatalogRow> findCatalogRowsCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT new com.tarasantoniuk.unit.dto.UnitCatalogRow(u.id, u.numberOfRooms, u.accommodationType, u.floor,
+                u.baseCost, u.description, o.id, u.createdAt)
+            FROM Unit u
+            LEFT JOIN u.owner o
+            WHERE u.id = :id
+            """)
+    Optional<UnitCatalogRow> findCatalogRowById(@Param("id") Long id);
+
+    @Query("""
+            SELECT new com.tarasantoniuk.unit.dto.UnitCatalogRow(u.id, u.numberOfRooms, u.accommodationType, u.floor,
+                u.baseCost, u.description, o.id, u.createdAt)
+            FROM Unit u
+            LEFT JOIN u.owner o
+            WHERE u.id IN :ids
+            """)
+    List<UnitCatalogRow> findCatalogRowsByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Find unit by ID with pessimistic write lock.
      * Used to prevent race conditions during booking creation.
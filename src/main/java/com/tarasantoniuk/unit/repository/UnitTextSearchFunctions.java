@@ -0,0 +1,73 @@
+package com.tarasantoniuk.unit.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * HQL/Criteria functions over the {@code units.search_vector} column, which is maintained
+ * by a database trigger and deliberately not mapped on {@code Unit}, so unit reads never load it.
+ * <ul>
+ *   <li>{@code unit_text_match(u.id, :text)} - the unit matches the web-search style query</li>
+ *   <li>{@code unit_text_rank(u.id, :text)} - {@code ts_rank} of the unit for the query</li>
+ * </ul>
+ * The first argument is any column of the unit and only supplies its table alias.
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class UnitTextSearchFunctions implements FunctionContributor {
+
+    public static final String MATCH = "unit_text_match";
+    public static final String RANK = "unit_text_rank";
+
+    // Must match the configuration of the trigger that fills search_vector
+    static final String TEXT_SEARCH_CONFIG = "pg_catalog.english";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        var registry = functionContributions.getFunctionRegistry();
+        registry.register(MATCH, new SearchVectorFunction(MATCH, false, types.resolve(StandardBasicTypes.BOOLEAN)));
+        registry.register(RANK, new SearchVectorFunction(RANK, true, types.resolve(StandardBasicTypes.DOUBLE)));
+    }
+
+    /**
+     * Renders {@code alias.search_vector @@ query} or {@code ts_rank(alias.search_vector, query)}.
+     */
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final boolean rank;
+
+        private SearchVectorFunction(String name, boolean rank, BasicType<?> returnType) {
+            super(name, StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType), null);
+            this.rank = rank;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> arguments,
+                           ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            ColumnReference unitColumn = ((Expression) arguments.get(0)).getColumnReference();
+            if (unitColumn == null) {
+                throw new IllegalArgumentException(getName() + " expects a unit attribute as its first argument");
+            }
+            String searchVector = unitColumn.getQualifier() + ".search_vector";
+
+            sqlAppender.appendSql(rank ? "ts_rank(" + searchVector + ", " : "(" + searchVector + " @@ ");
+            sqlAppender.appendSql("websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ");
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql("))");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tarasantoniuk.unit.service;
+
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.unit.dto.UnitCalendarDto;
+import com.tarasantoniuk.unit.dto.UnitCalendarResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds free/busy day bitmaps for many units at once.
+ * <p>
+ * All active bookings overlapping the window are fetched with one range query
+ * and folded into a BitSet per unit in memory, so a whole month grid costs
+ * a single database round-trip instead of one search per date range.
+ * Unknown unit IDs are reported as fully free.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class UnitCalendarService {
+
+    public static final int MAX_UNITS = 500;
+    public static final int MAX_DAYS = 366;
+
+    private final BookingRepository bookingRepository;
+
+    public UnitCalendarResponseDto getCalendar(List<Long> unitIds, LocalDate from, LocalDate to) {
+        if (unitIds == null || unitIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one unit ID is required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new IllegalArgumentException("Date window must not exceed " + MAX_DAYS + " days");
+        }
+
+        Map<Long, BitSet> busyDays = new LinkedHashMap<>();
+        unitIds.forEach(unitId -> busyDays.putIfAbsent(unitId, new BitSet((int) days)));
+        if (busyDays.size() > MAX_UNITS) {
+            throw new IllegalArgumentException("At most " + MAX_UNITS + " units can be requested at once");
+        }
+
+        List<BookingDateRange> bookings = bookingRepository.findActiveDateRangesForUnits(busyDays.keySet(), from, to);
+        for (BookingDateRange booking : bookings) {
+            // Booking dates are inclusive; clamp to the window
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(from, booking.startDate()));
+            int last = (int) Math.min(days - 1, ChronoUnit.DAYS.between(from, booking.endDate()));
+            busyDays.get(booking.unitId()).set(first, last + 1);
+        }
+
+        log.debug("Calendar built: units={}, days={}, bookings={}", busyDays.size(), days, bookings.size());
+
+        List<UnitCalendarDto> units = new ArrayList<>(busyDays.size());
+        busyDays.forEach((unitId, bits) -> units.add(new UnitCalendarDto(
+                unitId,
+                Base64.getEncoder().encodeToString(bits.toByteArray()),
+                bits.cardinality()
+        )));
+        return new UnitCalendarResponseDto(from, to, (int) days, units);
+    }
+}
@@ -0,0 +1,489 @@
+package com.tarasantoniuk.unit.service;
+
+import com.tarasantoniuk.unit.dto.PriceBucketDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogResultDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogRow;
+import com.tarasantoniuk.unit.dto.UnitFacetsDto;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
+
+/**
+ * In-memory columnar copy of the units table for filtered catalog searches with facet counts.
+ * <p>
+ * Each unit is a row: its attributes sit in primitive arrays at the row index, and every
+ * rooms / type / floor / price bucket value has a Roaring bitmap of its rows. Rows are also
+ * kept ordered by base cost, so a cost range is a binary search and top-K by price a walk
+ * along that order. A search ANDs the bitmaps of its filters; each facet is counted against
+ * the other filters with {@code andCardinality}, without materializing rows.
+ * <p>
+ * Loaded when the application is ready, extended after a unit is created on this instance
+ * and caught up periodically with units created on other instances (units are never updated
+ * or deleted). Searches wait only while units are being added.
+ * Metrics: {@code units.catalog.size}, {@code units.catalog.search}.
+ */
+@Component
+@Slf4j
+public class UnitCatalogIndex {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final AccommodationType[] TYPES = AccommodationType.values();
+    // Below 1/64 of the catalog, picking the top K from the matches beats walking the cost order
+    private static final int SELECTIVE_MATCH_RATIO = 64;
+    // Owner 0 stands for units without an owner, as in daily_occupancy
+    private static final long NO_OWNER = 0L;
+
+    private final UnitRepository unitRepository;
+    private final long priceBucketCents;
+    private final Duration catchUpOverlap;
+    private final Timer searchTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns, indexed by row
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] rooms = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] floors = new int[INITIAL_CAPACITY];
+    private long[] baseCostCents = new long[INITIAL_CAPACITY];
+    private long[] ownerIds = new long[INITIAL_CAPACITY];
+    private long[] createdAtNanos = new long[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    // Rows ordered by base cost, then id
+    private int[] rowsByCost = new int[INITIAL_CAPACITY];
+
+    // Bitmap indexes: attribute value -> rows
+    private final RoaringBitmap allRows = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> byRooms = new TreeMap<>();
+    private final Map<AccommodationType, RoaringBitmap> byType = new EnumMap<>(AccommodationType.class);
+    private final Map<Integer, RoaringBitmap> byFloor = new TreeMap<>();
+    private final Map<Long, RoaringBitmap> byPriceBucket = new TreeMap<>();
+
+    private volatile boolean loaded;
+    private LocalDateTime lastCreatedAt;
+
+    public UnitCatalogIndex(UnitRepository unitRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.unit.catalog.price-bucket-width:50}") BigDecimal priceBucketWidth,
+                            @Value("${app.unit.catalog.catch-up-overlap:5m}") Duration catchUpOverlap) {
+        this.unitRepository = unitRepository;
+        this.priceBucketCents = toCents(priceBucketWidth);
+        if (priceBucketCents <= 0) {
+            throw new IllegalArgumentException("app.unit.catalog.price-bucket-width must be positive");
+        }
+        this.catchUpOverlap = catchUpOverlap;
+        this.searchTimer = Timer.builder("units.catalog.search")
+                .description("In-memory catalog search duration")
+                .register(meterRegistry);
+        Gauge.builder("units.catalog.size", this, UnitCatalogIndex::size)
+                .description("Units in the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        try {
+            List<UnitCatalogRow> rows = unitRepository.findAllCatalogRows();
+            lock.writeLock().lock();
+            try {
+                addLocked(rows);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Unit catalog loaded: units={}, took={}ms", size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to load unit catalog, retrying at the next catch-up", e);
+        }
+    }
+
+    /**
+     * Adds a unit created on this instance.
+     */
+    public void addUnit(Long unitId) {
+        if (!loaded) {
+            return;
+        }
+        try {
+            unitRepository.findCatalogRowById(unitId).ifPresent(row -> addAll(List.of(row)));
+        } catch (Exception e) {
+            log.warn("Failed to add unit to catalog, left to the next catch-up: unitId={}", unitId, e);
+        }
+    }
+
+    /**
+     * Adds units created on this instance by a bulk import, read in one query.
+     */
+    public void addUnits(Collection<Long> unitIds) {
+        if (!loaded || unitIds.isEmpty()) {
+            return;
+        }
+        try {
+            addAll(unitRepository.findCatalogRowsByIds(unitIds));
+        } catch (Exception e) {
+            log.warn("Failed to add units to catalog, left to the next catch-up: count={}", unitIds.size(), e);
+        }
+    }
+
+    /**
+     * Picks up units created on other instances. Re-reads an overlap window, since a unit's
+     * creation time is taken before its transaction commits.
+     */
+    @Scheduled(fixedDelayString = "${app.unit.catalog.catch-up-interval:60000}",
+            initialDelayString = "${app.unit.catalog.catch-up-interval:60000}")
+    public void catchUp() {
+        if (!loaded) {
+            load();
+            return;
+        }
+        LocalDateTime since;
+        lock.readLock().lock();
+        try {
+            since = lastCreatedAt != null ? lastCreatedAt.minus(catchUpOverlap) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            int added = addAll(since != null
+                    ? unitRepository.findCatalogRowsCreatedSince(since)
+                    : unitRepository.findAllCatalogRows());
+            if (added > 0) {
+                log.info("Unit catalog caught up: added={}, units={}", added, size());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to catch up unit catalog", e);
+        }
+    }
+
+    /**
+     * Cheapest (or most expensive) units matching the criteria, ordered by price then id,
+     * with facet counts.
+     *
+     * @throws IllegalArgumentException for date or text criteria, which only the database search supports
+     * @throws IllegalStateException    if the catalog has not been loaded yet
+     */
+    public UnitCatalogResultDto search(UnitSearchCriteriaDto criteria, boolean descending, int limit) {
+        if (criteria.getStartDate() != null || criteria.getEndDate() != null || StringUtils.hasText(criteria.getText())) {
+            throw new IllegalArgumentException("Catalog search does not filter by dates or text, use /api/v1/units/search");
+        }
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 0 and " + MAX_LIMIT);
+        }
+        if (!loaded) {
+            throw new IllegalStateException("Unit catalog is not loaded yet");
+        }
+
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return searchLocked(criteria, descending, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private UnitCatalogResultDto searchLocked(UnitSearchCriteriaDto criteria, boolean descending, int limit) {
+        RoaringBitmap roomsFilter = criteria.getNumberOfRooms() != null
+                ? byRooms.getOrDefault(criteria.getNumberOfRooms(), new RoaringBitmap()) : null;
+        RoaringBitmap typeFilter = criteria.getAccommodationType() != null
+                ? byType.getOrDefault(criteria.getAccommodationType(), new RoaringBitmap()) : null;
+        RoaringBitmap floorFilter = criteria.getFloor() != null
+                ? byFloor.getOrDefault(criteria.getFloor(), new RoaringBitmap()) : null;
+        RoaringBitmap costFilter = costFilter(criteria);
+
+        RoaringBitmap matches = and(roomsFilter, typeFilter, floorFilter, costFilter);
+        UnitFacetsDto facets = new UnitFacetsDto(
+                counts(byType, and(roomsFilter, floorFilter, costFilter)),
+                counts(byRooms, and(typeFilter, floorFilter, costFilter)),
+                counts(byFloor, and(roomsFilter, typeFilter, costFilter)),
+                priceBuckets(and(roomsFilter, typeFilter, floorFilter))
+        );
+
+        List<UnitResponseDto> units = new ArrayList<>();
+        for (int row : top(matches, descending, limit)) {
+            units.add(toDto(row));
+        }
+        return new UnitCatalogResultDto(matches.getLongCardinality(), units, facets);
+    }
+
+    /**
+     * Rows with base cost within the criteria bounds. Bounds are given with markup,
+     * like in {@link UnitSpecification}, and compared with the base cost.
+     */
+    private RoaringBitmap costFilter(UnitSearchCriteriaDto criteria) {
+        if (criteria.getMinCost() == null && criteria.getMaxCost() == null) {
+            return null;
+        }
+        int from = criteria.getMinCost() != null ? firstWithCostAtLeast(toBaseCostCents(criteria.getMinCost())) : 0;
+        int to = criteria.getMaxCost() != null ? firstWithCostAtLeast(toBaseCostCents(criteria.getMaxCost()) + 1) : size;
+
+        RoaringBitmap rows = new RoaringBitmap();
+        if (from < to) {
+            rows.addN(rowsByCost, from, to - from);
+        }
+        return rows;
+    }
+
+    // Position in the cost order of the first row costing at least the given amount
+    private int firstWithCostAtLeast(long cents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (baseCostCents[rowsByCost[mid]] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // AND of the given filters, skipping absent ones; the result must not be modified
+    private RoaringBitmap and(RoaringBitmap... filters) {
+        RoaringBitmap result = null;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = result == null ? filter : RoaringBitmap.and(result, filter);
+            }
+        }
+        return result != null ? result : allRows;
+    }
+
+    private <K> Map<K, Long> counts(Map<K, RoaringBitmap> index, RoaringBitmap base) {
+        Map<K, Long> counts = new LinkedHashMap<>();
+        index.forEach((value, rows) -> counts.put(value, base == allRows
+                ? rows.getLongCardinality()
+                : RoaringBitmap.andCardinality(base, rows)));
+        return counts;
+    }
+
+    private List<PriceBucketDto> priceBuckets(RoaringBitmap base) {
+        List<PriceBucketDto> buckets = new ArrayList<>();
+        byPriceBucket.forEach((bucket, rows) -> {
+            long count = base == allRows ? rows.getLongCardinality() : RoaringBitmap.andCardinality(base, rows);
+            if (count > 0) {
+                buckets.add(new PriceBucketDto(BigDecimal.valueOf(bucket * priceBucketCents, 2),
+                        BigDecimal.valueOf((bucket + 1) * priceBucketCents, 2), count));
+            }
+        });
+        return buckets;
+    }
+
+    /**
+     * First {@code limit} matching rows in cost order. Walks the cost order when matches are
+     * dense enough to meet K rows early, otherwise keeps the best K of the matches in a heap.
+     */
+    private int[] top(RoaringBitmap matches, boolean descending, int limit) {
+        int total = matches.getCardinality();
+        int k = Math.min(limit, total);
+        int[] top = new int[k];
+        if (k == 0) {
+            return top;
+        }
+
+        if ((long) total * SELECTIVE_MATCH_RATIO >= size) {
+            int found = 0;
+            for (int i = 0; i < size && found < k; i++) {
+                int row = rowsByCost[descending ? size - 1 - i : i];
+                if (matches.contains(row)) {
+                    top[found++] = row;
+                }
+            }
+            return top;
+        }
+
+        Comparator<Integer> order = costOrder();
+        if (descending) {
+            order = order.reversed();
+        }
+        // Heap of the best K so far, worst on top
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (int row : matches) {
+            heap.add(row);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private Comparator<Integer> costOrder() {
+        return Comparator.<Integer>comparingLong(row -> baseCostCents[row]).thenComparingLong(row -> ids[row]);
+    }
+
+    private int addAll(List<UnitCatalogRow> rows) {
+        lock.writeLock().lock();
+        try {
+            return addLocked(rows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int addLocked(List<UnitCatalogRow> rows) {
+        int first = size;
+        for (UnitCatalogRow row : rows) {
+            if (!rowById.containsKey(row.id())) {
+                append(row);
+            }
+        }
+        mergeIntoCostOrder(first);
+        return size - first;
+    }
+
+    // Appends the row's columns and bitmap entries; the caller places it in the cost order
+    private void append(UnitCatalogRow row) {
+        ensureCapacity(size + 1);
+        int index = size++;
+        long costCents = toCents(row.baseCost());
+
+        ids[index] = row.id();
+        rooms[index] = row.numberOfRooms();
+        types[index] = (byte) row.accommodationType().ordinal();
+        floors[index] = row.floor();
+        baseCostCents[index] = costCents;
+        ownerIds[index] = row.ownerId() != null ? row.ownerId() : NO_OWNER;
+        createdAtNanos[index] = toEpochNanos(row.createdAt());
+        descriptions[index] = row.description();
+        rowById.put(row.id(), index);
+
+        allRows.add(index);
+        byRooms.computeIfAbsent(row.numberOfRooms(), value -> new RoaringBitmap()).add(index);
+        byType.computeIfAbsent(row.accommodationType(), value -> new RoaringBitmap()).add(index);
+        byFloor.computeIfAbsent(row.floor(), value -> new RoaringBitmap()).add(index);
+        byPriceBucket.computeIfAbsent(toCents(totalCost(row.baseCost())) / priceBucketCents,
+                value -> new RoaringBitmap()).add(index);
+
+        if (lastCreatedAt == null || row.createdAt().isAfter(lastCreatedAt)) {
+            lastCreatedAt = row.createdAt();
+        }
+    }
+
+    /**
+     * Places rows {@code first..size-1} in the cost order: sorts only the new rows, then merges them
+     * with the existing order from the back, in one pass over the array.
+     */
+    private void mergeIntoCostOrder(int first) {
+        int[] added = IntStream.range(first, size).boxed()
+                .sorted(costOrder())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        Comparator<Integer> order = costOrder();
+        int existing = first - 1;
+        int next = added.length - 1;
+        for (int target = size - 1; next >= 0; target--) {
+            if (existing >= 0 && order.compare(rowsByCost[existing], added[next]) > 0) {
+                rowsByCost[target] = rowsByCost[existing--];
+            } else {
+                rowsByCost[target] = added[next--];
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        rooms = Arrays.copyOf(rooms, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        floors = Arrays.copyOf(floors, newCapacity);
+        baseCostCents = Arrays.copyOf(baseCostCents, newCapacity);
+        ownerIds = Arrays.copyOf(ownerIds, newCapacity);
+        createdAtNanos = Arrays.copyOf(createdAtNanos, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        rowsByCost = Arrays.copyOf(rowsByCost, newCapacity);
+    }
+
+    private UnitResponseDto toDto(int row) {
+        BigDecimal baseCost = BigDecimal.valueOf(baseCostCents[row], 2);
+        return new UnitResponseDto(
+                ids[row],
+                rooms[row],
+                TYPES[types[row]],
+                floors[row],
+                baseCost,
+                totalCost(baseCost),
+                descriptions[row],
+                ownerIds[row] != NO_OWNER ? ownerIds[row] : null,
+                fromEpochNanos(createdAtNanos[row])
+        );
+    }
+
+    // Same as Unit.getTotalCost()
+    private static BigDecimal totalCost(BigDecimal baseCost) {
+        return baseCost.multiply(MARKUP_MULTIPLIER);
+    }
+
+    // Users see prices with markup, the database stores the base cost
+    private static long toBaseCostCents(BigDecimal userCost) {
+        return toCents(userCost.divide(MARKUP_MULTIPLIER, 2, RoundingMode.HALF_UP));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
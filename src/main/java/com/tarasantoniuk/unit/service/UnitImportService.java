@@ -0,0 +1,317 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.event.enums.EventType;
+import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import com.tarasantoniuk.unit.dto.CreateUnitRequestDto;
+import com.tarasantoniuk.unit.dto.UnitImportErrorDto;
+import com.tarasantoniuk.unit.dto.UnitImportReportDto;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.event.UnitsImportedEvent;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams units from an NDJSON or CSV body into the database.
+ * <p>
+ * Rows are parsed and validated as they are read, like {@code POST /units} requests, and
+ * collected into batches. Each batch resolves its owners with one query, then inserts its
+ * units (JDBC batches, see {@code hibernate.jdbc.batch_size}) and {@code UNIT_CREATED} events
+ * in its own transaction. Only the current batch is held in memory, so file size is unbounded;
+ * a failed batch rolls back only itself. Rejected rows are reported by line number.
+ * <p>
+ * CSV: a header row naming the columns ({@code numberOfRooms, accommodationType, floor, baseCost,
+ * ownerId}, optional {@code description}) in any order; fields may be quoted, but not span lines.
+ */
+@Service
+@Slf4j
+public class UnitImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("numberOfRooms", "accommodationType", "floor", "baseCost", "ownerId");
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final UnitRepository unitRepository;
+    private final UserRepository userRepository;
+    private final EventService eventService;
+    private final UnitStatisticsService unitStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UnitImportService(UnitRepository unitRepository,
+                             UserRepository userRepository,
+                             EventService eventService,
+                             UnitStatisticsService unitStatisticsService,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.unit.import.batch-size:1000}") int batchSize) {
+        this.unitRepository = unitRepository;
+        this.userRepository = userRepository;
+        this.eventService = eventService;
+        this.unitStatisticsService = unitStatisticsService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the CSV header is missing or lacks a required column
+     * @throws IOException              if the body cannot be read; batches imported so far stay committed
+     */
+    public UnitImportReportDto importUnits(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line.startsWith("\uFEFF") ? line.substring(1) : line);
+                continue;
+            }
+
+            report.totalRows++;
+            try {
+                CreateUnitRequestDto request = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+                validate(request);
+                batch.add(new PendingRow(lineNumber, request));
+            } catch (IllegalArgumentException e) {
+                report.reject(lineNumber, e.getMessage());
+            }
+
+            if (batch.size() >= batchSize) {
+                importBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+
+        if (report.imported > 0) {
+            unitStatisticsService.invalidateAvailableUnitsCache();
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Unit import finished: format={}, rows={}, imported={}, failed={}, durationMs={}",
+                format, report.totalRows, report.imported, report.failed, durationMs);
+        return report.toDto(durationMs);
+    }
+
+    private void importBatch(List<PendingRow> batch, ImportReport report) {
+        Set<Long> ownerIds = batch.stream().map(row -> row.request().getOwnerId()).collect(Collectors.toSet());
+        Set<Long> existingOwnerIds = new HashSet<>(userRepository.findExistingIds(ownerIds));
+
+        List<PendingRow> rows = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            if (existingOwnerIds.contains(row.request().getOwnerId())) {
+                rows.add(row);
+            } else {
+                report.reject(row.line(), "Owner not found with id: " + row.request().getOwnerId());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> unitIds = transactionTemplate.execute(status -> {
+                List<Unit> units = rows.stream().map(row -> toUnit(row.request())).toList();
+                List<Long> ids = unitRepository.saveAll(units).stream().map(Unit::getId).toList();
+                eventService.createEventsInBatch(EventType.UNIT_CREATED, ids);
+                eventPublisher.publishEvent(new UnitsImportedEvent(ids));
+                // Open session in view would otherwise keep every imported unit managed until the response
+                entityManager.flush();
+                entityManager.clear();
+                return ids;
+            });
+            report.imported += unitIds.size();
+        } catch (RuntimeException e) {
+            log.warn("Unit import batch failed and was rolled back: rows={}, lines={}..{}",
+                    rows.size(), rows.get(0).line(), rows.get(rows.size() - 1).line(), e);
+            rows.forEach(row -> report.reject(row.line(), "Not imported, its batch failed to insert"));
+        }
+    }
+
+    private Unit toUnit(CreateUnitRequestDto request) {
+        Unit unit = new Unit();
+        unit.setNumberOfRooms(request.getNumberOfRooms());
+        unit.setAccommodationType(request.getAccommodationType());
+        unit.setFloor(request.getFloor());
+        unit.setBaseCost(request.getBaseCost());
+        unit.setDescription(request.getDescription());
+        // Owner existence was checked for the whole batch, so a reference avoids loading each one
+        unit.setOwner(userRepository.getReferenceById(request.getOwnerId()));
+        return unit;
+    }
+
+    private CreateUnitRequestDto parseJsonRow(String line) {
+        try {
+            CreateUnitRequestDto request = objectMapper.readValue(line, CreateUnitRequestDto.class);
+            if (request == null) {
+                throw new IllegalArgumentException("Invalid JSON: expected an object");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static CreateUnitRequestDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        CreateUnitRequestDto request = new CreateUnitRequestDto();
+        request.setNumberOfRooms(csvValue(fields, columns, "numberOfRooms", Integer::valueOf));
+        request.setAccommodationType(csvValue(fields, columns, "accommodationType", AccommodationType::valueOf));
+        request.setFloor(csvValue(fields, columns, "floor", Integer::valueOf));
+        request.setBaseCost(csvValue(fields, columns, "baseCost", BigDecimal::new));
+        request.setDescription(csvValue(fields, columns, "description", Function.identity()));
+        request.setOwnerId(csvValue(fields, columns, "ownerId", Long::valueOf));
+        return request;
+    }
+
+    // Blank or absent fields are null and left to bean validation
+    private static <T> T csvValue(List<String> fields, Map<String, Integer> columns, String column,
+                                  Function<String, T> parser) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": '" + value + "'");
+        }
+    }
+
+    /**
+     * Splits an RFC 4180 line: fields may be quoted, with {@code ""} for a quote inside.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void validate(CreateUnitRequestDto request) {
+        Set<ConstraintViolation<CreateUnitRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private record PendingRow(long line, CreateUnitRequestDto request) {
+    }
+
+    private static final class ImportReport {
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<UnitImportErrorDto> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UnitImportErrorDto(line, message));
+            }
+        }
+
+        private UnitImportReportDto toDto(long durationMs) {
+            // Owner and insert failures are found when their batch is flushed, after later parse errors
+            errors.sort(Comparator.comparingLong(UnitImportErrorDto::getLine));
+            return new UnitImportReportDto(totalRows, imported, failed, durationMs, errors, failed > errors.size());
+        }
+    }
+}
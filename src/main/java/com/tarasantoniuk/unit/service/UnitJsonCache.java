@@ -0,0 +1,135 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.json.SerializedJson;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Local LRU cache of unit responses already serialized to JSON, so hot catalog reads
+ * skip both DTO mapping and Jackson.
+ * <p>
+ * Unit bodies are stored with the unit version (ETag) they were built for and served
+ * only while that version is current, so a change on any instance invalidates them.
+ * Search and list pages are stored under the search cache key, which embeds the
+ * catalog and month epochs, so they go stale the same way the Redis search cache does.
+ * Without a version or key (Redis unavailable, uncacheable search) bodies are
+ * serialized per request.
+ */
+@Component
+public class UnitJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final UnitSearchCacheService unitSearchCacheService;
+    private final int gzipMinBytes;
+    private final Map<Long, VersionedJson> units;
+    private final Map<String, SerializedJson> pages;
+
+    private final Counter unitHits;
+    private final Counter unitMisses;
+    private final Counter pageHits;
+    private final Counter pageMisses;
+
+    public UnitJsonCache(ObjectMapper objectMapper,
+                         UnitSearchCacheService unitSearchCacheService,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.unit.json-cache.max-units:10000}") int maxUnits,
+                         @Value("${app.unit.json-cache.max-pages:500}") int maxPages,
+                         @Value("${app.unit.json-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.unitSearchCacheService = unitSearchCacheService;
+        this.gzipMinBytes = gzipMinBytes;
+        this.units = lru(maxUnits);
+        this.pages = lru(maxPages);
+        this.unitHits = counter(meterRegistry, "unit", "hit");
+        this.unitMisses = counter(meterRegistry, "unit", "miss");
+        this.pageHits = counter(meterRegistry, "page", "hit");
+        this.pageMisses = counter(meterRegistry, "page", "miss");
+    }
+
+    /**
+     * @param version current unit ETag; the body is cached only when present
+     */
+    public SerializedJson unit(Long id, Optional<String> version, Supplier<UnitResponseDto> loader) {
+        if (version.isEmpty()) {
+            return serialize(loader.get());
+        }
+        VersionedJson cached = units.get(id);
+        if (cached != null && cached.version().equals(version.get())) {
+            unitHits.increment();
+            return cached.json();
+        }
+
+        unitMisses.increment();
+        SerializedJson json = serialize(loader.get());
+        units.put(id, new VersionedJson(version.get(), json));
+        return json;
+    }
+
+    /**
+     * Search or list page. The key is resolved before the loader runs, so a page loaded
+     * concurrently with a booking or unit change is stored under the old epochs.
+     */
+    public SerializedJson page(UnitSearchCriteriaDto criteria, Pageable pageable,
+                               Supplier<Page<UnitResponseDto>> loader) {
+        Optional<String> key = unitSearchCacheService.resolveKey(criteria, pageable);
+        if (key.isEmpty()) {
+            return serialize(loader.get());
+        }
+        SerializedJson cached = pages.get(key.get());
+        if (cached != null) {
+            pageHits.increment();
+            return cached;
+        }
+
+        pageMisses.increment();
+        SerializedJson json = serialize(loader.get());
+        pages.put(key.get(), json);
+        return json;
+    }
+
+    public void invalidateUnit(Long id) {
+        units.remove(id);
+    }
+
+    private SerializedJson serialize(Object body) {
+        try {
+            return SerializedJson.of(objectMapper.writeValueAsBytes(body), gzipMinBytes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize unit response", e);
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("units.json_cache.requests")
+                .description("Pre-serialized unit response lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record VersionedJson(String version, SerializedJson json) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Caches unit search result pages in Redis with epoch-based invalidation.
+ * <p>
+ * Every cache key embeds the current value of the epoch counters the result depends on:
+ * one catalog epoch (bumped when units are created) and one epoch per calendar month
+ * touched by the search date range (bumped when a booking for that month is created,
+ * cancelled or expires). Bumping a counter makes all dependent keys unreachable, so a
+ * booking for March only invalidates searches whose date range touches March.
+ * Orphaned entries simply expire by TTL.
+ * <p>
+ * Epochs are read once, before the database query, and the result is stored under the
+ * key built from those epochs. A result computed concurrently with an invalidation is
+ * therefore stored under the old key and never served afterwards.
+ * <p>
+ * Searches whose date range overlaps a live reservation hold are not cached: holds lapse
+ * without any event, so a result excluding the held units could outlive the hold. Placing a
+ * hold bumps the month epochs, so results cached just before it are not served either.
+ * <p>
+ * Redis failures are logged and treated as cache misses.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnitSearchCacheService {
+
+    private static final String RESULT_KEY_PREFIX = "search:units:";
+    private static final String CATALOG_EPOCH_KEY = "search:epoch:catalog";
+    private static final String MONTH_EPOCH_KEY_PREFIX = "search:epoch:month:";
+
+    private static final Duration RESULT_TTL = Duration.ofMinutes(10);
+    // Must outlive RESULT_TTL, so a reset counter can never match a live result key
+    private static final Duration MONTH_EPOCH_TTL = Duration.ofDays(30);
+    private static final int MAX_CACHED_MONTHS = 12;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReservationHoldStore reservationHoldStore;
+
+    /**
+     * Builds the cache key for the search, reading the current epochs in a single MGET.
+     *
+     * @return the key, or empty if the search should not be cached
+     * (date range too wide, inverted, overlapping a live hold, or Redis unavailable)
+     */
+    public Optional<String> resolveKey(UnitSearchCriteriaDto criteria, Pageable pageable) {
+        List<String> epochKeys = epochKeys(criteria);
+        if (epochKeys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            if (criteria.getStartDate() != null && criteria.getEndDate() != null
+                    && !reservationHoldStore.heldUnitIds(criteria.getStartDate(), criteria.getEndDate()).isEmpty()) {
+                return Optional.empty();
+            }
+            List<String> epochs = stringRedisTemplate.opsForValue().multiGet(epochKeys);
+            if (epochs == null) {
+                return Optional.empty();
+            }
+            String epochPart = epochs.stream()
+                    .map(epoch -> epoch != null ? epoch : "0")
+                    .collect(Collectors.joining("."));
+            String criteriaHash = DigestUtils.md5DigestAsHex(
+                    normalize(criteria, pageable).getBytes(StandardCharsets.UTF_8));
+            return Optional.of(RESULT_KEY_PREFIX + criteriaHash + ":" + epochPart);
+        } catch (Exception e) {
+            log.warn("Failed to read search cache epochs, bypassing cache", e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<Page<UnitResponseDto>> get(String key, Pageable pageable) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            if (json == null) {
+                return Optional.empty();
+            }
+            CachedPage cached = objectMapper.readValue(json, CachedPage.class);
+            return Optional.of(new PageImpl<>(cached.content(), pageable, cached.totalElements()));
+        } catch (Exception e) {
+            log.warn("Failed to read search cache entry: key={}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, Page<UnitResponseDto> page) {
+        try {
+            String json = objectMapper.writeValueAsString(new CachedPage(page.getContent(), page.getTotalElements()));
+            stringRedisTemplate.opsForValue().set(key, json, RESULT_TTL);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize search result: key={}", key, e);
+        } catch (Exception e) {
+            log.warn("Failed to write search cache entry: key={}", key, e);
+        }
+    }
+
+    /**
+     * Invalidates cached searches whose date range touches any month of the given range.
+     */
+    public void invalidateDates(LocalDate startDate, LocalDate endDate) {
+        invalidateMonths(monthsBetween(startDate, endDate));
+    }
+
+    public void invalidateMonths(Set<YearMonth> months) {
+        for (YearMonth month : months) {
+            String key = MONTH_EPOCH_KEY_PREFIX + month;
+            try {
+                stringRedisTemplate.opsForValue().increment(key);
+                stringRedisTemplate.expire(key, MONTH_EPOCH_TTL);
+            } catch (Exception e) {
+                log.warn("Failed to bump search cache epoch: month={}", month, e);
+            }
+        }
+        log.debug("Search cache invalidated for months: {}", months);
+    }
+
+    public void invalidateCatalog() {
+        try {
+            stringRedisTemplate.opsForValue().increment(CATALOG_EPOCH_KEY);
+            log.debug("Search cache invalidated for the whole catalog");
+        } catch (Exception e) {
+            log.warn("Failed to bump search cache catalog epoch", e);
+        }
+    }
+
+    /**
+     * Months covered by the range, both ends inclusive.
+     */
+    public static Set<YearMonth> monthsBetween(LocalDate startDate, LocalDate endDate) {
+        Set<YearMonth> months = new LinkedHashSet<>();
+        YearMonth last = YearMonth.from(endDate);
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Epoch counters the search result depends on. Availability filtering applies only
+     * when both dates are set, so searches without a full range depend on the catalog only.
+     */
+    private static List<String> epochKeys(UnitSearchCriteriaDto criteria) {
+        List<String> keys = new ArrayList<>();
+        keys.add(CATALOG_EPOCH_KEY);
+
+        LocalDate startDate = criteria.getStartDate();
+        LocalDate endDate = criteria.getEndDate();
+        if (startDate == null || endDate == null) {
+            return keys;
+        }
+        if (endDate.isBefore(startDate)) {
+            return List.of();
+        }
+
+        Set<YearMonth> months = monthsBetween(startDate, endDate);
+        if (months.size() > MAX_CACHED_MONTHS) {
+            return List.of();
+        }
+        months.forEach(month -> keys.add(MONTH_EPOCH_KEY_PREFIX + month));
+        return keys;
+    }
+
+    /**
+     * Canonical string form of the criteria and page, so equivalent searches share a key.
+     */
+    static String normalize(UnitSearchCriteriaDto criteria, Pageable pageable) {
+        return "rooms=" + criteria.getNumberOfRooms()
+                + "|type=" + criteria.getAccommodationType()
+                + "|floor=" + criteria.getFloor()
+                + "|min=" + normalize(criteria.getMinCost())
+                + "|max=" + normalize(criteria.getMaxCost())
+                + "|start=" + criteria.getStartDate()
+                + "|end=" + criteria.getEndDate()
+                + "|text=" + (StringUtils.hasText(criteria.getText()) ? criteria.getText().strip() : null)
+                + "|page=" + (pageable.isPaged() ? pageable.getPageNumber() : -1)
+                + "|size=" + (pageable.isPaged() ? pageable.getPageSize() : -1)
+                + "|sort=" + pageable.getSort();
+    }
+
+    private static String normalize(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "null";
+    }
+
+    record CachedPage(List<UnitResponseDto> content, long totalElements) {
+    }
+}
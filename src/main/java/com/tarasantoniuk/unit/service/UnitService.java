@@ -1,5 +1,8 @@
 package com.tarasantoniuk.unit.service;
 
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.common.coalescing.Coalesced;
+import com.tarasantoniuk.common.config.CacheNames;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
@@ -8,17 +11,25 @@ import com.tarasantoniuk.unit.dto.CreateUnitRequestDto;
 import com.tarasantoniuk.unit.dto.UnitResponseDto;
 import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
 import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.event.UnitCreatedEvent;
 import com.tarasantoniuk.unit.repository.UnitRepository;
 import com.tarasantoniuk.user.entity.User;
 import com.tarasantoniuk.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -29,8 +40,16 @@ public class UnitService {
     private final UserRepository userRepository;
     private final EventService eventService;
     private final UnitStatisticsService unitStatisticsService;
+    private final UnitSearchCacheService unitSearchCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationHoldStore reservationHoldStore;
 
+    /**
+     * Creates a unit and writes it through to the units cache,
+     * so the first read after creation is already a cache hit.
+     */
     @Transactional
+    @CachePut(cacheNames = CacheNames.UNITS, key = "#result.id")
     public UnitResponseDto createUnit(CreateUnitRequestDto request) {
         log.info("Creating unit: type={}, rooms={}, ownerId={}",
                 request.getAccommodationType(), request.getNumberOfRooms(), request.getOwnerId());
@@ -52,22 +71,58 @@ public class UnitService {
         eventService.createEvent(EventType.UNIT_CREATED, saved.getId());
 
         unitStatisticsService.invalidateAvailableUnitsCache();
+        eventPublisher.publishEvent(new UnitCreatedEvent(saved.getId()));
 
         log.info("Unit created successfully: unitId={}, ownerId={}", saved.getId(), owner.getId());
 
         return UnitResponseDto.from(saved);
     }
 
+    @Coalesced
+    @Cacheable(cacheNames = CacheNames.UNITS, key = "#id")
     public UnitResponseDto getUnitById(Long id) {
         Unit unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + id));
         return UnitResponseDto.from(unit);
     }
 
+    /**
+     * Searches units, serving repeated searches from the search result cache.
+     * Runs without its own transaction, so cache hits never check out a database connection;
+     * on a miss the repository query runs in its own read-only transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<UnitResponseDto> searchUnits(UnitSearchCriteriaDto criteria, Pageable pageable) {
-        Specification<Unit> spec = UnitSpecification.withCriteria(criteria);
-        return unitRepository.findAll(spec, pageable)
+        Optional<String> cacheKey = unitSearchCacheService.resolveKey(criteria, pageable);
+        if (cacheKey.isPresent()) {
+            Optional<Page<UnitResponseDto>> cached = unitSearchCacheService.get(cacheKey.get(), pageable);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        Specification<Unit> spec = UnitSpecification.withCriteria(criteria, heldUnitIds(criteria));
+        Page<UnitResponseDto> result = unitRepository.findAll(spec, pageable)
                 .map(UnitResponseDto::from);
+
+        cacheKey.ifPresent(key -> unitSearchCacheService.put(key, result));
+        return result;
+    }
+
+    /**
+     * Units under a reservation hold for the searched dates. Without Redis no holds can be placed,
+     * so searches then proceed on bookings alone.
+     */
+    private Set<Long> heldUnitIds(UnitSearchCriteriaDto criteria) {
+        if (criteria.getStartDate() == null || criteria.getEndDate() == null) {
+            return Set.of();
+        }
+        try {
+            return reservationHoldStore.heldUnitIds(criteria.getStartDate(), criteria.getEndDate());
+        } catch (Exception e) {
+            log.warn("Failed to read reservation holds, searching on bookings alone", e);
+            return Set.of();
+        }
     }
 
     public Page<UnitResponseDto> getAllUnits(Pageable pageable) {
@@ -4,12 +4,17 @@ import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
 import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
 import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.repository.UnitTextSearchFunctions;
 import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
@@ -20,6 +25,11 @@ import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIE
  */
 public class UnitSpecification {
 
+    /**
+     * Sort property ordering full-text matches by rank; the default when search text is given.
+     */
+    public static final String RELEVANCE = "relevance";
+
     /**
      * Creates a specification for filtering units based on provided criteria.
      * Orchestrates all individual filter methods.
@@ -37,11 +47,45 @@ public class UnitSpecification {
             addMinCostFilter(criteria, root, cb, predicates);
             addMaxCostFilter(criteria, root, cb, predicates);
             addDateAvailabilityFilter(criteria, root, query, cb, predicates);
+            addTextFilter(criteria, root, query, cb, predicates);
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
 
+    /**
+     * Like {@link #withCriteria(UnitSearchCriteriaDto)}, also excluding the given units
+     * (units under a reservation hold for the searched dates).
+     */
+    public static Specification<Unit> withCriteria(UnitSearchCriteriaDto criteria, Collection<Long> excludedUnitIds) {
+        if (excludedUnitIds.isEmpty()) {
+            return withCriteria(criteria);
+        }
+        Specification<Unit> notExcluded = (root, query, cb) -> cb.not(root.get("id").in(excludedUnitIds));
+        return withCriteria(criteria).and(notExcluded);
+    }
+
+    /**
+     * Resolves the requested sort. Relevance (also the default when search text is given)
+     * resolves to an unsorted page, leaving the rank ordering of {@link #withCriteria} in place;
+     * without search text it falls back to id.
+     *
+     * @param sortBy sort property, or null for the default
+     */
+    public static Sort resolveSort(UnitSearchCriteriaDto criteria, String sortBy, String sortDir) {
+        boolean hasText = StringUtils.hasText(criteria.getText());
+        String property = sortBy != null ? sortBy : (hasText ? RELEVANCE : "id");
+        if (property.equals(RELEVANCE)) {
+            if (hasText) {
+                return Sort.unsorted();
+            }
+            property = "id";
+        }
+        return sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(property).descending()
+                : Sort.by(property).ascending();
+    }
+
     private static void addNumberOfRoomsFilter(
             UnitSearchCriteriaDto criteria,
             Root<Unit> root,
@@ -115,6 +159,31 @@ public class UnitSpecification {
         return userCost.divide(MARKUP_MULTIPLIER, 2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Adds full-text filter over the trigger-maintained search vector (GIN indexed).
+     * Orders by rank, then id; an explicit sort of the page replaces this ordering,
+     * and count queries drop it.
+     */
+    private static void addTextFilter(
+            UnitSearchCriteriaDto criteria,
+            Root<Unit> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            List<Predicate> predicates
+    ) {
+        if (!StringUtils.hasText(criteria.getText())) {
+            return;
+        }
+
+        // Bound as a parameter; cb.literal() would inline the user's text into the SQL
+        Expression<String> text = ((HibernateCriteriaBuilder) cb).value(criteria.getText().strip());
+        predicates.add(cb.isTrue(cb.function(UnitTextSearchFunctions.MATCH, Boolean.class, root.get("id"), text)));
+        query.orderBy(
+                cb.desc(cb.function(UnitTextSearchFunctions.RANK, Double.class, root.get("id"), text)),
+                cb.asc(root.get("id"))
+        );
+    }
+
     /**
      * Adds filter for date availability if date range specified.
      * Excludes units that have conflicting bookings (PENDING or CONFIRMED)
@@ -0,0 +1,13 @@
+package com.tarasantoniuk.user.dto;
+
+/**
+ * Username and email of a user, as used by uniqueness checks.
+ */
+public interface UserIdentity {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -1,9 +1,15 @@
 package com.tarasantoniuk.user.repository;
 
+import com.tarasantoniuk.user.dto.UserIdentity;
 import com.tarasantoniuk.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +22,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Users holding the username or the email, in one round-trip (both unique indexes are used).
+     */
+    @Query("""
+                SELECT u.id AS id, u.username AS username, u.email AS email FROM User u
+                WHERE u.username = :username OR u.email = :email
+            """)
+    List<UserIdentity> findIdentities(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * Keyset page of usernames and emails, for rebuilding {@code UserIdentityFilter}.
+     */
+    @Query("""
+                SELECT u.id AS id, u.username AS username, u.email AS email FROM User u
+                WHERE u.id > :afterId
+                ORDER BY u.id
+            """)
+    List<UserIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The given IDs that belong to existing users, for validating many owners in one query.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
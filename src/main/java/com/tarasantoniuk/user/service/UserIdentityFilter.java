@@ -0,0 +1,135 @@
+package com.tarasantoniuk.user.service;
+
+import com.tarasantoniuk.user.dto.UserIdentity;
+import com.tarasantoniuk.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-memory Bloom filters over existing usernames and emails, so signups with values that are
+ * definitely new skip the uniqueness query.
+ * <p>
+ * Built from the users table when the application is ready and kept current on insert. Until the
+ * first build completes every value is reported as "maybe taken", which falls back to the query.
+ * Users created on other nodes are not in the local filter; the unique constraints still reject
+ * such duplicates on insert.
+ */
+@Component
+@Slf4j
+public class UserIdentityFilter {
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter definitelyNew;
+    private final Counter maybeTaken;
+
+    private volatile Filters active;
+    private Filters building;
+
+    public UserIdentityFilter(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.user.identity-filter.expected-insertions:1000000}") long expectedInsertions,
+                              @Value("${app.user.identity-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.definitelyNew = checks(meterRegistry, "definitely_new");
+        this.maybeTaken = checks(meterRegistry, "maybe_taken");
+    }
+
+    /**
+     * @return {@code false} if neither value belongs to an existing user; {@code true} if either might
+     */
+    public boolean mightBeTaken(String username, String email) {
+        Filters filters = active;
+        boolean maybe = filters == null
+                || filters.usernames.mightContain(username)
+                || filters.emails.mightContain(email);
+        (maybe ? maybeTaken : definitelyNew).increment();
+        return maybe;
+    }
+
+    public synchronized void add(String username, String email) {
+        if (active != null) {
+            active.put(username, email);
+        }
+        if (building != null) {
+            building.put(username, email);
+        }
+    }
+
+    /**
+     * Rebuilds the filters from the users table, sized for at least twice the current row count.
+     * Users added while the rebuild runs go to both the old and the new filters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            long capacity = Math.max(expectedInsertions, userRepository.count() * 2);
+            Filters next = new Filters(capacity, falsePositiveRate);
+            synchronized (this) {
+                building = next;
+            }
+
+            long loaded = 0;
+            long afterId = 0;
+            List<UserIdentity> page;
+            do {
+                page = userRepository.findIdentitiesAfter(afterId, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+                for (UserIdentity identity : page) {
+                    next.put(identity.getUsername(), identity.getEmail());
+                    afterId = identity.getId();
+                }
+                loaded += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            synchronized (this) {
+                active = next;
+                building = null;
+            }
+            log.info("User identity filter built: users={}, capacity={}, bits={}, hashes={}, durationMs={}",
+                    loaded, capacity, next.usernames.bitCount(), next.usernames.hashCount(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            synchronized (this) {
+                building = null;
+            }
+            log.error("Failed to build user identity filter, uniqueness checks will query the database", e);
+        }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.identity_filter.checks")
+                .description("Signup uniqueness checks by Bloom filter result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        private void put(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
@@ -1,48 +1,72 @@
 package com.tarasantoniuk.user.service;
 
+import com.tarasantoniuk.common.config.CacheNames;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.user.dto.UserIdentity;
 import com.tarasantoniuk.user.dto.UserRequestDto;
 import com.tarasantoniuk.user.dto.UserResponseDto;
 import com.tarasantoniuk.user.entity.User;
 import com.tarasantoniuk.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class UserService {
 
+    private static final String USERNAME_CONSTRAINT = "users_username_key";
+    private static final String EMAIL_CONSTRAINT = "users_email_key";
+
     private final UserRepository userRepository;
+    private final UserIdentityFilter userIdentityFilter;
 
+    /**
+     * Creates a user and writes it through to both user caches (by ID and by username).
+     * <p>
+     * Values the identity filter reports as definitely new skip the uniqueness query; otherwise a
+     * single query checks both. The unique constraints are the final guard against concurrent signups.
+     */
     @Transactional
+    @Caching(put = {
+            @CachePut(cacheNames = CacheNames.USERS, key = "#result.id"),
+            @CachePut(cacheNames = CacheNames.USERS_BY_USERNAME, key = "#result.username")
+    })
     public UserResponseDto createUser(UserRequestDto request) {
         log.info("Creating user: username={}", request.getUsername());
 
-        if (userRepository.existsByUsername(request.getUsername())) {
-            log.warn("Duplicate username attempt: {}", request.getUsername());
-            throw new IllegalArgumentException("Username already exists");
-        }
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Duplicate email attempt: {}", request.getEmail());
-            throw new IllegalArgumentException("Email already exists");
+        if (userIdentityFilter.mightBeTaken(request.getUsername(), request.getEmail())) {
+            checkNotTaken(request);
         }
 
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
 
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicate(request, e);
+        }
+        userIdentityFilter.add(saved.getUsername(), saved.getEmail());
         log.info("User created successfully: userId={}, username={}", saved.getId(), saved.getUsername());
         return UserResponseDto.from(saved);
     }
 
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id")
     public UserResponseDto getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -54,9 +78,40 @@ public class UserService {
                 .map(UserResponseDto::from);
     }
 
+    @Cacheable(cacheNames = CacheNames.USERS_BY_USERNAME, key = "#username")
     public UserResponseDto getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
         return UserResponseDto.from(user);
     }
-}
\ No newline at end of file
+
+    private void checkNotTaken(UserRequestDto request) {
+        List<UserIdentity> existing = userRepository.findIdentities(request.getUsername(), request.getEmail());
+        if (existing.stream().anyMatch(identity -> identity.getUsername().equals(request.getUsername()))) {
+            log.warn("Duplicate username attempt: {}", request.getUsername());
+            throw new IllegalArgumentException("Username already exists");
+        }
+        if (!existing.isEmpty()) {
+            log.warn("Duplicate email attempt: {}", request.getEmail());
+            throw new IllegalArgumentException("Email already exists");
+        }
+    }
+
+    /**
+     * Maps a unique constraint violation from a concurrent signup to the same error as the pre-insert check.
+     */
+    private static RuntimeException duplicate(UserRequestDto request, DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (USERNAME_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            log.warn("Duplicate username on insert: {}", request.getUsername());
+            return new IllegalArgumentException("Username already exists");
+        }
+        if (EMAIL_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            log.warn("Duplicate email on insert: {}", request.getEmail());
+            return new IllegalArgumentException("Email already exists");
+        }
+        return e;
+    }
+}
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset taras:11-create-daily-occupancy-table
+-- Daily count of units with an active (PENDING/CONFIRMED) booking per accommodation type and owner.
+-- owner_id 0 stands for units without an owner, so it can be part of the primary key.
+CREATE TABLE daily_occupancy
+(
+    day                DATE        NOT NULL,
+    accommodation_type VARCHAR(50) NOT NULL,
+    owner_id           BIGINT      NOT NULL DEFAULT 0,
+    booked_units       INTEGER     NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, accommodation_type, owner_id)
+);
+
+--changeset taras:12-backfill-daily-occupancy
+-- Backfill from existing active bookings
+INSERT INTO daily_occupancy (day, accommodation_type, owner_id, booked_units)
+SELECT d::date, u.accommodation_type, COALESCE(u.owner_id, 0), COUNT(*)
+FROM bookings b
+         JOIN units u ON u.id = b.unit_id
+         CROSS JOIN LATERAL generate_series(b.start_date, b.end_date, INTERVAL '1 day') d
+WHERE b.status IN ('PENDING', 'CONFIRMED')
+GROUP BY d::date, u.accommodation_type, COALESCE(u.owner_id, 0);
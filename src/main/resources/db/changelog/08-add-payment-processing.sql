@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset taras:13-add-payment-processing-started-at
+-- Set when a payment is submitted to the gateway; used to fail payments whose callback never arrives.
+ALTER TABLE payments
+    ADD COLUMN processing_started_at TIMESTAMP;
+
+CREATE INDEX idx_payments_processing_started_at ON payments (processing_started_at)
+    WHERE status = 'PROCESSING';
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset taras:14-add-payments-booking-unique-index
+-- One payment per booking; backs findByBookingId and the batch payment lookup
+CREATE UNIQUE INDEX idx_payments_booking_id ON payments (booking_id);
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset taras:15-add-units-search-vector
+-- Full-text search over unit descriptions; kept up to date by the trigger below
+ALTER TABLE units ADD COLUMN search_vector tsvector;
+
+UPDATE units SET search_vector = to_tsvector('pg_catalog.english', COALESCE(description, ''));
+
+CREATE TRIGGER trg_units_search_vector
+    BEFORE INSERT OR UPDATE OF description
+    ON units
+    FOR EACH ROW
+EXECUTE FUNCTION tsvector_update_trigger(search_vector, 'pg_catalog.english', description);
+
+--changeset taras:16-create-units-search-vector-index
+CREATE INDEX idx_units_search_vector ON units USING GIN (search_vector);
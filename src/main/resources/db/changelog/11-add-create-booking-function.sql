@@ -0,0 +1,63 @@
+--liquibase formatted sql
+
+--changeset taras:17-add-create-booking-function splitStatements:false
+-- Creates a PENDING booking and its PENDING payment in one call (app.booking.create-mode: procedure).
+-- Same steps as BookingService.createBooking: lock the unit row, check the user, reject overlaps with
+-- PENDING/CONFIRMED bookings, insert. Failed checks return an outcome instead of raising, so the caller
+-- maps them to its own exceptions. IDs come from the entity sequences like JPA inserts do.
+CREATE OR REPLACE FUNCTION create_booking(
+    p_unit_id BIGINT,
+    p_user_id BIGINT,
+    p_start_date DATE,
+    p_end_date DATE,
+    p_created_at TIMESTAMP,
+    p_expires_at TIMESTAMP,
+    p_markup NUMERIC
+)
+RETURNS TABLE (outcome TEXT, new_booking_id BIGINT, new_payment_id BIGINT, total_cost NUMERIC, lock_wait_micros BIGINT)
+AS $$
+DECLARE
+    v_lock_start TIMESTAMPTZ := clock_timestamp();
+    v_base_cost  NUMERIC;
+BEGIN
+    SELECT u.base_cost INTO v_base_cost FROM units u WHERE u.id = p_unit_id FOR UPDATE;
+    lock_wait_micros := (EXTRACT(EPOCH FROM clock_timestamp() - v_lock_start) * 1000000)::BIGINT;
+
+    IF v_base_cost IS NULL THEN
+        outcome := 'UNIT_NOT_FOUND';
+        RETURN NEXT;
+        RETURN;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM users WHERE id = p_user_id) THEN
+        outcome := 'USER_NOT_FOUND';
+        RETURN NEXT;
+        RETURN;
+    END IF;
+
+    IF EXISTS (
+        SELECT 1 FROM bookings b
+        WHERE b.unit_id = p_unit_id
+        AND b.status IN ('PENDING', 'CONFIRMED')
+        AND b.start_date <= p_end_date AND b.end_date >= p_start_date
+    ) THEN
+        outcome := 'UNAVAILABLE';
+        RETURN NEXT;
+        RETURN;
+    END IF;
+
+    total_cost := v_base_cost * GREATEST(p_end_date - p_start_date, 1) * p_markup;
+
+    INSERT INTO bookings (id, unit_id, user_id, start_date, end_date, status, created_at, expires_at)
+    VALUES (nextval('bookings_id_seq'), p_unit_id, p_user_id, p_start_date, p_end_date, 'PENDING',
+            p_created_at, p_expires_at)
+    RETURNING id INTO new_booking_id;
+
+    INSERT INTO payments (id, booking_id, amount, status, created_at)
+    VALUES (nextval('payments_id_seq'), new_booking_id, total_cost, 'PENDING', p_created_at)
+    RETURNING id INTO new_payment_id;
+
+    outcome := 'CREATED';
+    RETURN NEXT;
+END;
+$$ LANGUAGE plpgsql;
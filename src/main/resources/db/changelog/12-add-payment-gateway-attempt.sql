@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset taras:18-add-payment-gateway-attempt-id
+-- Identifies the current gateway submission; callbacks of earlier attempts are not applied.
+ALTER TABLE payments
+    ADD COLUMN gateway_attempt_id VARCHAR(36);
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset taras:19-add-payments-outstanding-index
+-- Keyset pages of outstanding payments for the reconciliation job.
+CREATE INDEX idx_payments_outstanding ON payments (id)
+    WHERE status IN ('PENDING', 'PROCESSING');
@@ -0,0 +1,84 @@
+package com.tarasantoniuk.booking.contention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UnitContentionTracker Unit Tests")
+class UnitContentionTrackerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UnitContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new UnitContentionTracker(meterRegistry, 4, 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should rank units by total lock-wait time")
+    void shouldRankUnitsByWaitTime() {
+        // Given
+        tracker.recordLockWait(1L, 5 * MS);
+        tracker.recordLockWait(2L, 50 * MS);
+        tracker.recordLockWait(2L, 30 * MS);
+        tracker.recordLockWait(3L, 15 * MS);
+
+        // When
+        List<HotUnit> hot = tracker.hotUnits(2);
+
+        // Then
+        assertThat(hot).extracting(HotUnit::unitId).containsExactly(2L, 3L);
+        assertThat(hot.get(0).lockWaitMs()).isEqualTo(80.0);
+        assertThat(hot.get(0).acquisitions()).isEqualTo(2);
+        assertThat(hot.get(0).maxWaitMs()).isEqualTo(50.0);
+        assertThat(hot.get(0).share()).isEqualTo(0.8);
+        assertThat(meterRegistry.get("booking.unit.lock.wait").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep the heavy hitter when many cold units exceed capacity")
+    void shouldKeepHeavyHitterBeyondCapacity() {
+        // Given - one hot unit among 1000 units with single short waits, 4 counters
+        for (long unitId = 100; unitId < 1100; unitId++) {
+            tracker.recordLockWait(unitId, MS);
+            if (unitId % 10 == 0) {
+                tracker.recordLockWait(7L, 20 * MS);
+            }
+        }
+
+        // When
+        HotUnit top = tracker.hotUnits(1).get(0);
+
+        // Then - true wait is 2000 ms; the estimate never underestimates and error bounds the overestimate
+        assertThat(top.unitId()).isEqualTo(7L);
+        assertThat(top.lockWaitMs()).isGreaterThanOrEqualTo(2000.0);
+        assertThat(top.lockWaitMs() - top.errorMs()).isLessThanOrEqualTo(2000.0);
+    }
+
+    @Test
+    @DisplayName("Should decay waits and publish top units as gauges")
+    void shouldDecayAndPublishGauges() {
+        // Given - half-life equals the decay interval
+        tracker.recordLockWait(1L, 100 * MS);
+        tracker.recordLockWait(2L, 10 * MS);
+        tracker.recordLockWait(3L, 1 * MS);
+
+        // When
+        tracker.decayAndPublish();
+
+        // Then
+        assertThat(tracker.hotUnits(1).get(0).lockWaitMs()).isEqualTo(50.0);
+        assertThat(meterRegistry.get("booking.unit.lock.hot.wait").tag("unit", "1").gauge().value()).isEqualTo(50.0);
+        assertThat(meterRegistry.get("booking.unit.lock.hot.wait").gauges()).hasSize(2);
+    }
+}
@@ -1,10 +1,23 @@
 package com.tarasantoniuk.booking.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.tarasantoniuk.booking.dto.BookingResponseDto;
 import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
+import com.tarasantoniuk.booking.dto.ReservationHoldDto;
 import com.tarasantoniuk.booking.enums.BookingStatus;
+import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
 import com.tarasantoniuk.booking.service.BookingService;
+import com.tarasantoniuk.booking.service.ReservationHoldService;
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.common.idempotency.IdempotencyService;
+import com.tarasantoniuk.common.idempotency.IdempotentRequestInProgressException;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.enums.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -15,21 +28,30 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -46,6 +68,22 @@ class BookingControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private ReservationHoldService reservationHoldService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private EntityVersionService entityVersionService;
+
+    @BeforeEach
+    void setUp() {
+        // Run the controller action directly
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(inv.<Supplier<?>>getArgument(4).get()));
+    }
+
     @Test
     @DisplayName("Should create booking and return 201")
     void shouldCreateBookingAndReturn201() throws Exception {
@@ -69,9 +107,13 @@ class BookingControllerTest {
         when(bookingService.createBooking(any(CreateBookingRequestDto.class))).thenReturn(response);
 
         // When & Then
-        mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.status").value("PENDING"))
@@ -80,6 +122,103 @@ class BookingControllerTest {
         verify(bookingService).createBooking(any(CreateBookingRequestDto.class));
     }
 
+    @Test
+    @DisplayName("Should pass Idempotency-Key to idempotency service")
+    void shouldPassIdempotencyKey() throws Exception {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setUnitId(1L);
+        request.setUserId(1L);
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+
+        when(bookingService.createBooking(any(CreateBookingRequestDto.class))).thenReturn(new BookingResponseDto());
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isCreated());
+
+        verify(idempotencyService).execute(eq("booking-create"), eq("retry-1"),
+                any(CreateBookingRequestDto.class), eq(BookingResponseDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when duplicate request is still in progress after the wait")
+    void shouldReturn409WhenDuplicateInProgress() throws Exception {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setUnitId(1L);
+        request.setUserId(1L);
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+
+        doReturn(CompletableFuture.failedFuture(new IdempotentRequestInProgressException("still processing")))
+                .when(idempotencyService).execute(any(), any(), any(), any(), any());
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("still processing"));
+
+        verify(bookingService, never()).createBooking(any());
+    }
+
+    @Test
+    @DisplayName("Should consume and produce CBOR when negotiated")
+    void shouldCreateBookingWithCbor() throws Exception {
+        // Given
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setUnitId(1L);
+        request.setUserId(1L);
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+
+        BookingResponseDto response = new BookingResponseDto();
+        response.setId(1L);
+        response.setStartDate(request.getStartDate());
+        response.setStatus(BookingStatus.PENDING);
+
+        when(bookingService.createBooking(any(CreateBookingRequestDto.class))).thenReturn(response);
+
+        // When
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - dates use the same ISO format as JSON
+        JsonNode created = cborMapper.readTree(body);
+        assertThat(created.get("id").asLong()).isEqualTo(1L);
+        assertThat(created.get("startDate").asText()).isEqualTo(request.getStartDate().toString());
+
+        ArgumentCaptor<CreateBookingRequestDto> captor = ArgumentCaptor.forClass(CreateBookingRequestDto.class);
+        verify(bookingService).createBooking(captor.capture());
+        assertThat(captor.getValue().getEndDate()).isEqualTo(request.getEndDate());
+    }
+
     @Test
     @DisplayName("Should get booking by id")
     void shouldGetBookingById() throws Exception {
@@ -102,6 +241,34 @@ class BookingControllerTest {
         verify(bookingService).getBookingById(1L);
     }
 
+    @Test
+    @DisplayName("Should return 304 without loading booking when ETag matches")
+    void shouldReturnNotModifiedWhenBookingETagMatches() throws Exception {
+        // Given
+        String eTag = "W/\"booking-7e21\"";
+        when(entityVersionService.bookingETag(1L)).thenReturn(Optional.of(eTag));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(bookingService, never()).getBookingById(any());
+    }
+
+    @Test
+    @DisplayName("Should not attach ETag to error response")
+    void shouldNotAttachETagToErrorResponse() throws Exception {
+        // Given
+        when(entityVersionService.bookingETag(99L)).thenReturn(Optional.of("W/\"booking-7e21\""));
+        when(bookingService.getBookingById(99L)).thenThrow(new ResourceNotFoundException("Booking not found"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     @DisplayName("Should get all bookings for a user with pagination")
     void shouldGetAllBookingsForUser() throws Exception {
@@ -186,4 +353,82 @@ class BookingControllerTest {
 
         verify(bookingService).cancelBooking(1L, 1L);
     }
+
+    @Test
+    @DisplayName("Should place hold and return 201")
+    void shouldPlaceHoldAndReturn201() throws Exception {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        ReservationHoldDto hold = new ReservationHoldDto("1-abc", 1L, 1L, request.getStartDate(),
+                request.getEndDate(), new BigDecimal("230.00"), Instant.parse("2026-01-25T10:45:00Z"));
+        when(reservationHoldService.placeHold(any(CreateBookingRequestDto.class))).thenReturn(hold);
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId").value("1-abc"))
+                .andExpect(jsonPath("$.totalCost").value(230.00));
+
+        verify(idempotencyService).execute(eq("booking-hold"), any(), any(), eq(ReservationHoldDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when dates are already held")
+    void shouldReturn409WhenDatesAlreadyHeld() throws Exception {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        when(reservationHoldService.placeHold(any(CreateBookingRequestDto.class)))
+                .thenThrow(new UnitNotAvailableException("Unit is held for selected dates by another booking attempt"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should pay for hold and return the completed payment")
+    void shouldPayForHold() throws Exception {
+        // Given
+        PaymentResponseDto payment = new PaymentResponseDto(5L, 1L, new BigDecimal("230.00"),
+                PaymentStatus.COMPLETED, LocalDateTime.now());
+        when(reservationHoldService.payHold("1-abc", 1L)).thenReturn(payment);
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/bookings/holds/1-abc/payment")
+                        .param("userId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(1))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an expired hold and release a live one")
+    void shouldGetAndReleaseHold() throws Exception {
+        // Given
+        when(reservationHoldService.getHold("1-gone"))
+                .thenThrow(new ResourceNotFoundException("Hold not found or expired: 1-gone"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/holds/1-gone"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/bookings/holds/1-abc")
+                        .param("userId", "1"))
+                .andExpect(status().isNoContent());
+
+        verify(reservationHoldService).cancelHold("1-abc", 1L);
+    }
 }
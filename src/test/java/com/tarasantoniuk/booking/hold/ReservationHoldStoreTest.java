@@ -0,0 +1,193 @@
+package com.tarasantoniuk.booking.hold;
+
+import com.tarasantoniuk.common.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.redis.DataRedisTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua scripts of ReservationHoldStore against a real Redis 7 (Testcontainers).
+ */
+@DataRedisTest
+@Import(ReservationHoldStore.class)
+@DisplayName("ReservationHoldStore Tests")
+class ReservationHoldStoreTest extends AbstractIntegrationTest {
+
+    private static final Long UNIT_ID = 7001L;
+    private static final Long USER_ID = 1L;
+    private static final BigDecimal COST = new BigDecimal("230.00");
+    private static final Duration TTL = Duration.ofMinutes(15);
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 10);
+
+    @Autowired
+    private ReservationHoldStore reservationHoldStore;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.delete(List.of(ReservationHoldStore.key(UNIT_ID), ReservationHoldStore.key(UNIT_ID + 1),
+                ReservationHoldStore.key(UNIT_ID + 2), ReservationHoldStore.INDEX_KEY));
+    }
+
+    @Test
+    @DisplayName("Should reject overlapping ranges, inclusive of both ends, and accept adjacent ones")
+    void shouldRejectOverlappingAndAcceptAdjacentRanges() {
+        // Given
+        Optional<ReservationHold> first = place(DAY, DAY.plusDays(2), TTL);
+
+        // When & Then
+        assertThat(first).isPresent();
+        assertThat(first.get().holdId()).startsWith(UNIT_ID + "-");
+        assertThat(place(DAY.plusDays(2), DAY.plusDays(4), TTL)).isEmpty();
+        assertThat(place(DAY.minusDays(3), DAY, TTL)).isEmpty();
+        assertThat(place(DAY.plusDays(1), DAY.plusDays(1), TTL)).isEmpty();
+        assertThat(place(DAY.plusDays(3), DAY.plusDays(5), TTL)).isPresent();
+        assertThat(place(DAY.minusDays(2), DAY.minusDays(1), TTL)).isPresent();
+        assertThat(reservationHoldStore.hasOverlappingHold(UNIT_ID, DAY.plusDays(2), DAY.plusDays(2))).isTrue();
+        assertThat(reservationHoldStore.hasOverlappingHold(UNIT_ID, DAY.plusDays(6), DAY.plusDays(8))).isFalse();
+        assertThat(reservationHoldStore.find(first.get().holdId())).contains(first.get());
+    }
+
+    @Test
+    @DisplayName("Should evict an expired hold and let its dates be held again")
+    void shouldEvictExpiredHold() throws InterruptedException {
+        // Given
+        ReservationHold expiring = place(DAY, DAY.plusDays(2), Duration.ofMillis(200)).orElseThrow();
+        place(DAY.plusDays(5), DAY.plusDays(6), TTL).orElseThrow();
+        Thread.sleep(400);
+
+        // When
+        Optional<ReservationHold> replacement = place(DAY.plusDays(1), DAY.plusDays(3), TTL);
+
+        // Then
+        assertThat(replacement).isPresent();
+        assertThat(reservationHoldStore.find(expiring.holdId())).isEmpty();
+        assertThat(reservationHoldStore.claim(expiring.holdId(), Duration.ofMinutes(1))).isEmpty();
+        assertThat(stringRedisTemplate.opsForHash().hasKey(ReservationHoldStore.key(UNIT_ID), expiring.holdId()))
+                .isFalse();
+        assertThat(stringRedisTemplate.opsForHash().size(ReservationHoldStore.key(UNIT_ID))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the unit hash alive until its latest hold expires")
+    void shouldExpireHashWithLatestHold() {
+        // Given
+        place(DAY, DAY, TTL).orElseThrow();
+
+        // When - a shorter hold must not shorten the hash TTL
+        place(DAY.plusDays(1), DAY.plusDays(1), Duration.ofSeconds(5)).orElseThrow();
+
+        // Then
+        Long ttlMillis = stringRedisTemplate.getExpire(ReservationHoldStore.key(UNIT_ID), TimeUnit.MILLISECONDS);
+        assertThat(ttlMillis).isBetween(TTL.minusSeconds(10).toMillis(), TTL.toMillis());
+    }
+
+    @Test
+    @DisplayName("Should extend a claimed hold and its hash to live at least the claim margin")
+    void shouldExtendClaimedHold() {
+        // Given
+        ReservationHold hold = place(DAY, DAY.plusDays(2), Duration.ofSeconds(2)).orElseThrow();
+
+        // When
+        Optional<ReservationHold> claimed = reservationHoldStore.claim(hold.holdId(), Duration.ofMinutes(1));
+
+        // Then
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().userId()).isEqualTo(USER_ID);
+        assertThat(claimed.get().totalCost()).isEqualByComparingTo(COST);
+        assertThat(claimed.get().expiresAt()).isAfter(Instant.now().plusSeconds(50));
+        assertThat(reservationHoldStore.find(hold.holdId()).orElseThrow().expiresAt())
+                .isEqualTo(claimed.get().expiresAt());
+        assertThat(stringRedisTemplate.getExpire(ReservationHoldStore.key(UNIT_ID), TimeUnit.SECONDS))
+                .isGreaterThan(50);
+        assertThat(reservationHoldStore.claim(UNIT_ID + "-unknown", Duration.ofMinutes(1))).isEmpty();
+        assertThat(reservationHoldStore.claim("not-a-hold", Duration.ofMinutes(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of concurrent attempts hold the same dates")
+    void shouldLetExactlyOneConcurrentAttemptWin() throws Exception {
+        // Given
+        int attempts = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        try {
+            List<Future<Optional<ReservationHold>>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                LocalDate startDate = DAY.plusDays(i % 2);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return place(startDate, startDate.plusDays(2), TTL);
+                }));
+            }
+
+            // When
+            start.countDown();
+            int won = 0;
+            for (Future<Optional<ReservationHold>> result : results) {
+                won += result.get(10, TimeUnit.SECONDS).isPresent() ? 1 : 0;
+            }
+
+            // Then
+            assertThat(won).isEqualTo(1);
+            assertThat(stringRedisTemplate.opsForHash().size(ReservationHoldStore.key(UNIT_ID))).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release a hold and free its dates")
+    void shouldReleaseHold() {
+        // Given
+        ReservationHold hold = place(DAY, DAY.plusDays(2), TTL).orElseThrow();
+
+        // When
+        reservationHoldStore.release(hold);
+
+        // Then
+        assertThat(reservationHoldStore.find(hold.holdId())).isEmpty();
+        assertThat(place(DAY, DAY.plusDays(2), TTL)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should list units with live holds overlapping the range and drop released and expired ones")
+    void shouldListHeldUnits() throws InterruptedException {
+        // Given
+        place(DAY, DAY.plusDays(2), TTL).orElseThrow();
+        ReservationHold released = reservationHoldStore.place(UNIT_ID + 1, USER_ID, DAY, DAY, COST, TTL).orElseThrow();
+        reservationHoldStore.place(UNIT_ID + 2, USER_ID, DAY, DAY, COST, Duration.ofMillis(200)).orElseThrow();
+        reservationHoldStore.release(released);
+        Thread.sleep(400);
+
+        // When & Then
+        assertThat(reservationHoldStore.heldUnitIds(DAY.plusDays(2), DAY.plusDays(5))).containsExactly(UNIT_ID);
+        assertThat(reservationHoldStore.heldUnitIds(DAY.plusDays(3), DAY.plusDays(5))).isEmpty();
+        assertThat(stringRedisTemplate.opsForZSet().size(ReservationHoldStore.INDEX_KEY)).isEqualTo(1L);
+    }
+
+    private Optional<ReservationHold> place(LocalDate startDate, LocalDate endDate, Duration ttl) {
+        return reservationHoldStore.place(UNIT_ID, USER_ID, startDate, endDate, COST, ttl);
+    }
+}
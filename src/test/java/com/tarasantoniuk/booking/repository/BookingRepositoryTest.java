@@ -1,8 +1,11 @@
 package com.tarasantoniuk.booking.repository;
 
+import com.tarasantoniuk.booking.dto.BookingCreationResult;
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
 import com.tarasantoniuk.common.AbstractIntegrationTest;
+import com.tarasantoniuk.payment.enums.PaymentStatus;
+import com.tarasantoniuk.payment.repository.PaymentRepository;
 import com.tarasantoniuk.unit.entity.Unit;
 import com.tarasantoniuk.unit.enums.AccommodationType;
 import com.tarasantoniuk.unit.repository.UnitRepository;
@@ -14,12 +17,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -40,6 +49,12 @@ class BookingRepositoryTest extends AbstractIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
     private User testUser;
     private Unit testUnit;
 
@@ -325,6 +340,42 @@ class BookingRepositoryTest extends AbstractIntegrationTest {
         assertThat(confirmedConflicts).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Should create booking and payment in one create_booking call and report failed checks")
+    void shouldCreateBookingWithPaymentInDatabaseFunction() throws Exception {
+        // Given - schema comes from ddl-auto here, so add the function the Liquibase changeset adds
+        new JdbcTemplate(dataSource).execute(new ClassPathResource("db/changelog/11-add-create-booking-function.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(3);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        // When
+        BookingCreationResult created = bookingRepository.createBookingWithPayment(testUnit.getId(), testUser.getId(),
+                start, end, createdAt, createdAt.plusMinutes(15), MARKUP_MULTIPLIER);
+        BookingCreationResult overlapping = bookingRepository.createBookingWithPayment(testUnit.getId(),
+                testUser.getId(), end, end.plusDays(1), createdAt, createdAt.plusMinutes(15), MARKUP_MULTIPLIER);
+        BookingCreationResult unknownUnit = bookingRepository.createBookingWithPayment(-1L, testUser.getId(),
+                start, end, createdAt, createdAt.plusMinutes(15), MARKUP_MULTIPLIER);
+
+        // Then - 100.00 for 2 nights + 15% markup
+        assertThat(created.getOutcome()).isEqualTo(BookingCreationResult.CREATED);
+        assertThat(created.getTotalCost()).isEqualByComparingTo("230.00");
+        assertThat(created.getLockWaitMicros()).isNotNull();
+        Booking booking = bookingRepository.findById(created.getBookingId()).orElseThrow();
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(booking.getStartDate()).isEqualTo(start);
+        assertThat(paymentRepository.findById(created.getPaymentId()))
+                .hasValueSatisfying(payment -> {
+                    assertThat(payment.getBooking().getId()).isEqualTo(created.getBookingId());
+                    assertThat(payment.getAmount()).isEqualByComparingTo("230.00");
+                    assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+                });
+        assertThat(overlapping.getOutcome()).isEqualTo(BookingCreationResult.UNAVAILABLE);
+        assertThat(overlapping.getBookingId()).isNull();
+        assertThat(unknownUnit.getOutcome()).isEqualTo(BookingCreationResult.UNIT_NOT_FOUND);
+    }
+
     private Booking createBooking(BookingStatus status, LocalDate startDate, LocalDate endDate) {
         Booking booking = new Booking();
         booking.setUser(testUser);
@@ -1,23 +1,31 @@
 package com.tarasantoniuk.booking.scheduler;
 
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.event.BookingsExpiredEvent;
 import com.tarasantoniuk.booking.repository.BookingRepository;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
 import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +33,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("BookingExpirationScheduler Unit Tests")
 class BookingExpirationSchedulerTest {
 
+    private static final int PARTITIONS = 4;
+
     @Mock
     private BookingRepository bookingRepository;
 
@@ -34,145 +44,167 @@ class BookingExpirationSchedulerTest {
     @Mock
     private UnitStatisticsService unitStatisticsService;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExpirationPartitionCoordinator partitionCoordinator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private BookingExpirationScheduler bookingExpirationScheduler;
 
+    @BeforeEach
+    void setUp() {
+        bookingExpirationScheduler = new BookingExpirationScheduler(bookingRepository, eventService,
+                unitStatisticsService, eventPublisher, partitionCoordinator, transactionManager, meterRegistry);
+        lenient().when(partitionCoordinator.getPartitions()).thenReturn(PARTITIONS);
+        lenient().when(bookingRepository.tryLockExpirationPartition(anyInt(), anyInt())).thenReturn(true);
+    }
+
     @Test
-    @DisplayName("Should cancel expired bookings using bulk UPDATE")
+    @DisplayName("Should cancel expired bookings of the owned partition using bulk UPDATE")
     void shouldCancelExpiredBookingsSuccessfully() {
         // Given
         List<Long> expiredIds = List.of(1L, 2L);
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(1));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(1)))
                 .thenReturn(expiredIds);
-        when(bookingRepository.bulkCancelExpiredBookings(any(LocalDateTime.class)))
-                .thenReturn(2);
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        verify(bookingRepository).findExpiredPendingBookingIds(any(LocalDateTime.class));
-        verify(bookingRepository).bulkCancelExpiredBookings(any(LocalDateTime.class));
+        verify(bookingRepository).tryLockExpirationPartition(BookingExpirationScheduler.EXPIRATION_LOCK_CLASS, 1);
         verify(eventService).createEventsInBatch(eq(EventType.BOOKING_EXPIRED), eq(expiredIds));
         verify(unitStatisticsService).invalidateAvailableUnitsCache();
+        verify(transactionManager).commit(any());
     }
 
     @Test
-    @DisplayName("Should do nothing when no expired bookings found")
-    void shouldDoNothingWhenNoExpiredBookings() {
+    @DisplayName("Should publish freed date ranges of expired bookings")
+    void shouldPublishExpiredDateRanges() {
         // Given
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        List<Long> expiredIds = List.of(1L);
+        List<BookingDateRange> ranges = List.of(
+                new BookingDateRange(1L, 10L, LocalDate.of(2026, 3, 30), LocalDate.of(2026, 4, 2)));
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(2));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(2)))
+                .thenReturn(expiredIds);
+        when(bookingRepository.findDateRangesByIds(expiredIds)).thenReturn(ranges);
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        verify(bookingRepository).findExpiredPendingBookingIds(any(LocalDateTime.class));
-        verify(bookingRepository, never()).bulkCancelExpiredBookings(any());
-        verify(eventService, never()).createEventsInBatch(any(), any());
-        verify(unitStatisticsService, never()).invalidateAvailableUnitsCache();
+        verify(eventPublisher).publishEvent(new BookingsExpiredEvent(ranges));
     }
 
     @Test
-    @DisplayName("Should cancel single expired booking using bulk UPDATE")
-    void shouldCancelOnlyOneExpiredBooking() {
+    @DisplayName("Should do nothing when no expired bookings found")
+    void shouldDoNothingWhenNoExpiredBookings() {
         // Given
-        List<Long> expiredIds = List.of(1L);
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(expiredIds);
-        when(bookingRepository.bulkCancelExpiredBookings(any(LocalDateTime.class)))
-                .thenReturn(1);
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(0, 1));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        verify(bookingRepository).bulkCancelExpiredBookings(any(LocalDateTime.class));
-        verify(eventService).createEventsInBatch(EventType.BOOKING_EXPIRED, expiredIds);
+        verify(bookingRepository, times(2)).cancelExpiredInPartition(any(LocalDateTime.class), anyInt(), anyInt());
+        verify(eventService, never()).createEventsInBatch(any(), any());
+        verify(unitStatisticsService, never()).invalidateAvailableUnitsCache();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    @DisplayName("Should cancel multiple expired bookings using single bulk UPDATE")
-    void shouldCancelMultipleExpiredBookingsInBatch() {
+    @DisplayName("Should sweep only the partitions owned by this node, each in its own transaction")
+    void shouldSweepOnlyOwnedPartitions() {
         // Given
-        List<Long> expiredIds = List.of(1L, 2L, 3L, 4L, 5L);
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(expiredIds);
-        when(bookingRepository.bulkCancelExpiredBookings(any(LocalDateTime.class)))
-                .thenReturn(5);
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(1, 3));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(1)))
+                .thenReturn(List.of(1L));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(3)))
+                .thenReturn(List.of(3L, 7L));
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        verify(bookingRepository, times(1)).bulkCancelExpiredBookings(any(LocalDateTime.class));
-        verify(eventService, times(1)).createEventsInBatch(eq(EventType.BOOKING_EXPIRED), eq(expiredIds));
+        verify(bookingRepository, never()).cancelExpiredInPartition(any(), anyInt(), eq(0));
+        verify(bookingRepository, never()).cancelExpiredInPartition(any(), anyInt(), eq(2));
+        verify(eventService).createEventsInBatch(EventType.BOOKING_EXPIRED, List.of(1L));
+        verify(eventService).createEventsInBatch(EventType.BOOKING_EXPIRED, List.of(3L, 7L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(unitStatisticsService, times(1)).invalidateAvailableUnitsCache();
     }
 
     @Test
-    @DisplayName("Should use current time when checking for expired bookings")
-    void shouldUseCurrentTimeWhenCheckingForExpiredBookings() {
+    @DisplayName("Should skip a partition whose advisory lock is held by another node")
+    void shouldSkipLockedPartition() {
         // Given
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(0, 1));
+        when(bookingRepository.tryLockExpirationPartition(anyInt(), eq(0))).thenReturn(false);
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(1)))
+                .thenReturn(List.of(5L));
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        ArgumentCaptor<LocalDateTime> timeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        verify(bookingRepository).findExpiredPendingBookingIds(timeCaptor.capture());
-
-        LocalDateTime capturedTime = timeCaptor.getValue();
-        assertThat(capturedTime).isBetween(
-                LocalDateTime.now().minusSeconds(5),
-                LocalDateTime.now().plusSeconds(5)
-        );
+        verify(bookingRepository, never()).cancelExpiredInPartition(any(), anyInt(), eq(0));
+        verify(eventService).createEventsInBatch(EventType.BOOKING_EXPIRED, List.of(5L));
+        assertThat(sweeps("locked")).isEqualTo(1);
+        assertThat(sweeps("swept")).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("Should use same timestamp for finding IDs and bulk cancel")
-    void shouldUseSameTimestampForFindAndCancel() {
+    @DisplayName("Should roll back a failed partition and continue with the others")
+    void shouldContinueAfterFailedPartition() {
         // Given
-        List<Long> expiredIds = List.of(1L, 2L);
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(expiredIds);
-        when(bookingRepository.bulkCancelExpiredBookings(any(LocalDateTime.class)))
-                .thenReturn(2);
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(0, 1));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(0)))
+                .thenThrow(new RuntimeException("Database error"));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), eq(PARTITIONS), eq(1)))
+                .thenReturn(List.of(5L));
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        ArgumentCaptor<LocalDateTime> findTimeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        ArgumentCaptor<LocalDateTime> cancelTimeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-
-        verify(bookingRepository).findExpiredPendingBookingIds(findTimeCaptor.capture());
-        verify(bookingRepository).bulkCancelExpiredBookings(cancelTimeCaptor.capture());
-
-        assertThat(findTimeCaptor.getValue()).isEqualTo(cancelTimeCaptor.getValue());
+        verify(transactionManager).rollback(any());
+        verify(eventService).createEventsInBatch(EventType.BOOKING_EXPIRED, List.of(5L));
+        assertThat(sweeps("failed")).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.expiration.sweep").timer().count()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("Should create events in batch for all cancelled bookings")
-    void shouldCreateEventsInBatchForAllCancelledBookings() {
+    @DisplayName("Should use the same current timestamp for every partition")
+    void shouldUseSameCurrentTimeForAllPartitions() {
         // Given
-        List<Long> expiredIds = List.of(1L, 2L, 3L);
-        when(bookingRepository.findExpiredPendingBookingIds(any(LocalDateTime.class)))
-                .thenReturn(expiredIds);
-        when(bookingRepository.bulkCancelExpiredBookings(any(LocalDateTime.class)))
-                .thenReturn(3);
+        when(partitionCoordinator.claimPartitions()).thenReturn(List.of(0, 2));
+        when(bookingRepository.cancelExpiredInPartition(any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
 
         // When
         bookingExpirationScheduler.cancelExpiredBookings();
 
         // Then
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Long>> idCaptor = ArgumentCaptor.forClass(List.class);
-        verify(eventService, times(1)).createEventsInBatch(eq(EventType.BOOKING_EXPIRED), idCaptor.capture());
+        ArgumentCaptor<LocalDateTime> timeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository, times(2)).cancelExpiredInPartition(timeCaptor.capture(), anyInt(), anyInt());
+
+        assertThat(timeCaptor.getAllValues().get(0)).isEqualTo(timeCaptor.getAllValues().get(1));
+        assertThat(timeCaptor.getValue()).isBetween(
+                LocalDateTime.now().minusSeconds(5),
+                LocalDateTime.now().plusSeconds(5)
+        );
+    }
 
-        List<Long> capturedIds = idCaptor.getValue();
-        assertThat(capturedIds).containsExactlyInAnyOrder(1L, 2L, 3L);
+    private double sweeps(String result) {
+        return meterRegistry.get("booking.expiration.partition.sweeps").tag("result", result).counter().count();
     }
 }
@@ -0,0 +1,120 @@
+package com.tarasantoniuk.booking.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationPartitionCoordinator Unit Tests")
+class ExpirationPartitionCoordinatorTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExpirationPartitionCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new ExpirationPartitionCoordinator(stringRedisTemplate, meterRegistry, 8, Duration.ofMinutes(3));
+        lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("Should split partitions round-robin across sorted live nodes")
+    void shouldAssignPartitionsRoundRobin() {
+        // When & Then
+        assertThat(ExpirationPartitionCoordinator.assign(8, 3, 0)).containsExactly(0, 3, 6);
+        assertThat(ExpirationPartitionCoordinator.assign(8, 3, 1)).containsExactly(1, 4, 7);
+        assertThat(ExpirationPartitionCoordinator.assign(8, 3, 2)).containsExactly(2, 5);
+        assertThat(ExpirationPartitionCoordinator.assign(8, 1, 0)).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("Should heartbeat, drop silent members and claim this node's share")
+    void shouldClaimShareOfPartitions() {
+        // Given - this node sorts second of two
+        members("-first-node", coordinator.getNodeId());
+
+        // When
+        List<Integer> owned = coordinator.claimPartitions();
+
+        // Then
+        assertThat(owned).containsExactly(1, 3, 5, 7);
+        verify(zSetOperations).add(eq(ExpirationPartitionCoordinator.MEMBERS_KEY), eq(coordinator.getNodeId()), anyDouble());
+        verify(zSetOperations).removeRangeByScore(eq(ExpirationPartitionCoordinator.MEMBERS_KEY), eq(0.0), anyDouble());
+        assertThat(meterRegistry.get("booking.expiration.nodes").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("booking.expiration.partitions.owned").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should count a rebalance only when owned partitions change")
+    void shouldCountRebalances() {
+        // Given
+        members(coordinator.getNodeId());
+        coordinator.claimPartitions();
+        coordinator.claimPartitions();
+
+        // When - a second node joins
+        members(coordinator.getNodeId(), "~last-node");
+        List<Integer> owned = coordinator.claimPartitions();
+
+        // Then
+        assertThat(owned).containsExactly(0, 2, 4, 6);
+        assertThat(meterRegistry.get("booking.expiration.rebalances").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should sweep all partitions when Redis is unavailable")
+    void shouldClaimAllPartitionsWhenRedisUnavailable() {
+        // Given
+        when(zSetOperations.add(anyString(), anyString(), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // When
+        List<Integer> owned = coordinator.claimPartitions();
+
+        // Then
+        assertThat(owned).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    @DisplayName("Should leave the membership on shutdown")
+    void shouldLeaveOnShutdown() {
+        // When
+        coordinator.leave();
+
+        // Then
+        verify(zSetOperations).remove(ExpirationPartitionCoordinator.MEMBERS_KEY, coordinator.getNodeId());
+    }
+
+    private void members(String... nodeIds) {
+        Set<String> members = new LinkedHashSet<>(List.of(nodeIds));
+        when(zSetOperations.range(ExpirationPartitionCoordinator.MEMBERS_KEY, 0, -1)).thenReturn(members);
+    }
+}
@@ -0,0 +1,183 @@
+package com.tarasantoniuk.booking.service;
+
+import com.tarasantoniuk.booking.contention.UnitContentionTracker;
+import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.AbstractIntegrationTest;
+import com.tarasantoniuk.payment.repository.PaymentRepository;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.user.entity.User;
+import com.tarasantoniuk.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking creation through JPA (lock, load user, conflict query, insert booking, load booking,
+ * insert payment) against the {@code create_booking} database function (one call). Each booking
+ * runs in its own transaction, including the after-commit listeners, like a request would.
+ * <p>
+ * Latency: one thread booking many units. Lock hold time: several threads booking distinct dates
+ * of one unit, which serialize on its row lock, so wall time per booking is the time the lock is held.
+ * Excluded from {@code gradle test}; run with {@code gradle benchmark} (needs Docker).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@DisplayName("Booking Creation Benchmark")
+class BookingCreationBenchmark extends AbstractIntegrationTest {
+
+    private static final int UNITS = 200;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+    private static final int CONTENDED_THREADS = 8;
+    private static final int CONTENDED_BOOKINGS = 1000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UnitContentionTracker unitContentionTracker;
+
+    @Autowired
+    private ReservationHoldStore reservationHoldStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should measure booking creation latency and unit lock hold time of both modes")
+    void measureBookingCreation() throws Exception {
+        // Schema comes from ddl-auto here, so add the function the Liquibase changeset adds
+        new JdbcTemplate(dataSource).execute(new ClassPathResource("db/changelog/11-add-create-booking-function.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        User user = createUser();
+        Long userId = user.getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        System.out.printf("%n%-10s %10s %10s %10s %22s%n", "mode", "p50", "p95", "p99", "lock hold (hot unit)");
+        for (BookingService.CreateMode mode : BookingService.CreateMode.values()) {
+            BookingService bookingService = new BookingService(bookingRepository, unitRepository, userRepository,
+                    eventPublisher, unitContentionTracker, reservationHoldStore, mode);
+            List<Long> unitIds = createUnits(user);
+            BookingAttempt book = (unitId, offset) -> transactionTemplate.executeWithoutResult(status ->
+                    bookingService.createBooking(new CreateBookingRequestDto(unitId, userId,
+                            FIRST_DATE.plusDays(2L * offset), FIRST_DATE.plusDays(2L * offset))));
+
+            long payments = paymentRepository.count();
+            long[] nanos = measureLatency(book, unitIds);
+            double lockHoldMs = measureLockHold(book, unitIds.get(0));
+            assertThat(paymentRepository.count() - payments).isEqualTo(WARMUP + ITERATIONS + CONTENDED_BOOKINGS);
+
+            System.out.printf("%-10s %8.2fms %8.2fms %8.2fms %20.2fms%n", mode,
+                    nanos[ITERATIONS / 2] / 1_000_000.0, nanos[ITERATIONS * 95 / 100] / 1_000_000.0,
+                    nanos[ITERATIONS * 99 / 100] / 1_000_000.0, lockHoldMs);
+        }
+    }
+
+    private static long[] measureLatency(BookingAttempt book, List<Long> unitIds) {
+        for (int i = 0; i < WARMUP; i++) {
+            book.create(unitIds.get(i % UNITS), i / UNITS);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            int attempt = WARMUP + i;
+            long start = System.nanoTime();
+            book.create(unitIds.get(attempt % UNITS), attempt / UNITS);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double measureLockHold(BookingAttempt book, Long hotUnitId) throws Exception {
+        // Dates after the ones booked by the latency run
+        int firstOffset = (WARMUP + ITERATIONS) / UNITS + 1;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDED_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < CONTENDED_THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < CONTENDED_BOOKINGS) {
+                        book.create(hotUnitId, firstOffset + i);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return (System.nanoTime() - start) / 1_000_000.0 / CONTENDED_BOOKINGS;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setUsername("bench-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@test.com");
+        return userRepository.save(user);
+    }
+
+    private List<Long> createUnits(User owner) {
+        List<Unit> units = new ArrayList<>(UNITS);
+        for (int i = 0; i < UNITS; i++) {
+            Unit unit = new Unit();
+            unit.setOwner(owner);
+            unit.setNumberOfRooms(1 + i % 5);
+            unit.setAccommodationType(AccommodationType.FLAT);
+            unit.setFloor(i % 10);
+            unit.setBaseCost(new BigDecimal("100.00"));
+            unit.setDescription("Benchmark unit " + i);
+            units.add(unit);
+        }
+        return unitRepository.saveAll(units).stream().map(Unit::getId).toList();
+    }
+
+    @FunctionalInterface
+    private interface BookingAttempt {
+        void create(Long unitId, int dateOffset);
+    }
+}
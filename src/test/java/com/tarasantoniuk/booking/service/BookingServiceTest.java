@@ -1,11 +1,15 @@
 package com.tarasantoniuk.booking.service;
 
+import com.tarasantoniuk.booking.contention.UnitContentionTracker;
+import com.tarasantoniuk.booking.dto.BookingCreationResult;
 import com.tarasantoniuk.booking.dto.BookingResponseDto;
 import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
 import com.tarasantoniuk.booking.event.BookingEvent;
 import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
+import com.tarasantoniuk.booking.hold.ReservationHold;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
 import com.tarasantoniuk.booking.repository.BookingRepository;
 import com.tarasantoniuk.common.TestFixtures;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
@@ -17,7 +21,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
@@ -26,6 +29,8 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static com.tarasantoniuk.booking.config.PricingConstants.MARKUP_MULTIPLIER;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,7 +58,12 @@ class BookingServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
+    @Mock
+    private UnitContentionTracker unitContentionTracker;
+
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+
     private BookingService bookingService;
 
     private User testUser;
@@ -61,6 +72,7 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
+        bookingService = bookingService(BookingService.CreateMode.JPA);
         testUser = TestFixtures.createTestUser();
         testUnit = TestFixtures.createTestUnit();
         testBooking = TestFixtures.createTestBooking(testUnit, testUser);
@@ -90,6 +102,7 @@ class BookingServiceTest {
         assertThat(response.getStatus()).isEqualTo(BookingStatus.PENDING);
 
         verify(unitRepository).findByIdWithLock(1L);
+        verify(unitContentionTracker).recordLockWait(eq(1L), anyLong());
         verify(userRepository).findById(1L);
         verify(bookingRepository).save(any(Booking.class));
         verify(eventPublisher).publishEvent(any(BookingEvent.class));
@@ -404,4 +417,172 @@ class BookingServiceTest {
                 .isInstanceOf(UnitNotAvailableException.class)
                 .hasMessageContaining("Unit is not available");
     }
+
+    @Test
+    @DisplayName("Should reject booking when dates are held, checking holds under the unit lock")
+    void shouldRejectBookingWhenDatesAreHeld() {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(reservationHoldStore.hasOverlappingHold(1L, request.getStartDate(), request.getEndDate())).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking(request))
+                .isInstanceOf(UnitNotAvailableException.class)
+                .hasMessageContaining("held");
+
+        var order = inOrder(unitRepository, reservationHoldStore);
+        order.verify(unitRepository).findByIdWithLock(1L);
+        order.verify(reservationHoldStore).hasOverlappingHold(1L, request.getStartDate(), request.getEndDate());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should roll back a procedure-created booking when the dates are held")
+    void shouldRejectProcedureBookingWhenDatesAreHeld() {
+        // Given
+        BookingService procedureBookingService = bookingService(BookingService.CreateMode.PROCEDURE);
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        BookingCreationResult created = creationResult(BookingCreationResult.CREATED, 42L, new BigDecimal("230.0000"));
+        when(bookingRepository.createBookingWithPayment(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(created);
+        when(reservationHoldStore.hasOverlappingHold(1L, request.getStartDate(), request.getEndDate())).thenReturn(true);
+
+        // When & Then - the exception rolls back the insert while the unit lock is still held
+        assertThatThrownBy(() -> procedureBookingService.createBooking(request))
+                .isInstanceOf(UnitNotAvailableException.class)
+                .hasMessageContaining("held");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should create booking when holds cannot be checked")
+    void shouldCreateBookingWhenHoldsCannotBeChecked() {
+        // Given
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findConflictingBookings(eq(1L), any(), any())).thenReturn(List.of());
+        when(reservationHoldStore.hasOverlappingHold(any(), any(), any()))
+                .thenThrow(new RuntimeException("Redis connection refused"));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // When
+        BookingResponseDto response = bookingService.createBooking(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.PENDING);
+        verify(bookingRepository).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should create confirmed booking from a paid hold")
+    void shouldCreateConfirmedBookingFromHold() {
+        // Given
+        ReservationHold hold = new ReservationHold("1-abc", 1L, 1L, LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(3), new BigDecimal("230.00"), Instant.now().plusSeconds(600));
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findConflictingBookings(1L, hold.startDate(), hold.endDate())).thenReturn(List.of());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Booking booking = bookingService.createConfirmedBooking(hold);
+
+        // Then
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(booking.getExpiresAt()).isNull();
+        assertThat(booking.getStartDate()).isEqualTo(hold.startDate());
+        verify(eventPublisher).publishEvent(argThat((BookingEvent event) ->
+                event.type() == BookingEvent.Type.RESERVED && event.totalCost().equals(new BigDecimal("230.00"))));
+    }
+
+    @Test
+    @DisplayName("Should not create booking from a hold when the dates were booked meanwhile")
+    void shouldNotCreateBookingFromHoldWhenDatesBooked() {
+        // Given
+        ReservationHold hold = new ReservationHold("1-abc", 1L, 1L, LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(3), new BigDecimal("230.00"), Instant.now().plusSeconds(600));
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findConflictingBookings(1L, hold.startDate(), hold.endDate()))
+                .thenReturn(List.of(testBooking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createConfirmedBooking(hold))
+                .isInstanceOf(UnitNotAvailableException.class);
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should create booking and payment with one database function call in procedure mode")
+    void shouldCreateBookingWithProcedure() {
+        // Given
+        BookingService procedureBookingService = bookingService(BookingService.CreateMode.PROCEDURE);
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        BookingCreationResult created = creationResult(BookingCreationResult.CREATED, 42L, new BigDecimal("230.0000"));
+        when(bookingRepository.createBookingWithPayment(eq(1L), eq(1L), eq(request.getStartDate()),
+                eq(request.getEndDate()), any(), any(), eq(MARKUP_MULTIPLIER)))
+                .thenReturn(created);
+
+        // When
+        BookingResponseDto response = procedureBookingService.createBooking(request);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(42L);
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(response.getTotalCost()).isEqualByComparingTo("230.00");
+        assertThat(response.getExpiresAt()).isEqualTo(response.getCreatedAt().plusMinutes(15));
+        verify(unitContentionTracker).recordLockWait(1L, 250_000L);
+        verify(eventPublisher).publishEvent(argThat((BookingEvent event) ->
+                event.type() == BookingEvent.Type.CREATED && event.bookingId().equals(42L) && event.paymentCreated()));
+        verifyNoInteractions(unitRepository, userRepository);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should map database function outcomes to the JPA path's exceptions")
+    void shouldMapProcedureOutcomesToExceptions() {
+        // Given
+        BookingService procedureBookingService = bookingService(BookingService.CreateMode.PROCEDURE);
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        BookingCreationResult unitNotFound = creationResult(BookingCreationResult.UNIT_NOT_FOUND, null, null);
+        BookingCreationResult userNotFound = creationResult(BookingCreationResult.USER_NOT_FOUND, null, null);
+        BookingCreationResult unavailable = creationResult(BookingCreationResult.UNAVAILABLE, null, null);
+        when(bookingRepository.createBookingWithPayment(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(unitNotFound, userNotFound, unavailable);
+
+        // When & Then
+        assertThatThrownBy(() -> procedureBookingService.createBooking(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Unit not found");
+        assertThatThrownBy(() -> procedureBookingService.createBooking(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User not found");
+        assertThatThrownBy(() -> procedureBookingService.createBooking(request))
+                .isInstanceOf(UnitNotAvailableException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private BookingService bookingService(BookingService.CreateMode createMode) {
+        return new BookingService(bookingRepository, unitRepository, userRepository, eventPublisher,
+                unitContentionTracker, reservationHoldStore, createMode);
+    }
+
+    private static BookingCreationResult creationResult(String outcome, Long bookingId, BigDecimal totalCost) {
+        BookingCreationResult result = mock(BookingCreationResult.class);
+        lenient().when(result.getOutcome()).thenReturn(outcome);
+        lenient().when(result.getBookingId()).thenReturn(bookingId);
+        lenient().when(result.getPaymentId()).thenReturn(bookingId);
+        lenient().when(result.getTotalCost()).thenReturn(totalCost);
+        lenient().when(result.getLockWaitMicros()).thenReturn(250L);
+        return result;
+    }
 }
@@ -30,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -133,9 +134,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         bookingRequest.setStartDate(LocalDate.now().plusDays(1));
         bookingRequest.setEndDate(LocalDate.now().plusDays(3));
 
-        MvcResult bookingResult = mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult bookingResult = mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
                 .andExpect(jsonPath("$.status").value("PENDING"))
@@ -161,9 +166,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         ProcessPaymentRequestDto paymentRequest = new ProcessPaymentRequestDto();
         paymentRequest.setBookingId(bookingId);
 
-        mockMvc.perform(post("/api/v1/payments/process")
+        MvcResult pendingPayment = mockMvc.perform(post("/api/v1/payments/process")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pendingPayment))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
 
@@ -192,9 +201,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         bookingRequest.setStartDate(LocalDate.now().plusDays(1));
         bookingRequest.setEndDate(LocalDate.now().plusDays(3));
 
-        MvcResult bookingResult = mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult bookingResult = mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated())
                 .andReturn();
 
@@ -232,9 +245,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         firstRequest.setStartDate(LocalDate.now().plusDays(1));
         firstRequest.setEndDate(LocalDate.now().plusDays(3));
 
-        mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(firstRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.status").value("PENDING"));
 
@@ -274,9 +291,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         bookingRequest.setStartDate(LocalDate.now().plusDays(1));
         bookingRequest.setEndDate(LocalDate.now().plusDays(3));
 
-        mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated());
 
         // Step 3: Search again - unit should NOT appear for same dates
@@ -312,9 +333,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         bookingRequest.setStartDate(LocalDate.now().plusDays(1));
         bookingRequest.setEndDate(LocalDate.now().plusDays(3)); // 2 nights
 
-        mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.totalCost").value(230.00)); // 100 * 2 * 1.15 = 230
     }
@@ -338,9 +363,13 @@ class BookingSystemFunctionalTest extends AbstractIntegrationTest {
         bookingRequest.setStartDate(LocalDate.now().plusDays(1));
         bookingRequest.setEndDate(LocalDate.now().plusDays(3));
 
-        MvcResult bookingResult = mockMvc.perform(post("/api/v1/bookings")
+        MvcResult pendingBooking = mockMvc.perform(post("/api/v1/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult bookingResult = mockMvc.perform(asyncDispatch(pendingBooking))
                 .andExpect(status().isCreated())
                 .andReturn();
 
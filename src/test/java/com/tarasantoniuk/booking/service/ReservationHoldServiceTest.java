@@ -0,0 +1,219 @@
+package com.tarasantoniuk.booking.service;
+
+import com.tarasantoniuk.booking.dto.CreateBookingRequestDto;
+import com.tarasantoniuk.booking.dto.ReservationHoldDto;
+import com.tarasantoniuk.booking.exception.UnitNotAvailableException;
+import com.tarasantoniuk.booking.hold.ReservationHold;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.TestFixtures;
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.enums.PaymentStatus;
+import com.tarasantoniuk.payment.service.PaymentService;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.unit.service.UnitSearchCacheService;
+import com.tarasantoniuk.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationHoldService Unit Tests")
+class ReservationHoldServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+    private static final LocalDate END = LocalDate.now().plusDays(3);
+
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private UnitSearchCacheService unitSearchCacheService;
+
+    @Mock
+    private EntityVersionService entityVersionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationHoldService reservationHoldService;
+    private Unit testUnit;
+    private ReservationHold hold;
+
+    @BeforeEach
+    void setUp() {
+        reservationHoldService = new ReservationHoldService(reservationHoldStore, unitRepository, userRepository,
+                bookingRepository, paymentService, unitSearchCacheService, entityVersionService, transactionManager, TTL);
+        testUnit = TestFixtures.createTestUnit();
+        hold = new ReservationHold("1-abc", 1L, 1L, START, END, new BigDecimal("230.00"),
+                Instant.now().plus(TTL));
+    }
+
+    @Test
+    @DisplayName("Should place hold, then check bookings under the unit lock without writing to the database")
+    void shouldPlaceHold() {
+        // Given
+        when(unitRepository.findById(1L)).thenReturn(Optional.of(testUnit));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(bookingRepository.findConflictingBookings(1L, START, END)).thenReturn(List.of());
+        BigDecimal totalCost = BookingService.calculateTotalCost(testUnit, START, END);
+        when(reservationHoldStore.place(1L, 1L, START, END, totalCost, TTL)).thenReturn(Optional.of(hold));
+
+        // When
+        ReservationHoldDto result = reservationHoldService.placeHold(new CreateBookingRequestDto(1L, 1L, START, END));
+
+        // Then
+        assertThat(result.getHoldId()).isEqualTo("1-abc");
+        assertThat(result.getExpiresAt()).isEqualTo(hold.expiresAt());
+        var order = inOrder(reservationHoldStore, unitRepository, bookingRepository, transactionManager);
+        order.verify(reservationHoldStore).place(1L, 1L, START, END, totalCost, TTL);
+        order.verify(unitRepository).findByIdWithLock(1L);
+        order.verify(bookingRepository).findConflictingBookings(1L, START, END);
+        order.verify(transactionManager).commit(any());
+        verify(bookingRepository, never()).save(any());
+        verify(reservationHoldStore, never()).release(any());
+        verify(unitSearchCacheService).invalidateDates(START, END);
+        verify(entityVersionService).availabilityChanged();
+    }
+
+    @Test
+    @DisplayName("Should release the new hold when dates are booked, and reject dates already held")
+    void shouldRejectHoldWhenDatesTaken() {
+        // Given
+        when(unitRepository.findById(1L)).thenReturn(Optional.of(testUnit));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(unitRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUnit));
+        when(bookingRepository.findConflictingBookings(1L, START, END))
+                .thenReturn(List.of(TestFixtures.createTestBooking(testUnit, TestFixtures.createTestUser())));
+        when(reservationHoldStore.place(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(hold), Optional.empty());
+        CreateBookingRequestDto request = new CreateBookingRequestDto(1L, 1L, START, END);
+
+        // When & Then
+        assertThatThrownBy(() -> reservationHoldService.placeHold(request))
+                .isInstanceOf(UnitNotAvailableException.class)
+                .hasMessage("Unit is not available for selected dates");
+        verify(reservationHoldStore).release(hold);
+
+        assertThatThrownBy(() -> reservationHoldService.placeHold(request))
+                .isInstanceOf(UnitNotAvailableException.class)
+                .hasMessageContaining("held");
+        verify(unitRepository, times(1)).findByIdWithLock(1L);
+        verifyNoInteractions(unitSearchCacheService, entityVersionService);
+    }
+
+    @Test
+    @DisplayName("Should reject hold with end date before start date")
+    void shouldRejectHoldWithInvalidDates() {
+        // When & Then
+        assertThatThrownBy(() -> reservationHoldService.placeHold(new CreateBookingRequestDto(1L, 1L, END, START)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(reservationHoldStore);
+    }
+
+    @Test
+    @DisplayName("Should pay claimed hold and release it afterwards")
+    void shouldPayClaimedHold() {
+        // Given
+        PaymentResponseDto payment = new PaymentResponseDto(5L, 1L, hold.totalCost(), PaymentStatus.COMPLETED,
+                LocalDateTime.now());
+        when(reservationHoldStore.claim("1-abc", ReservationHoldService.CLAIM_MARGIN)).thenReturn(Optional.of(hold));
+        when(paymentService.payForHold(hold)).thenReturn(payment);
+
+        // When
+        PaymentResponseDto result = reservationHoldService.payHold("1-abc", 1L);
+
+        // Then
+        assertThat(result).isSameAs(payment);
+        var order = inOrder(paymentService, reservationHoldStore);
+        order.verify(paymentService).payForHold(hold);
+        order.verify(reservationHoldStore).release(hold);
+    }
+
+    @Test
+    @DisplayName("Should release the hold when payment fails")
+    void shouldReleaseHoldWhenPaymentFails() {
+        // Given
+        when(reservationHoldStore.claim("1-abc", ReservationHoldService.CLAIM_MARGIN)).thenReturn(Optional.of(hold));
+        when(paymentService.payForHold(hold)).thenThrow(new UnitNotAvailableException("Unit is not available for selected dates"));
+
+        // When & Then
+        assertThatThrownBy(() -> reservationHoldService.payHold("1-abc", 1L))
+                .isInstanceOf(UnitNotAvailableException.class);
+
+        verify(reservationHoldStore).release(hold);
+        verify(entityVersionService).availabilityChanged();
+    }
+
+    @Test
+    @DisplayName("Should refuse paying or releasing another user's or an expired hold")
+    void shouldRefuseForeignOrExpiredHold() {
+        // Given
+        when(reservationHoldStore.claim("1-abc", ReservationHoldService.CLAIM_MARGIN)).thenReturn(Optional.of(hold));
+        when(reservationHoldStore.find("1-abc")).thenReturn(Optional.of(hold));
+        when(reservationHoldStore.claim("1-gone", ReservationHoldService.CLAIM_MARGIN)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> reservationHoldService.payHold("1-abc", 2L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("You can only pay for your own holds");
+        assertThatThrownBy(() -> reservationHoldService.cancelHold("1-abc", 2L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("You can only cancel your own holds");
+        assertThatThrownBy(() -> reservationHoldService.payHold("1-gone", 1L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Hold not found or expired: 1-gone");
+
+        verifyNoInteractions(paymentService);
+        verify(reservationHoldStore, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should release cancelled hold and bump availability version")
+    void shouldCancelHold() {
+        // Given
+        when(reservationHoldStore.find("1-abc")).thenReturn(Optional.of(hold));
+
+        // When
+        reservationHoldService.cancelHold("1-abc", 1L);
+
+        // Then
+        verify(reservationHoldStore).release(hold);
+        verify(entityVersionService).availabilityChanged();
+    }
+}
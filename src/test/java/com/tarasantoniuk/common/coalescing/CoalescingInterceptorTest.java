@@ -0,0 +1,89 @@
+package com.tarasantoniuk.common.coalescing;
+
+import com.tarasantoniuk.common.datasource.PrimaryPinning;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CoalescingInterceptor Unit Tests")
+class CoalescingInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UnitLookup proxy;
+
+    @BeforeEach
+    void setUp() {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+        ProxyFactory factory = new ProxyFactory(new UnitLookup());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Coalesced.class),
+                new CoalescingInterceptor(() -> coalescer)));
+        proxy = (UnitLookup) factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PrimaryPinning.clear();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should coalesce annotated methods by method and arguments")
+    void shouldCoalesceAnnotatedMethods() {
+        // When
+        String result = proxy.getUnit(1L);
+
+        // Then
+        assertThat(result).isEqualTo("unit-1");
+        assertThat(meterRegistry.get("coalescing.calls")
+                .tag("operation", "UnitLookup.getUnit").tag("role", "leader").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not coalesce methods without the annotation")
+    void shouldIgnoreMethodsWithoutAnnotation() {
+        // When
+        proxy.refresh(1L);
+
+        // Then
+        assertThat(meterRegistry.find("coalescing.calls").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bypass coalescing inside read-write transaction and for pinned requests")
+    void shouldBypassForWriters() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        proxy.getUnit(1L);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        PrimaryPinning.pin();
+        proxy.getUnit(1L);
+
+        // Then
+        assertThat(meterRegistry.find("coalescing.calls").counters()).isEmpty();
+    }
+
+    static class UnitLookup {
+
+        @Coalesced
+        public String getUnit(Long id) {
+            return "unit-" + id;
+        }
+
+        public String refresh(Long id) {
+            return "unit-" + id;
+        }
+    }
+}
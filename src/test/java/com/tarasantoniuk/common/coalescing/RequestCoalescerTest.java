@@ -0,0 +1,130 @@
+package com.tarasantoniuk.common.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RequestCoalescer Unit Tests")
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one computation between concurrent callers with the same key")
+    void shouldShareInFlightComputation() throws Exception {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> call("unit-1", () -> {
+            computations.incrementAndGet();
+            leaderStarted.countDown();
+            release.await();
+            return "unit";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> call("unit-1", () -> {
+                computations.incrementAndGet();
+                return "other";
+            })));
+        }
+        awaitFollowers(5);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("unit");
+        for (Future<Object> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("unit");
+        }
+        assertThat(computations).hasValue(1);
+        assertThat(coalescer.inFlightCount()).isZero();
+        assertThat(meterRegistry.get("coalescing.calls").tag("role", "follower").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("coalescing.calls").tag("role", "leader").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should compute again once the previous computation finished")
+    void shouldNotCacheResults() throws Throwable {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        coalescer.execute("op", "key", computations::incrementAndGet);
+        coalescer.execute("op", "key", computations::incrementAndGet);
+
+        // Then
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's exception to followers")
+    void shouldPropagateLeaderException() throws Exception {
+        // Given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> call("missing", () -> {
+            leaderStarted.countDown();
+            release.await();
+            throw new IllegalArgumentException("Unit not found");
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Future<Object> follower = executor.submit(() -> call("missing", () -> "unexpected"));
+        awaitFollowers(1);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("Unit not found");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Object call(String key, RequestCoalescer.Computation computation) throws Exception {
+        try {
+            return coalescer.execute("UnitService.getUnitById", key, computation);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var followers = meterRegistry.find("coalescing.calls").tag("role", "follower").counter();
+            if (followers != null && followers.count() >= count) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tarasantoniuk.common.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private static final long TARGET = Duration.ofMillis(500).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(500), clock::get);
+
+    @Test
+    @DisplayName("Should reject requests above the current limit")
+    void shouldRejectAboveLimit() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should shrink limit multiplicatively on slow requests")
+    void shouldShrinkLimitOnSlowRequests() {
+        // When
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should shrink limit on dropped requests and never go below minimum")
+    void shouldNotShrinkBelowMinimum() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            clock.addAndGet(TARGET);
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should shrink limit at most once per latency target")
+    void shouldShrinkOncePerLatencyTarget() {
+        // When - a burst of slow completions within one latency target
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW, false);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        // When
+        clock.addAndGet(TARGET);
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should grow limit additively only when it is at least half used")
+    void shouldGrowLimitWhenUtilized() {
+        // Given - 5 of 10 in flight
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When
+        limiter.release(FAST, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(11);
+
+        // When - a single request in flight does not prove more capacity is needed
+        AdaptiveConcurrencyLimiter idle = new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(500));
+        idle.tryAcquire();
+        idle.release(FAST, false);
+
+        // Then
+        assertThat(idle.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should report pressure near the limit")
+    void shouldReportPressureNearLimit() {
+        // Given
+        for (int i = 0; i < 7; i++) {
+            limiter.tryAcquire();
+        }
+        assertThat(limiter.isUnderPressure()).isFalse();
+
+        // When
+        limiter.tryAcquire();
+
+        // Then
+        assertThat(limiter.isUnderPressure()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldRejectInconsistentLimits() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(1, 2, 20, Duration.ofMillis(500)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
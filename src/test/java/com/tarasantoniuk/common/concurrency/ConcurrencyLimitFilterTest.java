@@ -0,0 +1,126 @@
+package com.tarasantoniuk.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConcurrencyLimitFilter Unit Tests")
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter bookingLimiter;
+    private AdaptiveConcurrencyLimiter searchLimiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingLimiter = new AdaptiveConcurrencyLimiter(5, 1, 10, Duration.ofSeconds(1));
+        searchLimiter = new AdaptiveConcurrencyLimiter(5, 1, 10, Duration.ofSeconds(1));
+        filter = new ConcurrencyLimitFilter(
+                Map.of(EndpointGroup.BOOKING_WRITE, bookingLimiter, EndpointGroup.SEARCH, searchLimiter),
+                meterRegistry,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("Should pass request and release permit")
+    void shouldPassRequestAndReleasePermit() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(bookingLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when limit is reached")
+    void shouldRejectWhenLimitReached() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            bookingLimiter.tryAcquire();
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/process");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo(ConcurrencyLimitFilter.RETRY_AFTER_SECONDS);
+        assertThat(response.getContentAsString()).contains("\"status\":503");
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "booking-write").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should shed search while booking writes are under pressure")
+    void shouldShedSearchWhenBookingWritesUnderPressure() throws Exception {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            bookingLimiter.tryAcquire();
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/units/search");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(searchLimiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "search").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not limit other endpoints")
+    void shouldNotLimitOtherEndpoints() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            bookingLimiter.tryAcquire();
+            searchLimiter.tryAcquire();
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should expose limit and in-flight gauges per group")
+    void shouldExposeGauges() {
+        // Given
+        searchLimiter.tryAcquire();
+
+        // Then
+        assertThat(meterRegistry.get("http.server.concurrency.limit").tag("group", "search").gauge().value())
+                .isEqualTo(5.0);
+        assertThat(meterRegistry.get("http.server.concurrency.inflight").tag("group", "search").gauge().value())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.tarasantoniuk.common.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tarasantoniuk.booking.dto.BookingResponseDto;
+import com.tarasantoniuk.booking.enums.BookingStatus;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode CPU of the binary API formats against JSON.
+ * Excluded from {@code gradle test}; run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Binary Formats Benchmark")
+class BinaryFormatsBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should compare payload size and CPU of JSON, CBOR and Smile")
+    void compareFormats() throws Exception {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", mapper(new JsonFactory()));
+        formats.put("cbor", mapper(new CBORFactory()));
+        formats.put("smile", mapper(new SmileFactory()));
+
+        List<UnitResponseDto> units = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            units.add(unit(id));
+        }
+
+        System.out.printf("%n%-16s %-6s %8s %12s %12s%n", "payload", "format", "bytes", "encode(ns)", "decode(ns)");
+        Map<String, Integer> listSizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            measure("booking", format.getKey(), mapper, booking(), mapper.constructType(BookingResponseDto.class));
+            measure("unit", format.getKey(), mapper, unit(1L), mapper.constructType(UnitResponseDto.class));
+            listSizes.put(format.getKey(), measure("20 units", format.getKey(), mapper, units,
+                    mapper.getTypeFactory().constructType(new TypeReference<List<UnitResponseDto>>() {
+                    })));
+        }
+
+        assertThat(listSizes.get("smile")).isLessThan(listSizes.get("json"));
+    }
+
+    private int measure(String payload, String format, ObjectMapper mapper, Object value,
+                        JavaType type) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(value);
+        long encodeNs = cpuNanosPerOp(() -> mapper.writeValueAsBytes(value));
+        long decodeNs = cpuNanosPerOp(() -> mapper.readValue(encoded, type));
+        System.out.printf("%-16s %-6s %8d %12d %12d%n", payload, format, encoded.length, encodeNs, decodeNs);
+        return encoded.length;
+    }
+
+    private long cpuNanosPerOp(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    // Same defaults as the application mappers: ISO dates, unknown properties ignored
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static BookingResponseDto booking() {
+        BookingResponseDto booking = new BookingResponseDto();
+        booking.setId(1042L);
+        booking.setUnitId(17L);
+        booking.setUserId(5L);
+        booking.setStartDate(LocalDate.of(2026, 3, 1));
+        booking.setEndDate(LocalDate.of(2026, 3, 7));
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setCreatedAt(LocalDateTime.of(2026, 2, 20, 14, 30));
+        booking.setExpiresAt(LocalDateTime.of(2026, 2, 20, 14, 45));
+        booking.setTotalCost(new BigDecimal("690.00"));
+        return booking;
+    }
+
+    private static UnitResponseDto unit(long id) {
+        return new UnitResponseDto(id, 2, AccommodationType.FLAT, 3, new BigDecimal("100.00"),
+                new BigDecimal("115.00"), "Cozy 2-room apartment in city center with balcony", 7L,
+                LocalDateTime.of(2026, 1, 20, 14, 30));
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
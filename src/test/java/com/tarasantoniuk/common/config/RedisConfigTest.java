@@ -0,0 +1,66 @@
+package com.tarasantoniuk.common.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("RedisConfig Unit Tests")
+class RedisConfigTest {
+
+    private RedisCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new RedisConfig().cacheManager(mock(RedisConnectionFactory.class));
+        cacheManager.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Should register named caches for unit and user lookups")
+    void shouldRegisterNamedCaches() {
+        assertThat(cacheManager.getCacheNames())
+                .contains(CacheNames.UNITS, CacheNames.USERS, CacheNames.USERS_BY_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Should configure per-cache TTLs")
+    void shouldConfigurePerCacheTtls() {
+        assertThat(ttlOf(CacheNames.UNITS)).isEqualTo(Duration.ofHours(6));
+        assertThat(ttlOf(CacheNames.USERS)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(ttlOf(CacheNames.USERS_BY_USERNAME)).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should defer cache writes until transaction commit")
+    void shouldDeferCacheWritesUntilCommit() {
+        assertThat(cacheManager.getCache(CacheNames.UNITS)).isInstanceOf(TransactionAwareCacheDecorator.class);
+    }
+
+    @Test
+    @DisplayName("Should not cache null values")
+    void shouldNotCacheNullValues() {
+        assertThat(configurationOf(CacheNames.UNITS).getAllowCacheNullValues()).isFalse();
+        assertThat(configurationOf(CacheNames.USERS).getAllowCacheNullValues()).isFalse();
+    }
+
+    private Duration ttlOf(String cacheName) {
+        return configurationOf(cacheName).getTtlFunction().getTimeToLive("key", "value");
+    }
+
+    private RedisCacheConfiguration configurationOf(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        RedisCache redisCache = (RedisCache) ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        return redisCache.getCacheConfiguration();
+    }
+}
@@ -0,0 +1,95 @@
+package com.tarasantoniuk.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrimaryPinningFilter Unit Tests")
+class PrimaryPinningFilterTest {
+
+    private final PrimaryPinningFilter filter = new PrimaryPinningFilter(Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should pin write request and set pin cookie")
+    void shouldPinWriteRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinnedInChain = new AtomicBoolean();
+
+        // When
+        filter.doFilter(request, response, chain(pinnedInChain));
+
+        // Then
+        assertThat(pinnedInChain).isTrue();
+        assertThat(PrimaryPinning.isPinned()).isFalse();
+        Cookie cookie = response.getCookie(PrimaryPinningFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should not pin read request without cookie")
+    void shouldNotPinPlainRead() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinnedInChain = new AtomicBoolean();
+
+        // When
+        filter.doFilter(request, response, chain(pinnedInChain));
+
+        // Then
+        assertThat(pinnedInChain).isFalse();
+        assertThat(response.getCookie(PrimaryPinningFilter.COOKIE_NAME)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pin read request within the pin window")
+    void shouldPinReadWithActiveCookie() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/1");
+        request.setCookies(new Cookie(PrimaryPinningFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 3_000)));
+        AtomicBoolean pinnedInChain = new AtomicBoolean();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(pinnedInChain));
+
+        // Then
+        assertThat(pinnedInChain).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore expired, malformed and too distant pin cookies")
+    void shouldIgnoreInvalidCookies() throws Exception {
+        for (String value : new String[]{
+                Long.toString(System.currentTimeMillis() - 1),
+                "not-a-number",
+                Long.toString(System.currentTimeMillis() + Duration.ofHours(1).toMillis())}) {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/1");
+            request.setCookies(new Cookie(PrimaryPinningFilter.COOKIE_NAME, value));
+            AtomicBoolean pinnedInChain = new AtomicBoolean();
+
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), chain(pinnedInChain));
+
+            // Then
+            assertThat(pinnedInChain).as("cookie %s", value).isFalse();
+        }
+    }
+
+    private static FilterChain chain(AtomicBoolean pinnedInChain) {
+        return (request, response) -> pinnedInChain.set(PrimaryPinning.isPinned());
+    }
+}
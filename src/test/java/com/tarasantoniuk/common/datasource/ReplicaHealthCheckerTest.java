@@ -0,0 +1,113 @@
+package com.tarasantoniuk.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaHealthChecker Unit Tests")
+class ReplicaHealthCheckerTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ReplicaDataSource replica;
+    private ReplicaHealthChecker healthChecker;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        replica = new ReplicaDataSource("replica-1", dataSource);
+        healthChecker = new ReplicaHealthChecker(List.of(replica), Duration.ofSeconds(5), Duration.ofSeconds(10),
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should mark replica healthy when lag is within limit")
+    void shouldMarkHealthyWhenLagWithinLimit() throws Exception {
+        // Given
+        stubLag(false, 3.5);
+
+        // When
+        healthChecker.checkAll();
+
+        // Then
+        assertThat(replica.isHealthy()).isTrue();
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should mark replica unhealthy when lagging behind")
+    void shouldMarkUnhealthyWhenLagging() throws Exception {
+        // Given
+        replica.setHealthy(true);
+        stubLag(false, 30);
+
+        // When
+        healthChecker.checkAll();
+
+        // Then
+        assertThat(replica.isHealthy()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep caught-up replica of an idle primary healthy")
+    void shouldKeepCaughtUpReplicaHealthy() throws Exception {
+        // Given - no transactions replayed for an hour, but all received WAL is applied
+        stubLag(true, 3600);
+
+        // When
+        healthChecker.checkAll();
+
+        // Then
+        assertThat(replica.isHealthy()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark replica unhealthy when it is unreachable")
+    void shouldMarkUnhealthyWhenUnreachable() throws Exception {
+        // Given
+        replica.setHealthy(true);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        healthChecker.checkAll();
+
+        // Then
+        assertThat(replica.isHealthy()).isFalse();
+    }
+
+    private void stubLag(boolean caughtUp, double lagSeconds) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaHealthChecker.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean("caught_up")).thenReturn(caughtUp);
+        when(resultSet.getDouble("lag_seconds")).thenReturn(lagSeconds);
+    }
+}
@@ -0,0 +1,106 @@
+package com.tarasantoniuk.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaOnePool;
+
+    @Mock
+    private DataSource replicaTwoPool;
+
+    private ReplicaDataSource replicaOne;
+    private ReplicaDataSource replicaTwo;
+    private ReplicaRoutingDataSource routingDataSource;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        replicaOne = new ReplicaDataSource("replica-1", replicaOnePool);
+        replicaTwo = new ReplicaDataSource("replica-2", replicaTwoPool);
+        replicaOne.setHealthy(true);
+        replicaTwo.setHealthy(true);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replicaOne, replicaTwo), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        PrimaryPinning.clear();
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to primary")
+    void shouldRouteWritesToPrimary() {
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(key).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions over replicas round-robin")
+    void shouldRouteReadsToReplicasRoundRobin() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Object first = routingDataSource.determineCurrentLookupKey();
+        Object second = routingDataSource.determineCurrentLookupKey();
+        Object third = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(List.of(first, second, third)).containsExactly("replica-1", "replica-2", "replica-1");
+        assertThat(meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should skip unhealthy replicas and fall back to primary when none is healthy")
+    void shouldSkipUnhealthyReplicas() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaOne.setHealthy(false);
+
+        // When & Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+
+        replicaTwo.setHealthy(false);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to primary when pinned")
+    void shouldRoutePinnedReadsToPrimary() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        PrimaryPinning.pin();
+
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(key).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+}
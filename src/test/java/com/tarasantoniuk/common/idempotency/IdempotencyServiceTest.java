@@ -0,0 +1,275 @@
+package com.tarasantoniuk.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.dto.ProcessPaymentRequestDto;
+import com.tarasantoniuk.payment.enums.PaymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Unit Tests")
+class IdempotencyServiceTest {
+
+    private static final String REDIS_KEY = "idempotency:payment-process:key-1";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyService idempotencyService;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(stringRedisTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should execute directly when no key is given")
+    void shouldExecuteWithoutKey() {
+        // When
+        ResponseEntity<PaymentResponseDto> result = execute(null, request(1L));
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(executions).hasValue(1);
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should execute first request and store its response")
+    void shouldExecuteAndStoreResponse() throws Exception {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), eq(Duration.ofSeconds(30)))).thenReturn(true);
+
+        // When
+        ResponseEntity<PaymentResponseDto> result = execute("key-1", request(1L));
+
+        // Then
+        assertThat(result.getBody().getId()).isEqualTo(10L);
+        assertThat(executions).hasValue(1);
+
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq(REDIS_KEY), stored.capture(), eq(Duration.ofHours(24)));
+        IdempotencyService.StoredResponse record =
+                objectMapper.readValue(stored.getValue(), IdempotencyService.StoredResponse.class);
+        assertThat(record.isCompleted()).isTrue();
+        assertThat(record.status()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should replay stored response for duplicate request without executing it")
+    void shouldReplayStoredResponse() {
+        // Given
+        ResponseEntity<PaymentResponseDto> first = runFirst("key-1", request(1L));
+        String completed = storedValue();
+
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(completed);
+
+        // When
+        ResponseEntity<PaymentResponseDto> replay = execute("key-1", request(1L));
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(replay.getStatusCode()).isEqualTo(first.getStatusCode());
+        assertThat(replay.getBody().getId()).isEqualTo(10L);
+        assertThat(replay.getBody().getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Should wait for the original request in progress and replay its response")
+    void shouldWaitForResponseWhileInProgress() throws Exception {
+        // Given
+        runFirst("key-1", request(1L));
+        String completed = storedValue();
+        String inProgress = inProgressValue(completed);
+
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(inProgress, inProgress, completed);
+
+        // When
+        CompletableFuture<ResponseEntity<PaymentResponseDto>> duplicate = executeAsync("key-1", request(1L));
+
+        // Then
+        assertThat(duplicate).isNotDone();
+        ResponseEntity<PaymentResponseDto> replay = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replay.getBody().getId()).isEqualTo(10L);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+        verify(valueOperations, times(3)).get(REDIS_KEY);
+    }
+
+    @Test
+    @DisplayName("Should report conflict when the original request fails while the duplicate waits")
+    void shouldReportConflictWhenOriginalFailsWhileWaiting() throws Exception {
+        // Given
+        runFirst("key-1", request(1L));
+        String inProgress = inProgressValue(storedValue());
+
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(inProgress, (String) null);
+
+        // When
+        CompletableFuture<ResponseEntity<PaymentResponseDto>> duplicate = executeAsync("key-1", request(1L));
+
+        // Then
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IdempotentRequestInProgressException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject key reused for a different request body")
+    void shouldRejectKeyReuseWithDifferentRequest() {
+        // Given
+        runFirst("key-1", request(1L));
+        String completed = storedValue();
+
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(completed);
+
+        // When & Then
+        assertThatThrownBy(() -> execute("key-1", request(2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release key when execution fails")
+    void shouldReleaseKeyOnFailure() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        ArgumentCaptor<String> marker = ArgumentCaptor.forClass(String.class);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), marker.capture(), any(Duration.class))).thenReturn(true);
+        when(valueOperations.get(REDIS_KEY)).thenAnswer(inv -> marker.getValue());
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyService.execute("payment-process", "key-1", request(1L),
+                PaymentResponseDto.class, () -> {
+                    throw new IllegalStateException("Booking is already paid");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        verify(stringRedisTemplate).delete(REDIS_KEY);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should report conflict when original request released the key")
+    void shouldReportConflictWhenOriginalFailed() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> execute("key-1", request(1L)))
+                .isInstanceOf(IdempotentRequestInProgressException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should execute without protection when Redis is unavailable")
+    void shouldExecuteWhenRedisUnavailable() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        ResponseEntity<PaymentResponseDto> result = execute("key-1", request(1L));
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject blank and too long keys")
+    void shouldRejectInvalidKeys() {
+        assertThatThrownBy(() -> execute(" ", request(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> execute("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), request(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    private ResponseEntity<PaymentResponseDto> runFirst(String key, ProcessPaymentRequestDto request) {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        return execute(key, request);
+    }
+
+    private String storedValue() {
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq(REDIS_KEY), stored.capture(), any(Duration.class));
+        return stored.getValue();
+    }
+
+    private String inProgressValue(String completed) throws Exception {
+        return objectMapper.writeValueAsString(IdempotencyService.StoredResponse.inProgress(
+                objectMapper.readValue(completed, IdempotencyService.StoredResponse.class).fingerprint(), "owner"));
+    }
+
+    private ResponseEntity<PaymentResponseDto> execute(String key, ProcessPaymentRequestDto request) {
+        return executeAsync(key, request).join();
+    }
+
+    private CompletableFuture<ResponseEntity<PaymentResponseDto>> executeAsync(String key,
+                                                                             ProcessPaymentRequestDto request) {
+        Supplier<ResponseEntity<PaymentResponseDto>> action = () -> {
+            executions.incrementAndGet();
+            PaymentResponseDto response = new PaymentResponseDto();
+            response.setId(10L);
+            response.setBookingId(request.getBookingId());
+            response.setStatus(PaymentStatus.COMPLETED);
+            return ResponseEntity.ok(response);
+        };
+        return idempotencyService.execute("payment-process", key, request, PaymentResponseDto.class, action);
+    }
+
+    private static ProcessPaymentRequestDto request(Long bookingId) {
+        ProcessPaymentRequestDto request = new ProcessPaymentRequestDto();
+        request.setBookingId(bookingId);
+        return request;
+    }
+}
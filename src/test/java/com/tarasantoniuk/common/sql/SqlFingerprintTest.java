@@ -0,0 +1,57 @@
+package com.tarasantoniuk.common.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlFingerprint Unit Tests")
+class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("Should replace literals and collapse whitespace")
+    void shouldReplaceLiterals() {
+        // When
+        String fingerprint = SqlFingerprint.of("""
+                select u1_0.id from units u1_0
+                where u1_0.cost >= 100.50 and u1_0.description = 'it''s -- sunny' /* hint */
+                """);
+
+        // Then
+        assertThat(fingerprint).isEqualTo("select u1_0.id from units u1_0 where u1_0.cost >= ? and u1_0.description = ?");
+    }
+
+    @Test
+    @DisplayName("Should give IN lists of any length the same fingerprint")
+    void shouldCollapseInLists() {
+        // When
+        String three = SqlFingerprint.of("select p.id from payments p where p.booking_id in (?, ?, ?)");
+        String one = SqlFingerprint.of("select p.id from payments p where p.booking_id IN (?)");
+        String literals = SqlFingerprint.of("select p.id from payments p where p.booking_id in (1, 2)");
+
+        // Then
+        assertThat(three).isEqualTo("select p.id from payments p where p.booking_id in (?)");
+        assertThat(one).isEqualTo(three);
+        assertThat(literals).isEqualTo(three);
+    }
+
+    @Test
+    @DisplayName("Should collapse multi-row VALUES")
+    void shouldCollapseMultiRowValues() {
+        // When
+        String fingerprint = SqlFingerprint.of("insert into events (type, entity_id) values (?, ?), (?, ?), (?, ?)");
+
+        // Then
+        assertThat(fingerprint).isEqualTo("insert into events (type, entity_id) values (?, ?)");
+    }
+
+    @Test
+    @DisplayName("Should keep digits that are part of identifiers")
+    void shouldKeepIdentifierDigits() {
+        // When
+        String fingerprint = SqlFingerprint.of("select b1_0.id from bookings b1_0 where b1_0.unit_id=?");
+
+        // Then
+        assertThat(fingerprint).isEqualTo("select b1_0.id from bookings b1_0 where b1_0.unit_id=?");
+    }
+}
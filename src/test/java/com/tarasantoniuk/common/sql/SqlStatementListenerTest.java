@@ -0,0 +1,147 @@
+package com.tarasantoniuk.common.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlStatementListener Unit Tests")
+class SqlStatementListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StatementStatsRegistry registry;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new StatementStatsRegistry(meterRegistry, 500);
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table items (id int primary key, name varchar(200))");
+        }
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SqlStatementListener(registry, Duration.ofSeconds(10), 1.0))
+                .proxyResultSet(new RowCountingResultSetProxyLogicFactory())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should aggregate executions and rows per fingerprint")
+    void shouldAggregateByFingerprint() throws Exception {
+        // Given
+        try (Connection connection = dataSource.getConnection()) {
+            for (int id = 1; id <= 3; id++) {
+                try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "item" + id);
+                    insert.executeUpdate();
+                }
+            }
+
+            // When
+            try (PreparedStatement select = connection.prepareStatement("select id from items where id in (?, ?)")) {
+                select.setInt(1, 1);
+                select.setInt(2, 2);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        // consume
+                    }
+                }
+            }
+        }
+
+        // Then
+        List<StatementStatsSnapshot> top = registry.top(10);
+        assertThat(top).extracting(StatementStatsSnapshot::fingerprint)
+                .containsExactlyInAnyOrder("insert into items values (?, ?)", "select id from items where id in (?)");
+        StatementStatsSnapshot insert = find(top, "insert into items values (?, ?)");
+        assertThat(insert.executions()).isEqualTo(3);
+        assertThat(insert.rows()).isEqualTo(3);
+        StatementStatsSnapshot select = find(top, "select id from items where id in (?)");
+        assertThat(select.executions()).isEqualTo(1);
+        assertThat(select.rows()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.statement.duration").tag("statement", select.id()).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record batch sizes")
+    void shouldRecordBatchSizes() throws Exception {
+        // Given
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+            for (int id = 1; id <= 4; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "item" + id);
+                insert.addBatch();
+            }
+
+            // When
+            insert.executeBatch();
+        }
+
+        // Then
+        StatementStatsSnapshot insert = registry.top(1).get(0);
+        assertThat(insert.batchExecutions()).isEqualTo(1);
+        assertThat(insert.meanBatchSize()).isEqualTo(4.0);
+        assertThat(insert.rows()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep slow query sample with bind parameters")
+    void shouldSampleSlowQueries() throws Exception {
+        // Given - every query is slow with a zero threshold
+        DataSource slowLogging = ProxyDataSourceBuilder.create(dataSource)
+                .listener(new SqlStatementListener(registry, Duration.ZERO, 1.0))
+                .build();
+        registry.reset();
+
+        // When
+        try (Connection connection = slowLogging.getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+            insert.setInt(1, 7);
+            insert.setString(2, "x".repeat(100));
+            insert.executeUpdate();
+        }
+
+        // Then
+        SlowQuerySample sample = registry.top(1).get(0).lastSlowSample();
+        assertThat(sample).isNotNull();
+        assertThat(sample.sql()).isEqualTo("insert into items values (?, ?)");
+        assertThat(sample.parameters()).isEqualTo("[7, " + "x".repeat(64) + "...]");
+    }
+
+    @Test
+    @DisplayName("Should count statements beyond the cap as other")
+    void shouldCapTrackedStatements() {
+        // Given
+        StatementStatsRegistry capped = new StatementStatsRegistry(meterRegistry, 2);
+
+        // When
+        capped.statsFor("select ?").recordExecution(1_000, true, 0);
+        capped.statsFor("select ? from a").recordExecution(2_000, true, 0);
+        capped.statsFor("select ? from b").recordExecution(3_000, true, 0);
+
+        // Then
+        assertThat(capped.top(10)).extracting(StatementStatsSnapshot::fingerprint)
+                .containsExactly(StatementStatsRegistry.OTHER, "select ? from a", "select ?");
+    }
+
+    private static StatementStatsSnapshot find(List<StatementStatsSnapshot> snapshots, String fingerprint) {
+        return snapshots.stream().filter(s -> s.fingerprint().equals(fingerprint)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.tarasantoniuk.common.version;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityVersionService Unit Tests")
+class EntityVersionServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private EntityVersionService entityVersionService;
+
+    @BeforeEach
+    void setUp() {
+        entityVersionService = new EntityVersionService(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should build weak ETag from stored version")
+    void shouldBuildETagFromStoredVersion() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("version:unit:1")).thenReturn("ab12");
+
+        // When
+        Optional<String> eTag = entityVersionService.unitETag(1L);
+
+        // Then
+        assertThat(eTag).contains("W/\"unit-ab12\"");
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should create version when absent")
+    void shouldCreateVersionWhenAbsent() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        when(valueOperations.setIfAbsent(eq("version:booking:7"), token.capture(),
+                eq(EntityVersionService.VERSION_TTL))).thenReturn(true);
+
+        // When
+        Optional<String> eTag = entityVersionService.bookingETag(7L);
+
+        // Then
+        assertThat(eTag).contains("W/\"booking-" + token.getValue() + "\"");
+    }
+
+    @Test
+    @DisplayName("Should use concurrently created version when losing the race")
+    void shouldUseConcurrentlyCreatedVersion() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(EntityVersionService.AVAILABILITY_KEY)).thenReturn(null, "cd34");
+        when(valueOperations.setIfAbsent(eq(EntityVersionService.AVAILABILITY_KEY), anyString(), any()))
+                .thenReturn(false);
+
+        // When
+        Optional<String> eTag = entityVersionService.availabilityETag();
+
+        // Then
+        assertThat(eTag).contains("W/\"avail-cd34-" + LocalDate.now() + "\"");
+    }
+
+    @Test
+    @DisplayName("Should replace version with a new token on change")
+    void shouldReplaceVersionOnChange() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        entityVersionService.unitChanged(1L);
+        entityVersionService.unitChanged(1L);
+
+        // Then
+        ArgumentCaptor<String> tokens = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations, times(2)).set(eq("version:unit:1"), tokens.capture(),
+                eq(EntityVersionService.VERSION_TTL));
+        assertThat(tokens.getAllValues().get(0)).isNotEqualTo(tokens.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Should bump booking versions in one pipeline")
+    void shouldBumpBookingVersionsInPipeline() {
+        // When
+        entityVersionService.bookingsChanged(List.of(1L, 2L, 3L));
+
+        // Then
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should skip pipeline for no bookings")
+    void shouldSkipEmptyBookingChange() {
+        // When
+        entityVersionService.bookingsChanged(List.of());
+
+        // Then
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should serve without ETag when Redis is unavailable")
+    void shouldReturnEmptyWhenRedisUnavailable() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        Optional<String> eTag = entityVersionService.unitETag(1L);
+
+        // Then
+        assertThat(eTag).isEmpty();
+    }
+}
@@ -1,10 +1,22 @@
 package com.tarasantoniuk.payment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tarasantoniuk.common.idempotency.IdempotencyService;
+import com.tarasantoniuk.common.json.BinaryMediaTypes;
+import com.tarasantoniuk.payment.dto.PaymentCallbackRequestDto;
 import com.tarasantoniuk.payment.dto.PaymentResponseDto;
 import com.tarasantoniuk.payment.dto.ProcessPaymentRequestDto;
+import com.tarasantoniuk.payment.dto.SettlementEntryDto;
+import com.tarasantoniuk.payment.dto.SettlementReportDto;
+import com.tarasantoniuk.payment.dto.SettlementRequestDto;
 import com.tarasantoniuk.payment.enums.PaymentStatus;
+import com.tarasantoniuk.payment.gateway.GatewayCallbackVerifier;
+import com.tarasantoniuk.payment.gateway.InvalidGatewayCallbackException;
 import com.tarasantoniuk.payment.service.PaymentService;
+import com.tarasantoniuk.payment.service.PaymentSettlementService;
+import com.tarasantoniuk.payment.service.PaymentSubmissionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,16 +25,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = PaymentController.class)
@@ -39,6 +62,25 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentService paymentService;
 
+    @MockitoBean
+    private PaymentSubmissionService paymentSubmissionService;
+
+    @MockitoBean
+    private PaymentSettlementService paymentSettlementService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private GatewayCallbackVerifier gatewayCallbackVerifier;
+
+    @BeforeEach
+    void setUp() {
+        // Run the controller action directly
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(inv.<Supplier<?>>getArgument(4).get()));
+    }
+
     @Test
     @DisplayName("Should process payment and return 200")
     void shouldProcessPaymentAndReturn200() throws Exception {
@@ -56,9 +98,13 @@ class PaymentControllerTest {
         when(paymentService.processPayment(any(ProcessPaymentRequestDto.class))).thenReturn(response);
 
         // When & Then
-        mockMvc.perform(post("/api/v1/payments/process")
+        MvcResult pending = mockMvc.perform(post("/api/v1/payments/process")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.bookingId").value(1))
@@ -68,6 +114,195 @@ class PaymentControllerTest {
         verify(paymentService).processPayment(any(ProcessPaymentRequestDto.class));
     }
 
+    @Test
+    @DisplayName("Should process payment sent and answered as Smile")
+    void shouldProcessPaymentWithSmile() throws Exception {
+        // Given
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        ProcessPaymentRequestDto request = new ProcessPaymentRequestDto();
+        request.setBookingId(5L);
+
+        PaymentResponseDto response = new PaymentResponseDto();
+        response.setId(2L);
+        response.setBookingId(5L);
+        response.setStatus(PaymentStatus.COMPLETED);
+
+        when(paymentService.processPayment(any(ProcessPaymentRequestDto.class))).thenReturn(response);
+
+        // When
+        MvcResult pending = mockMvc.perform(post("/api/v1/payments/process")
+                        .contentType(BinaryMediaTypes.APPLICATION_SMILE)
+                        .accept(BinaryMediaTypes.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        PaymentResponseDto payment = smileMapper.readValue(body, PaymentResponseDto.class);
+        assertThat(payment.getBookingId()).isEqualTo(5L);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should pass Idempotency-Key to idempotency service")
+    void shouldPassIdempotencyKey() throws Exception {
+        // Given
+        ProcessPaymentRequestDto request = new ProcessPaymentRequestDto();
+        request.setBookingId(1L);
+
+        when(paymentService.processPayment(any(ProcessPaymentRequestDto.class))).thenReturn(new PaymentResponseDto());
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/payments/process")
+                        .header("Idempotency-Key", "pay-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk());
+
+        verify(idempotencyService).execute(eq("payment-process"), eq("pay-1"),
+                any(ProcessPaymentRequestDto.class), eq(PaymentResponseDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Should submit payment and return 202")
+    void shouldSubmitPaymentAndReturn202() throws Exception {
+        // Given
+        ProcessPaymentRequestDto request = new ProcessPaymentRequestDto();
+        request.setBookingId(1L);
+
+        PaymentResponseDto response = new PaymentResponseDto();
+        response.setId(1L);
+        response.setBookingId(1L);
+        response.setStatus(PaymentStatus.PROCESSING);
+
+        when(paymentSubmissionService.submit(1L)).thenReturn(response);
+
+        // When & Then
+        MvcResult pending = mockMvc.perform(post("/api/v1/payments/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PROCESSING"));
+
+        verify(paymentSubmissionService).submit(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply gateway callback and return 200")
+    void shouldApplyGatewayCallback() throws Exception {
+        // Given
+        PaymentCallbackRequestDto callback = new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null);
+
+        PaymentResponseDto response = new PaymentResponseDto();
+        response.setId(1L);
+        response.setBookingId(1L);
+        response.setStatus(PaymentStatus.COMPLETED);
+
+        when(paymentService.completePayment(any(PaymentCallbackRequestDto.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/callback")
+                        .header(GatewayCallbackVerifier.SECRET_HEADER, "secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(callback)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        verify(gatewayCallbackVerifier).verify("secret");
+    }
+
+    @Test
+    @DisplayName("Should return 401 when callback has no valid gateway secret")
+    void shouldReturn401WhenCallbackSecretInvalid() throws Exception {
+        // Given
+        PaymentCallbackRequestDto callback = new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null);
+        doThrow(new InvalidGatewayCallbackException("Missing or invalid payment gateway callback secret"))
+                .when(gatewayCallbackVerifier).verify(null);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/callback")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(callback)))
+                .andExpect(status().isUnauthorized());
+
+        verify(paymentService, never()).completePayment(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when callback has no success flag")
+    void shouldReturn400WhenCallbackInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/callback")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"paymentId\":1}"))
+                .andExpect(status().isBadRequest());
+
+        verify(paymentService, never()).completePayment(any());
+    }
+
+    @Test
+    @DisplayName("Should apply settlement and return report")
+    void shouldApplySettlement() throws Exception {
+        // Given
+        SettlementRequestDto request = new SettlementRequestDto(List.of(
+                new SettlementEntryDto(1L, true), new SettlementEntryDto(2L, false)));
+
+        when(paymentSettlementService.settle(anyList()))
+                .thenReturn(new SettlementReportDto(2, 1, 1, 0, 5, List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/settlements")
+                        .header(GatewayCallbackVerifier.SECRET_HEADER, "secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.failed").value(1));
+
+        verify(gatewayCallbackVerifier).verify("secret");
+    }
+
+    @Test
+    @DisplayName("Should return 401 when settlement has no valid gateway secret")
+    void shouldReturn401WhenSettlementSecretInvalid() throws Exception {
+        // Given
+        SettlementRequestDto request = new SettlementRequestDto(List.of(new SettlementEntryDto(1L, true)));
+        doThrow(new InvalidGatewayCallbackException("Missing or invalid payment gateway callback secret"))
+                .when(gatewayCallbackVerifier).verify(null);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/settlements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+
+        verify(paymentSettlementService, never()).settle(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for empty settlement")
+    void shouldReturn400ForEmptySettlement() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/settlements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entries\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(paymentSettlementService, never()).settle(any());
+    }
+
     @Test
     @DisplayName("Should get payment by booking id")
     void shouldGetPaymentByBookingId() throws Exception {
@@ -90,4 +325,24 @@ class PaymentControllerTest {
 
         verify(paymentService).getPaymentByBookingId(1L);
     }
+
+    @Test
+    @DisplayName("Should get payments for several bookings")
+    void shouldGetPaymentsByBookingIds() throws Exception {
+        // Given
+        PaymentResponseDto first = new PaymentResponseDto();
+        first.setId(1L);
+        first.setBookingId(1L);
+        PaymentResponseDto second = new PaymentResponseDto();
+        second.setId(2L);
+        second.setBookingId(2L);
+
+        when(paymentService.getPaymentsByBookingIds(List.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/payments/bookings").param("bookingIds", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].bookingId").value(2));
+    }
 }
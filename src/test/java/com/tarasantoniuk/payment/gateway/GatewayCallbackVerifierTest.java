@@ -0,0 +1,36 @@
+package com.tarasantoniuk.payment.gateway;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GatewayCallbackVerifier Unit Tests")
+class GatewayCallbackVerifierTest {
+
+    @Test
+    @DisplayName("Should accept only the configured secret")
+    void shouldAcceptOnlyConfiguredSecret() {
+        // Given
+        GatewayCallbackVerifier verifier = new GatewayCallbackVerifier("s3cret");
+
+        // When & Then
+        assertThatCode(() -> verifier.verify("s3cret")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> verifier.verify("other"))
+                .isInstanceOf(InvalidGatewayCallbackException.class);
+        assertThatThrownBy(() -> verifier.verify(null))
+                .isInstanceOf(InvalidGatewayCallbackException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject every callback when no secret is configured")
+    void shouldRejectAllWithoutConfiguredSecret() {
+        // Given
+        GatewayCallbackVerifier verifier = new GatewayCallbackVerifier("");
+
+        // When & Then
+        assertThatThrownBy(() -> verifier.verify(""))
+                .isInstanceOf(InvalidGatewayCallbackException.class);
+    }
+}
@@ -2,12 +2,14 @@ package com.tarasantoniuk.payment.service;
 
 import com.tarasantoniuk.booking.entity.Booking;
 import com.tarasantoniuk.booking.enums.BookingStatus;
+import com.tarasantoniuk.booking.hold.ReservationHold;
 import com.tarasantoniuk.booking.repository.BookingRepository;
 import com.tarasantoniuk.booking.service.BookingService;
 import com.tarasantoniuk.common.TestFixtures;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
 import com.tarasantoniuk.event.enums.EventType;
 import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.payment.dto.PaymentCallbackRequestDto;
 import com.tarasantoniuk.payment.dto.PaymentResponseDto;
 import com.tarasantoniuk.payment.dto.ProcessPaymentRequestDto;
 import com.tarasantoniuk.payment.entity.Payment;
@@ -24,11 +26,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -195,4 +204,239 @@ class PaymentServiceTest {
 
         verify(paymentRepository).findByBookingId(999L);
     }
+
+    @Test
+    @DisplayName("Should reject synchronous processing while gateway payment is in progress")
+    void shouldRejectProcessPaymentWhileProcessing() {
+        // Given
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        ProcessPaymentRequestDto request = new ProcessPaymentRequestDto();
+        request.setBookingId(1L);
+
+        when(bookingRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBooking));
+        when(paymentRepository.findByBookingId(1L)).thenReturn(Optional.of(testPayment));
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.processPayment(request))
+                .isInstanceOf(IllegalStateException.class);
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should mark payment as processing when submitted to gateway")
+    void shouldStartProcessing() {
+        // Given
+        when(bookingRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBooking));
+        when(paymentRepository.findByBookingId(1L)).thenReturn(Optional.of(testPayment));
+
+        // When
+        PaymentResponseDto response = paymentService.startProcessing(1L, "attempt-1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        assertThat(testPayment.getProcessingStartedAt()).isNotNull();
+        assertThat(testPayment.getGatewayAttemptId()).isEqualTo("attempt-1");
+        verify(paymentRepository).save(testPayment);
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject submit when payment is already processing or completed")
+    void shouldRejectStartProcessingTwice() {
+        // Given
+        when(bookingRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBooking));
+        when(paymentRepository.findByBookingId(1L)).thenReturn(Optional.of(testPayment));
+
+        // When & Then
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        assertThatThrownBy(() -> paymentService.startProcessing(1L, "attempt-1"))
+                .isInstanceOf(IllegalStateException.class);
+        testPayment.setStatus(PaymentStatus.COMPLETED);
+        assertThatThrownBy(() -> paymentService.startProcessing(1L, "attempt-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    @DisplayName("Should complete payment and confirm booking on successful callback")
+    void shouldCompletePaymentOnSuccessfulCallback() {
+        // Given
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        testPayment.setGatewayAttemptId("attempt-1");
+        stubCallbackLookups();
+
+        // When
+        PaymentResponseDto response = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(eventService).createEvent(EventType.PAYMENT_COMPLETED, 1L);
+        verify(bookingService).confirmBooking(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail payment and keep booking pending on declined callback")
+    void shouldFailPaymentOnDeclinedCallback() {
+        // Given
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        testPayment.setGatewayAttemptId("attempt-1");
+        stubCallbackLookups();
+
+        // When
+        PaymentResponseDto response = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", false, "Card declined"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(eventService).createEvent(EventType.PAYMENT_FAILED, 1L, "Card declined");
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should fail payment when booking expired before successful callback")
+    void shouldFailPaymentWhenBookingNoLongerPending() {
+        // Given
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        testPayment.setGatewayAttemptId("attempt-1");
+        testBooking.setStatus(BookingStatus.CANCELLED);
+        stubCallbackLookups();
+
+        // When
+        PaymentResponseDto response = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should ignore duplicate callback for completed payment")
+    void shouldIgnoreDuplicateCallback() {
+        // Given
+        testPayment.setStatus(PaymentStatus.COMPLETED);
+        testPayment.setGatewayAttemptId("attempt-1");
+        stubCallbackLookups();
+
+        // When
+        PaymentResponseDto response = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not apply callbacks of an earlier gateway attempt")
+    void shouldIgnoreCallbackOfEarlierAttempt() {
+        // Given - resubmitted after the first attempt was failed by the stale-payment sweep
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        testPayment.setGatewayAttemptId("attempt-2");
+        stubCallbackLookups();
+
+        // When
+        PaymentResponseDto succeeded = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", true, null));
+        PaymentResponseDto declined = paymentService.completePayment(
+                new PaymentCallbackRequestDto(1L, "attempt-1", "ref-1", false, "Card declined"));
+
+        // Then
+        assertThat(succeeded.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        assertThat(declined.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(bookingService, never()).confirmBooking(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should fail only payments that are still processing")
+    void shouldFailProcessingOnlyWhenProcessing() {
+        // Given
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        // When - PENDING payment is left alone
+        paymentService.failProcessing(1L, "timeout");
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        paymentService.failProcessing(1L, "timeout");
+
+        // Then
+        assertThat(testPayment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(paymentRepository, times(1)).save(testPayment);
+        verify(eventService, times(1)).createEvent(EventType.PAYMENT_FAILED, 1L, "timeout");
+    }
+
+    @Test
+    @DisplayName("Should fail stale processing payments in bulk")
+    void shouldFailStaleProcessingPayments() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(10);
+        when(paymentRepository.findStaleProcessingIds(cutoff)).thenReturn(List.of(1L, 2L));
+        when(paymentRepository.failProcessingByIds(List.of(1L, 2L))).thenReturn(2);
+
+        // When
+        int failed = paymentService.failStaleProcessing(cutoff);
+
+        // Then
+        assertThat(failed).isEqualTo(2);
+        verify(eventService).createEventsInBatch(EventType.PAYMENT_FAILED, List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should look up payments for many bookings in one query")
+    void shouldGetPaymentsByBookingIds() {
+        // Given
+        when(paymentRepository.findByBookingIdIn(Set.of(1L, 2L))).thenReturn(List.of(testPayment));
+
+        // When
+        List<PaymentResponseDto> result = paymentService.getPaymentsByBookingIds(List.of(1L, 2L, 1L));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getBookingId()).isEqualTo(1L);
+        verify(paymentRepository).findByBookingIdIn(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and too large batch lookups")
+    void shouldRejectInvalidBatchLookups() {
+        List<Long> tooMany = LongStream.rangeClosed(1, PaymentService.MAX_BATCH_LOOKUP + 1).boxed().toList();
+
+        assertThatThrownBy(() -> paymentService.getPaymentsByBookingIds(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> paymentService.getPaymentsByBookingIds(tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(paymentRepository, never()).findByBookingIdIn(any());
+    }
+
+    private void stubCallbackLookups() {
+        when(paymentRepository.findBookingIdById(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBooking));
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+    }
+
+    @Test
+    @DisplayName("Should pay for hold with a completed payment for the held amount")
+    void shouldPayForHold() {
+        // Given
+        ReservationHold hold = new ReservationHold("1-abc", 1L, 1L, LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(3), new BigDecimal("230.00"), Instant.now().plusSeconds(600));
+        when(bookingService.createConfirmedBooking(hold)).thenReturn(testBooking);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            TestFixtures.setId(payment, 5L);
+            return payment;
+        });
+
+        // When
+        PaymentResponseDto response = paymentService.payForHold(hold);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(5L);
+        assertThat(response.getBookingId()).isEqualTo(1L);
+        assertThat(response.getAmount()).isEqualByComparingTo("230.00");
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(eventService).createEvent(EventType.PAYMENT_COMPLETED, 5L);
+    }
 }
@@ -0,0 +1,214 @@
+package com.tarasantoniuk.payment.service;
+
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.event.enums.EventType;
+import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.payment.dto.PaymentBookingIds;
+import com.tarasantoniuk.payment.dto.SettlementEntryDto;
+import com.tarasantoniuk.payment.dto.SettlementReportDto;
+import com.tarasantoniuk.payment.gateway.PaymentGateway;
+import com.tarasantoniuk.payment.repository.PaymentRepository;
+import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentSettlementService Unit Tests")
+class PaymentSettlementServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private UnitStatisticsService unitStatisticsService;
+
+    @Mock
+    private EntityVersionService entityVersionService;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentSettlementService paymentSettlementService;
+
+    @BeforeEach
+    void setUp() {
+        paymentSettlementService = new PaymentSettlementService(paymentRepository, bookingRepository,
+                eventService, unitStatisticsService, entityVersionService, paymentGateway, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("Should complete payments and confirm bookings with set-based updates")
+    void shouldSettleSuccessfulPayments() {
+        // Given - payment 3 is already settled, so it is not returned by the lock query
+        when(paymentRepository.lockCompletable(List.of(1L, 2L)))
+                .thenReturn(List.of(ids(1L, 11L), ids(2L, 12L)));
+        when(paymentRepository.lockCompletable(List.of(3L))).thenReturn(List.of());
+        when(paymentRepository.completeByIds(List.of(1L, 2L))).thenReturn(2);
+
+        // When
+        SettlementReportDto report = paymentSettlementService.settle(List.of(
+                entry(1L, true), entry(2L, true), entry(3L, true)));
+
+        // Then
+        assertThat(report.getCompleted()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getBatches()).hasSize(2);
+        assertThat(report.getBatches().get(0).getCompleted()).isEqualTo(2);
+        assertThat(report.getBatches().get(1).getSkipped()).isEqualTo(1);
+
+        verify(bookingRepository).bulkConfirmBookings(List.of(11L, 12L));
+        verify(eventService).createEventsInBatch(EventType.PAYMENT_COMPLETED, List.of(1L, 2L));
+        verify(eventService).createEventsInBatch(EventType.BOOKING_CONFIRMED, List.of(11L, 12L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(unitStatisticsService).invalidateAvailableUnitsCache();
+        verify(entityVersionService).bookingsChanged(List.of(11L, 12L));
+    }
+
+    @Test
+    @DisplayName("Should fail payments reported as failed")
+    void shouldFailUnsuccessfulPayments() {
+        // Given
+        when(paymentRepository.lockCompletable(List.of(1L))).thenReturn(List.of(ids(1L, 11L)));
+        when(paymentRepository.completeByIds(List.of(1L))).thenReturn(1);
+        when(paymentRepository.lockFailable(List.of(2L))).thenReturn(List.of(2L));
+        when(paymentRepository.failByIds(List.of(2L))).thenReturn(1);
+
+        // When
+        SettlementReportDto report = paymentSettlementService.settle(List.of(entry(1L, true), entry(2L, false)));
+
+        // Then
+        assertThat(report.getCompleted()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getSkipped()).isZero();
+        verify(eventService).createEventsInBatch(EventType.PAYMENT_FAILED, List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should skip duplicate entries and keep the first result")
+    void shouldSkipDuplicateEntries() {
+        // Given
+        when(paymentRepository.lockCompletable(List.of(1L))).thenReturn(List.of(ids(1L, 11L)));
+        when(paymentRepository.completeByIds(List.of(1L))).thenReturn(1);
+
+        // When
+        SettlementReportDto report = paymentSettlementService.settle(List.of(entry(1L, true), entry(1L, false)));
+
+        // Then
+        assertThat(report.getTotalEntries()).isEqualTo(2);
+        assertThat(report.getCompleted()).isEqualTo(1);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getBatches()).hasSize(1);
+        verify(paymentRepository, never()).lockFailable(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should not touch caches when nothing was completed")
+    void shouldNotInvalidateCacheWithoutCompletions() {
+        // Given
+        when(paymentRepository.lockFailable(List.of(5L))).thenReturn(List.of());
+
+        // When
+        SettlementReportDto report = paymentSettlementService.settle(List.of(entry(5L, false)));
+
+        // Then
+        assertThat(report.getSkipped()).isEqualTo(1);
+        verify(paymentRepository, never()).failByIds(anyCollection());
+        verifyNoInteractions(unitStatisticsService, eventService, entityVersionService);
+    }
+
+    @Test
+    @DisplayName("Should reject too large settlement")
+    void shouldRejectTooLargeSettlement() {
+        // Given
+        List<SettlementEntryDto> entries = new ArrayList<>();
+        for (long id = 0; id <= PaymentSettlementService.MAX_ENTRIES; id++) {
+            entries.add(entry(id, true));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> paymentSettlementService.settle(entries))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    @DisplayName("Should page outstanding payments by id and settle outcomes reported by the gateway")
+    void shouldReconcileOutstandingPayments() {
+        // Given - two full pages of two, then an empty one
+        when(paymentRepository.findOutstandingIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(paymentRepository.findOutstandingIdsAfter(2L, 2)).thenReturn(List.of(5L, 7L));
+        when(paymentRepository.findOutstandingIdsAfter(7L, 2)).thenReturn(List.of());
+        when(paymentGateway.findOutcomes(List.of(1L, 2L))).thenReturn(List.of());
+        when(paymentGateway.findOutcomes(List.of(5L, 7L))).thenReturn(List.of(entry(5L, true), entry(7L, false)));
+        when(paymentRepository.lockCompletable(List.of(5L))).thenReturn(List.of(ids(5L, 15L)));
+        when(paymentRepository.completeByIds(List.of(5L))).thenReturn(1);
+        when(paymentRepository.lockFailable(List.of(7L))).thenReturn(List.of(7L));
+        when(paymentRepository.failByIds(List.of(7L))).thenReturn(1);
+
+        // When
+        int settled = paymentSettlementService.reconcileOutstanding();
+
+        // Then
+        assertThat(settled).isEqualTo(2);
+        verify(bookingRepository).bulkConfirmBookings(List.of(15L));
+        verify(paymentRepository, times(1)).lockCompletable(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should stop reconciling after a partial page")
+    void shouldStopReconcilingAfterPartialPage() {
+        // Given
+        when(paymentRepository.findOutstandingIdsAfter(0L, 2)).thenReturn(List.of(3L));
+        when(paymentGateway.findOutcomes(List.of(3L))).thenReturn(List.of());
+
+        // When
+        int settled = paymentSettlementService.reconcileOutstanding();
+
+        // Then
+        assertThat(settled).isZero();
+        verify(paymentRepository, times(1)).findOutstandingIdsAfter(anyLong(), anyInt());
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static SettlementEntryDto entry(Long paymentId, boolean success) {
+        return new SettlementEntryDto(paymentId, success);
+    }
+
+    private static PaymentBookingIds ids(Long paymentId, Long bookingId) {
+        return new PaymentBookingIds() {
+            @Override
+            public Long getPaymentId() {
+                return paymentId;
+            }
+
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.tarasantoniuk.payment.service;
+
+import com.tarasantoniuk.payment.dto.PaymentResponseDto;
+import com.tarasantoniuk.payment.enums.PaymentStatus;
+import com.tarasantoniuk.payment.gateway.GatewayPaymentRequest;
+import com.tarasantoniuk.payment.gateway.PaymentGateway;
+import com.tarasantoniuk.payment.gateway.PaymentGatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentSubmissionService Unit Tests")
+class PaymentSubmissionServiceTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentSubmissionService paymentSubmissionService;
+
+    @AfterEach
+    void tearDown() {
+        if (paymentSubmissionService != null) {
+            paymentSubmissionService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return processing payment and call gateway asynchronously")
+    void shouldSubmitToGatewayAsynchronously() throws Exception {
+        // Given
+        paymentSubmissionService = createService(Duration.ofSeconds(5));
+        when(paymentService.startProcessing(eq(1L), anyString())).thenReturn(processingPayment());
+        CountDownLatch release = new CountDownLatch(1);
+        when(paymentGateway.submit(any(GatewayPaymentRequest.class))).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "ref-1";
+        });
+
+        // When
+        PaymentResponseDto response = paymentSubmissionService.submit(1L);
+
+        // Then - returns while the gateway call is still running
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        ArgumentCaptor<String> attemptId = ArgumentCaptor.forClass(String.class);
+        verify(paymentService).startProcessing(eq(1L), attemptId.capture());
+        verify(paymentGateway, timeout(1000))
+                .submit(new GatewayPaymentRequest(10L, attemptId.getValue(), 1L, BigDecimal.valueOf(230)));
+        assertThat(meterRegistry.get("payments.gateway.inflight").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        await(() -> meterRegistry.get("payments.gateway.inflight").gauge().value() == 0.0);
+        assertThat(meterRegistry.get("payments.gateway.submit").tag("outcome", "accepted").timer().count())
+                .isEqualTo(1L);
+        verify(paymentService, never()).failProcessing(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail payment when gateway rejects the charge")
+    void shouldFailPaymentWhenGatewayRejects() {
+        // Given
+        paymentSubmissionService = createService(Duration.ofSeconds(5));
+        when(paymentService.startProcessing(eq(1L), anyString())).thenReturn(processingPayment());
+        when(paymentGateway.submit(any(GatewayPaymentRequest.class)))
+                .thenThrow(new PaymentGatewayException("unavailable"));
+
+        // When
+        paymentSubmissionService.submit(1L);
+
+        // Then
+        verify(paymentService, timeout(1000)).failProcessing(10L, "Gateway submit rejected");
+    }
+
+    @Test
+    @DisplayName("Should leave payment processing when gateway call exceeds submit timeout")
+    void shouldKeepPaymentProcessingOnGatewayTimeout() throws Exception {
+        // Given
+        paymentSubmissionService = createService(Duration.ofMillis(50));
+        when(paymentService.startProcessing(eq(1L), anyString())).thenReturn(processingPayment());
+        when(paymentGateway.submit(any(GatewayPaymentRequest.class))).thenAnswer(inv -> {
+            Thread.sleep(1000);
+            return "ref-1";
+        });
+
+        // When
+        paymentSubmissionService.submit(1L);
+
+        // Then - the charge may still go through, so the callback or the stale-payment sweep settles it
+        await(() -> meterRegistry.find("payments.gateway.submit").tag("outcome", "timeout").timer() != null);
+        assertThat(meterRegistry.get("payments.gateway.submit").tag("outcome", "timeout").timer().count())
+                .isEqualTo(1L);
+        verify(paymentService, never()).failProcessing(anyLong(), anyString());
+    }
+
+    private PaymentSubmissionService createService(Duration submitTimeout) {
+        return new PaymentSubmissionService(paymentService, paymentGateway, meterRegistry, submitTimeout, 2, 10);
+    }
+
+    private static PaymentResponseDto processingPayment() {
+        return new PaymentResponseDto(10L, 1L, BigDecimal.valueOf(230), PaymentStatus.PROCESSING, LocalDateTime.now());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
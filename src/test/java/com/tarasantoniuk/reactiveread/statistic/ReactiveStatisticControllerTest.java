@@ -0,0 +1,141 @@
+package com.tarasantoniuk.reactiveread.statistic;
+
+import com.tarasantoniuk.reactiveread.ReactiveReadApplication;
+import com.tarasantoniuk.reactiveread.common.ReactiveVersionService;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
+import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveStatisticController.class)
+@ContextConfiguration(classes = ReactiveReadApplication.class)
+@DisplayName("ReactiveStatisticController Unit Tests")
+class ReactiveStatisticControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveStatisticService reactiveStatisticService;
+
+    @MockitoBean
+    private ReactiveVersionService reactiveVersionService;
+
+    @BeforeEach
+    void setUp() {
+        when(reactiveVersionService.availabilityETag()).thenReturn(Mono.just(Optional.empty()));
+    }
+
+    @Test
+    @DisplayName("Should get available units count")
+    void shouldGetAvailableUnitsCount() {
+        // Given
+        when(reactiveStatisticService.getAvailableUnits()).thenReturn(Mono.just(new AvailableUnitsStatisticDto(42L)));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/available-units")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.availableUnitsCount").isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should return 304 for available units count when availability ETag matches")
+    void shouldReturnNotModifiedForAvailableUnits() {
+        // Given
+        String eTag = "W/\"avail-9c1d-2026-03-01\"";
+        when(reactiveVersionService.availabilityETag()).thenReturn(Mono.just(Optional.of(eTag)));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/available-units")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+
+        verifyNoInteractions(reactiveStatisticService);
+    }
+
+    @Test
+    @DisplayName("Should default availability range end to its start")
+    void shouldGetSingleDayAvailability() {
+        // Given
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(reactiveStatisticService.getAvailability(day, day))
+                .thenReturn(Mono.just(new AvailabilityStatisticDto(day, day, 10L, 7L)));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/availability?from=2026-03-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalUnits").isEqualTo(10)
+                .jsonPath("$.freeUnits").isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when availability bitmaps are not built")
+    void shouldReturnBadRequestWhenBitmapsMissing() {
+        // Given
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(reactiveStatisticService.getAvailability(day, day)).thenReturn(Mono.error(
+                new IllegalStateException("Availability bitmaps are not built yet, run a rebuild first")));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/availability?from=2026-03-01")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Availability bitmaps are not built yet, run a rebuild first");
+    }
+
+    @Test
+    @DisplayName("Should get occupancy time series with filters")
+    void shouldGetOccupancy() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 2);
+        OccupancyTimeSeriesDto series = new OccupancyTimeSeriesDto(from, to, 7L, List.of(
+                new OccupancyPointDto(from, AccommodationType.FLAT, 3L),
+                new OccupancyPointDto(to, AccommodationType.FLAT, 0L)));
+        when(reactiveStatisticService.getOccupancy(from, to, AccommodationType.FLAT, 7L)).thenReturn(Mono.just(series));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/occupancy?from=2026-03-01&to=2026-03-02&accommodationType=FLAT&ownerId=7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.points.length()").isEqualTo(2)
+                .jsonPath("$.points[0].bookedUnits").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a required parameter is missing")
+    void shouldReturnBadRequestForMissingParameter() {
+        // When & Then
+        webTestClient.get().uri("/api/v1/statistics/occupancy?from=2026-03-01")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(reactiveStatisticService);
+    }
+}
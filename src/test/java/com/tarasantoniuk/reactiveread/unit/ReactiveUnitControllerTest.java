@@ -0,0 +1,144 @@
+package com.tarasantoniuk.reactiveread.unit;
+
+import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.reactiveread.ReactiveReadApplication;
+import com.tarasantoniuk.reactiveread.common.ReactiveVersionService;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveUnitController.class)
+@ContextConfiguration(classes = ReactiveReadApplication.class)
+@DisplayName("ReactiveUnitController Unit Tests")
+class ReactiveUnitControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveUnitService reactiveUnitService;
+
+    @MockitoBean
+    private ReactiveVersionService reactiveVersionService;
+
+    private UnitResponseDto unit;
+
+    @BeforeEach
+    void setUp() {
+        unit = new UnitResponseDto(1L, 2, AccommodationType.FLAT, 3, new BigDecimal("100.00"),
+                new BigDecimal("115.00"), "Cozy apartment", 7L, LocalDateTime.of(2026, 1, 20, 14, 30));
+        when(reactiveVersionService.unitETag(any())).thenReturn(Mono.just(Optional.empty()));
+        when(reactiveVersionService.availabilityETag()).thenReturn(Mono.just(Optional.empty()));
+    }
+
+    @Test
+    @DisplayName("Should get unit by ID")
+    void shouldGetUnitById() {
+        // Given
+        when(reactiveUnitService.getUnitById(1L)).thenReturn(Mono.just(unit));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/units/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.accommodationType").isEqualTo("FLAT")
+                .jsonPath("$.totalCost").isEqualTo(115.00);
+    }
+
+    @Test
+    @DisplayName("Should return 404 without ETag when unit not found")
+    void shouldReturnNotFoundForMissingUnit() {
+        // Given
+        when(reactiveVersionService.unitETag(99L)).thenReturn(Mono.just(Optional.of("W/\"unit-abc\"")));
+        when(reactiveUnitService.getUnitById(99L))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Unit not found with id: 99")));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/units/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unit not found with id: 99");
+    }
+
+    @Test
+    @DisplayName("Should return 304 without loading the unit when ETag matches")
+    void shouldReturnNotModifiedForUnit() {
+        // Given
+        String eTag = "W/\"unit-abc\"";
+        when(reactiveVersionService.unitETag(1L)).thenReturn(Mono.just(Optional.of(eTag)));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/units/1")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+
+        verifyNoInteractions(reactiveUnitService);
+    }
+
+    @Test
+    @DisplayName("Should search units with criteria, paging and ETag")
+    void shouldSearchUnits() {
+        // Given
+        String eTag = "W/\"avail-abc-2026-03-01\"";
+        when(reactiveVersionService.availabilityETag()).thenReturn(Mono.just(Optional.of(eTag)));
+        when(reactiveUnitService.searchUnits(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(unit), PageRequest.of(0, 20), 1)));
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/units/search?numberOfRooms=2&accommodationType=FLAT&size=500&sortBy=baseCost&sortDir=desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(1);
+
+        verify(reactiveUnitService).searchUnits(
+                argThat(criteria -> criteria.getNumberOfRooms() == 2
+                        && criteria.getAccommodationType() == AccommodationType.FLAT),
+                argThat((Pageable pageable) -> pageable.getPageSize() == 100
+                        && pageable.getSort().getOrderFor("baseCost").isDescending()));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid search criteria")
+    void shouldRejectInvalidCriteria() {
+        // When & Then
+        webTestClient.get().uri("/api/v1/units/search?numberOfRooms=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed");
+
+        verifyNoInteractions(reactiveUnitService);
+    }
+}
@@ -0,0 +1,137 @@
+package com.tarasantoniuk.reactiveread.unit;
+
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UnitSearchQuery Unit Tests")
+class UnitSearchQueryTest {
+
+    @Test
+    @DisplayName("Should select all units without criteria")
+    void shouldSelectAllUnitsWithoutCriteria() {
+        // When
+        UnitSearchQuery query = UnitSearchQuery.of(new UnitSearchCriteriaDto());
+
+        // Then
+        assertThat(query.countSql()).isEqualTo("SELECT COUNT(*) FROM units u");
+        assertThat(query.selectSql(PageRequest.of(2, 20, Sort.by("id"))))
+                .endsWith("FROM units u ORDER BY u.id ASC LIMIT 20 OFFSET 40");
+        assertThat(query.bindings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bind every criterion and convert costs to base cost")
+    void shouldBindCriteria() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto(2, AccommodationType.FLAT, 3,
+                new BigDecimal("115.00"), new BigDecimal("230.00"), null, null, null);
+
+        // When
+        UnitSearchQuery query = UnitSearchQuery.of(criteria);
+
+        // Then
+        assertThat(query.countSql()).contains(
+                "u.number_of_rooms = :numberOfRooms",
+                "u.accommodation_type = :accommodationType",
+                "u.floor = :floor",
+                "u.base_cost >= :minBaseCost",
+                "u.base_cost <= :maxBaseCost");
+        assertThat(query.bindings())
+                .containsEntry("numberOfRooms", 2)
+                .containsEntry("accommodationType", "FLAT")
+                .containsEntry("floor", 3)
+                .containsEntry("minBaseCost", new BigDecimal("100.00"))
+                .containsEntry("maxBaseCost", new BigDecimal("200.00"));
+    }
+
+    @Test
+    @DisplayName("Should exclude units with active overlapping bookings only when both dates are set")
+    void shouldFilterByAvailabilityWhenBothDatesSet() {
+        // Given
+        UnitSearchCriteriaDto bothDates = new UnitSearchCriteriaDto();
+        bothDates.setStartDate(LocalDate.of(2026, 3, 1));
+        bothDates.setEndDate(LocalDate.of(2026, 3, 7));
+        UnitSearchCriteriaDto startOnly = new UnitSearchCriteriaDto();
+        startOnly.setStartDate(LocalDate.of(2026, 3, 1));
+
+        // When
+        UnitSearchQuery filtered = UnitSearchQuery.of(bothDates);
+        UnitSearchQuery unfiltered = UnitSearchQuery.of(startOnly);
+
+        // Then
+        assertThat(filtered.countSql()).contains("NOT EXISTS", "b.status IN ('PENDING', 'CONFIRMED')");
+        assertThat(filtered.bindings())
+                .containsEntry("startDate", LocalDate.of(2026, 3, 1))
+                .containsEntry("endDate", LocalDate.of(2026, 3, 7));
+        assertThat(unfiltered.countSql()).doesNotContain("bookings");
+    }
+
+    @Test
+    @DisplayName("Should map sort properties to columns")
+    void shouldMapSortPropertiesToColumns() {
+        // When
+        String sql = UnitSearchQuery.of(new UnitSearchCriteriaDto())
+                .selectSql(PageRequest.of(0, 10, Sort.by("baseCost").descending().and(Sort.by("id"))));
+
+        // Then
+        assertThat(sql).contains("ORDER BY u.base_cost DESC, u.id ASC");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort property")
+    void shouldRejectUnknownSortProperty() {
+        // Given
+        UnitSearchQuery query = UnitSearchQuery.of(new UnitSearchCriteriaDto());
+
+        // When & Then
+        assertThatThrownBy(() -> query.selectSql(PageRequest.of(0, 10, Sort.by("id; DROP TABLE units"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort property");
+    }
+
+    @Test
+    @DisplayName("Should match search text and rank matches when the page is unsorted")
+    void shouldMatchAndRankText() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setText("  balcony pet-friendly ");
+
+        // When
+        UnitSearchQuery query = UnitSearchQuery.of(criteria);
+
+        // Then
+        assertThat(query.countSql())
+                .endsWith("WHERE u.search_vector @@ websearch_to_tsquery('pg_catalog.english', :text)");
+        assertThat(query.bindings()).containsEntry("text", "balcony pet-friendly");
+        assertThat(query.selectSql(PageRequest.of(0, 20)))
+                .contains("ORDER BY ts_rank(u.search_vector, websearch_to_tsquery('pg_catalog.english', :text)) DESC, u.id ASC");
+        assertThat(query.selectSql(PageRequest.of(0, 20, Sort.by("baseCost"))))
+                .contains("ORDER BY u.base_cost ASC")
+                .doesNotContain("ts_rank");
+    }
+
+    @Test
+    @DisplayName("Should ignore blank search text")
+    void shouldIgnoreBlankText() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setText("   ");
+
+        // When
+        UnitSearchQuery query = UnitSearchQuery.of(criteria);
+
+        // Then
+        assertThat(query.countSql()).isEqualTo("SELECT COUNT(*) FROM units u");
+        assertThat(query.selectSql(PageRequest.of(0, 20))).doesNotContain("ORDER BY");
+    }
+}
@@ -1,19 +1,32 @@
 package com.tarasantoniuk.statistic.controller;
 
+import com.tarasantoniuk.common.version.EntityVersionService;
+import com.tarasantoniuk.statistic.dto.AvailabilityConsistencyReportDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
 import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
 import com.tarasantoniuk.statistic.service.StatisticService;
+import com.tarasantoniuk.unit.enums.AccommodationType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,6 +41,9 @@ class StatisticControllerTest {
     @MockitoBean
     private StatisticService statisticService;
 
+    @MockitoBean
+    private EntityVersionService entityVersionService;
+
     @Test
     @DisplayName("Should get available units count")
     void shouldGetAvailableUnitsCount() throws Exception {
@@ -43,6 +59,21 @@ class StatisticControllerTest {
         verify(statisticService).getAvailableUnits();
     }
 
+    @Test
+    @DisplayName("Should return 304 for available units count when availability ETag matches")
+    void shouldReturnNotModifiedForAvailableUnits() throws Exception {
+        // Given
+        String eTag = "W/\"avail-9c1d-2026-03-01\"";
+        when(entityVersionService.availabilityETag()).thenReturn(Optional.of(eTag));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/available-units").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verifyNoInteractions(statisticService);
+    }
+
     @Test
     @DisplayName("Should refresh available units cache")
     void shouldRefreshAvailableUnitsCache() throws Exception {
@@ -56,6 +87,7 @@ class StatisticControllerTest {
                 .andExpect(jsonPath("$.availableUnitsCount").value(25));
 
         verify(statisticService).refreshAvailableUnits();
+        verify(entityVersionService).availabilityChanged();
     }
 
     @Test
@@ -72,4 +104,63 @@ class StatisticControllerTest {
 
         verify(statisticService).getAvailableUnits();
     }
+
+    @Test
+    @DisplayName("Should get single day availability when 'to' is omitted")
+    void shouldGetSingleDayAvailability() throws Exception {
+        // Given
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(statisticService.getAvailability(day, day))
+                .thenReturn(new AvailabilityStatisticDto(day, day, 10L, 6L));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/availability").param("from", "2026-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUnits").value(10))
+                .andExpect(jsonPath("$.freeUnits").value(6));
+
+        verify(statisticService).getAvailability(day, day);
+    }
+
+    @Test
+    @DisplayName("Should return availability consistency report")
+    void shouldReturnConsistencyReport() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 3);
+        when(statisticService.checkAvailabilityConsistency(from, to)).thenReturn(
+                new AvailabilityConsistencyReportDto(from, to, true, List.of(LocalDate.of(2026, 3, 2)), false));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/availability/consistency")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(false))
+                .andExpect(jsonPath("$.inconsistentDays[0]").value("2026-03-02"));
+    }
+
+    @Test
+    @DisplayName("Should get occupancy time series with filters")
+    void shouldGetOccupancyTimeSeries() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 2);
+        OccupancyTimeSeriesDto series = new OccupancyTimeSeriesDto(from, to, 3L, List.of(
+                new OccupancyPointDto(from, AccommodationType.FLAT, 2L),
+                new OccupancyPointDto(to, AccommodationType.FLAT, 0L)));
+        when(statisticService.getOccupancy(from, to, AccommodationType.FLAT, 3L)).thenReturn(series);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/occupancy")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-02")
+                        .param("accommodationType", "FLAT")
+                        .param("ownerId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points.length()").value(2))
+                .andExpect(jsonPath("$.points[0].bookedUnits").value(2));
+
+        verify(statisticService).getOccupancy(from, to, AccommodationType.FLAT, 3L);
+    }
 }
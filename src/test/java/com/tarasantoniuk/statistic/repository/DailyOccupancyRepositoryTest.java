@@ -0,0 +1,133 @@
+package com.tarasantoniuk.statistic.repository;
+
+import com.tarasantoniuk.booking.entity.Booking;
+import com.tarasantoniuk.booking.enums.BookingStatus;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.common.AbstractIntegrationTest;
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.user.entity.User;
+import com.tarasantoniuk.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository layer tests for DailyOccupancyRepository using Testcontainers PostgreSQL.
+ * Verifies the native upsert and rebuild queries of the occupancy rollup.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("DailyOccupancyRepository Tests")
+class DailyOccupancyRepositoryTest extends AbstractIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Unit flat;
+    private Unit home;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setUsername("owner");
+        owner.setEmail("owner@test.com");
+        owner = userRepository.save(owner);
+
+        flat = unitRepository.save(createUnit(AccommodationType.FLAT, owner));
+        home = unitRepository.save(createUnit(AccommodationType.HOME, null));
+    }
+
+    @Test
+    @DisplayName("Should add and subtract booking days per type and owner")
+    void shouldApplyBookingDeltas() {
+        // Given
+        Booking flatBooking = bookingRepository.saveAndFlush(createBooking(flat, DAY, DAY.plusDays(2)));
+        Booking homeBooking = bookingRepository.saveAndFlush(createBooking(home, DAY.plusDays(1), DAY.plusDays(1)));
+
+        // When
+        dailyOccupancyRepository.applyBookings(List.of(flatBooking.getId(), homeBooking.getId()), 1);
+        dailyOccupancyRepository.applyBookings(List.of(flatBooking.getId()), -1);
+        dailyOccupancyRepository.applyBookings(List.of(flatBooking.getId()), 1);
+
+        // Then
+        List<OccupancyPointDto> series = dailyOccupancyRepository.findTimeSeries(DAY, DAY.plusDays(2), null, null);
+        assertThat(series).hasSize(4);
+        assertThat(series).filteredOn(p -> p.getAccommodationType() == AccommodationType.FLAT)
+                .allMatch(p -> p.getBookedUnits() == 1L);
+
+        List<OccupancyPointDto> ownerSeries = dailyOccupancyRepository.findTimeSeries(DAY, DAY.plusDays(2), null, owner.getId());
+        assertThat(ownerSeries).hasSize(3).allMatch(p -> p.getAccommodationType() == AccommodationType.FLAT);
+
+        List<OccupancyPointDto> homeSeries = dailyOccupancyRepository.findTimeSeries(
+                DAY, DAY.plusDays(2), AccommodationType.HOME, null);
+        assertThat(homeSeries).singleElement()
+                .satisfies(p -> assertThat(p.getDay()).isEqualTo(DAY.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should rebuild window from active bookings only")
+    void shouldRebuildFromActiveBookings() {
+        // Given
+        bookingRepository.saveAndFlush(createBooking(flat, DAY.minusDays(2), DAY));
+        Booking cancelled = createBooking(home, DAY, DAY);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        bookingRepository.saveAndFlush(cancelled);
+
+        // When
+        dailyOccupancyRepository.deleteByDayBetween(DAY, DAY.plusDays(5));
+        int rows = dailyOccupancyRepository.insertFromBookings(DAY, DAY.plusDays(5));
+
+        // Then - clamped to the window, cancelled booking ignored
+        assertThat(rows).isEqualTo(1);
+        assertThat(dailyOccupancyRepository.findTimeSeries(DAY, DAY.plusDays(5), null, null))
+                .singleElement()
+                .satisfies(p -> {
+                    assertThat(p.getDay()).isEqualTo(DAY);
+                    assertThat(p.getBookedUnits()).isEqualTo(1L);
+                });
+    }
+
+    private Unit createUnit(AccommodationType type, User unitOwner) {
+        Unit unit = new Unit();
+        unit.setOwner(unitOwner);
+        unit.setNumberOfRooms(2);
+        unit.setAccommodationType(type);
+        unit.setFloor(1);
+        unit.setBaseCost(new BigDecimal("100.00"));
+        return unit;
+    }
+
+    private Booking createBooking(Unit unit, LocalDate startDate, LocalDate endDate) {
+        Booking booking = new Booking();
+        booking.setUser(owner);
+        booking.setUnit(unit);
+        booking.setStartDate(startDate);
+        booking.setEndDate(endDate);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
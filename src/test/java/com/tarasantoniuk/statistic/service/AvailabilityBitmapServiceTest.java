@@ -0,0 +1,277 @@
+package com.tarasantoniuk.statistic.service;
+
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.statistic.dto.AvailabilityConsistencyReportDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityRebuildResultDto;
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.BitOperation;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityBitmapService Unit Tests")
+class AvailabilityBitmapServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @InjectMocks
+    private AvailabilityBitmapService availabilityBitmapService;
+
+    @BeforeEach
+    void setUp() {
+        // Run Redis callbacks against the mocked connection
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(connection.keyCommands()).thenReturn(keyCommands);
+        lenient().when(stringRedisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(inv -> inv.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        lenient().when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(inv -> {
+                    inv.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+                    return List.of();
+                });
+    }
+
+    @Test
+    @DisplayName("Should set unit bit for every tracked day of the booking")
+    void shouldSetBitsForBookingDays() {
+        // When
+        availabilityBitmapService.markOccupied(7L, TODAY.minusDays(3), TODAY.plusDays(2), true);
+
+        // Then - past days are not tracked
+        verify(stringCommands, times(3)).setBit(any(byte[].class), eq(7L), eq(true));
+        verify(stringCommands).setBit(key("availability:occupied:" + TODAY), 7L, true);
+        verify(stringCommands).setBit(key("availability:occupied:" + TODAY.plusDays(2)), 7L, true);
+        verify(keyCommands, times(3)).expireAt(any(byte[].class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should skip bookings that ended before today")
+    void shouldSkipPastBookings() {
+        // When
+        availabilityBitmapService.markOccupied(7L, TODAY.minusDays(5), TODAY.minusDays(1), false);
+
+        // Then
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should swallow Redis failures when updating bitmaps")
+    void shouldSwallowRedisFailures() {
+        // Given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("down"));
+
+        // When
+        availabilityBitmapService.markOccupied(7L, TODAY, TODAY, false);
+
+        // Then
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should count free units for a single day with BITCOUNT")
+    void shouldCountFreeUnitsForSingleDay() {
+        // Given
+        when(stringRedisTemplate.hasKey("availability:ready")).thenReturn(true);
+        when(stringCommands.bitCount(key("availability:units"))).thenReturn(10L);
+        when(stringCommands.bitCount(key("availability:occupied:" + TODAY))).thenReturn(4L);
+
+        // When
+        AvailabilityStatisticDto result = availabilityBitmapService.countFreeUnits(TODAY, TODAY);
+
+        // Then
+        assertThat(result.getTotalUnits()).isEqualTo(10L);
+        assertThat(result.getFreeUnits()).isEqualTo(6L);
+        verify(stringCommands, never()).bitOp(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count registered held units as occupied unless already booked")
+    void shouldCountHeldUnitsAsOccupied() {
+        // Given - unit 3 is held and free, unit 4 is held and booked, unit 99 is held but not registered
+        byte[] occupied = key("availability:occupied:" + TODAY);
+        when(stringRedisTemplate.hasKey("availability:ready")).thenReturn(true);
+        when(reservationHoldStore.heldUnitIds(TODAY, TODAY)).thenReturn(Set.of(3L, 4L, 99L));
+        when(stringCommands.bitCount(key("availability:units"))).thenReturn(10L);
+        when(stringCommands.bitCount(occupied)).thenReturn(4L);
+        when(stringCommands.getBit(key("availability:units"), 3L)).thenReturn(true);
+        when(stringCommands.getBit(key("availability:units"), 4L)).thenReturn(true);
+        when(stringCommands.getBit(key("availability:units"), 99L)).thenReturn(false);
+        when(stringCommands.getBit(occupied, 3L)).thenReturn(false);
+        when(stringCommands.getBit(occupied, 4L)).thenReturn(true);
+
+        // When
+        AvailabilityStatisticDto result = availabilityBitmapService.countFreeUnits(TODAY, TODAY);
+
+        // Then
+        assertThat(result.getFreeUnits()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should OR daily bitmaps for a date range and delete temporary key")
+    void shouldCountFreeUnitsForRange() {
+        // Given
+        when(stringRedisTemplate.hasKey("availability:ready")).thenReturn(true);
+        when(stringCommands.bitCount(any(byte[].class))).thenAnswer(inv ->
+                new String(inv.<byte[]>getArgument(0), StandardCharsets.UTF_8).equals("availability:units") ? 10L : 7L);
+
+        // When
+        AvailabilityStatisticDto result = availabilityBitmapService.countFreeUnits(TODAY, TODAY.plusDays(6));
+
+        // Then
+        assertThat(result.getFreeUnits()).isEqualTo(3L);
+        verify(stringCommands).bitOp(eq(BitOperation.OR), any(byte[].class), any(byte[][].class));
+        verify(keyCommands).del(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should reject counting before bitmaps are built")
+    void shouldRejectCountBeforeRebuild() {
+        // Given
+        when(stringRedisTemplate.hasKey("availability:ready")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> availabilityBitmapService.countFreeUnits(TODAY, TODAY))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject past and too long ranges")
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> availabilityBitmapService.countFreeUnits(TODAY.minusDays(1), TODAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityBitmapService.countFreeUnits(TODAY, TODAY.plusDays(366)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityBitmapService.countFreeUnits(TODAY.plusDays(1), TODAY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should rebuild units and daily bitmaps from database")
+    void shouldRebuildFromDatabase() {
+        // Given
+        when(unitRepository.findAllIds()).thenReturn(List.of(1L, 2L, 9L));
+        when(bookingRepository.findActiveDateRanges(any(), any())).thenReturn(List.of(
+                new BookingDateRange(100L, 2L, TODAY.minusDays(1), TODAY.plusDays(1))));
+
+        // When
+        AvailabilityRebuildResultDto result = availabilityBitmapService.rebuild();
+
+        // Then
+        assertThat(result.getUnits()).isEqualTo(3);
+        assertThat(result.getBookings()).isEqualTo(1);
+        assertThat(result.getOccupiedDays()).isEqualTo(2);
+        verify(stringCommands).set(key("availability:units"), new byte[]{0x60, 0x40});
+        verify(stringCommands).set(key("availability:occupied:" + TODAY), new byte[]{0x20});
+        verify(keyCommands).del(key("availability:occupied:" + TODAY.plusDays(2)));
+        verify(stringCommands).set(eq(key("availability:ready")), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should report days whose bitmap differs from active bookings")
+    void shouldReportInconsistentDays() {
+        // Given
+        when(unitRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(bookingRepository.findActiveDateRanges(TODAY, TODAY.plusDays(2))).thenReturn(List.of(
+                new BookingDateRange(100L, 2L, TODAY, TODAY.plusDays(1))));
+
+        List<Object> actual = new ArrayList<>();
+        actual.add(new byte[]{0x60});   // units 1, 2
+        actual.add(new byte[]{0x20});   // today: unit 2 - consistent
+        actual.add(null);               // tomorrow: missing bit
+        actual.add(new byte[]{0x40});   // day after: stale unit 1
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenReturn(actual);
+
+        // When
+        AvailabilityConsistencyReportDto report =
+                availabilityBitmapService.checkConsistency(TODAY, TODAY.plusDays(2));
+
+        // Then
+        assertThat(report.isUnitsConsistent()).isTrue();
+        assertThat(report.getInconsistentDays()).containsExactly(TODAY.plusDays(1), TODAY.plusDays(2));
+        assertThat(report.isConsistent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should convert between BitSet and Redis bit order")
+    void shouldConvertBitOrder() {
+        // Given
+        BitSet bits = new BitSet();
+        bits.set(0);
+        bits.set(9);
+
+        // When
+        byte[] bytes = AvailabilityBitmapService.toRedisBytes(bits);
+
+        // Then
+        assertThat(bytes).containsExactly((byte) 0x80, (byte) 0x40);
+        assertThat(AvailabilityBitmapService.fromRedisBytes(bytes)).isEqualTo(bits);
+        assertThat(AvailabilityBitmapService.fromRedisBytes(null)).isEqualTo(new BitSet());
+    }
+
+    @Test
+    @DisplayName("Should set unit bit when unit is registered")
+    void shouldRegisterUnit() {
+        // When
+        availabilityBitmapService.registerUnit(5L);
+
+        // Then
+        verify(stringCommands).setBit(key("availability:units"), 5L, true);
+        verify(stringCommands, never()).setBit(any(), anyLong(), eq(false));
+        verify(stringCommands, times(1)).setBit(any(), anyLong(), anyBoolean());
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
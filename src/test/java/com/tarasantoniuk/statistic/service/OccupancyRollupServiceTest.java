@@ -0,0 +1,129 @@
+package com.tarasantoniuk.statistic.service;
+
+import com.tarasantoniuk.statistic.dto.OccupancyPointDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
+import com.tarasantoniuk.statistic.repository.DailyOccupancyRepository;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OccupancyRollupService Unit Tests")
+class OccupancyRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @InjectMocks
+    private OccupancyRollupService occupancyRollupService;
+
+    @Test
+    @DisplayName("Should add one per day for activated bookings")
+    void shouldApplyPositiveDeltaForActivatedBookings() {
+        // When
+        occupancyRollupService.bookingsActivated(List.of(1L, 2L));
+
+        // Then
+        verify(dailyOccupancyRepository).applyBookings(List.of(1L, 2L), 1);
+    }
+
+    @Test
+    @DisplayName("Should subtract one per day for deactivated bookings")
+    void shouldApplyNegativeDeltaForDeactivatedBookings() {
+        // When
+        occupancyRollupService.bookingsDeactivated(List.of(3L));
+
+        // Then
+        verify(dailyOccupancyRepository).applyBookings(List.of(3L), -1);
+    }
+
+    @Test
+    @DisplayName("Should skip update when there are no bookings")
+    void shouldSkipEmptyBookingList() {
+        // When
+        occupancyRollupService.bookingsDeactivated(List.of());
+
+        // Then
+        verify(dailyOccupancyRepository, never()).applyBookings(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should zero-fill days and types without bookings")
+    void shouldZeroFillTimeSeries() {
+        // Given
+        when(dailyOccupancyRepository.findTimeSeries(FROM, FROM.plusDays(1), null, null)).thenReturn(List.of(
+                new OccupancyPointDto(FROM.plusDays(1), AccommodationType.FLAT, 4L)));
+
+        // When
+        OccupancyTimeSeriesDto series = occupancyRollupService.getTimeSeries(FROM, FROM.plusDays(1), null, null);
+
+        // Then
+        int types = AccommodationType.values().length;
+        assertThat(series.getPoints()).hasSize(2 * types);
+        assertThat(series.getPoints())
+                .filteredOn(p -> p.getBookedUnits() > 0)
+                .singleElement()
+                .satisfies(p -> {
+                    assertThat(p.getDay()).isEqualTo(FROM.plusDays(1));
+                    assertThat(p.getAccommodationType()).isEqualTo(AccommodationType.FLAT);
+                    assertThat(p.getBookedUnits()).isEqualTo(4L);
+                });
+    }
+
+    @Test
+    @DisplayName("Should return only the requested type")
+    void shouldFilterByType() {
+        // Given
+        when(dailyOccupancyRepository.findTimeSeries(FROM, FROM.plusDays(2), AccommodationType.HOME, 5L))
+                .thenReturn(List.of());
+
+        // When
+        OccupancyTimeSeriesDto series = occupancyRollupService.getTimeSeries(FROM, FROM.plusDays(2), AccommodationType.HOME, 5L);
+
+        // Then
+        assertThat(series.getOwnerId()).isEqualTo(5L);
+        assertThat(series.getPoints()).hasSize(3)
+                .allMatch(p -> p.getAccommodationType() == AccommodationType.HOME && p.getBookedUnits() == 0L);
+    }
+
+    @Test
+    @DisplayName("Should delete and recompute the window on rebuild")
+    void shouldRebuildWindow() {
+        // Given
+        when(dailyOccupancyRepository.insertFromBookings(FROM, FROM.plusDays(30))).thenReturn(12);
+
+        // When
+        int rows = occupancyRollupService.rebuild(FROM, FROM.plusDays(30));
+
+        // Then
+        assertThat(rows).isEqualTo(12);
+        var order = inOrder(dailyOccupancyRepository);
+        order.verify(dailyOccupancyRepository).deleteByDayBetween(FROM, FROM.plusDays(30));
+        order.verify(dailyOccupancyRepository).insertFromBookings(FROM, FROM.plusDays(30));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid ranges")
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> occupancyRollupService.getTimeSeries(FROM, FROM.minusDays(1), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> occupancyRollupService.rebuild(FROM, FROM.plusDays(366)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(dailyOccupancyRepository);
+    }
+}
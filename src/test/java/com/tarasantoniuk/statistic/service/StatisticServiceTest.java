@@ -1,6 +1,8 @@
 package com.tarasantoniuk.statistic.service;
 
+import com.tarasantoniuk.statistic.dto.AvailabilityStatisticDto;
 import com.tarasantoniuk.statistic.dto.AvailableUnitsStatisticDto;
+import com.tarasantoniuk.statistic.dto.OccupancyTimeSeriesDto;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +10,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,6 +25,12 @@ class StatisticServiceTest {
     @Mock
     private UnitStatisticsService unitStatisticsService;
 
+    @Mock
+    private AvailabilityBitmapService availabilityBitmapService;
+
+    @Mock
+    private OccupancyRollupService occupancyRollupService;
+
     @InjectMocks
     private StatisticService statisticService;
 
@@ -65,4 +77,40 @@ class StatisticServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getAvailableUnitsCount()).isEqualTo(0L);
     }
+
+    @Test
+    @DisplayName("Should get range availability from bitmaps")
+    void shouldGetAvailabilityFromBitmaps() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 7);
+        AvailabilityStatisticDto stats = new AvailabilityStatisticDto(from, to, 10L, 4L);
+        when(availabilityBitmapService.countFreeUnits(from, to)).thenReturn(stats);
+
+        // When
+        AvailabilityStatisticDto result = statisticService.getAvailability(from, to);
+
+        // Then
+        assertThat(result).isSameAs(stats);
+        verify(availabilityBitmapService).countFreeUnits(from, to);
+    }
+
+    @Test
+    @DisplayName("Should rebuild occupancy rollup before returning time series")
+    void shouldRebuildOccupancyBeforeReturningSeries() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        OccupancyTimeSeriesDto series = new OccupancyTimeSeriesDto(from, to, null, List.of());
+        when(occupancyRollupService.getTimeSeries(from, to, null, null)).thenReturn(series);
+
+        // When
+        OccupancyTimeSeriesDto result = statisticService.rebuildOccupancy(from, to);
+
+        // Then
+        assertThat(result).isSameAs(series);
+        var order = inOrder(occupancyRollupService);
+        order.verify(occupancyRollupService).rebuild(from, to);
+        order.verify(occupancyRollupService).getTimeSeries(from, to, null, null);
+    }
 }
@@ -1,34 +1,68 @@
 package com.tarasantoniuk.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tarasantoniuk.common.json.BinaryMediaTypes;
+import com.tarasantoniuk.common.version.EntityVersionService;
 import com.tarasantoniuk.unit.dto.CreateUnitRequestDto;
+import com.tarasantoniuk.unit.dto.PriceBucketDto;
+import com.tarasantoniuk.unit.dto.UnitCalendarDto;
+import com.tarasantoniuk.unit.dto.UnitCalendarResponseDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogResultDto;
+import com.tarasantoniuk.unit.dto.UnitFacetsDto;
+import com.tarasantoniuk.unit.dto.UnitImportErrorDto;
+import com.tarasantoniuk.unit.dto.UnitImportReportDto;
 import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
 import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.service.UnitCalendarService;
+import com.tarasantoniuk.unit.service.UnitCatalogIndex;
+import com.tarasantoniuk.unit.service.UnitImportService;
+import com.tarasantoniuk.unit.service.UnitJsonCache;
+import com.tarasantoniuk.unit.service.UnitSearchCacheService;
 import com.tarasantoniuk.unit.service.UnitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +71,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("UnitController Unit Tests")
 class UnitControllerTest {
 
+    private static final String UNIT_ETAG = "W/\"unit-5f3a\"";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -46,6 +82,30 @@ class UnitControllerTest {
     @MockitoBean
     private UnitService unitService;
 
+    @MockitoBean
+    private UnitCalendarService unitCalendarService;
+
+    @MockitoBean
+    private EntityVersionService entityVersionService;
+
+    @MockitoBean
+    private UnitSearchCacheService unitSearchCacheService;
+
+    @MockitoBean
+    private UnitCatalogIndex unitCatalogIndex;
+
+    @MockitoBean
+    private UnitImportService unitImportService;
+
+    @TestConfiguration
+    static class JsonCacheConfig {
+
+        @Bean
+        UnitJsonCache unitJsonCache(ObjectMapper objectMapper, UnitSearchCacheService unitSearchCacheService) {
+            return new UnitJsonCache(objectMapper, unitSearchCacheService, new SimpleMeterRegistry(), 100, 100, 256);
+        }
+    }
+
     @Test
     @DisplayName("Should create unit and return 201")
     void shouldCreateUnitAndReturn201() throws Exception {
@@ -102,6 +162,120 @@ class UnitControllerTest {
         verify(unitService).getUnitById(1L);
     }
 
+    @Test
+    @DisplayName("Should return unit with its ETag")
+    void shouldReturnUnitWithETag() throws Exception {
+        // Given
+        UnitResponseDto response = new UnitResponseDto();
+        response.setId(1L);
+        when(entityVersionService.unitETag(1L)).thenReturn(Optional.of(UNIT_ETAG));
+        when(unitService.getUnitById(1L)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, UNIT_ETAG))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without loading unit when ETag matches")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // Given
+        when(entityVersionService.unitETag(1L)).thenReturn(Optional.of(UNIT_ETAG));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/1").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + UNIT_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, UNIT_ETAG))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(unitService);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated unit reads from pre-serialized JSON")
+    void shouldServeUnitFromSerializedJson() throws Exception {
+        // Given
+        UnitResponseDto response = new UnitResponseDto();
+        response.setId(2L);
+        response.setNumberOfRooms(3);
+        when(entityVersionService.unitETag(2L)).thenReturn(Optional.of(UNIT_ETAG));
+        when(unitService.getUnitById(2L)).thenReturn(response);
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/units/2"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.numberOfRooms").value(3));
+        }
+
+        verify(unitService, times(1)).getUnitById(2L);
+    }
+
+    @Test
+    @DisplayName("Should produce Smile instead of pre-serialized JSON when preferred")
+    void shouldProduceSmileWhenPreferred() throws Exception {
+        // Given
+        UnitResponseDto response = new UnitResponseDto();
+        response.setId(3L);
+        response.setNumberOfRooms(4);
+        when(entityVersionService.unitETag(3L)).thenReturn(Optional.of(UNIT_ETAG));
+        when(unitService.getUnitById(3L)).thenReturn(response);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/units/3")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryMediaTypes.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, UNIT_ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        assertThat(smileMapper.readTree(body).get("numberOfRooms").asInt()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should send gzip variant of large page when accepted")
+    void shouldSendGzipPageWhenAccepted() throws Exception {
+        // Given
+        List<UnitResponseDto> units = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            UnitResponseDto unit = new UnitResponseDto();
+            unit.setId(id);
+            unit.setDescription("Cozy 2-room apartment in city center with balcony");
+            units.add(unit);
+        }
+        when(unitService.getAllUnits(any(Pageable.class))).thenReturn(new PageImpl<>(units));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/units").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(objectMapper.readTree(in).get("content")).hasSize(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return full page when availability ETag is outdated")
+    void shouldReturnFullPageWhenETagOutdated() throws Exception {
+        // Given
+        when(entityVersionService.availabilityETag()).thenReturn(Optional.of("W/\"avail-new-2026-03-01\""));
+        when(unitService.getAllUnits(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units").header(HttpHeaders.IF_NONE_MATCH, "W/\"avail-old-2026-03-01\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"avail-new-2026-03-01\""));
+    }
+
     @Test
     @DisplayName("Should get all units with pagination")
     void shouldGetAllUnitsWithPagination() throws Exception {
@@ -275,4 +449,166 @@ class UnitControllerTest {
 
         verify(unitService).searchUnits(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should rank text searches by relevance unless a sort is given")
+    void shouldRankTextSearchesByRelevance() throws Exception {
+        // Given
+        Page<UnitResponseDto> page = new PageImpl<>(List.of(), PageRequest.of(0, 20), 0);
+        when(unitService.searchUnits(any(), any())).thenReturn(page);
+
+        // When
+        mockMvc.perform(get("/api/v1/units/search")
+                        .param("text", "balcony"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/units/search")
+                        .param("text", "balcony")
+                        .param("sortBy", "baseCost"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/units/search")
+                        .param("sortBy", "relevance"))
+                .andExpect(status().isOk());
+
+        // Then
+        ArgumentCaptor<UnitSearchCriteriaDto> criteria = ArgumentCaptor.forClass(UnitSearchCriteriaDto.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(unitService, times(3)).searchUnits(criteria.capture(), pageable.capture());
+        assertThat(criteria.getAllValues().get(0).getText()).isEqualTo("balcony");
+        assertThat(pageable.getAllValues().get(0).getSort().isUnsorted()).isTrue();
+        assertThat(pageable.getAllValues().get(1).getSort()).isEqualTo(Sort.by("baseCost").ascending());
+        assertThat(pageable.getAllValues().get(2).getSort()).isEqualTo(Sort.by("id").ascending());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when search text is too long")
+    void shouldReturnBadRequestForTooLongSearchText() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/search")
+                        .param("text", "a".repeat(201)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(unitService);
+    }
+
+    @Test
+    @DisplayName("Should search the catalog with facets")
+    void shouldSearchCatalogWithFacets() throws Exception {
+        // Given
+        UnitResponseDto unit = new UnitResponseDto(7L, 2, AccommodationType.FLAT, 3, new BigDecimal("100.00"),
+                new BigDecimal("115.0000"), "Cozy flat", 1L, LocalDateTime.of(2026, 1, 20, 14, 30));
+        UnitFacetsDto facets = new UnitFacetsDto(
+                Map.of(AccommodationType.FLAT, 1L), Map.of(2, 1L), Map.of(3, 1L),
+                List.of(new PriceBucketDto(new BigDecimal("100.00"), new BigDecimal("150.00"), 1L)));
+        when(unitCatalogIndex.search(any(), eq(true), eq(5))).thenReturn(new UnitCatalogResultDto(1L, List.of(unit), facets));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/catalog")
+                        .param("accommodationType", "FLAT")
+                        .param("sortDir", "desc")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(1))
+                .andExpect(jsonPath("$.units[0].id").value(7))
+                .andExpect(jsonPath("$.facets.accommodationTypes.FLAT").value(1))
+                .andExpect(jsonPath("$.facets.numberOfRooms.2").value(1))
+                .andExpect(jsonPath("$.facets.priceBuckets[0].fromCost").value(100.00));
+
+        ArgumentCaptor<UnitSearchCriteriaDto> criteria = ArgumentCaptor.forClass(UnitSearchCriteriaDto.class);
+        verify(unitCatalogIndex).search(criteria.capture(), eq(true), eq(5));
+        assertThat(criteria.getValue().getAccommodationType()).isEqualTo(AccommodationType.FLAT);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the catalog cannot serve the criteria")
+    void shouldReturnBadRequestForUnsupportedCatalogCriteria() throws Exception {
+        // Given
+        when(unitCatalogIndex.search(any(), eq(false), eq(20))).thenThrow(
+                new IllegalArgumentException("Catalog search does not filter by dates or text, use /api/v1/units/search"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/catalog")
+                        .param("startDate", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream an NDJSON import to the import service")
+    void shouldImportUnitsFromNdjson() throws Exception {
+        // Given
+        String body = """
+                {"numberOfRooms":2,"accommodationType":"FLAT","floor":3,"baseCost":100.00,"ownerId":1}
+                {"numberOfRooms":0,"accommodationType":"FLAT","floor":3,"baseCost":100.00,"ownerId":1}
+                """;
+        UnitImportReportDto report = new UnitImportReportDto(2, 1, 1, 12,
+                List.of(new UnitImportErrorDto(2, "numberOfRooms: Number of rooms must be at least 1")), false);
+        ArgumentCaptor<InputStream> input = ArgumentCaptor.forClass(InputStream.class);
+        when(unitImportService.importUnits(input.capture(), eq(UnitImportService.Format.NDJSON))).thenAnswer(invocation -> {
+            assertThat(new String(input.getValue().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+            return report;
+        });
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/units/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+    }
+
+    @Test
+    @DisplayName("Should import CSV and return 400 for a CSV header without required columns")
+    void shouldImportUnitsFromCsv() throws Exception {
+        // Given
+        when(unitImportService.importUnits(any(), eq(UnitImportService.Format.CSV)))
+                .thenThrow(new IllegalArgumentException("CSV header is missing columns: ownerId"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/units/import")
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("numberOfRooms,accommodationType,floor,baseCost\n2,FLAT,3,100.00\n"))
+                .andExpect(status().isBadRequest());
+        verify(unitImportService).importUnits(any(), eq(UnitImportService.Format.CSV));
+    }
+
+    @Test
+    @DisplayName("Should return availability calendar for several units")
+    void shouldReturnAvailabilityCalendar() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        UnitCalendarResponseDto calendar = new UnitCalendarResponseDto(from, to, 31, List.of(
+                new UnitCalendarDto(1L, "Bg==", 2),
+                new UnitCalendarDto(2L, "", 0)));
+
+        when(unitCalendarService.getCalendar(List.of(1L, 2L), from, to)).thenReturn(calendar);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/calendar")
+                        .param("unitIds", "1,2")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").value(31))
+                .andExpect(jsonPath("$.units.length()").value(2))
+                .andExpect(jsonPath("$.units[0].busyDays").value("Bg=="))
+                .andExpect(jsonPath("$.units[0].busyDayCount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid calendar window")
+    void shouldReturn400ForInvalidCalendarWindow() throws Exception {
+        // Given
+        when(unitCalendarService.getCalendar(any(), any(), eq(LocalDate.of(2026, 2, 1))))
+                .thenThrow(new IllegalArgumentException("End date must not be before start date"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/units/calendar")
+                        .param("unitIds", "1")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-02-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,156 @@
+package com.tarasantoniuk.unit.repository;
+
+import com.tarasantoniuk.common.AbstractIntegrationTest;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.service.UnitSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text unit search against a million-unit catalog, compared with a {@code description ILIKE}
+ * scan returning the same page. Descriptions use the vocabulary of {@code DataInitializationService}
+ * (each feature on ~10% of units) plus a rare feature on ~0.1%; 30% of units are booked in the
+ * searched range. Everything runs in the test transaction and is rolled back.
+ * Excluded from {@code gradle test}; run with {@code gradle benchmark} (needs Docker).
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Unit Text Search Benchmark")
+class UnitTextSearchBenchmark extends AbstractIntegrationTest {
+
+    private static final int UNITS = 1_000_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    private static final LocalDate START = LocalDate.of(2026, 7, 1);
+    private static final LocalDate END = LocalDate.of(2026, 7, 7);
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should measure text search latency on a million-unit catalog")
+    void measureTextSearchLatency() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long loadStart = System.nanoTime();
+        createCatalog(jdbc);
+        System.out.printf("%nLoaded %,d units in %d s%n", UNITS, (System.nanoTime() - loadStart) / 1_000_000_000);
+
+        String plan = String.join("\n", jdbc.queryForList(
+                "EXPLAIN SELECT count(*) FROM units WHERE search_vector @@ websearch_to_tsquery('pg_catalog.english', 'sauna')",
+                String.class));
+        assertThat(plan).contains("idx_units_search_vector");
+
+        System.out.printf("%-34s %8s %10s %10s %10s %10s%n",
+                "search (page of 20 + count)", "matches", "fts p50", "fts p95", "ilike p50", "ilike p95");
+        measure(jdbc, "common word", criteria("balcony", null, false), "%balcony%", null, false);
+        measure(jdbc, "rare word", criteria("sauna", null, false), "%sauna%", null, false);
+        measure(jdbc, "common word + floor", criteria("balcony", 3, false), "%balcony%", 3, false);
+        measure(jdbc, "common word + floor + dates", criteria("balcony", 3, true), "%balcony%", 3, true);
+        measure(jdbc, "rare word + dates", criteria("sauna", null, true), "%sauna%", null, true);
+    }
+
+    private void measure(JdbcTemplate jdbc, String name, UnitSearchCriteriaDto criteria,
+                         String pattern, Integer floor, boolean dates) {
+        PageRequest pageable = PageRequest.of(0, 20);
+        Supplier<Long> fts = () -> {
+            Page<?> page = unitRepository.findAll(UnitSpecification.withCriteria(criteria), pageable);
+            return page.getTotalElements();
+        };
+        String where = " WHERE u.description ILIKE ?"
+                + (floor != null ? " AND u.floor = " + floor : "")
+                + (dates ? " AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.unit_id = u.id"
+                + " AND b.status IN ('PENDING', 'CONFIRMED') AND b.start_date <= '" + END + "'"
+                + " AND b.end_date >= '" + START + "')" : "");
+        Supplier<Long> ilike = () -> {
+            jdbc.queryForList("SELECT u.id FROM units u" + where + " ORDER BY u.id LIMIT 20", Long.class, pattern);
+            return jdbc.queryForObject("SELECT count(*) FROM units u" + where, Long.class, pattern);
+        };
+
+        long matches = fts.get();
+        assertThat(ilike.get()).isEqualTo(matches);
+        long[] ftsNanos = time(fts);
+        long[] ilikeNanos = time(ilike);
+        System.out.printf("%-34s %8d %8.1fms %8.1fms %8.1fms %8.1fms%n", name, matches,
+                millis(ftsNanos, 50), millis(ftsNanos, 95), millis(ilikeNanos, 50), millis(ilikeNanos, 95));
+    }
+
+    private static void createCatalog(JdbcTemplate jdbc) {
+        // Schema comes from ddl-auto here, so add what the Liquibase changeset adds
+        jdbc.execute("ALTER TABLE units ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        jdbc.execute("""
+                CREATE OR REPLACE TRIGGER trg_units_search_vector
+                    BEFORE INSERT OR UPDATE OF description ON units
+                    FOR EACH ROW
+                EXECUTE FUNCTION tsvector_update_trigger(search_vector, 'pg_catalog.english', description)""");
+        jdbc.update("INSERT INTO users (id, username, email, created_at) VALUES (-1, 'bench', 'bench@test.com', now())");
+        jdbc.update("""
+                INSERT INTO units (id, number_of_rooms, accommodation_type, floor, base_cost, description, created_at)
+                SELECT i, 1 + i % 5, (ARRAY['HOME', 'FLAT', 'APARTMENT'])[1 + i % 3], i % 10, 50 + i % 200,
+                       (ARRAY['Cozy', 'Spacious', 'Modern', 'Comfortable', 'Luxurious',
+                              'Bright', 'Quiet', 'Central', 'Beautiful', 'Charming'])[1 + (i * 7) % 10]
+                           || ' ' || (1 + i % 5) || '-room flat '
+                           || (ARRAY['with balcony', 'near metro', 'with parking', 'newly renovated',
+                                     'with great view', 'fully furnished', 'with garden', 'pet-friendly',
+                                     'with terrace', 'close to city center'])[1 + (i * 13 / 7) % 10]
+                           || CASE WHEN i % 1000 = 0 THEN ' and sauna' ELSE '' END,
+                       now()
+                FROM generate_series(1, ?) i""", UNITS);
+        jdbc.update("""
+                INSERT INTO bookings (id, unit_id, user_id, start_date, end_date, status, created_at)
+                SELECT i, i, -1, ?, ?, 'CONFIRMED', now()
+                FROM generate_series(1, ?) i
+                WHERE i % 10 < 3""", START.plusDays(2), END.plusDays(2), UNITS);
+        jdbc.execute("CREATE INDEX idx_units_search_vector ON units USING GIN (search_vector)");
+        jdbc.execute("CREATE INDEX idx_bench_bookings_unit ON bookings (unit_id)");
+        jdbc.execute("ANALYZE units");
+        jdbc.execute("ANALYZE bookings");
+    }
+
+    private static UnitSearchCriteriaDto criteria(String text, Integer floor, boolean dates) {
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setText(text);
+        criteria.setFloor(floor);
+        if (dates) {
+            criteria.setStartDate(START);
+            criteria.setEndDate(END);
+        }
+        return criteria;
+    }
+
+    private static long[] time(Supplier<Long> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double millis(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tarasantoniuk.unit.service;
+
+import com.tarasantoniuk.booking.dto.BookingDateRange;
+import com.tarasantoniuk.booking.repository.BookingRepository;
+import com.tarasantoniuk.unit.dto.UnitCalendarDto;
+import com.tarasantoniuk.unit.dto.UnitCalendarResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitCalendarService Unit Tests")
+class UnitCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private UnitCalendarService unitCalendarService;
+
+    @Test
+    @DisplayName("Should fold overlapping bookings into per-unit bitmaps with one query")
+    void shouldFoldBookingsIntoBitmaps() {
+        // Given
+        when(bookingRepository.findActiveDateRangesForUnits(Set.of(1L, 2L), FROM, TO)).thenReturn(List.of(
+                new BookingDateRange(10L, 1L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3)),
+                new BookingDateRange(11L, 1L, LocalDate.of(2026, 2, 25), LocalDate.of(2026, 3, 1)),
+                new BookingDateRange(12L, 1L, LocalDate.of(2026, 3, 30), LocalDate.of(2026, 4, 5))));
+
+        // When
+        UnitCalendarResponseDto calendar = unitCalendarService.getCalendar(List.of(1L, 2L, 1L), FROM, TO);
+
+        // Then
+        assertThat(calendar.getDays()).isEqualTo(31);
+        assertThat(calendar.getUnits()).extracting(UnitCalendarDto::getUnitId).containsExactly(1L, 2L);
+
+        UnitCalendarDto first = calendar.getUnits().get(0);
+        BitSet busy = BitSet.valueOf(Base64.getDecoder().decode(first.getBusyDays()));
+        assertThat(busy.stream().boxed().toList()).containsExactly(0, 1, 2, 29, 30);
+        assertThat(first.getBusyDayCount()).isEqualTo(5);
+
+        UnitCalendarDto second = calendar.getUnits().get(1);
+        assertThat(second.getBusyDays()).isEmpty();
+        assertThat(second.getBusyDayCount()).isZero();
+
+        verify(bookingRepository, times(1)).findActiveDateRangesForUnits(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject end date before start date")
+    void shouldRejectInvertedWindow() {
+        assertThatThrownBy(() -> unitCalendarService.getCalendar(List.of(1L), TO, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject window longer than maximum")
+    void shouldRejectTooLongWindow() {
+        assertThatThrownBy(() -> unitCalendarService.getCalendar(List.of(1L), FROM, FROM.plusDays(UnitCalendarService.MAX_DAYS)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("366");
+    }
+
+    @Test
+    @DisplayName("Should reject too many units")
+    void shouldRejectTooManyUnits() {
+        List<Long> unitIds = LongStream.rangeClosed(1, UnitCalendarService.MAX_UNITS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> unitCalendarService.getCalendar(unitIds, FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject empty unit list")
+    void shouldRejectEmptyUnitList() {
+        assertThatThrownBy(() -> unitCalendarService.getCalendar(List.of(), FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tarasantoniuk.unit.service;
+
+import com.tarasantoniuk.unit.dto.UnitCatalogRow;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Catalog search latency over a million units, spread like the text search benchmark
+ * (rooms 1-5, three types, floors 0-9, base cost 50-249, independent of each other). Needs no database.
+ * Excluded from {@code gradle test}; run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Unit Catalog Index Benchmark")
+class UnitCatalogIndexBenchmark {
+
+    private static final int UNITS = 1_000_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+    private static final AccommodationType[] TYPES = AccommodationType.values();
+
+    @Test
+    @DisplayName("Should measure faceted search latency on a million-unit catalog")
+    void measureCatalogSearchLatency() {
+        UnitRepository unitRepository = mock(UnitRepository.class);
+        when(unitRepository.findAllCatalogRows()).thenReturn(catalog());
+        UnitCatalogIndex index = new UnitCatalogIndex(unitRepository, new SimpleMeterRegistry(),
+                new BigDecimal("50"), Duration.ofMinutes(5));
+        long loadStart = System.nanoTime();
+        index.load();
+        System.out.printf("%nLoaded %,d units in %d ms%n", index.size(), (System.nanoTime() - loadStart) / 1_000_000);
+        assertThat(index.size()).isEqualTo(UNITS);
+
+        System.out.printf("%-36s %8s %10s %10s%n", "search (top 20 + facets)", "matches", "p50", "p99");
+        measure(index, "no filters", criteria(null, null, null, null), false);
+        measure(index, "rooms", criteria(2, null, null, null), false);
+        measure(index, "rooms + type", criteria(2, AccommodationType.FLAT, null, null), false);
+        measure(index, "rooms + type + floor", criteria(2, AccommodationType.FLAT, 3, null), false);
+        measure(index, "rooms + type + floor + cost, desc", criteria(2, AccommodationType.FLAT, 3, "150.00"), true);
+        measure(index, "cost", criteria(null, null, null, "100.00"), false);
+    }
+
+    private static void measure(UnitCatalogIndex index, String name, UnitSearchCriteriaDto criteria, boolean descending) {
+        long matches = index.search(criteria, descending, 20).getTotalMatches();
+        for (int i = 0; i < WARMUP; i++) {
+            index.search(criteria, descending, 20);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            index.search(criteria, descending, 20);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-36s %8d %8.1fus %8.1fus%n", name, matches,
+                nanos[ITERATIONS / 2] / 1_000.0, nanos[ITERATIONS * 99 / 100] / 1_000.0);
+    }
+
+    private static List<UnitCatalogRow> catalog() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<UnitCatalogRow> rows = new ArrayList<>(UNITS);
+        for (long i = 1; i <= UNITS; i++) {
+            rows.add(new UnitCatalogRow(i, (int) (1 + i % 5), TYPES[(int) (i / 5 % TYPES.length)], (int) (i / 15 % 10),
+                    BigDecimal.valueOf(5_000 + (i * 7919) % 20_000, 2), "Unit " + i, 1L, createdAt));
+        }
+        return rows;
+    }
+
+    private static UnitSearchCriteriaDto criteria(Integer rooms, AccommodationType type, Integer floor, String maxCost) {
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setNumberOfRooms(rooms);
+        criteria.setAccommodationType(type);
+        criteria.setFloor(floor);
+        criteria.setMaxCost(maxCost != null ? new BigDecimal(maxCost) : null);
+        return criteria;
+    }
+}
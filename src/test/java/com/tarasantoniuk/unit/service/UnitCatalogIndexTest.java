@@ -0,0 +1,262 @@
+package com.tarasantoniuk.unit.service;
+
+import com.tarasantoniuk.unit.dto.PriceBucketDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogResultDto;
+import com.tarasantoniuk.unit.dto.UnitCatalogRow;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitCatalogIndex Unit Tests")
+class UnitCatalogIndexTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 20, 14, 30, 0, 123_456_000);
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    private UnitCatalogIndex unitCatalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        unitCatalogIndex = new UnitCatalogIndex(unitRepository, new SimpleMeterRegistry(),
+                new BigDecimal("50"), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should return matching units cheapest first with their full details")
+    void shouldReturnMatchingUnitsCheapestFirst() {
+        // Given
+        load(row(1L, 2, AccommodationType.FLAT, 3, "120.00"),
+                row(2L, 2, AccommodationType.FLAT, 1, "80.00"),
+                row(3L, 3, AccommodationType.HOME, 3, "60.00"),
+                row(4L, 2, AccommodationType.FLAT, 5, "80.00"));
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setNumberOfRooms(2);
+        criteria.setAccommodationType(AccommodationType.FLAT);
+
+        // When
+        UnitCatalogResultDto result = unitCatalogIndex.search(criteria, false, 10);
+
+        // Then
+        assertThat(result.getTotalMatches()).isEqualTo(3);
+        assertThat(result.getUnits()).extracting(UnitResponseDto::getId).containsExactly(2L, 4L, 1L);
+        UnitResponseDto unit = result.getUnits().get(2);
+        assertThat(unit.getBaseCost()).isEqualByComparingTo("120.00");
+        assertThat(unit.getTotalCost()).isEqualByComparingTo("138.00");
+        assertThat(unit.getFloor()).isEqualTo(3);
+        assertThat(unit.getDescription()).isEqualTo("Unit 1");
+        assertThat(unit.getOwnerId()).isEqualTo(7L);
+        assertThat(unit.getCreatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    @DisplayName("Should filter by cost given with markup, bounds inclusive")
+    void shouldFilterByCostWithMarkup() {
+        // Given - 115.00 with markup is 100.00 base cost
+        load(row(1L, 1, AccommodationType.FLAT, 1, "99.99"),
+                row(2L, 1, AccommodationType.FLAT, 1, "100.00"),
+                row(3L, 1, AccommodationType.FLAT, 1, "150.00"),
+                row(4L, 1, AccommodationType.FLAT, 1, "150.01"));
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setMinCost(new BigDecimal("115.00"));
+        criteria.setMaxCost(new BigDecimal("172.50"));
+
+        // When
+        UnitCatalogResultDto result = unitCatalogIndex.search(criteria, false, 10);
+
+        // Then
+        assertThat(result.getUnits()).extracting(UnitResponseDto::getId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet with every filter except its own")
+    void shouldCountFacetsWithoutOwnFilter() {
+        // Given
+        load(row(1L, 1, AccommodationType.FLAT, 1, "40.00"),
+                row(2L, 2, AccommodationType.FLAT, 2, "50.00"),
+                row(3L, 2, AccommodationType.HOME, 2, "90.00"),
+                row(4L, 3, AccommodationType.APARTMENT, 2, "200.00"));
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setAccommodationType(AccommodationType.FLAT);
+        criteria.setFloor(2);
+
+        // When
+        UnitCatalogResultDto result = unitCatalogIndex.search(criteria, false, 10);
+
+        // Then
+        assertThat(result.getTotalMatches()).isEqualTo(1);
+        // Types on floor 2, floors of flats, rooms and prices of flats on floor 2
+        assertThat(result.getFacets().getAccommodationTypes())
+                .containsEntry(AccommodationType.FLAT, 1L)
+                .containsEntry(AccommodationType.HOME, 1L)
+                .containsEntry(AccommodationType.APARTMENT, 1L);
+        assertThat(result.getFacets().getFloors()).containsEntry(1, 1L).containsEntry(2, 1L);
+        assertThat(result.getFacets().getNumberOfRooms())
+                .containsEntry(1, 0L).containsEntry(2, 1L).containsEntry(3, 0L);
+        // 50.00 base is 57.50 with markup
+        assertThat(result.getFacets().getPriceBuckets())
+                .extracting(PriceBucketDto::getFromCost, PriceBucketDto::getToCost, PriceBucketDto::getCount)
+                .containsExactly(tuple(new BigDecimal("50.00"), new BigDecimal("100.00"), 1L));
+    }
+
+    @Test
+    @DisplayName("Should return top K in both directions for dense and selective matches")
+    void shouldReturnTopKForDenseAndSelectiveMatches() {
+        // Given - 2000 units, costs descending by id; every hundredth unit has 3 rooms
+        List<UnitCatalogRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            rows.add(row(id, id % 100 == 0 ? 3 : 1, AccommodationType.FLAT, 1, (10_000 - id) + ".00"));
+        }
+        load(rows.toArray(UnitCatalogRow[]::new));
+        UnitSearchCriteriaDto all = new UnitSearchCriteriaDto();
+        UnitSearchCriteriaDto selective = new UnitSearchCriteriaDto();
+        selective.setNumberOfRooms(3);
+        selective.setMaxCost(new BigDecimal("10350.00")); // base 9000.00, ids 1000..2000
+
+        // When
+        UnitCatalogResultDto cheapest = unitCatalogIndex.search(all, false, 3);
+        UnitCatalogResultDto priciest = unitCatalogIndex.search(all, true, 3);
+        UnitCatalogResultDto selectiveCheapest = unitCatalogIndex.search(selective, false, 2);
+        UnitCatalogResultDto selectivePriciest = unitCatalogIndex.search(selective, true, 2);
+
+        // Then
+        assertThat(cheapest.getUnits()).extracting(UnitResponseDto::getId).containsExactly(2000L, 1999L, 1998L);
+        assertThat(priciest.getUnits()).extracting(UnitResponseDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(selectiveCheapest.getTotalMatches()).isEqualTo(11);
+        assertThat(selectiveCheapest.getUnits()).extracting(UnitResponseDto::getId).containsExactly(2000L, 1900L);
+        assertThat(selectivePriciest.getUnits()).extracting(UnitResponseDto::getId).containsExactly(1000L, 1100L);
+    }
+
+    @Test
+    @DisplayName("Should add created units in cost order and ignore duplicates")
+    void shouldAddCreatedUnitsInCostOrder() {
+        // Given
+        load(row(1L, 1, AccommodationType.FLAT, 1, "50.00"),
+                row(2L, 1, AccommodationType.FLAT, 1, "150.00"));
+        when(unitRepository.findCatalogRowById(3L)).thenReturn(Optional.of(row(3L, 1, AccommodationType.HOME, 1, "100.00")));
+
+        // When
+        unitCatalogIndex.addUnit(3L);
+        unitCatalogIndex.addUnit(3L);
+
+        // Then
+        UnitCatalogResultDto result = unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 10);
+        assertThat(result.getUnits()).extracting(UnitResponseDto::getId).containsExactly(1L, 3L, 2L);
+        assertThat(result.getFacets().getAccommodationTypes()).containsEntry(AccommodationType.HOME, 1L);
+        assertThat(unitCatalogIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should merge an unsorted batch into the cost order, ties broken by id")
+    void shouldMergeBatchIntoCostOrder() {
+        // Given
+        load(row(10L, 1, AccommodationType.FLAT, 1, "150.00"),
+                row(1L, 1, AccommodationType.FLAT, 1, "50.00"),
+                row(20L, 1, AccommodationType.FLAT, 1, "100.00"));
+        when(unitRepository.findCatalogRowsByIds(List.of(4L, 5L, 6L, 7L, 20L))).thenReturn(List.of(
+                row(4L, 1, AccommodationType.FLAT, 1, "200.00"),
+                row(5L, 1, AccommodationType.FLAT, 1, "100.00"),
+                row(6L, 1, AccommodationType.FLAT, 1, "10.00"),
+                row(7L, 1, AccommodationType.FLAT, 1, "150.00"),
+                row(20L, 1, AccommodationType.FLAT, 1, "100.00")));
+
+        // When
+        unitCatalogIndex.addUnits(List.of(4L, 5L, 6L, 7L, 20L));
+
+        // Then
+        assertThat(unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 10).getUnits())
+                .extracting(UnitResponseDto::getId).containsExactly(6L, 1L, 5L, 20L, 7L, 10L, 4L);
+        assertThat(unitCatalogIndex.search(new UnitSearchCriteriaDto(), true, 10).getUnits())
+                .extracting(UnitResponseDto::getId).containsExactly(4L, 10L, 7L, 20L, 5L, 1L, 6L);
+        assertThat(unitCatalogIndex.size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should catch up from the latest creation time minus the overlap")
+    void shouldCatchUpWithOverlap() {
+        // Given
+        load(row(1L, 1, AccommodationType.FLAT, 1, "50.00"));
+        when(unitRepository.findCatalogRowsCreatedSince(CREATED_AT.minusMinutes(5)))
+                .thenReturn(List.of(row(1L, 1, AccommodationType.FLAT, 1, "50.00"),
+                        row(9L, 1, AccommodationType.FLAT, 1, "10.00")));
+
+        // When
+        unitCatalogIndex.catchUp();
+
+        // Then
+        verify(unitRepository).findCatalogRowsCreatedSince(CREATED_AT.minusMinutes(5));
+        assertThat(unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 10).getUnits())
+                .extracting(UnitResponseDto::getId).containsExactly(9L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject date and text criteria")
+    void shouldRejectDateAndTextCriteria() {
+        // Given
+        load(row(1L, 1, AccommodationType.FLAT, 1, "50.00"));
+        UnitSearchCriteriaDto dates = new UnitSearchCriteriaDto();
+        dates.setStartDate(LocalDate.of(2026, 3, 1));
+        UnitSearchCriteriaDto text = new UnitSearchCriteriaDto();
+        text.setText("balcony");
+
+        // When & Then
+        assertThatThrownBy(() -> unitCatalogIndex.search(dates, false, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> unitCatalogIndex.search(text, false, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse searches until loaded and load on the next catch-up after a failure")
+    void shouldRetryFailedLoad() {
+        // Given
+        when(unitRepository.findAllCatalogRows())
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenReturn(List.of(row(1L, 1, AccommodationType.FLAT, 1, "50.00")));
+        unitCatalogIndex.load();
+
+        // When & Then
+        assertThatThrownBy(() -> unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Unit catalog is not loaded yet");
+
+        unitCatalogIndex.catchUp();
+        assertThat(unitCatalogIndex.search(new UnitSearchCriteriaDto(), false, 10).getTotalMatches()).isEqualTo(1);
+    }
+
+    private void load(UnitCatalogRow... rows) {
+        when(unitRepository.findAllCatalogRows()).thenReturn(List.of(rows));
+        unitCatalogIndex.load();
+    }
+
+    private static UnitCatalogRow row(Long id, int rooms, AccommodationType type, int floor, String baseCost) {
+        return new UnitCatalogRow(id, rooms, type, floor, new BigDecimal(baseCost), "Unit " + id,
+                id == 9L ? null : 7L, CREATED_AT);
+    }
+}
@@ -0,0 +1,269 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.TestFixtures;
+import com.tarasantoniuk.event.enums.EventType;
+import com.tarasantoniuk.event.service.EventService;
+import com.tarasantoniuk.statistic.service.UnitStatisticsService;
+import com.tarasantoniuk.unit.dto.UnitImportErrorDto;
+import com.tarasantoniuk.unit.dto.UnitImportReportDto;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.unit.event.UnitsImportedEvent;
+import com.tarasantoniuk.unit.repository.UnitRepository;
+import com.tarasantoniuk.user.entity.User;
+import com.tarasantoniuk.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitImportService Unit Tests")
+class UnitImportServiceTest {
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private UnitStatisticsService unitStatisticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nextUnitId = new AtomicLong(100);
+
+    private UnitImportService unitImportService;
+
+    @BeforeEach
+    void setUp() {
+        unitImportService = new UnitImportService(unitRepository, userRepository, eventService,
+                unitStatisticsService, eventPublisher, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows in batches with one owner lookup per batch")
+    void shouldImportNdjsonInBatches() throws Exception {
+        // Given
+        givenExistingOwners(1L, 2L);
+        String body = """
+                {"numberOfRooms":2,"accommodationType":"FLAT","floor":3,"baseCost":100.00,"description":"Cozy","ownerId":1}
+                {"numberOfRooms":3,"accommodationType":"HOME","floor":0,"baseCost":150.00,"ownerId":2}
+
+                {"numberOfRooms":1,"accommodationType":"APARTMENT","floor":7,"baseCost":80.00,"ownerId":1}
+                """;
+
+        // When
+        UnitImportReportDto report = unitImportService.importUnits(stream(body), UnitImportService.Format.NDJSON);
+
+        // Then
+        assertThat(report.getTotalRows()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isZero();
+        assertThat(report.getErrors()).isEmpty();
+
+        verify(userRepository, times(2)).findExistingIds(anyCollection());
+        verify(eventService).createEventsInBatch(EventType.UNIT_CREATED, List.of(100L, 101L));
+        verify(eventService).createEventsInBatch(EventType.UNIT_CREATED, List.of(102L));
+        verify(eventPublisher).publishEvent(new UnitsImportedEvent(List.of(100L, 101L)));
+        verify(eventPublisher).publishEvent(new UnitsImportedEvent(List.of(102L)));
+        verify(entityManager, times(2)).clear();
+        verify(unitStatisticsService).invalidateAvailableUnitsCache();
+    }
+
+    @Test
+    @DisplayName("Should map every field of a row onto the unit")
+    void shouldMapRowOntoUnit() throws Exception {
+        // Given
+        givenExistingOwners(1L);
+        User owner = TestFixtures.createTestUser();
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        String body = "{\"numberOfRooms\":2,\"accommodationType\":\"FLAT\",\"floor\":-1,"
+                + "\"baseCost\":99.50,\"description\":\"Basement studio\",\"ownerId\":1}";
+
+        // When
+        unitImportService.importUnits(stream(body), UnitImportService.Format.NDJSON);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Unit>> units = ArgumentCaptor.forClass(List.class);
+        verify(unitRepository).saveAll(units.capture());
+        Unit unit = units.getValue().get(0);
+        assertThat(unit.getNumberOfRooms()).isEqualTo(2);
+        assertThat(unit.getAccommodationType()).isEqualTo(AccommodationType.FLAT);
+        assertThat(unit.getFloor()).isEqualTo(-1);
+        assertThat(unit.getBaseCost()).isEqualByComparingTo("99.50");
+        assertThat(unit.getDescription()).isEqualTo("Basement studio");
+        assertThat(unit.getOwner()).isSameAs(owner);
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows and unknown owners by line and import the rest")
+    void shouldReportRejectedRowsByLine() throws Exception {
+        // Given - owner 9 does not exist
+        givenExistingOwners(1L);
+        String body = """
+                {"numberOfRooms":2,"accommodationType":"FLAT","floor":3,"baseCost":100.00,"ownerId":9}
+                {"numberOfRooms":0,"accommodationType":"FLAT","floor":3,"baseCost":0.50,"ownerId":1}
+                {"numberOfRooms":2,"accommodationType":"FLAT","floor":3,
+                {"numberOfRooms":2,"accommodationType":"FLAT","floor":3,"baseCost":100.00,"ownerId":1}
+                """;
+
+        // When
+        UnitImportReportDto report = unitImportService.importUnits(stream(body), UnitImportService.Format.NDJSON);
+
+        // Then
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(UnitImportErrorDto::getLine).containsExactly(1L, 2L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Owner not found with id: 9");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo(
+                "baseCost: Base cost must be at least 1.00; numberOfRooms: Number of rooms must be at least 1");
+        assertThat(report.getErrors().get(2).getMessage()).startsWith("Invalid JSON: ");
+    }
+
+    @Test
+    @DisplayName("Should import CSV with columns in any order and quoted fields")
+    void shouldImportCsv() throws Exception {
+        // Given
+        givenExistingOwners(1L);
+        String body = """
+                ownerId,description,baseCost,floor,accommodationType,numberOfRooms
+                1,"Flat with balcony, \"\"great view\"\"",100.00,3,FLAT,2
+                1,,80.00,1,HOME,1
+                1,Attic,abc,5,FLAT,1
+                """;
+
+        // When
+        UnitImportReportDto report = unitImportService.importUnits(stream(body), UnitImportService.Format.CSV);
+
+        // Then
+        assertThat(report.getTotalRows()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(UnitImportErrorDto::getLine, UnitImportErrorDto::getMessage)
+                .containsExactly(tuple(4L, "Invalid baseCost: 'abc'"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Unit>> units = ArgumentCaptor.forClass(List.class);
+        verify(unitRepository).saveAll(units.capture());
+        assertThat(units.getValue()).extracting(Unit::getDescription)
+                .containsExactly("Flat with balcony, \"great view\"", null);
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header without the required columns")
+    void shouldRejectCsvHeaderWithoutRequiredColumns() {
+        // Given
+        String body = "numberOfRooms,accommodationType,floor\n2,FLAT,3\n";
+
+        // When & Then
+        assertThatThrownBy(() -> unitImportService.importUnits(stream(body), UnitImportService.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header is missing columns: baseCost, ownerId");
+        verifyNoInteractions(unitRepository);
+    }
+
+    @Test
+    @DisplayName("Should report the rows of a failed batch and keep importing the next batches")
+    void shouldContinueAfterFailedBatch() throws Exception {
+        // Given
+        givenExistingOwners(1L);
+        doThrow(new DataIntegrityViolationException("owner_id foreign key"))
+                .doAnswer(invocation -> assignIds(invocation.getArgument(0)))
+                .when(unitRepository).saveAll(anyList());
+        String row = "{\"numberOfRooms\":2,\"accommodationType\":\"FLAT\",\"floor\":3,\"baseCost\":100.00,\"ownerId\":1}\n";
+
+        // When
+        UnitImportReportDto report = unitImportService.importUnits(stream(row.repeat(3)), UnitImportService.Format.NDJSON);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(UnitImportErrorDto::getLine).containsExactly(1L, 2L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Not imported, its batch failed to insert");
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher).publishEvent(new UnitsImportedEvent(List.of(100L)));
+    }
+
+    @Test
+    @DisplayName("Should list at most the first rejected rows but count all of them")
+    void shouldTruncateErrorList() throws Exception {
+        // Given
+        String body = "{}\n".repeat(UnitImportService.MAX_REPORTED_ERRORS + 5);
+
+        // When
+        UnitImportReportDto report = unitImportService.importUnits(stream(body), UnitImportService.Format.NDJSON);
+
+        // Then
+        assertThat(report.getFailed()).isEqualTo(UnitImportService.MAX_REPORTED_ERRORS + 5);
+        assertThat(report.getErrors()).hasSize(UnitImportService.MAX_REPORTED_ERRORS);
+        assertThat(report.isErrorsTruncated()).isTrue();
+        verifyNoInteractions(unitRepository, unitStatisticsService);
+    }
+
+    @Test
+    @DisplayName("Should split quoted CSV fields")
+    void shouldSplitQuotedCsvFields() {
+        assertThat(UnitImportService.splitCsvLine("a,\"b,c\",\"d \"\"e\"\"\",")).containsExactly("a", "b,c", "d \"e\"", "");
+        assertThatThrownBy(() -> UnitImportService.splitCsvLine("a,\"b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    private void givenExistingOwners(Long... ownerIds) {
+        when(userRepository.findExistingIds(anyCollection())).thenAnswer(invocation -> {
+            Set<Long> requested = Set.copyOf(invocation.getArgument(0));
+            return List.of(ownerIds).stream().filter(requested::contains).toList();
+        });
+        lenient().when(unitRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+    }
+
+    private List<Unit> assignIds(List<Unit> units) {
+        List<Unit> saved = new ArrayList<>(units);
+        saved.forEach(unit -> TestFixtures.setId(unit, nextUnitId.getAndIncrement()));
+        return saved;
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
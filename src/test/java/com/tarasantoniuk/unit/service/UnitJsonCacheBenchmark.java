@@ -0,0 +1,129 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.json.SerializedJson;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import com.tarasantoniuk.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serialization CPU per request with and without the pre-serialized JSON cache.
+ * Excluded from {@code gradle test}; run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("UnitJsonCache Benchmark")
+class UnitJsonCacheBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should measure serialization CPU saved per unit and page request")
+    void measureSerializationCpuSaved() throws Exception {
+        // Fixed key instead of a Redis epoch read, so only serialization is measured
+        UnitSearchCacheService searchCache = new UnitSearchCacheService(null, null, null) {
+            @Override
+            public Optional<String> resolveKey(UnitSearchCriteriaDto criteria, Pageable pageable) {
+                return Optional.of("search:units:bench:1");
+            }
+        };
+        UnitJsonCache cache = new UnitJsonCache(objectMapper, searchCache, new SimpleMeterRegistry(), 100, 100, 1024);
+
+        Unit unit = unit(1L);
+        Pageable pageable = PageRequest.of(0, 20);
+        List<Unit> units = new ArrayList<>();
+        for (long id = 1; id <= pageable.getPageSize(); id++) {
+            units.add(unit(id));
+        }
+        Page<Unit> page = new PageImpl<>(units, pageable, 1_000);
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+
+        long unitJackson = cpuNanosPerOp(() -> objectMapper.writeValueAsBytes(UnitResponseDto.from(unit)));
+        long unitCached = cpuNanosPerOp(() -> cache.unit(1L, Optional.of("v1"), () -> UnitResponseDto.from(unit)).json());
+        long pageJackson = cpuNanosPerOp(() -> objectMapper.writeValueAsBytes(page.map(UnitResponseDto::from)));
+        long pageCached = cpuNanosPerOp(() -> cache.page(criteria, pageable, () -> page.map(UnitResponseDto::from)).json());
+        long pageJacksonGzip = cpuNanosPerOp(() -> gzip(objectMapper.writeValueAsBytes(page.map(UnitResponseDto::from))));
+        long pageCachedGzip = cpuNanosPerOp(() -> cache.page(criteria, pageable, () -> page.map(UnitResponseDto::from))
+                .gzip().orElseThrow());
+
+        SerializedJson pageJson = cache.page(criteria, pageable, () -> page.map(UnitResponseDto::from));
+        System.out.printf("%nSerialization CPU per request (ns), %d iterations%n", ITERATIONS);
+        System.out.printf("%-22s %10s %10s %10s%n", "response", "jackson", "cached", "saved");
+        print("unit", unitJackson, unitCached);
+        print("page (20 units)", pageJackson, pageCached);
+        print("page (20 units) gzip", pageJacksonGzip, pageCachedGzip);
+        System.out.printf("page body: %d bytes json, %d bytes gzip%n",
+                pageJson.json().length, pageJson.gzip().orElseThrow().length);
+
+        assertThat(pageCached).isLessThan(pageJackson);
+    }
+
+    private long cpuNanosPerOp(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private static void print(String name, long jackson, long cached) {
+        System.out.printf("%-22s %10d %10d %10d%n", name, jackson, cached, jackson - cached);
+    }
+
+    private static byte[] gzip(byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static Unit unit(long id) {
+        User owner = new User();
+        ReflectionTestUtils.setField(owner, "id", 7L);
+        Unit unit = new Unit();
+        ReflectionTestUtils.setField(unit, "id", id);
+        unit.setNumberOfRooms(2);
+        unit.setAccommodationType(AccommodationType.FLAT);
+        unit.setFloor(3);
+        unit.setBaseCost(BigDecimal.valueOf(100));
+        unit.setDescription("Cozy 2-room apartment in city center with balcony");
+        unit.setOwner(owner);
+        unit.setCreatedAt(LocalDateTime.of(2026, 1, 20, 14, 30));
+        return unit;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
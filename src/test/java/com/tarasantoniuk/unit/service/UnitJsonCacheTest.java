@@ -0,0 +1,174 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.common.json.SerializedJson;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitJsonCache Unit Tests")
+class UnitJsonCacheTest {
+
+    @Mock
+    private UnitSearchCacheService unitSearchCacheService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UnitJsonCache unitJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        unitJsonCache = new UnitJsonCache(objectMapper, unitSearchCacheService, new SimpleMeterRegistry(), 2, 2, 256);
+    }
+
+    @Test
+    @DisplayName("Should serialize unit once while its version is current")
+    void shouldReuseSerializedUnitForSameVersion() throws Exception {
+        // When
+        SerializedJson first = unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        SerializedJson second = unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(objectMapper.readTree(first.json()).get("id").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload unit when its version changed")
+    void shouldReloadUnitForNewVersion() {
+        // When
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        unitJsonCache.unit(1L, Optional.of("v2"), loader(1L));
+        unitJsonCache.unit(1L, Optional.of("v2"), loader(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache unit without a version")
+    void shouldNotCacheUnitWithoutVersion() {
+        // When
+        unitJsonCache.unit(1L, Optional.empty(), loader(1L));
+        unitJsonCache.unit(1L, Optional.empty(), loader(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reload unit after invalidation")
+    void shouldReloadUnitAfterInvalidation() {
+        // When
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        unitJsonCache.invalidateUnit(1L);
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used unit when full")
+    void shouldEvictLeastRecentlyUsedUnit() {
+        // Given - capacity 2, unit 1 touched after unit 2
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        unitJsonCache.unit(2L, Optional.of("v1"), loader(2L));
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+
+        // When
+        unitJsonCache.unit(3L, Optional.of("v1"), loader(3L));
+        unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        unitJsonCache.unit(2L, Optional.of("v1"), loader(2L));
+
+        // Then - 1 stayed cached, 2 was evicted
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should cache pages under the search cache key")
+    void shouldCachePagesUnderSearchKey() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        when(unitSearchCacheService.resolveKey(any(), any())).thenReturn(Optional.of("search:units:abc:1"));
+
+        // When
+        unitJsonCache.page(criteria, pageable, pageLoader());
+        unitJsonCache.page(criteria, pageable, pageLoader());
+
+        // Then
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should serialize uncacheable pages per request")
+    void shouldNotCachePagesWithoutKey() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(unitSearchCacheService.resolveKey(any(), any())).thenReturn(Optional.empty());
+
+        // When
+        unitJsonCache.page(new UnitSearchCriteriaDto(), pageable, pageLoader());
+        unitJsonCache.page(new UnitSearchCriteriaDto(), pageable, pageLoader());
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should compress only bodies above the threshold")
+    void shouldCompressOnlyLargeBodies() {
+        // Given
+        SerializedJson small = unitJsonCache.unit(1L, Optional.of("v1"), loader(1L));
+        UnitResponseDto large = new UnitResponseDto();
+        large.setDescription("Cozy apartment ".repeat(50));
+        SerializedJson big = unitJsonCache.unit(2L, Optional.of("v1"), () -> large);
+
+        // Then
+        assertThat(small.gzip()).isEmpty();
+        assertThat(big.gzip()).hasValueSatisfying(gzip -> assertThat(gzip.length).isLessThan(big.json().length));
+        assertThat(big.gzip().get()).isSameAs(big.gzip().get());
+    }
+
+    private Supplier<UnitResponseDto> loader(Long id) {
+        return () -> {
+            loads.incrementAndGet();
+            UnitResponseDto unit = new UnitResponseDto();
+            unit.setId(id);
+            return unit;
+        };
+    }
+
+    private Supplier<Page<UnitResponseDto>> pageLoader() {
+        return () -> {
+            loads.incrementAndGet();
+            UnitResponseDto unit = new UnitResponseDto();
+            unit.setId(1L);
+            return new PageImpl<>(List.of(unit), PageRequest.of(0, 20), 1);
+        };
+    }
+}
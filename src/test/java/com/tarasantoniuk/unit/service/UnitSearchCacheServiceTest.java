@@ -0,0 +1,220 @@
+package com.tarasantoniuk.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
+import com.tarasantoniuk.unit.dto.UnitResponseDto;
+import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
+import com.tarasantoniuk.unit.enums.AccommodationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitSearchCacheService Unit Tests")
+class UnitSearchCacheServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+
+    private UnitSearchCacheService unitSearchCacheService;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        unitSearchCacheService = new UnitSearchCacheService(stringRedisTemplate,
+                new ObjectMapper().findAndRegisterModules(), reservationHoldStore);
+    }
+
+    @Test
+    @DisplayName("Should depend on catalog and every month touched by the date range")
+    void shouldReadCatalogAndMonthEpochs() {
+        // Given
+        UnitSearchCriteriaDto criteria = criteria(LocalDate.of(2026, 3, 28), LocalDate.of(2026, 4, 3));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("4", null, "7"));
+
+        // When
+        Optional<String> key = unitSearchCacheService.resolveKey(criteria, pageable);
+
+        // Then
+        verify(valueOperations).multiGet(List.of(
+                "search:epoch:catalog", "search:epoch:month:2026-03", "search:epoch:month:2026-04"));
+        assertThat(key).hasValueSatisfying(k -> assertThat(k).startsWith("search:units:").endsWith(":4.0.7"));
+    }
+
+    @Test
+    @DisplayName("Should produce the same key for equivalent criteria")
+    void shouldNormalizeEquivalentCriteria() {
+        // Given
+        UnitSearchCriteriaDto first = criteria(null, null);
+        first.setMinCost(new BigDecimal("50.00"));
+        UnitSearchCriteriaDto second = criteria(null, null);
+        second.setMinCost(new BigDecimal("50"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("1"));
+
+        // When
+        Optional<String> firstKey = unitSearchCacheService.resolveKey(first, pageable);
+        Optional<String> secondKey = unitSearchCacheService.resolveKey(second, pageable);
+        Optional<String> otherPageKey = unitSearchCacheService.resolveKey(second, PageRequest.of(1, 10));
+
+        // Then
+        assertThat(firstKey).isEqualTo(secondKey);
+        assertThat(otherPageKey).isNotEqualTo(firstKey);
+    }
+
+    @Test
+    @DisplayName("Should key text searches by trimmed text")
+    void shouldKeyBySearchText() {
+        // Given
+        UnitSearchCriteriaDto first = criteria(null, null);
+        first.setText("balcony ");
+        UnitSearchCriteriaDto second = criteria(null, null);
+        second.setText(" balcony");
+        UnitSearchCriteriaDto other = criteria(null, null);
+        other.setText("garden");
+
+        // When & Then
+        assertThat(UnitSearchCacheService.normalize(first, pageable))
+                .isEqualTo(UnitSearchCacheService.normalize(second, pageable))
+                .contains("|text=balcony|")
+                .isNotEqualTo(UnitSearchCacheService.normalize(other, pageable));
+    }
+
+    @Test
+    @DisplayName("Should not cache searches spanning too many months")
+    void shouldNotCacheWideDateRange() {
+        // Given
+        UnitSearchCriteriaDto criteria = criteria(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 6, 1));
+
+        // When
+        Optional<String> key = unitSearchCacheService.resolveKey(criteria, pageable);
+
+        // Then
+        assertThat(key).isEmpty();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should not cache searches overlapping a live hold")
+    void shouldNotCacheSearchOverlappingHold() {
+        // Given
+        UnitSearchCriteriaDto criteria = criteria(LocalDate.of(2026, 3, 28), LocalDate.of(2026, 4, 3));
+        when(reservationHoldStore.heldUnitIds(criteria.getStartDate(), criteria.getEndDate())).thenReturn(Set.of(5L));
+
+        // When
+        Optional<String> key = unitSearchCacheService.resolveKey(criteria, pageable);
+
+        // Then
+        assertThat(key).isEmpty();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should bypass cache when Redis is unavailable")
+    void shouldBypassCacheWhenRedisUnavailable() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        Optional<String> key = unitSearchCacheService.resolveKey(criteria(null, null), pageable);
+
+        // Then
+        assertThat(key).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a page through the cache")
+    void shouldRoundTripPage() {
+        // Given
+        UnitResponseDto unit = new UnitResponseDto();
+        unit.setId(1L);
+        unit.setAccommodationType(AccommodationType.FLAT);
+        unit.setBaseCost(new BigDecimal("100.00"));
+        Page<UnitResponseDto> page = new PageImpl<>(List.of(unit), pageable, 25);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        unitSearchCacheService.put("key", page);
+
+        // Then
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("key"), json.capture(), any(Duration.class));
+
+        when(valueOperations.get("key")).thenReturn(json.getValue());
+        Optional<Page<UnitResponseDto>> cached = unitSearchCacheService.get("key", pageable);
+        assertThat(cached).isPresent();
+        assertThat(cached.get().getTotalElements()).isEqualTo(25);
+        assertThat(cached.get().getContent()).singleElement()
+                .satisfies(dto -> assertThat(dto.getId()).isEqualTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should bump epoch of each month touched by the booking")
+    void shouldBumpMonthEpochs() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        unitSearchCacheService.invalidateDates(LocalDate.of(2026, 3, 30), LocalDate.of(2026, 4, 2));
+
+        // Then
+        verify(valueOperations).increment("search:epoch:month:2026-03");
+        verify(valueOperations).increment("search:epoch:month:2026-04");
+        verify(valueOperations, times(2)).increment(anyString());
+    }
+
+    @Test
+    @DisplayName("Should list months between dates inclusively")
+    void shouldListMonthsBetweenDates() {
+        // When
+        Set<YearMonth> months = UnitSearchCacheService.monthsBetween(
+                LocalDate.of(2026, 12, 15), LocalDate.of(2027, 2, 1));
+
+        // Then
+        assertThat(months).containsExactly(YearMonth.of(2026, 12), YearMonth.of(2027, 1), YearMonth.of(2027, 2));
+    }
+
+    private static UnitSearchCriteriaDto criteria(LocalDate startDate, LocalDate endDate) {
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setAccommodationType(AccommodationType.FLAT);
+        criteria.setStartDate(startDate);
+        criteria.setEndDate(endDate);
+        return criteria;
+    }
+}
@@ -1,5 +1,6 @@
 package com.tarasantoniuk.unit.service;
 
+import com.tarasantoniuk.booking.hold.ReservationHoldStore;
 import com.tarasantoniuk.common.TestFixtures;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
 import com.tarasantoniuk.event.enums.EventType;
@@ -9,6 +10,7 @@ import com.tarasantoniuk.unit.dto.CreateUnitRequestDto;
 import com.tarasantoniuk.unit.dto.UnitResponseDto;
 import com.tarasantoniuk.unit.dto.UnitSearchCriteriaDto;
 import com.tarasantoniuk.unit.entity.Unit;
+import com.tarasantoniuk.unit.event.UnitCreatedEvent;
 import com.tarasantoniuk.unit.enums.AccommodationType;
 import com.tarasantoniuk.unit.repository.UnitRepository;
 import com.tarasantoniuk.user.entity.User;
@@ -20,13 +22,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.redis.RedisConnectionFailureException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +57,15 @@ class UnitServiceTest {
     @Mock
     private UnitStatisticsService unitStatisticsService;
 
+    @Mock
+    private UnitSearchCacheService unitSearchCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+
     @InjectMocks
     private UnitService unitService;
 
@@ -91,6 +105,7 @@ class UnitServiceTest {
 
         verify(userRepository).findById(1L);
         verify(unitRepository).save(any(Unit.class));
+        verify(eventPublisher).publishEvent(new UnitCreatedEvent(1L));
         verify(eventService).createEvent(EventType.UNIT_CREATED, 1L);
         verify(unitStatisticsService).invalidateAvailableUnitsCache();
     }
@@ -163,6 +178,68 @@ class UnitServiceTest {
         verify(unitRepository).findAll(any(Specification.class), eq(pageable));
     }
 
+    @Test
+    @DisplayName("Should read holds for dated searches and search on bookings alone when they are unavailable")
+    void shouldSearchWithoutHoldsWhenUnavailable() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        criteria.setStartDate(LocalDate.now().plusDays(1));
+        criteria.setEndDate(LocalDate.now().plusDays(3));
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Unit> unitPage = new PageImpl<>(List.of(testUnit), pageable, 1);
+
+        when(reservationHoldStore.heldUnitIds(criteria.getStartDate(), criteria.getEndDate()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(unitRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(unitPage);
+
+        // When
+        Page<UnitResponseDto> response = unitService.searchUnits(criteria, pageable);
+
+        // Then
+        assertThat(response.getContent()).hasSize(1);
+        verify(reservationHoldStore).heldUnitIds(criteria.getStartDate(), criteria.getEndDate());
+    }
+
+    @Test
+    @DisplayName("Should return cached search page without querying database")
+    void shouldReturnCachedSearchPage() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<UnitResponseDto> cachedPage = new PageImpl<>(List.of(UnitResponseDto.from(testUnit)), pageable, 1);
+
+        when(unitSearchCacheService.resolveKey(criteria, pageable)).thenReturn(Optional.of("key"));
+        when(unitSearchCacheService.get("key", pageable)).thenReturn(Optional.of(cachedPage));
+
+        // When
+        Page<UnitResponseDto> response = unitService.searchUnits(criteria, pageable);
+
+        // Then
+        assertThat(response).isSameAs(cachedPage);
+        verify(unitRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(unitSearchCacheService, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should store search page in cache on miss")
+    void shouldStoreSearchPageOnCacheMiss() {
+        // Given
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Unit> unitPage = new PageImpl<>(List.of(testUnit), pageable, 1);
+
+        when(unitSearchCacheService.resolveKey(criteria, pageable)).thenReturn(Optional.of("key"));
+        when(unitSearchCacheService.get("key", pageable)).thenReturn(Optional.empty());
+        when(unitRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(unitPage);
+
+        // When
+        Page<UnitResponseDto> response = unitService.searchUnits(criteria, pageable);
+
+        // Then
+        assertThat(response.getContent()).hasSize(1);
+        verify(unitSearchCacheService).put("key", response);
+    }
+
     @Test
     @DisplayName("Should map unit with null owner to response with null ownerId")
     void shouldMapUnitWithNullOwnerToResponse() {
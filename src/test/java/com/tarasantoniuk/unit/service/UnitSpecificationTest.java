@@ -10,10 +10,14 @@ import com.tarasantoniuk.unit.enums.AccommodationType;
 import com.tarasantoniuk.unit.repository.UnitRepository;
 import com.tarasantoniuk.user.entity.User;
 import com.tarasantoniuk.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -40,6 +44,9 @@ class UnitSpecificationTest extends AbstractIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Unit unit1;
     private Unit unit2;
     private Unit unit3;
@@ -723,6 +730,82 @@ class UnitSpecificationTest extends AbstractIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Full-Text Search")
+    class TextSearchTests {
+
+        @BeforeEach
+        void setUpSearchVector() {
+            // Schema comes from ddl-auto here, so add what the Liquibase changeset adds
+            entityManager.createNativeQuery("ALTER TABLE units ADD COLUMN IF NOT EXISTS search_vector tsvector")
+                    .executeUpdate();
+            entityManager.createNativeQuery("""
+                    CREATE OR REPLACE TRIGGER trg_units_search_vector
+                        BEFORE INSERT OR UPDATE OF description ON units
+                        FOR EACH ROW
+                    EXECUTE FUNCTION tsvector_update_trigger(search_vector, 'pg_catalog.english', description)""")
+                    .executeUpdate();
+
+            describe(unit1, "Sunny apartment with a balcony");
+            describe(unit2, "Balcony house, a balcony on every floor, pet-friendly");
+            describe(unit3, "Quiet flat near the park");
+        }
+
+        @Test
+        void whenSearchByWord_thenReturnMatchingUnitsBestFirst() {
+            // Given
+            UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+            criteria.setText("balconies");
+
+            // When
+            List<Unit> results = unitRepository.findAll(UnitSpecification.withCriteria(criteria), PageRequest.of(0, 10))
+                    .getContent();
+
+            // Then - stemmed match, unit2 mentions it twice
+            assertThat(results)
+                    .extracting(Unit::getId)
+                    .containsExactly(unit2.getId(), unit1.getId());
+        }
+
+        @Test
+        void whenSearchWithExcludedWord_thenSkipUnitsContainingIt() {
+            // Given
+            UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+            criteria.setText("balcony -pet");
+
+            // When
+            List<Unit> results = unitRepository.findAll(UnitSpecification.withCriteria(criteria));
+
+            // Then
+            assertThat(results)
+                    .extracting(Unit::getId)
+                    .containsExactly(unit1.getId());
+        }
+
+        @Test
+        void whenSearchCombinedWithFilters_thenApplyBoth() {
+            // Given
+            UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+            criteria.setText("balcony");
+            criteria.setFloor(2);
+
+            // When
+            Page<Unit> results = unitRepository.findAll(UnitSpecification.withCriteria(criteria),
+                    PageRequest.of(0, 10, Sort.by("baseCost")));
+
+            // Then
+            assertThat(results.getTotalElements()).isEqualTo(1);
+            assertThat(results.getContent())
+                    .extracting(Unit::getId)
+                    .containsExactly(unit2.getId());
+        }
+
+        private void describe(Unit unit, String description) {
+            unit.setDescription(description);
+            unitRepository.saveAndFlush(unit);
+        }
+    }
+
     // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
     // Helper methods for test data creation
     // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
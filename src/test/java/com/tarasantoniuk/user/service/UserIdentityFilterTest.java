@@ -0,0 +1,120 @@
+package com.tarasantoniuk.user.service;
+
+import com.tarasantoniuk.user.dto.UserIdentity;
+import com.tarasantoniuk.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdentityFilter Unit Tests")
+class UserIdentityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserIdentityFilter userIdentityFilter;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityFilter = new UserIdentityFilter(userRepository, meterRegistry, 1_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should report every value as maybe taken before the first build")
+    void shouldReportMaybeTakenBeforeBuild() {
+        // When & Then
+        assertThat(userIdentityFilter.mightBeTaken("newuser", "new@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should recognize existing users after rebuild and new values as definitely new")
+    void shouldRecognizeExistingUsersAfterRebuild() {
+        // Given
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.findIdentitiesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(identity(1L, "alice", "alice@example.com"), identity(2L, "bob", "bob@example.com")));
+
+        // When
+        userIdentityFilter.rebuild();
+
+        // Then
+        assertThat(userIdentityFilter.mightBeTaken("alice", "other@example.com")).isTrue();
+        assertThat(userIdentityFilter.mightBeTaken("other", "bob@example.com")).isTrue();
+        assertThat(userIdentityFilter.mightBeTaken("carol", "carol@example.com")).isFalse();
+        assertThat(meterRegistry.get("users.identity_filter.checks").tag("result", "definitely_new").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should include users added after rebuild")
+    void shouldIncludeAddedUsers() {
+        // Given
+        when(userRepository.findIdentitiesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        userIdentityFilter.rebuild();
+
+        // When
+        userIdentityFilter.add("carol", "carol@example.com");
+
+        // Then
+        assertThat(userIdentityFilter.mightBeTaken("carol", "x@example.com")).isTrue();
+        assertThat(userIdentityFilter.mightBeTaken("x", "carol@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep false positive rate near the configured rate")
+    void shouldKeepFalsePositiveRateNearConfigured() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static UserIdentity identity(Long id, String username, String email) {
+        return new UserIdentity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
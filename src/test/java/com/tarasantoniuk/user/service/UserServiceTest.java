@@ -2,10 +2,12 @@ package com.tarasantoniuk.user.service;
 
 import com.tarasantoniuk.common.TestFixtures;
 import com.tarasantoniuk.common.exception.ResourceNotFoundException;
+import com.tarasantoniuk.user.dto.UserIdentity;
 import com.tarasantoniuk.user.dto.UserRequestDto;
 import com.tarasantoniuk.user.dto.UserResponseDto;
 import com.tarasantoniuk.user.entity.User;
 import com.tarasantoniuk.user.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,17 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +38,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -47,14 +55,13 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should create user successfully")
+    @DisplayName("Should create user without uniqueness query when values are definitely new")
     void shouldCreateUserSuccessfully() {
         // Given
         UserRequestDto request = new UserRequestDto("newuser", "newuser@example.com");
 
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("newuser@example.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userIdentityFilter.mightBeTaken("newuser", "newuser@example.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         UserResponseDto response = userService.createUser(request);
@@ -62,9 +69,29 @@ class UserServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository).existsByEmail("newuser@example.com");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).findIdentities(anyString(), anyString());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userIdentityFilter).add("testuser", "test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should check both values with one query when filter reports a possible match")
+    void shouldCheckWithSingleQueryWhenMaybeTaken() {
+        // Given
+        UserRequestDto request = new UserRequestDto("newuser", "newuser@example.com");
+
+        when(userIdentityFilter.mightBeTaken("newuser", "newuser@example.com")).thenReturn(true);
+        when(userRepository.findIdentities("newuser", "newuser@example.com")).thenReturn(List.of());
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        // When
+        UserResponseDto response = userService.createUser(request);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(userRepository).findIdentities("newuser", "newuser@example.com");
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
@@ -72,15 +99,16 @@ class UserServiceTest {
     void shouldThrowExceptionWhenUsernameExists() {
         // Given
         UserRequestDto request = new UserRequestDto("testuser", "new@example.com");
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(userIdentityFilter.mightBeTaken("testuser", "new@example.com")).thenReturn(true);
+        when(userRepository.findIdentities("testuser", "new@example.com")).thenReturn(List.of(identity(testUser)));
 
         // When & Then
         assertThatThrownBy(() -> userService.createUser(request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Username already exists");
 
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).findIdentities("testuser", "new@example.com");
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -88,15 +116,32 @@ class UserServiceTest {
     void shouldThrowExceptionWhenEmailExists() {
         // Given
         UserRequestDto request = new UserRequestDto("newuser", "test@example.com");
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(userIdentityFilter.mightBeTaken("newuser", "test@example.com")).thenReturn(true);
+        when(userRepository.findIdentities("newuser", "test@example.com")).thenReturn(List.of(identity(testUser)));
+
+        // When & Then
+        assertThatThrownBy(() -> userService.createUser(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Email already exists");
+
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should map unique constraint violation from concurrent signup to duplicate error")
+    void shouldMapConstraintViolationToDuplicateError() {
+        // Given - another node created the user after the filter said "definitely new"
+        UserRequestDto request = new UserRequestDto("newuser", "taken@example.com");
+        when(userIdentityFilter.mightBeTaken("newuser", "taken@example.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "users_email_key")));
 
         // When & Then
         assertThatThrownBy(() -> userService.createUser(request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Email already exists");
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userIdentityFilter, never()).add(anyString(), anyString());
     }
 
     @Test
@@ -179,4 +224,23 @@ class UserServiceTest {
 
         verify(userRepository).findByUsername("nonexistent");
     }
-}
\ No newline at end of file
+
+    private static UserIdentity identity(User user) {
+        return new UserIdentity() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+    }
+}